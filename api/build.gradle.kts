@@ -70,6 +70,12 @@ dependencies {
     annotationProcessor("org.projectlombok:lombok:1.18.24")
     testImplementation(platform("org.junit:junit-bom:5.9.1"))
     testImplementation("org.junit.jupiter:junit-jupiter")
+    // the main dependencies are compile only, tests run against them directly
+    testImplementation(project(":base-api"))
+    testImplementation("net.runelite:client:$runeLiteVersion")
+    testImplementation("net.sf.trove4j:trove4j:3.0.3")
+    testImplementation("it.unimi.dsi:fastutil:8.5.11")
+    testImplementation("com.google.code.gson:gson:2.8.9")
     compileOnly("net.sf.trove4j:trove4j:3.0.3")
     compileOnly("it.unimi.dsi:fastutil:8.5.11")
 
@@ -82,4 +88,38 @@ dependencies {
 
 tasks.test {
     useJUnitPlatform()
-}
\ No newline at end of file
+}
+val transportTableDir = layout.buildDirectory.dir("generated/transports")
+
+val compileTransportTable by tasks.registering(JavaExec::class) {
+    group = "build"
+    description = "Compiles transports.json into the binary transport table loaded by TransportLoader"
+    dependsOn(tasks.compileJava)
+
+    val json = file("src/main/resources/com/tonic/services/pathfinder/transports.json")
+    val table = transportTableDir.map { it.file("com/tonic/services/pathfinder/transports.bin") }
+    inputs.file(json)
+    // the compiler and the record types it encodes, so a format change rebuilds the table
+    inputs.files(sourceSets.main.get().java.classesDirectory.map { dir ->
+        fileTree(dir) {
+            include("com/tonic/services/pathfinder/transports/TransportTable*.class")
+            include("com/tonic/services/pathfinder/model/TransportDto*.class")
+            include("com/tonic/services/pathfinder/requirements/**")
+        }
+    }).withPropertyName("compilerClasses")
+    outputs.file(table)
+
+    classpath = files(sourceSets.main.get().java.classesDirectory) + sourceSets.main.get().compileClasspath
+    mainClass.set("com.tonic.services.pathfinder.transports.TransportTableCompiler")
+    argumentProviders.add(CommandLineArgumentProvider {
+        listOf(json.absolutePath, table.get().asFile.absolutePath)
+    })
+}
+
+sourceSets.main {
+    resources.srcDir(transportTableDir)
+}
+
+tasks.processResources {
+    dependsOn(compileTransportTable)
+}
@@ -4,16 +4,14 @@ import com.tonic.Static;
 import com.tonic.api.widgets.DialogueAPI;
 import com.tonic.api.widgets.WidgetAPI;
 import com.tonic.queries.WorldQuery;
+import com.tonic.services.WorldDirectory;
 import com.tonic.util.handler.HandlerBuilder;
 import com.tonic.util.handler.StepHandler;
 import net.runelite.api.Client;
 import net.runelite.api.GameState;
 import net.runelite.api.gameval.InterfaceID;
-import net.runelite.client.game.WorldService;
 import net.runelite.client.util.WorldUtil;
 import net.runelite.http.api.worlds.World;
-import net.runelite.http.api.worlds.WorldResult;
-import net.runelite.http.api.worlds.WorldType;
 
 /**
  * Worlds related API
@@ -27,7 +25,7 @@ public class WorldsAPI
     public static World getCurrentWorld()
     {
         Client client = Static.getClient();
-        return new WorldQuery().withId(client.getWorld()).first();
+        return WorldDirectory.get().byId(client.getWorld());
     }
 
     /**
@@ -44,12 +42,25 @@ public class WorldsAPI
             .keepIf(w -> includeCurrentWorld || w.getId() != client.getWorld());
     }
 
+    /**
+     * @param members true for members worlds, false for free to play worlds
+     * @param includeCurrentWorld Whether to include the current world or not
+     * @return {@link #createDefaultQuery(boolean)} narrowed to members or free to play worlds, starting from the
+     * partition {@link WorldDirectory} keeps instead of filtering the full list
+     */
+    public static WorldQuery createDefaultQuery(boolean members, boolean includeCurrentWorld)
+    {
+        Client client = Static.getClient();
+        return WorldQuery.ofDefaultWorlds(members)
+            .keepIf(w -> includeCurrentWorld || w.getId() != client.getWorld());
+    }
+
     /**
      * Hop to a random members world (not skill total, not pvp, main game)
      */
     public static StepHandler hopRandomMembers()
     {
-        World world = createDefaultQuery(false).isP2p().random();
+        World world = WorldDirectory.get().random(true, Static.getClient().getWorld());
         return hop(world);
     }
 
@@ -58,7 +69,7 @@ public class WorldsAPI
      */
     public static StepHandler hopRandomF2p()
     {
-        World world = createDefaultQuery(false).isF2p().random();
+        World world = WorldDirectory.get().random(false, Static.getClient().getWorld());
         return hop(world);
     }
 
@@ -68,7 +79,7 @@ public class WorldsAPI
      */
     public static StepHandler hopNextMembers()
     {
-        World world = createDefaultQuery(false).isP2p().next();
+        World world = WorldDirectory.get().next(true, Static.getClient().getWorld());
         return hop(world);
     }
 
@@ -78,7 +89,7 @@ public class WorldsAPI
      */
     public static StepHandler hopPreviousMembers()
     {
-        World world = createDefaultQuery(false).isP2p().previous();
+        World world = WorldDirectory.get().previous(true, Static.getClient().getWorld());
         return hop(world);
     }
 
@@ -88,7 +99,7 @@ public class WorldsAPI
      */
     public static StepHandler hopNextF2p()
     {
-        World world = createDefaultQuery(false).isF2p().next();
+        World world = WorldDirectory.get().next(false, Static.getClient().getWorld());
         return hop(world);
     }
 
@@ -98,7 +109,7 @@ public class WorldsAPI
      */
     public static StepHandler hopPreviousF2p()
     {
-        World world = createDefaultQuery(false).isF2p().previous();
+        World world = WorldDirectory.get().previous(false, Static.getClient().getWorld());
         return hop(world);
     }
 
@@ -108,11 +119,8 @@ public class WorldsAPI
      */
     public static StepHandler hop(int worldId)
     {
-        WorldResult worldResult = Static.getInjector().getInstance(WorldService.class).getWorlds();
-        if (worldResult == null)
-            return HandlerBuilder.blank();
         // Don't try to hop if the world doesn't exist
-        World world = worldResult.findWorld(worldId);
+        World world = WorldDirectory.get().byId(worldId);
         if (world == null)
         {
             return HandlerBuilder.blank();
@@ -126,6 +134,10 @@ public class WorldsAPI
      */
     public static StepHandler hop(World world)
     {
+        if (world == null)
+        {
+            return HandlerBuilder.blank();
+        }
         Client client = Static.getClient();
         return HandlerBuilder.get()
                 .add(0, () -> {
@@ -170,6 +182,7 @@ public class WorldsAPI
      * @return True if the current world is a members world, false otherwise
      */
     public static boolean inMembersWorld() {
-        return getCurrentWorld().getTypes().contains(WorldType.MEMBERS);
+        Client client = Static.getClient();
+        return WorldDirectory.get().isMembers(client.getWorld());
     }
 }
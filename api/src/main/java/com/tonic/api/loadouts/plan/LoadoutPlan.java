@@ -0,0 +1,124 @@
+package com.tonic.api.loadouts.plan;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The ordered actions that take the inventory and equipment to a loadout, as worked out by {@link LoadoutPlanner}.
+ * Every step is one server action. The steps of the first phase can be sent back to back within a tick; the rest
+ * equip items the first phase withdraws, so they can only be sent on a later tick, once the withdrawals have landed
+ * in the inventory.
+ */
+public class LoadoutPlan
+{
+
+  private final List<PlanStep> steps;
+  private final int firstPhase;
+  private final Map<LoadoutPlanner.Target, Integer> shortfalls;
+
+  LoadoutPlan(List<PlanStep> steps, int firstPhase, Map<LoadoutPlanner.Target, Integer> shortfalls)
+  {
+    this.steps = Collections.unmodifiableList(steps);
+    this.firstPhase = firstPhase;
+    this.shortfalls = Collections.unmodifiableMap(shortfalls);
+  }
+
+  /**
+   * @return Every step, both phases
+   */
+  public List<PlanStep> getSteps()
+  {
+    return steps;
+  }
+
+  /**
+   * @return The steps that can be sent now, the whole plan unless it equips items it withdraws
+   */
+  public List<PlanStep> getFirstPhase()
+  {
+    return steps.subList(0, firstPhase);
+  }
+
+  /**
+   * @return {@code true} if some steps have to wait for the first phase to land
+   */
+  public boolean hasLaterPhase()
+  {
+    return firstPhase < steps.size();
+  }
+
+  public int getActionCount()
+  {
+    return steps.size();
+  }
+
+  /**
+   * @return Targets that the bank or the free inventory space cannot fill, with the amount they stay short by
+   */
+  public Map<LoadoutPlanner.Target, Integer> getShortfalls()
+  {
+    return shortfalls;
+  }
+
+  int getTotalShortfall()
+  {
+    int total = 0;
+    for (int amount : shortfalls.values())
+    {
+      total += amount;
+    }
+
+    return total;
+  }
+
+  /**
+   * @return {@code true} if there is nothing to do
+   */
+  public boolean isEmpty()
+  {
+    return steps.isEmpty();
+  }
+
+  /**
+   * @return {@code true} if running every step fulfills every target
+   */
+  public boolean isComplete()
+  {
+    return shortfalls.isEmpty();
+  }
+
+  /**
+   * Runs the first phase, plan again once it has landed for the rest
+   */
+  public void execute()
+  {
+    execute(0, steps.size());
+  }
+
+  /**
+   * Runs a window of the steps, for callers that cap their actions per tick. The window stops at the end of the
+   * first phase; the steps after it can be run by a later call, on a later tick
+   * @param from The first step to run
+   * @param maxActions The most steps to run
+   * @return The index of the next step to run, {@link #getActionCount()} once done
+   */
+  public int execute(int from, int maxActions)
+  {
+    int last = from < firstPhase ? firstPhase : steps.size();
+    int end = (int) Math.min(last, (long) from + maxActions);
+    for (int i = from; i < end; i++)
+    {
+      steps.get(i).execute();
+    }
+
+    return Math.max(from, end);
+  }
+
+  @Override
+  public String toString()
+  {
+    String phases = hasLaterPhase() ? getFirstPhase() + " then " + steps.subList(firstPhase, steps.size()) : steps.toString();
+    return "LoadoutPlan" + phases + (shortfalls.isEmpty() ? "" : " short " + shortfalls.values());
+  }
+}
@@ -0,0 +1,514 @@
+package com.tonic.api.loadouts.plan;
+
+import com.tonic.api.loadouts.item.LoadoutItem;
+
+import java.util.*;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Works out the fewest bank actions that take the inventory and equipment to a set of {@link Target}s.
+ * <p>
+ * Works on plain id to count snapshots of the inventory, equipment and bank, so it runs off the client thread and
+ * without a client at all. The plan deposits what is not wanted, either item by item or with one deposit-all
+ * followed by withdrawing the kept items again, whichever takes fewer actions. It then withdraws and equips the
+ * equipment targets, which frees their slots, and withdraws the inventory targets grouped by withdraw mode. Withdrawals
+ * are capped by the bank's stock and the 28 inventory slots, anything left short is reported on the plan.
+ * <p>
+ * Equipping goes by the item's inventory slot, which the client only knows once a withdrawal has landed. Equipment
+ * that has to be withdrawn first is therefore equipped in a second phase of the plan, together with everything
+ * planned after it, see {@link LoadoutPlan#getFirstPhase()}.
+ * <p>
+ * Equipping swaps out whatever the slot held into the inventory; plan again afterwards to deposit it.
+ */
+public class LoadoutPlanner
+{
+
+  public static final int CAPACITY = 28;
+
+  private final Map<Integer, Integer> inventory;
+  private final Map<Integer, Integer> equipment;
+  private final Map<Integer, Integer> bank;
+  private final IntPredicate stackable;
+  private IntUnaryOperator unnote = IntUnaryOperator.identity();
+  private boolean withdrawNoted;
+
+  /**
+   * @param inventory Inventory item id to count
+   * @param equipment Worn item id to count
+   * @param bank Banked item id to count
+   * @param stackable Whether an item id takes one inventory slot whatever its count, noted ids included
+   */
+  public LoadoutPlanner(Map<Integer, Integer> inventory, Map<Integer, Integer> equipment, Map<Integer, Integer> bank, IntPredicate stackable)
+  {
+    this.inventory = inventory;
+    this.equipment = equipment;
+    this.bank = bank;
+    this.stackable = stackable;
+  }
+
+  /**
+   * @param noted The bank's current withdraw mode
+   */
+  public LoadoutPlanner withdrawNoted(boolean noted)
+  {
+    this.withdrawNoted = noted;
+    return this;
+  }
+
+  /**
+   * @param unnote Maps a noted id to the id it banks as, and any other id to itself. Without it only the notes of
+   * noted targets are known
+   */
+  public LoadoutPlanner unnote(IntUnaryOperator unnote)
+  {
+    this.unnote = unnote;
+    return this;
+  }
+
+  public LoadoutPlan plan(List<Target> targets)
+  {
+    Map<Integer, Integer> keep = keep(targets);
+    boolean excess = false;
+    for (Map.Entry<Integer, Integer> entry : inventory.entrySet())
+    {
+      if (entry.getValue() > keep.getOrDefault(entry.getKey(), 0))
+      {
+        excess = true;
+        break;
+      }
+    }
+
+    LoadoutPlan byItem = build(targets, keep, false);
+    if (!excess)
+    {
+      return byItem;
+    }
+
+    LoadoutPlan all = build(targets, keep, true);
+    if (all.getTotalShortfall() != byItem.getTotalShortfall())
+    {
+      return all.getTotalShortfall() < byItem.getTotalShortfall() ? all : byItem;
+    }
+
+    return all.getActionCount() < byItem.getActionCount() ? all : byItem;
+  }
+
+  /**
+   * @return Inventory id to the count of it the targets can use, the rest is excess
+   */
+  private Map<Integer, Integer> keep(List<Target> targets)
+  {
+    Map<Integer, Integer> keep = new HashMap<>();
+    Map<Integer, Integer> left = new HashMap<>(inventory);
+    for (Target target : targets)
+    {
+      if (target.isEquip())
+      {
+        claim(keep, left, target.getId(), missingWorn(target));
+      }
+    }
+
+    for (Target target : targets)
+    {
+      if (!target.isEquip())
+      {
+        claim(keep, left, target.getInventoryId(), target.getAmount());
+      }
+    }
+
+    return keep;
+  }
+
+  private static int claim(Map<Integer, Integer> keep, Map<Integer, Integer> left, int id, int wanted)
+  {
+    int claimed = Math.min(left.getOrDefault(id, 0), wanted);
+    if (claimed > 0)
+    {
+      keep.merge(id, claimed, Integer::sum);
+      left.merge(id, -claimed, Integer::sum);
+    }
+
+    return claimed;
+  }
+
+  private LoadoutPlan build(List<Target> targets, Map<Integer, Integer> keep, boolean depositAll)
+  {
+    Build build = new Build(targets);
+    if (depositAll)
+    {
+      build.depositAll();
+    }
+    else
+    {
+      build.depositExcess(keep);
+    }
+
+    //one withdraw mode switch at most; equipping frees its slots before the unnoted inventory is withdrawn
+    if (withdrawNoted)
+    {
+      build.withdrawCarried(targets, true);
+      build.withdrawWorn(targets);
+      build.withdrawCarried(targets, false);
+    }
+    else
+    {
+      build.withdrawWorn(targets);
+      build.withdrawCarried(targets, false);
+      build.withdrawCarried(targets, true);
+    }
+
+    return new LoadoutPlan(build.steps, build.split == -1 ? build.steps.size() : build.split, build.shortfalls);
+  }
+
+  /**
+   * The simulated inventory and bank while one plan is built.
+   */
+  private class Build
+  {
+
+    private final List<PlanStep> steps = new ArrayList<>();
+    private final Map<Target, Integer> shortfalls = new LinkedHashMap<>();
+    private final Map<Integer, Integer> inv = new HashMap<>(inventory);
+    private final Map<Integer, Integer> banked = new HashMap<>(bank);
+    // notes of noted targets to their banked id
+    private final Map<Integer, Integer> unnoted = new HashMap<>();
+    private boolean noted = withdrawNoted;
+    private int free;
+    // index of the first step that has to wait for a withdrawal to land, -1 if none does
+    private int split = -1;
+
+    private Build(List<Target> targets)
+    {
+      for (Target target : targets)
+      {
+        if (target.getNotedId() != -1)
+        {
+          unnoted.put(target.getNotedId(), target.getId());
+        }
+      }
+      free = CAPACITY - slots(inv);
+    }
+
+    private void depositAll()
+    {
+      steps.add(PlanStep.depositAll());
+      for (Map.Entry<Integer, Integer> entry : inv.entrySet())
+      {
+        banked.merge(bankedId(entry.getKey()), entry.getValue(), Integer::sum);
+      }
+      inv.clear();
+      free = CAPACITY;
+    }
+
+    private void depositExcess(Map<Integer, Integer> keep)
+    {
+      for (int id : new TreeSet<>(inventory.keySet()))
+      {
+        int count = inv.get(id);
+        int kept = keep.getOrDefault(id, 0);
+        if (count <= kept)
+        {
+          continue;
+        }
+
+        steps.add(PlanStep.deposit(id, kept == 0 ? -1 : count - kept));
+        banked.merge(bankedId(id), count - kept, Integer::sum);
+        put(id, kept);
+      }
+      free = CAPACITY - slots(inv);
+    }
+
+    private void withdrawWorn(List<Target> targets)
+    {
+      Map<Integer, Integer> unclaimed = new HashMap<>(inv);
+      List<PlanStep> equips = new ArrayList<>();
+      List<PlanStep> withdrawn = new ArrayList<>();
+      for (Target target : targets)
+      {
+        if (!target.isEquip())
+        {
+          continue;
+        }
+
+        int missing = missingWorn(target);
+        if (missing == 0)
+        {
+          continue;
+        }
+
+        int carried = claim(new HashMap<>(), unclaimed, target.getId(), missing);
+        int taken = withdraw(target, missing - carried);
+        if (carried + taken < missing)
+        {
+          shortfalls.put(target, missing - carried - taken);
+        }
+
+        if (carried + taken > 0)
+        {
+          PlanStep equip = PlanStep.equip(target.getId(), carried + taken);
+          if (taken > 0)
+          {
+            withdrawn.add(equip);
+          }
+          else
+          {
+            equips.add(equip);
+          }
+        }
+      }
+
+      steps.addAll(equips);
+      if (!withdrawn.isEmpty())
+      {
+        split = steps.size();
+        steps.addAll(withdrawn);
+        equips.addAll(withdrawn);
+      }
+
+      for (PlanStep equip : equips)
+      {
+        int id = equip.getItemId();
+        int left = inv.get(id) - equip.getAmount();
+        free += stackable.test(id) ? (left == 0 ? 1 : 0) : equip.getAmount();
+        put(id, left);
+      }
+    }
+
+    private void withdrawCarried(List<Target> targets, boolean notes)
+    {
+      for (Target target : targets)
+      {
+        if (target.isEquip() || target.isNoted() != notes)
+        {
+          continue;
+        }
+
+        int held = inv.getOrDefault(target.getInventoryId(), 0);
+        if (target.isSatisfiedBy(held))
+        {
+          continue;
+        }
+
+        int deficit = target.getAmount() - held;
+        int taken = withdraw(target, deficit);
+        if (taken < deficit)
+        {
+          shortfalls.put(target, deficit - taken);
+        }
+      }
+    }
+
+    /**
+     * Withdraws as many of the target as the bank and the free slots allow
+     * @return The amount withdrawn
+     */
+    private int withdraw(Target target, int wanted)
+    {
+      int id = target.getInventoryId();
+      int held = inv.getOrDefault(id, 0);
+      int taken = Math.min(wanted, banked.getOrDefault(target.getId(), 0));
+      if (!stackable.test(id))
+      {
+        taken = Math.min(taken, free);
+      }
+      else if (free <= 0 && held == 0)
+      {
+        taken = 0;
+      }
+
+      if (taken <= 0)
+      {
+        return 0;
+      }
+
+      boolean notes = target.isNoted() && !target.isEquip();
+      if (noted != notes)
+      {
+        steps.add(PlanStep.withdrawMode(notes));
+        noted = notes;
+      }
+      steps.add(PlanStep.withdraw(target.getId(), taken, notes));
+      banked.merge(target.getId(), -taken, Integer::sum);
+      inv.merge(id, taken, Integer::sum);
+      free -= stackable.test(id) ? (held > 0 ? 0 : 1) : taken;
+      return taken;
+    }
+
+    private int bankedId(int id)
+    {
+      return unnoted.getOrDefault(id, unnote.applyAsInt(id));
+    }
+
+    private void put(int id, int count)
+    {
+      if (count == 0)
+      {
+        inv.remove(id);
+      }
+      else
+      {
+        inv.put(id, count);
+      }
+    }
+  }
+
+  private int slots(Map<Integer, Integer> inv)
+  {
+    int used = 0;
+    for (Map.Entry<Integer, Integer> entry : inv.entrySet())
+    {
+      used += stackable.test(entry.getKey()) ? 1 : entry.getValue();
+    }
+
+    return used;
+  }
+
+  /**
+   * @return How many more of an equipment target have to be worn, 0 if it already is
+   */
+  private int missingWorn(Target target)
+  {
+    int worn = equipment.getOrDefault(target.getId(), 0);
+    if (target.isSatisfiedBy(worn))
+    {
+      return 0;
+    }
+
+    return target.isStackable() ? target.getAmount() - worn : 1;
+  }
+
+  /**
+   * An item that should end up carried or worn.
+   */
+  public static class Target
+  {
+
+    private final int id;
+    private final int notedId;
+    private final int minimumAmount;
+    private final int amount;
+    private final boolean stackable;
+    private final boolean noted;
+    private final boolean equip;
+    private final LoadoutItem item;
+
+    private Target(int id, int notedId, int minimumAmount, int amount, boolean stackable, boolean noted, boolean equip, LoadoutItem item)
+    {
+      this.id = id;
+      this.notedId = notedId;
+      this.minimumAmount = minimumAmount;
+      this.amount = amount;
+      this.stackable = stackable;
+      this.noted = noted;
+      this.equip = equip;
+      this.item = item;
+    }
+
+    /**
+     * @param id The unnoted item id
+     * @param minimumAmount The amount below which it is topped up to amount, -1 for amount
+     * @param amount The amount to carry
+     */
+    public static Target carried(int id, int minimumAmount, int amount, boolean stackable)
+    {
+      return new Target(id, -1, minimumAmount, amount, stackable, false, false, null);
+    }
+
+    /**
+     * @param id The unnoted item id, as banked
+     * @param notedId The id of its note, as carried
+     */
+    public static Target carriedNoted(int id, int notedId, int minimumAmount, int amount)
+    {
+      return new Target(id, notedId, minimumAmount, amount, true, true, false, null);
+    }
+
+    /**
+     * @param id The item id
+     * @param minimumAmount The worn amount below which it is topped up to amount, -1 for amount
+     * @param amount The amount to wear, 1 unless stackable
+     */
+    public static Target worn(int id, int minimumAmount, int amount, boolean stackable)
+    {
+      return new Target(id, -1, minimumAmount, amount, stackable, false, true, null);
+    }
+
+    /**
+     * @return A copy of this target that remembers the loadout item it was resolved from
+     */
+    public Target from(LoadoutItem item)
+    {
+      return new Target(id, notedId, minimumAmount, amount, stackable, noted, equip, item);
+    }
+
+    public int getId()
+    {
+      return id;
+    }
+
+    /**
+     * @return The id of the note, -1 if the target is not noted
+     */
+    public int getNotedId()
+    {
+      return notedId;
+    }
+
+    /**
+     * @return The id the target has in the inventory
+     */
+    public int getInventoryId()
+    {
+      return noted && notedId != -1 ? notedId : id;
+    }
+
+    public int getMinimumAmount()
+    {
+      return minimumAmount;
+    }
+
+    public int getAmount()
+    {
+      return amount;
+    }
+
+    public boolean isStackable()
+    {
+      return stackable;
+    }
+
+    public boolean isNoted()
+    {
+      return noted;
+    }
+
+    public boolean isEquip()
+    {
+      return equip;
+    }
+
+    /**
+     * @return The loadout item this target was resolved from, or null
+     */
+    public LoadoutItem getItem()
+    {
+      return item;
+    }
+
+    /**
+     * Mirrors {@link LoadoutItem#isCarried()}: present, and at least the minimum amount.
+     */
+    boolean isSatisfiedBy(int count)
+    {
+      int desirable = minimumAmount == -1 ? amount : minimumAmount;
+      return count > 0 && count >= desirable;
+    }
+
+    @Override
+    public String toString()
+    {
+      return (item != null ? item.getIdentifier() : String.valueOf(id)) + " x" + amount + (noted ? " noted" : "") + (equip ? " worn" : "");
+    }
+  }
+}
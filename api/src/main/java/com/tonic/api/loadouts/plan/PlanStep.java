@@ -0,0 +1,128 @@
+package com.tonic.api.loadouts.plan;
+
+import com.tonic.api.widgets.BankAPI;
+import com.tonic.api.widgets.EquipmentAPI;
+
+/**
+ * One bank or equipment action of a {@link LoadoutPlan}.
+ */
+public class PlanStep
+{
+
+  public enum Type
+  {
+    DEPOSIT_ALL,
+    DEPOSIT,
+    WITHDRAW_MODE,
+    WITHDRAW,
+    EQUIP
+  }
+
+  private final Type type;
+  private final int itemId;
+  private final int amount;
+  private final boolean noted;
+
+  private PlanStep(Type type, int itemId, int amount, boolean noted)
+  {
+    this.type = type;
+    this.itemId = itemId;
+    this.amount = amount;
+    this.noted = noted;
+  }
+
+  public static PlanStep depositAll()
+  {
+    return new PlanStep(Type.DEPOSIT_ALL, -1, -1, false);
+  }
+
+  /**
+   * @param amount The amount to deposit, -1 for all of the item
+   */
+  public static PlanStep deposit(int itemId, int amount)
+  {
+    return new PlanStep(Type.DEPOSIT, itemId, amount, false);
+  }
+
+  public static PlanStep withdrawMode(boolean noted)
+  {
+    return new PlanStep(Type.WITHDRAW_MODE, -1, -1, noted);
+  }
+
+  public static PlanStep withdraw(int itemId, int amount, boolean noted)
+  {
+    return new PlanStep(Type.WITHDRAW, itemId, amount, noted);
+  }
+
+  /**
+   * @param amount The amount that ends up worn, informational
+   */
+  public static PlanStep equip(int itemId, int amount)
+  {
+    return new PlanStep(Type.EQUIP, itemId, amount, false);
+  }
+
+  public Type getType()
+  {
+    return type;
+  }
+
+  /**
+   * @return The item id, the unnoted id for withdrawals, -1 for steps without an item
+   */
+  public int getItemId()
+  {
+    return itemId;
+  }
+
+  public int getAmount()
+  {
+    return amount;
+  }
+
+  public boolean isNoted()
+  {
+    return noted;
+  }
+
+  /**
+   * Runs the step through the bank or equipment API
+   */
+  public void execute()
+  {
+    switch (type)
+    {
+      case DEPOSIT_ALL:
+        BankAPI.depositAll();
+        break;
+      case DEPOSIT:
+        BankAPI.deposit(itemId, amount);
+        break;
+      case WITHDRAW_MODE:
+        BankAPI.setWithdrawMode(noted);
+        break;
+      case WITHDRAW:
+        BankAPI.withdraw(itemId, amount, noted);
+        break;
+      case EQUIP:
+        EquipmentAPI.equip(itemId);
+        break;
+    }
+  }
+
+  @Override
+  public String toString()
+  {
+    switch (type)
+    {
+      case DEPOSIT_ALL:
+        return "DEPOSIT_ALL";
+      case WITHDRAW_MODE:
+        return "WITHDRAW_MODE " + (noted ? "noted" : "item");
+      case WITHDRAW:
+        return "WITHDRAW " + itemId + " x" + amount + (noted ? " noted" : "");
+      default:
+        return type + " " + itemId + " x" + amount;
+    }
+  }
+}
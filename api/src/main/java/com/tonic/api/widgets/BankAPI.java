@@ -3,18 +3,31 @@ package com.tonic.api.widgets;
 import com.tonic.Logger;
 import com.tonic.Static;
 import com.tonic.api.game.VarAPI;
+import com.tonic.api.loadouts.EquipmentLoadout;
 import com.tonic.api.loadouts.InventoryLoadout;
+import com.tonic.api.loadouts.item.Loadout;
 import com.tonic.api.loadouts.item.LoadoutItem;
+import com.tonic.api.loadouts.plan.LoadoutPlan;
+import com.tonic.api.loadouts.plan.LoadoutPlanner;
+import com.tonic.api.loadouts.plan.PlanStep;
 import com.tonic.data.wrappers.ItemContainerEx;
+import com.tonic.data.wrappers.ItemContainerSnapshot;
 import com.tonic.queries.InventoryQuery;
 import com.tonic.data.wrappers.ItemEx;
 import com.tonic.services.GameManager;
+import com.tonic.services.ItemContainerCache;
 import net.runelite.api.Client;
+import net.runelite.api.ItemComposition;
 import net.runelite.api.gameval.InterfaceID;
 import net.runelite.api.gameval.InventoryID;
 import net.runelite.api.gameval.VarbitID;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -36,6 +49,18 @@ public class BankAPI
         private static int tick = -1;
     }
 
+    private static class RestockSnapshot
+    {
+        //versions of the containers the last restock actions were planned from, -1 if they do not touch it
+        private static long inventory = -1;
+        private static long equipment = -1;
+        private static long bank = -1;
+        private static int tick = -1;
+    }
+
+    //ticks to wait for the last restock actions to land before planning again regardless
+    private static final int RESTOCK_TIMEOUT = 3;
+
     /**
      * Creates an instance of InventoryQuery from the Bank
      * @return InventoryQuery
@@ -180,6 +205,198 @@ public class BankAPI
         return true;
     }
 
+    /**
+     * Restocks both loadouts with the fewest bank actions, see {@link LoadoutPlanner}. Sends the first phase of the
+     * plan and, on later calls, waits for those actions to show up in the inventory, equipment and bank before
+     * planning again, so nothing is sent twice. Keep calling it on later ticks until it returns true.
+     * @param inventory The inventory loadout, without the equipment items fulfilled into it
+     * @param equipment The equipment loadout, may be null
+     * @param maxActionsPerTick The most actions to send this call
+     * @return True once there was nothing left to do
+     */
+    public static boolean restock(InventoryLoadout inventory, EquipmentLoadout equipment, int maxActionsPerTick)
+    {
+        if (!isOpen())
+        {
+            return false;
+        }
+
+        ItemContainerSnapshot carried = ItemContainerCache.get(InventoryID.INV);
+        ItemContainerSnapshot worn = ItemContainerCache.get(InventoryID.WORN);
+        ItemContainerSnapshot banked = ItemContainerCache.get(InventoryID.BANK);
+        if (restockPending(carried, worn, banked))
+        {
+            return false;
+        }
+
+        LoadoutPlan plan = plan(inventory, equipment, carried, worn, banked);
+        for (LoadoutPlanner.Target target : plan.getShortfalls().keySet())
+        {
+            LoadoutItem item = target.getItem();
+            Loadout loadout = target.isEquip() ? equipment : inventory;
+            if (item != null && !item.isOptional() && loadout.getItemDepletionListener() != null)
+            {
+                loadout.getItemDepletionListener().onDeplete(item);
+            }
+        }
+
+        int sent = plan.execute(0, maxActionsPerTick);
+        RestockSnapshot.inventory = -1;
+        RestockSnapshot.equipment = -1;
+        RestockSnapshot.bank = -1;
+        RestockSnapshot.tick = -1;
+        for (PlanStep step : plan.getSteps().subList(0, sent))
+        {
+            if (step.getType() == PlanStep.Type.WITHDRAW_MODE)
+            {
+                continue;
+            }
+
+            RestockSnapshot.inventory = carried.getVersion();
+            if (step.getType() == PlanStep.Type.EQUIP)
+            {
+                RestockSnapshot.equipment = worn.getVersion();
+            }
+            else
+            {
+                RestockSnapshot.bank = banked.getVersion();
+            }
+            RestockSnapshot.tick = GameManager.getTickCount();
+        }
+
+        return plan.isEmpty();
+    }
+
+    /**
+     * @return Whether a container the last restock actions touch is still as it was when they were planned
+     */
+    private static boolean restockPending(ItemContainerSnapshot carried, ItemContainerSnapshot worn, ItemContainerSnapshot banked)
+    {
+        if (RestockSnapshot.tick == -1 || GameManager.getTickCount() - RestockSnapshot.tick >= RESTOCK_TIMEOUT)
+        {
+            return false;
+        }
+
+        return carried.getVersion() == RestockSnapshot.inventory
+                || worn.getVersion() == RestockSnapshot.equipment
+                || banked.getVersion() == RestockSnapshot.bank;
+    }
+
+    /**
+     * Plans the restock of both loadouts from the cached inventory, equipment and bank snapshots.
+     * @param inventory The inventory loadout, without the equipment items fulfilled into it
+     * @param equipment The equipment loadout, may be null
+     * @return The plan, run its first phase with {@link LoadoutPlan#execute()}
+     */
+    public static LoadoutPlan plan(InventoryLoadout inventory, EquipmentLoadout equipment)
+    {
+        return plan(inventory, equipment, ItemContainerCache.get(InventoryID.INV),
+                ItemContainerCache.get(InventoryID.WORN), ItemContainerCache.get(InventoryID.BANK));
+    }
+
+    private static LoadoutPlan plan(InventoryLoadout inventory, EquipmentLoadout equipment, ItemContainerSnapshot invSnapshot,
+                                    ItemContainerSnapshot wornSnapshot, ItemContainerSnapshot bankSnapshot)
+    {
+        List<LoadoutPlanner.Target> targets = new ArrayList<>();
+        Set<String> worn = new HashSet<>();
+        if (equipment != null)
+        {
+            for (LoadoutItem item : equipment)
+            {
+                targets.add(target(item, true));
+                worn.add(item.getIdentifier());
+            }
+        }
+        for (LoadoutItem item : inventory)
+        {
+            if (!worn.contains(item.getIdentifier()))
+            {
+                targets.add(target(item, false));
+            }
+        }
+
+        Map<Integer, Integer> carried = counts(invSnapshot);
+        Map<Integer, Integer> equipped = counts(wornSnapshot);
+        Map<Integer, Integer> banked = counts(bankSnapshot);
+
+        Set<Integer> ids = new HashSet<>(carried.keySet());
+        for (LoadoutPlanner.Target target : targets)
+        {
+            ids.add(target.getInventoryId());
+        }
+
+        Client client = Static.getClient();
+        Set<Integer> stackable = new HashSet<>();
+        Map<Integer, Integer> unnoted = new HashMap<>();
+        Static.invoke(() -> {
+            for (int id : ids)
+            {
+                if (id < 0)
+                    continue;
+                ItemComposition definition = client.getItemDefinition(id);
+                if (definition.isStackable())
+                    stackable.add(id);
+                if (definition.getNote() == 799)
+                    unnoted.put(id, definition.getLinkedNoteId());
+            }
+        });
+
+        return new LoadoutPlanner(carried, equipped, banked, stackable::contains)
+                .unnote(id -> unnoted.getOrDefault(id, id))
+                .withdrawNoted(isWithdrawNote())
+                .plan(targets);
+    }
+
+    private static LoadoutPlanner.Target target(LoadoutItem item, boolean equip)
+    {
+        //prefer the variant already in place, so the plan does not swap it out
+        List<ItemEx> found = equip ? item.getWorn() : Collections.emptyList();
+        boolean carried = false;
+        if (found.isEmpty())
+        {
+            found = item.getCarried();
+            carried = !found.isEmpty();
+        }
+        if (found.isEmpty())
+        {
+            found = item.getBanked();
+        }
+
+        int id = found.isEmpty() ? -1 : found.get(0).getId();
+        LoadoutPlanner.Target target;
+        if (equip)
+        {
+            target = LoadoutPlanner.Target.worn(id, item.getMinimumAmount(), item.isStackable() ? item.getAmount() : 1, item.isStackable());
+        }
+        else if (item.isNoted() && id != -1)
+        {
+            int linked = found.get(0).getLinkedNoteId();
+            target = carried
+                    ? LoadoutPlanner.Target.carriedNoted(linked, id, item.getMinimumAmount(), item.getAmount())
+                    : LoadoutPlanner.Target.carriedNoted(id, linked, item.getMinimumAmount(), item.getAmount());
+        }
+        else
+        {
+            target = LoadoutPlanner.Target.carried(id, item.getMinimumAmount(), item.getAmount(), item.isStackable());
+        }
+
+        return target.from(item);
+    }
+
+    private static Map<Integer, Integer> counts(ItemContainerSnapshot snapshot)
+    {
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (ItemEx item : snapshot.getItems())
+        {
+            if (item.getQuantity() > 0)
+            {
+                counts.merge(item.getId(), item.getQuantity(), Integer::sum);
+            }
+        }
+
+        return counts;
+    }
+
     private static int depositForeignLoadoutItems(InventoryLoadout loadout, int maxActionsPerTick) {
         List<ItemEx> foreign = loadout.getForeignItems();
         if (foreign.isEmpty())
@@ -429,7 +646,13 @@ public class BankAPI
      */
     public static boolean contains(int... itemIds)
     {
-        return InventoryQuery.fromInventoryId(InventoryID.BANK).withId(itemIds).first() != null;
+        ItemContainerSnapshot bank = ItemContainerCache.get(InventoryID.BANK);
+        for(int itemId : itemIds)
+        {
+            if(bank.contains(itemId))
+                return true;
+        }
+        return false;
     }
 
     /**
@@ -449,7 +672,7 @@ public class BankAPI
      */
     public static int count(int itemId)
     {
-        return InventoryQuery.fromInventoryId(InventoryID.BANK).withId(itemId).count();
+        return ItemContainerCache.get(InventoryID.BANK).count(itemId);
     }
 
     /**
@@ -7,13 +7,13 @@ import com.tonic.data.VarrockMuseumAnswer;
 import com.tonic.data.WidgetInfoExtended;
 import com.tonic.services.ClickManager;
 import com.tonic.services.ClickPacket.ClickType;
+import com.tonic.services.DialogueCache;
 import net.runelite.api.Client;
 import net.runelite.api.gameval.InterfaceID;
 import net.runelite.api.widgets.Widget;
 import net.runelite.api.widgets.WidgetInfo;
 import net.runelite.client.config.ConfigManager;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -85,70 +85,21 @@ public class DialogueAPI
      * @return true if a continue action was performed, false otherwise.
      */
     public static boolean continueDialogue() {
+        DialogueState state = DialogueCache.get().getState();
+        if (!state.canContinue()) {
+            return false;
+        }
         TClient client = Static.getClient();
-        return Static.invoke(() -> {
-            if (WidgetAPI.get(WidgetInfoExtended.DIALOG_NPC_CONTINUE) != null) {
-                client.getPacketWriter().resumePauseWidgetPacket(WidgetInfoExtended.DIALOG_NPC_CONTINUE.getId(), -1);
-                return true;
-            }
-            if (WidgetAPI.get(633, 0) != null) {
-                client.getPacketWriter().resumePauseWidgetPacket(WidgetInfo.PACK(633, 0), -1);
-                return true;
-            }
-            if (WidgetAPI.get(WidgetInfoExtended.DIALOG_PLAYER_CONTINUE) != null) {
-                client.getPacketWriter().resumePauseWidgetPacket(WidgetInfoExtended.DIALOG_PLAYER_CONTINUE.getId(), -1);
-                return true;
-            }
-            if (WidgetAPI.get(WidgetInfo.DIALOG_SPRITE) != null) {
-                client.getPacketWriter().resumePauseWidgetPacket(WidgetInfo.DIALOG_SPRITE.getId(), 0);
-                return true;
-            }
-            if (WidgetAPI.get(WidgetInfoExtended.DIALOG2_SPRITE) != null) {
-                client.getPacketWriter().resumePauseWidgetPacket(WidgetInfoExtended.DIALOG2_SPRITE_CONTINUE.getId(), -1);
-                return true;
-            }
-            if (WidgetAPI.get(WidgetInfoExtended.MINIGAME_DIALOG_CONTINUE) != null) {
-                Widget w = WidgetAPI.get(WidgetInfoExtended.MINIGAME_DIALOG_CONTINUE);
-                if(w != null && w.getText() != null && w.getText().equals("Click here to continue"))
-                {
-                    client.getPacketWriter().resumePauseWidgetPacket(WidgetInfoExtended.MINIGAME_DIALOG_CONTINUE.getId(), -1);
-                    return true;
-                }
-            }
-            if (WidgetAPI.get(WidgetInfoExtended.DIALOG_NOTIFICATION_CONTINUE) != null) {
-                Widget w = WidgetAPI.get(WidgetInfoExtended.DIALOG_NOTIFICATION_CONTINUE);
-                if(w != null && w.getText() != null && w.getText().equals("Click here to continue"))
-                {
-                    client.getPacketWriter().resumePauseWidgetPacket(WidgetInfoExtended.DIALOG_NOTIFICATION_CONTINUE.getId(), -1);
-                    return true;
-                }
-            }
-            if (WidgetAPI.get(WidgetInfoExtended.LEVEL_UP_CONTINUE) != null) {
-                Widget w = WidgetAPI.get(WidgetInfoExtended.LEVEL_UP_CONTINUE);
-                if(w != null && w.getText() != null && w.getText().equals("Click here to continue"))
-                {
-                    client.getPacketWriter().resumePauseWidgetPacket(WidgetInfoExtended.LEVEL_UP_CONTINUE.getId(), -1);
-                    return true;
-                }
-            }
-            if(WidgetAPI.get(InterfaceID.Messagebox.CONTINUE) != null) {
-                Widget w = WidgetAPI.get(InterfaceID.Messagebox.CONTINUE);
-                if(w != null && w.getText() != null && w.getText().equals("Click here to continue"))
-                {
-                    client.getPacketWriter().resumePauseWidgetPacket(InterfaceID.Messagebox.CONTINUE, -1);
-                    return true;
-                }
+        Static.invoke(() -> {
+            if (state == DialogueState.CHATBOX_CONTINUE) {
+                ((Client) client).runScript(101, 1);
             }
-            if(WidgetAPI.get(InterfaceID.Chatbox.MES_TEXT2) != null) {
-                Widget w = WidgetAPI.get(InterfaceID.Chatbox.MES_TEXT2);
-                if(w != null && w.getText() != null && w.getText().equals("Click here to continue"))
-                {
-                    ((Client) client).runScript(101, 1);
-                    return true;
-                }
+            else {
+                client.getPacketWriter().resumePauseWidgetPacket(state.getResumeWidget(), state.getResumeOption());
             }
-            return false;
         });
+        DialogueCache.invalidate();
+        return true;
     }
 
     /**
@@ -157,49 +108,16 @@ public class DialogueAPI
      * @return true if a dialogue is present, false otherwise.
      */
     public static boolean dialoguePresent() {
-        return Static.invoke(() -> {
-            if (WidgetAPI.get(WidgetInfoExtended.DIALOG_NPC_CONTINUE) != null) {
-                return true;
-            }
-            if (WidgetAPI.get(633, 0) != null) {
-                return true;
-            }
-            if (WidgetAPI.get(WidgetInfoExtended.DIALOG_PLAYER_CONTINUE) != null) {
-                return true;
-            }
-            if (WidgetAPI.get(WidgetInfo.DIALOG_SPRITE) != null) {
-                return true;
-            }
-            if (WidgetAPI.get(WidgetInfoExtended.DIALOG2_SPRITE) != null) {
-                return true;
-            }
-            if (WidgetAPI.get(WidgetInfoExtended.MINIGAME_DIALOG_CONTINUE) != null) {
-                Widget w = WidgetAPI.get(WidgetInfoExtended.MINIGAME_DIALOG_CONTINUE);
-                if(w != null && w.getText() != null && w.getText().equals("Click here to continue"))
-                    return true;
-            }
-            if (WidgetAPI.get(WidgetInfoExtended.DIALOG_NOTIFICATION_CONTINUE) != null) {
-                Widget w = WidgetAPI.get(WidgetInfoExtended.DIALOG_NOTIFICATION_CONTINUE);
-                if(w != null && w.getText() != null && w.getText().equals("Click here to continue"))
-                    return true;
-            }
-            if(WidgetAPI.get(WidgetInfoExtended.LEVEL_UP_CONTINUE) != null) {
-                Widget w = WidgetAPI.get(WidgetInfoExtended.LEVEL_UP_CONTINUE);
-                if(w != null && w.getText() != null && w.getText().equals("Click here to continue"))
-                    return true;
-            }
-            if(WidgetAPI.get(InterfaceID.Messagebox.CONTINUE) != null) {
-                Widget w = WidgetAPI.get(InterfaceID.Messagebox.CONTINUE);
-                if(w != null && w.getText() != null && w.getText().equals("Click here to continue"))
-                    return true;
-            }
-            if(WidgetAPI.get(InterfaceID.Chatbox.MES_TEXT2) != null) {
-                Widget w = WidgetAPI.get(InterfaceID.Chatbox.MES_TEXT2);
-                if(w != null && w.getText() != null && w.getText().equals("Click here to continue"))
-                    return true;
-            }
-            return WidgetAPI.get(WidgetInfoExtended.DIALOG_OPTION_OPTION1) != null || WidgetAPI.get(WidgetInfo.DIALOG_OPTION_OPTIONS) != null;
-        });
+        return DialogueCache.get().isPresent();
+    }
+
+    /**
+     * Gets the kind of dialogue currently on screen.
+     *
+     * @return The dialogue state, {@link DialogueState#NONE} if no dialogue is present.
+     */
+    public static DialogueState getState() {
+        return DialogueCache.get().getState();
     }
 
     /**
@@ -218,26 +136,11 @@ public class DialogueAPI
      * @return true if the option was found and selected, false otherwise.
      */
     public static boolean selectOption(String option) {
-
-        return Static.invoke(() -> {
-            Widget widget = WidgetAPI.get(WidgetInfoExtended.DIALOG_OPTION_OPTION1);
-            if(widget == null)
-                return false;
-            Widget[] dialogOption1kids = widget.getChildren();
-            if(dialogOption1kids == null)
-                return false;
-            if(dialogOption1kids.length < 2)
-                return false;
-            int i = 0;
-            for(Widget w : dialogOption1kids) {
-                if(w.getText().toLowerCase().contains(option.toLowerCase())) {
-                    selectOption(i);
-                    return true;
-                }
-                i++;
-            }
+        int index = DialogueCache.get().indexOf(option);
+        if (index == -1)
             return false;
-        });
+        selectOption(index);
+        return true;
     }
 
     /**
@@ -293,6 +196,7 @@ public class DialogueAPI
     public static void resumePause(int widgetID, int optionIndex) {
         TClient client = Static.getClient();
         Static.invoke(() -> client.getPacketWriter().resumePauseWidgetPacket(widgetID, optionIndex));
+        DialogueCache.invalidate();
     }
 
     /**
@@ -315,31 +219,7 @@ public class DialogueAPI
      * @return A list of dialogue option texts. If no options are present, returns an empty list.
      */
     public static List<String> getOptions() {
-        return Static.invoke(() -> {
-            List<String> options = new ArrayList<>();
-            Widget widget = WidgetAPI.get(WidgetInfoExtended.DIALOG_OPTION_OPTION1);
-            if(widget == null)
-                return options;
-            Widget[] dialogOption1kids = widget.getChildren();
-            if(dialogOption1kids == null)
-                return options;
-            if(dialogOption1kids.length < 2)
-                return options;
-            boolean skipZero = true;
-            for(Widget w : dialogOption1kids) {
-                if(skipZero)
-                {
-                    skipZero = false;
-                    continue;
-                }
-                else if(w.getText().isBlank())
-                {
-                    continue;
-                }
-                options.add(w.getText());
-            }
-            return options;
-        });
+        return DialogueCache.get().getOptions();
     }
 
     /**
@@ -350,9 +230,9 @@ public class DialogueAPI
      */
     public static boolean optionPresent(String option)
     {
-        List<String> options = getOptions();
-        for(String s : options) {
-            if(s.toLowerCase().contains(option.toLowerCase())) {
+        String needle = option.toLowerCase();
+        for(String s : getOptions()) {
+            if(s.toLowerCase().contains(needle)) {
                 return true;
             }
         }
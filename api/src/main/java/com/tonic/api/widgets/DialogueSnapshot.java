@@ -0,0 +1,122 @@
+package com.tonic.api.widgets;
+
+import lombok.Getter;
+import net.runelite.api.widgets.Widget;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntFunction;
+
+/**
+ * The dialogue on screen at one point in time, see {@link com.tonic.services.DialogueCache}. Immutable.
+ */
+public class DialogueSnapshot
+{
+    public static final DialogueSnapshot NONE = new DialogueSnapshot(DialogueState.NONE, new String[0], Collections.emptyList());
+
+    private static final DialogueState[] PROBES = DialogueState.values();
+
+    @Getter
+    private final DialogueState state;
+    // lower cased text of every child of the options widget, the title at index 0
+    private final String[] children;
+    /**
+     * The selectable options, without the title and blank lines.
+     */
+    @Getter
+    private final List<String> options;
+
+    private DialogueSnapshot(DialogueState state, String[] children, List<String> options)
+    {
+        this.state = state;
+        this.children = children;
+        this.options = options;
+    }
+
+    /**
+     * Run the probe table against a widget tree. Call on the client thread when reading the client.
+     * @param widgets looks up a widget by packed id, null if it is not loaded
+     * @return the dialogue shown by the widgets
+     */
+    public static DialogueSnapshot capture(IntFunction<Widget> widgets)
+    {
+        // probes share widgets, e.g. the message box ones, so each is looked up at most once
+        int[] looked = new int[PROBES.length];
+        Widget[] found = new Widget[PROBES.length];
+        int count = 0;
+        for (DialogueState state : PROBES)
+        {
+            if (state == DialogueState.NONE)
+            {
+                continue;
+            }
+            Widget widget;
+            int slot = 0;
+            while (slot < count && looked[slot] != state.getProbe())
+            {
+                slot++;
+            }
+            if (slot < count)
+            {
+                widget = found[slot];
+            }
+            else
+            {
+                widget = widgets.apply(state.getProbe());
+                looked[count] = state.getProbe();
+                found[count++] = widget;
+            }
+            if (!state.matches(widget))
+            {
+                continue;
+            }
+            return state == DialogueState.OPTIONS ? options(widget) : new DialogueSnapshot(state, new String[0], Collections.emptyList());
+        }
+        return NONE;
+    }
+
+    private static DialogueSnapshot options(Widget widget)
+    {
+        Widget[] kids = widget.getChildren();
+        if (kids == null || kids.length < 2)
+        {
+            return new DialogueSnapshot(DialogueState.OPTIONS, new String[0], Collections.emptyList());
+        }
+        String[] children = new String[kids.length];
+        List<String> options = new ArrayList<>(kids.length - 1);
+        for (int i = 0; i < kids.length; i++)
+        {
+            String text = kids[i] == null || kids[i].getText() == null ? "" : kids[i].getText();
+            children[i] = text.toLowerCase(Locale.ROOT);
+            if (i > 0 && !text.isBlank())
+            {
+                options.add(text);
+            }
+        }
+        return new DialogueSnapshot(DialogueState.OPTIONS, children, Collections.unmodifiableList(options));
+    }
+
+    public boolean isPresent()
+    {
+        return state != DialogueState.NONE;
+    }
+
+    /**
+     * @param option text to look for, case-insensitive and partial
+     * @return child index of the first line containing the text, for {@link DialogueAPI#selectOption(int)}, or -1
+     */
+    public int indexOf(String option)
+    {
+        String needle = option.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < children.length; i++)
+        {
+            if (children[i].contains(needle))
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,77 @@
+package com.tonic.api.widgets;
+
+import com.tonic.data.WidgetInfoExtended;
+import lombok.Getter;
+import net.runelite.api.gameval.InterfaceID;
+import net.runelite.api.widgets.Widget;
+import net.runelite.api.widgets.WidgetInfo;
+
+/**
+ * The kind of dialogue on screen. Apart from {@link #NONE} the constants double as the probe table the
+ * classifier runs, in priority order: the widget to look up, whether it must read "Click here to continue",
+ * and the widget and option a continue resumes.
+ */
+@SuppressWarnings("deprecation")
+public enum DialogueState
+{
+    NPC_CONTINUE(WidgetInfoExtended.DIALOG_NPC_CONTINUE.getId(), false, WidgetInfoExtended.DIALOG_NPC_CONTINUE.getId(), -1),
+    // group 633 continue prompt
+    OTHER_CONTINUE(WidgetInfo.PACK(633, 0), false, WidgetInfo.PACK(633, 0), -1),
+    PLAYER_CONTINUE(WidgetInfoExtended.DIALOG_PLAYER_CONTINUE.getId(), false, WidgetInfoExtended.DIALOG_PLAYER_CONTINUE.getId(), -1),
+    SPRITE_CONTINUE(WidgetInfo.DIALOG_SPRITE.getId(), false, WidgetInfo.DIALOG_SPRITE.getId(), 0),
+    DOUBLE_SPRITE_CONTINUE(WidgetInfoExtended.DIALOG2_SPRITE.getId(), false, WidgetInfoExtended.DIALOG2_SPRITE_CONTINUE.getId(), -1),
+    MINIGAME_CONTINUE(WidgetInfoExtended.MINIGAME_DIALOG_CONTINUE.getId(), true, WidgetInfoExtended.MINIGAME_DIALOG_CONTINUE.getId(), -1),
+    NOTIFICATION_CONTINUE(WidgetInfoExtended.DIALOG_NOTIFICATION_CONTINUE.getId(), true, WidgetInfoExtended.DIALOG_NOTIFICATION_CONTINUE.getId(), -1),
+    LEVEL_UP(WidgetInfoExtended.LEVEL_UP_CONTINUE.getId(), true, WidgetInfoExtended.LEVEL_UP_CONTINUE.getId(), -1),
+    MESSAGE_BOX(InterfaceID.Messagebox.CONTINUE, true, InterfaceID.Messagebox.CONTINUE, -1),
+    // continued by running the chatbox script, not by a resume
+    CHATBOX_CONTINUE(InterfaceID.Chatbox.MES_TEXT2, true, -1, -1),
+    OPTIONS(WidgetInfoExtended.DIALOG_OPTION_OPTION1.getId(), false, -1, -1),
+    NONE(-1, false, -1, -1),
+    ;
+
+    static final String CONTINUE_TEXT = "Click here to continue";
+
+    /**
+     * Packed id of the widget probed for this state.
+     */
+    @Getter
+    private final int probe;
+    private final boolean continueText;
+    /**
+     * Packed id of the widget a continue resumes, -1 if the state is not continued with a resume.
+     */
+    @Getter
+    private final int resumeWidget;
+    @Getter
+    private final int resumeOption;
+
+    DialogueState(int probe, boolean continueText, int resumeWidget, int resumeOption)
+    {
+        this.probe = probe;
+        this.continueText = continueText;
+        this.resumeWidget = resumeWidget;
+        this.resumeOption = resumeOption;
+    }
+
+    /**
+     * @return whether {@link DialogueAPI#continueDialogue()} can move past this state
+     */
+    public boolean canContinue()
+    {
+        return this != NONE && this != OPTIONS;
+    }
+
+    /**
+     * @param widget the probed widget, may be null
+     * @return whether the widget shows this state
+     */
+    boolean matches(Widget widget)
+    {
+        if (widget == null)
+        {
+            return false;
+        }
+        return !continueText || CONTINUE_TEXT.equals(widget.getText());
+    }
+}
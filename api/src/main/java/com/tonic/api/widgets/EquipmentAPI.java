@@ -5,6 +5,7 @@ import com.tonic.api.TClient;
 import com.tonic.api.loadouts.EquipmentLoadout;
 import com.tonic.api.loadouts.item.LoadoutItem;
 import com.tonic.queries.InventoryQuery;
+import com.tonic.services.ItemContainerCache;
 import com.tonic.data.EquipmentSlot;
 import com.tonic.data.wrappers.ItemEx;
 import com.tonic.services.ClickManager;
@@ -32,7 +33,7 @@ public class EquipmentAPI
      */
     public static boolean isEquipped(int itemId)
     {
-        return Static.invoke(() -> !InventoryQuery.fromInventoryId(InventoryID.WORN).withId(itemId).collect().isEmpty());
+        return ItemContainerCache.get(InventoryID.WORN).contains(itemId);
     }
 
     /**
@@ -197,7 +198,7 @@ public class EquipmentAPI
      */
     public static ItemEx fromSlot(EquipmentSlot slot)
     {
-        return Static.invoke(() -> InventoryQuery.fromInventoryId(InventoryID.WORN).fromSlot(slot.getSlotIdx()).first());
+        return ItemContainerCache.get(InventoryID.WORN).getSlot(slot.getSlotIdx());
     }
 
     /**
@@ -231,6 +232,6 @@ public class EquipmentAPI
      * @return int
      */
     public static int getCount(int id) {
-        return Static.invoke(() -> InventoryQuery.fromInventoryId(InventoryID.WORN).withId(id).count());
+        return ItemContainerCache.get(InventoryID.WORN).count(id);
     }
 }
@@ -4,6 +4,7 @@ import com.tonic.Logger;
 import com.tonic.Static;
 import com.tonic.data.wrappers.*;
 import com.tonic.queries.InventoryQuery;
+import com.tonic.services.ItemContainerCache;
 import net.runelite.api.NPC;
 import net.runelite.api.Player;
 import net.runelite.api.coords.WorldPoint;
@@ -441,7 +442,7 @@ public class InventoryAPI
      */
     public static int count(int... itemIds)
     {
-        return InventoryQuery.fromInventoryId(InventoryID.INV).withId(itemIds).count();
+        return ItemContainerCache.get(InventoryID.INV).count(itemIds);
     }
 
     /**
@@ -549,6 +550,6 @@ public class InventoryAPI
     public static int getCount(int id, boolean canonicalize) {
         if(canonicalize)
             return InventoryQuery.fromInventoryId(InventoryID.INV).withCanonicalId(id).count();
-        return InventoryQuery.fromInventoryId(InventoryID.INV).withId(id).count();
+        return ItemContainerCache.get(InventoryID.INV).count(id);
     }
 }
@@ -1,6 +1,8 @@
 package com.tonic.api.widgets;
 
 import com.tonic.Static;
+import com.tonic.services.pathfinder.collections.CompactPath;
+import com.tonic.util.WorldPointUtil;
 import net.runelite.api.*;
 import net.runelite.api.coords.LocalPoint;
 import net.runelite.api.coords.WorldPoint;
@@ -33,6 +35,25 @@ public class MiniMapAPI {
         }
     }
 
+    /**
+     * Draws the part of a path that fits on the minimap, without building the rest of it.
+     *
+     * @param graphics The graphics context to draw on.
+     * @param path     The path to draw.
+     * @param color    The color to use for rendering the path.
+     */
+    public static void drawPath(Graphics2D graphics, CompactPath path, Color color)
+    {
+        if(graphics == null || path == null || path.isEmpty())
+        {
+            return;
+        }
+
+        final Client client = Static.getClient();
+        int center = WorldPointUtil.compress(client.getLocalPlayer().getWorldLocation());
+        drawPath(graphics, path.window(center, 16), color);
+    }
+
     /**
      * Renders a single node on the minimap.
      *
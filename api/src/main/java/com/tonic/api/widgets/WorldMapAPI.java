@@ -1,6 +1,7 @@
 package com.tonic.api.widgets;
 
 import com.tonic.Static;
+import com.tonic.services.pathfinder.collections.CompactPath;
 import net.runelite.api.Client;
 import net.runelite.api.Point;
 import net.runelite.api.coords.WorldPoint;
@@ -256,6 +257,18 @@ public class WorldMapAPI
         }
     }
 
+    /**
+     * Draws a path on the world map. Its points are only built while the map is open.
+     */
+    public static void drawPath(Graphics2D graphics, CompactPath path, Color color)
+    {
+        if (WidgetAPI.get(InterfaceID.Worldmap.MAP_CONTAINER) == null) {
+            return;
+        }
+
+        drawPath(graphics, path.toWorldPoints(), color);
+    }
+
     private static Area getWorldMapClipArea(Rectangle baseRectangle) {
         final Widget overview = WidgetAPI.get(InterfaceID.Worldmap.OVERVIEW_CONTAINER);
         final Widget surfaceSelector = WidgetAPI.get(InterfaceID.Worldmap.MAPLIST_BOX_GRAPHIC0);
@@ -1,10 +1,12 @@
 package com.tonic.data;
 
 import com.google.common.collect.ImmutableMap;
+import com.tonic.util.SpatialIndex;
 import lombok.Getter;
 import net.runelite.api.coords.WorldArea;
 import net.runelite.api.coords.WorldPoint;
 
+import java.util.Arrays;
 import java.util.Map;
 
 public enum WorldLocation
@@ -725,6 +727,7 @@ public enum WorldLocation
     private final Location location;
     @Getter
     private static final Map<WorldArea, String> LOCATION_MAP;
+    private static final SpatialIndex<WorldLocation> INDEX;
 
     static
     {
@@ -736,6 +739,7 @@ public enum WorldLocation
         }
 
         LOCATION_MAP = builder.build();
+        INDEX = SpatialIndex.of(Arrays.asList(values()), WorldLocation::getWorldArea);
     }
 
     /**
@@ -762,31 +766,19 @@ public enum WorldLocation
     {
         int dist = 128; // x2 Region lengths
         String s = "";
-        WorldArea closestArea = null;
 
-        for (Map.Entry<WorldArea, String> entry : LOCATION_MAP.entrySet())
+        WorldLocation containing = INDEX.containing(worldPoint);
+        if (containing != null)
         {
-            final WorldArea worldArea = entry.getKey();
-
-            if (worldArea.toWorldPointList().contains(worldPoint))
-            {
-                s = entry.getValue();
-                return s;
-            }
-
-            final int distTo = worldArea.distanceTo(worldPoint);
-
-            if (distTo < dist)
-            {
-                dist = distTo;
-                closestArea = worldArea;
-            }
+            return containing.getName();
         }
 
-        if (closestArea == null)
+        WorldLocation closest = INDEX.nearest(worldPoint);
+        if (closest == null || closest.getWorldArea().distanceTo(worldPoint) >= dist)
         {
             return s;
         }
+        WorldArea closestArea = closest.getWorldArea();
 
         if (worldPoint.getY() > closestArea.toWorldPoint().getY() + closestArea.getHeight())
         {
@@ -809,7 +801,7 @@ public enum WorldLocation
         }
 
         s = s + " of ";
-        s = s + LOCATION_MAP.get(closestArea);
+        s = s + closest.getName();
 
         if (s.startsWith(" of "))
         {
@@ -1,11 +1,16 @@
 package com.tonic.data.locatables;
 
 import com.tonic.Static;
+import com.tonic.util.SpatialIndex;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import net.runelite.api.Client;
 import net.runelite.api.GameState;
 import net.runelite.api.coords.WorldArea;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Enum of various notable areas in the game.
@@ -35,6 +40,9 @@ public enum AreaLocations {
     NIGHTMARE_ZONE(new WorldArea(2599, 3111, 11, 11, 0)),
     WINTERTODT(new WorldArea(1611, 3968, 40, 33, 0)),
     ;
+
+    private static final SpatialIndex<AreaLocations> INDEX = SpatialIndex.of(Arrays.asList(values()), AreaLocations::getArea);
+
     private final WorldArea area;
 
     public boolean inArea()
@@ -45,4 +53,20 @@ public enum AreaLocations {
 
         return area.contains(client.getLocalPlayer().getWorldLocation());
     }
+
+    /**
+     * @return the first listed area containing the point, or null
+     */
+    public static AreaLocations at(WorldPoint point)
+    {
+        return INDEX.containing(point);
+    }
+
+    /**
+     * @return the areas at most radius tiles away on the point's plane
+     */
+    public static List<AreaLocations> within(WorldPoint point, int radius)
+    {
+        return INDEX.within(point, radius);
+    }
 }
\ No newline at end of file
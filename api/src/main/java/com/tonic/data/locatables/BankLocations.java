@@ -5,6 +5,7 @@ import com.tonic.api.game.QuestAPI;
 import com.tonic.api.game.SkillAPI;
 import com.tonic.services.pathfinder.Walker;
 import com.tonic.services.pathfinder.model.WalkerPath;
+import com.tonic.util.SpatialIndex;
 import com.tonic.util.WorldPointUtil;
 import lombok.Getter;
 import net.runelite.api.Client;
@@ -13,11 +14,9 @@ import net.runelite.api.QuestState;
 import net.runelite.api.Skill;
 import net.runelite.api.coords.WorldArea;
 import net.runelite.api.coords.WorldPoint;
-import org.apache.commons.lang3.ArrayUtils;
 
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -72,6 +71,8 @@ public enum BankLocations {
 
     ;
 
+    private static final SpatialIndex<BankLocations> INDEX = SpatialIndex.of2D(Arrays.asList(values()), BankLocations::getArea);
+
     @Getter
     private final WorldArea area;
     private final Supplier<Boolean> condition;
@@ -95,8 +96,11 @@ public enum BankLocations {
 
     public boolean containsTile(int tileIndex)
     {
-        int[] tiles = WorldPointUtil.toCompressedPoints(getArea());
-        return ArrayUtils.contains(tiles, tileIndex);
+        int x = WorldPointUtil.getCompressedX(tileIndex);
+        int y = WorldPointUtil.getCompressedY(tileIndex);
+        return WorldPointUtil.getCompressedPlane(tileIndex) == area.getPlane()
+                && x >= area.getX() && x < area.getX() + area.getWidth()
+                && y >= area.getY() && y < area.getY() + area.getHeight();
     }
 
     public WalkerPath pathTo()
@@ -107,32 +111,40 @@ public enum BankLocations {
 
     public static boolean isBankTile(int tileIndex)
     {
-        for(BankLocations location : values())
-        {
-            if(location.containsTile(tileIndex))
-            {
-                return true;
-            }
-        }
-        return false;
+        return INDEX.containing(
+                WorldPointUtil.getCompressedX(tileIndex),
+                WorldPointUtil.getCompressedY(tileIndex),
+                WorldPointUtil.getCompressedPlane(tileIndex)
+        ) != null;
+    }
+
+    /**
+     * @return the bank at the point, or null
+     */
+    public static BankLocations at(WorldPoint point)
+    {
+        return INDEX.containing(point);
     }
 
     public static BankLocations getNearest(WorldPoint source)
     {
-        return Arrays.stream(values())
-                .filter(BankLocations::test)
-                .min(Comparator.comparingInt(x -> x.getArea().distanceTo2D(source)))
-                .orElse(null);
+        return INDEX.nearest(source, BankLocations::test);
     }
 
     public static BankLocations getNearest()
     {
         Client client = Static.getClient();
-        WorldPoint source = client.getLocalPlayer().getWorldLocation();
-        return Arrays.stream(values())
+        return getNearest(client.getLocalPlayer().getWorldLocation());
+    }
+
+    /**
+     * @return the usable banks at most radius tiles away, ignoring planes
+     */
+    public static List<BankLocations> within(WorldPoint source, int radius)
+    {
+        return INDEX.within(source, radius).stream()
                 .filter(BankLocations::test)
-                .min(Comparator.comparingInt(x -> x.getArea().distanceTo2D(source)))
-                .orElse(null);
+                .collect(Collectors.toList());
     }
 
     public static void walkToNearest()
@@ -6,11 +6,16 @@ import com.tonic.api.widgets.DialogueAPI;
 import com.tonic.data.wrappers.NpcEx;
 import com.tonic.queries.NpcQuery;
 import com.tonic.services.pathfinder.Walker;
+import com.tonic.util.SpatialIndex;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import net.runelite.api.NPC;
+import net.runelite.api.coords.WorldArea;
 import net.runelite.api.coords.WorldPoint;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Enum of important NPCs and their locations
  */
@@ -366,6 +371,8 @@ public enum NpcLocations {
 
     ;
 
+    private static final SpatialIndex<NpcLocations> INDEX = SpatialIndex.of(Arrays.asList(values()), npc -> new WorldArea(npc.getLocation(), 1, 1));
+
     private final String name;
     private final WorldPoint location;
 
@@ -399,4 +406,18 @@ public enum NpcLocations {
         }
         return null;
     }
+
+    /**
+     * @return the listed NPC closest to the point on its plane, or null
+     */
+    public static NpcLocations getNearest(WorldPoint point) {
+        return INDEX.nearest(point);
+    }
+
+    /**
+     * @return the listed NPCs at most radius tiles away on the point's plane
+     */
+    public static List<NpcLocations> within(WorldPoint point, int radius) {
+        return INDEX.within(point, radius);
+    }
 }
\ No newline at end of file
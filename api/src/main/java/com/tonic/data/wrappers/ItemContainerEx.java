@@ -2,11 +2,11 @@ package com.tonic.data.wrappers;
 
 import com.tonic.Static;
 import com.tonic.data.wrappers.ItemEx;
+import com.tonic.services.ItemContainerCache;
 import lombok.Getter;
 import net.runelite.api.Client;
 import net.runelite.api.InventoryID;
 import net.runelite.api.ItemComposition;
-import net.runelite.api.ItemContainer;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -16,6 +16,7 @@ public class ItemContainerEx
 {
     private final int containerId;
     private final List<ItemEx> items;
+    private final ItemContainerSnapshot snapshot;
 
     public ItemContainerEx(InventoryID inventoryID)
     {
@@ -23,21 +24,13 @@ public class ItemContainerEx
     }
     public ItemContainerEx(int containerId)
     {
-        this.containerId = containerId;
-        Client client = Static.getClient();
-        ItemContainer container = Static.invoke(() -> client.getItemContainer(containerId));
-        if(container == null)
-        {
-            items = List.of();
-            return;
-        }
-        items = new ArrayList<>();
-        for(int i = 0; i < container.getItems().length; i++)
-        {
-            if(container.getItems()[i] == null || container.getItems()[i].getId() < 0)
-                continue;
-            items.add(new ItemEx(container.getItems()[i], i));
-        }
+        this(ItemContainerCache.get(containerId));
+    }
+    public ItemContainerEx(ItemContainerSnapshot snapshot)
+    {
+        this.containerId = snapshot.getContainerId();
+        this.snapshot = snapshot;
+        this.items = snapshot.getItems();
     }
 
     public List<ItemEx> getAll(int... itemIds)
@@ -45,6 +38,8 @@ public class ItemContainerEx
         List<ItemEx> found = new ArrayList<>();
         for(int itemId : itemIds)
         {
+            if(!snapshot.contains(itemId))
+                continue;
             for(ItemEx item : items)
             {
                 if(item.getItem().getId() == itemId)
@@ -75,12 +70,20 @@ public class ItemContainerEx
 
     public ItemEx getFirst(int itemId)
     {
-        for(ItemEx item : items)
-        {
-            if(item.getItem().getId() == itemId)
-                return item;
-        }
-        return null;
+        return snapshot.getFirst(itemId);
+    }
+
+    public boolean contains(int itemId)
+    {
+        return snapshot.contains(itemId);
+    }
+
+    /**
+     * @return total quantity of the given item ids
+     */
+    public int count(int... itemIds)
+    {
+        return snapshot.count(itemIds);
     }
 
     public ItemEx getFirst(String itemName)
@@ -114,19 +117,6 @@ public class ItemContainerEx
     }
 
     public int getNextEmptySlot() {
-        Client client = Static.getClient();
-        ItemContainer container = Static.invoke(() -> client.getItemContainer(containerId));
-        if(container == null)
-        {
-            return -1;
-        }
-        for(int i = 0; i < container.getItems().length; i++)
-        {
-            if(container.getItems()[i] == null || container.getItems()[i].getId() <= 0)
-            {
-                return i;
-            }
-        }
-        return -1;
+        return snapshot.getNextEmptySlot();
     }
 }
@@ -0,0 +1,156 @@
+package com.tonic.data.wrappers;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import lombok.Getter;
+import net.runelite.api.Item;
+import net.runelite.api.ItemContainer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable copy of an item container at one version, with id to count and id to first slot indexes.
+ * Safe to read from any thread, see {@link com.tonic.services.ItemContainerCache}.
+ */
+public class ItemContainerSnapshot
+{
+    @Getter
+    private final int containerId;
+    /**
+     * Bumped every time the container changes, equal versions mean equal contents.
+     */
+    @Getter
+    private final long version;
+    // null for empty slots
+    private final ItemEx[] slots;
+    /**
+     * Occupied slots in slot order.
+     */
+    @Getter
+    private final List<ItemEx> items;
+    private final Int2IntOpenHashMap counts;
+    private final Int2IntOpenHashMap firstSlots;
+
+    private ItemContainerSnapshot(int containerId, long version, ItemEx[] slots)
+    {
+        this.containerId = containerId;
+        this.version = version;
+        this.slots = slots;
+        this.counts = new Int2IntOpenHashMap();
+        this.firstSlots = new Int2IntOpenHashMap();
+        this.firstSlots.defaultReturnValue(-1);
+
+        List<ItemEx> items = new ArrayList<>();
+        for (ItemEx item : slots)
+        {
+            if (item == null)
+            {
+                continue;
+            }
+            items.add(item);
+            counts.addTo(item.getId(), item.getQuantity());
+            firstSlots.putIfAbsent(item.getId(), item.getSlot());
+        }
+        this.items = Collections.unmodifiableList(items);
+    }
+
+    /**
+     * Copy a live container. Call on the client thread.
+     */
+    public static ItemContainerSnapshot of(ItemContainer container, long version)
+    {
+        Item[] contents = container.getItems();
+        ItemEx[] slots = new ItemEx[contents.length];
+        for (int i = 0; i < contents.length; i++)
+        {
+            if (contents[i] == null || contents[i].getId() < 0)
+                continue;
+            slots[i] = new ItemEx(contents[i], i);
+        }
+        return new ItemContainerSnapshot(container.getId(), version, slots);
+    }
+
+    /**
+     * Snapshot of a container the client does not have.
+     */
+    public static ItemContainerSnapshot empty(int containerId, long version)
+    {
+        return new ItemContainerSnapshot(containerId, version, new ItemEx[0]);
+    }
+
+    /**
+     * @return number of slots, 0 if the container does not exist
+     */
+    public int getCapacity()
+    {
+        return slots.length;
+    }
+
+    /**
+     * @return the item in a slot, or null if the slot is empty
+     */
+    public ItemEx getSlot(int slot)
+    {
+        return slot >= 0 && slot < slots.length ? slots[slot] : null;
+    }
+
+    public boolean contains(int itemId)
+    {
+        return counts.containsKey(itemId);
+    }
+
+    /**
+     * @return total quantity of an item over all slots
+     */
+    public int count(int itemId)
+    {
+        return counts.get(itemId);
+    }
+
+    /**
+     * @return total quantity of the given items, each distinct id counted once
+     */
+    public int count(int... itemIds)
+    {
+        int total = 0;
+        for (int i = 0; i < itemIds.length; i++)
+        {
+            boolean repeated = false;
+            for (int j = 0; j < i && !repeated; j++)
+            {
+                repeated = itemIds[j] == itemIds[i];
+            }
+            if (!repeated)
+            {
+                total += counts.get(itemIds[i]);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * @return the first slot holding an item, or -1
+     */
+    public int getFirstSlot(int itemId)
+    {
+        return firstSlots.get(itemId);
+    }
+
+    public ItemEx getFirst(int itemId)
+    {
+        return getSlot(firstSlots.get(itemId));
+    }
+
+    public int getNextEmptySlot()
+    {
+        for (int i = 0; i < slots.length; i++)
+        {
+            if (slots[i] == null || slots[i].getId() == 0)
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
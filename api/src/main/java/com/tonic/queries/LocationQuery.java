@@ -5,6 +5,7 @@ import com.tonic.api.game.SceneAPI;
 import com.tonic.data.wrappers.PlayerEx;
 import com.tonic.queries.abstractions.AbstractQuery;
 import com.tonic.services.GameManager;
+import com.tonic.services.pathfinder.distance.PathDistanceOracle;
 import com.tonic.util.Distance;
 import com.tonic.util.Location;
 import net.runelite.api.Tile;
@@ -77,11 +78,8 @@ public class LocationQuery extends AbstractQuery<Tile, LocationQuery>
      * @return LocationQuery
      */
     public LocationQuery withinPathingDistance(int distance) {
-        Tile player = SceneAPI.getTile(PlayerEx.getLocal().getWorldPoint());
-        return keepIf(tile -> {
-            var path = SceneAPI.pathTo(player, tile);
-            return path != null && path.size() <= distance;
-        });
+        WorldPoint player = PlayerEx.getLocal().getWorldPoint();
+        return keepIf(tile -> PathDistanceOracle.distance(player, tile.getWorldLocation()) < distance);
     }
 
     /**
@@ -91,11 +89,8 @@ public class LocationQuery extends AbstractQuery<Tile, LocationQuery>
      * @return LocationQuery
      */
     public LocationQuery beyondPathingDistance(int distance) {
-        Tile player = SceneAPI.getTile(PlayerEx.getLocal().getWorldPoint());
-        return removeIf(tile -> {
-            var path = SceneAPI.pathTo(player, tile);
-            return path != null && path.size() <= distance;
-        });
+        WorldPoint player = PlayerEx.getLocal().getWorldPoint();
+        return removeIf(tile -> PathDistanceOracle.distance(player, tile.getWorldLocation()) < distance);
     }
 
     /**
@@ -1,6 +1,5 @@
 package com.tonic.queries;
 
-import com.tonic.api.game.SceneAPI;
 import com.tonic.data.wrappers.PlayerEx;
 import com.tonic.queries.abstractions.AbstractQuery;
 import com.tonic.services.GameManager;
@@ -14,7 +13,6 @@ import net.runelite.client.util.WildcardMatcher;
 import org.apache.commons.lang3.ArrayUtils;
 
 import java.awt.geom.Point2D;
-import java.util.List;
 
 /**
  * A query builder for {@link TileItemEx} objects.
@@ -264,13 +262,7 @@ public class TileItemQuery extends AbstractQuery<TileItemEx, TileItemQuery>
      */
     public TileItemQuery sortShortestPath(WorldPoint center)
     {
-        return sort((o1, o2) -> {
-            List<WorldPoint> path1 = SceneAPI.pathTo(center, o1.getWorldPoint());
-            List<WorldPoint> path2 = SceneAPI.pathTo(center, o2.getWorldPoint());
-            int len1 = path1 == null ? Integer.MAX_VALUE : path1.size();
-            int len2 = path2 == null ? Integer.MAX_VALUE : path2.size();
-            return Integer.compare(len1, len2);
-        });
+        return sortByPathDistance(center, o -> o.getWorldPoint(), true);
     }
 
     /**
@@ -289,13 +281,7 @@ public class TileItemQuery extends AbstractQuery<TileItemEx, TileItemQuery>
      */
     public TileItemQuery sortLongestPath(WorldPoint center)
     {
-        return sort((o1, o2) -> {
-            List<WorldPoint> path1 = SceneAPI.pathTo(center, o1.getWorldPoint());
-            List<WorldPoint> path2 = SceneAPI.pathTo(center, o2.getWorldPoint());
-            int len1 = path1 == null ? Integer.MAX_VALUE : path1.size();
-            int len2 = path2 == null ? Integer.MAX_VALUE : path2.size();
-            return Integer.compare(len2, len1);
-        });
+        return sortByPathDistance(center, o -> o.getWorldPoint(), false);
     }
 
     /**
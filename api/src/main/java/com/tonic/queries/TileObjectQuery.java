@@ -1,6 +1,5 @@
 package com.tonic.queries;
 
-import com.tonic.api.game.SceneAPI;
 import com.tonic.queries.abstractions.AbstractQuery;
 import com.tonic.services.GameManager;
 import com.tonic.data.wrappers.TileObjectEx;
@@ -12,7 +11,6 @@ import net.runelite.client.util.Text;
 import net.runelite.client.util.WildcardMatcher;
 import org.apache.commons.lang3.ArrayUtils;
 import java.awt.geom.Point2D;
-import java.util.List;
 
 /**
  * A query to find {@link TileObjectEx}'s in the game world.
@@ -200,13 +198,7 @@ public class TileObjectQuery extends AbstractQuery<TileObjectEx, TileObjectQuery
      */
     public TileObjectQuery sortShortestPath(WorldPoint center)
     {
-        return sort((o1, o2) -> {
-            List<WorldPoint> path1 = SceneAPI.pathTo(center, o1.getInteractionPoint());
-            List<WorldPoint> path2 = SceneAPI.pathTo(center, o2.getInteractionPoint());
-            int len1 = path1 == null ? Integer.MAX_VALUE : path1.size();
-            int len2 = path2 == null ? Integer.MAX_VALUE : path2.size();
-            return Integer.compare(len1, len2);
-        });
+        return sortByPathDistance(center, o -> o.getInteractionPoint(), true);
     }
 
     /**
@@ -225,13 +217,7 @@ public class TileObjectQuery extends AbstractQuery<TileObjectEx, TileObjectQuery
      */
     public TileObjectQuery sortLongestPath(WorldPoint center)
     {
-        return sort((o1, o2) -> {
-            List<WorldPoint> path1 = SceneAPI.pathTo(center, o1.getInteractionPoint());
-            List<WorldPoint> path2 = SceneAPI.pathTo(center, o2.getInteractionPoint());
-            int len1 = path1 == null ? Integer.MAX_VALUE : path1.size();
-            int len2 = path2 == null ? Integer.MAX_VALUE : path2.size();
-            return Integer.compare(len2, len1);
-        });
+        return sortByPathDistance(center, o -> o.getInteractionPoint(), false);
     }
 
     /**
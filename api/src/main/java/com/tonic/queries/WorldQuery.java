@@ -3,27 +3,49 @@ package com.tonic.queries;
 import com.tonic.Static;
 import com.tonic.api.game.SkillAPI;
 import com.tonic.queries.abstractions.AbstractQuery;
+import com.tonic.services.WorldDirectory;
 import com.tonic.util.TextUtil;
 import net.runelite.api.Client;
-import net.runelite.client.game.WorldService;
 import net.runelite.http.api.worlds.World;
 import net.runelite.http.api.worlds.WorldRegion;
 import net.runelite.http.api.worlds.WorldType;
 import org.apache.commons.lang3.ArrayUtils;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Objects;
 
 /**
  * A query builder for filtering and sorting game worlds.
  */
 public class WorldQuery extends AbstractQuery<World, WorldQuery>
 {
+    private final WorldDirectory directory;
+
     /**
      * Initializes the WorldQuery with the list of available worlds from the WorldService.
      */
     public WorldQuery() {
-        super(Objects.requireNonNull(Static.getInjector().getInstance(WorldService.class).getWorlds()).getWorlds());
+        this(WorldDirectory.get());
+    }
+
+    private WorldQuery(WorldDirectory directory) {
+        this(directory, directory.getWorlds());
+    }
+
+    private WorldQuery(WorldDirectory directory, List<World> worlds) {
+        super(worlds);
+        this.directory = directory;
+    }
+
+    /**
+     * Starts from the worlds that pass {@link #notSkillTotalWorlds()}, {@link #isMainGame()} and {@link #notPvp()},
+     * partitioned up front by {@link WorldDirectory}.
+     *
+     * @param members true for members worlds, false for free-to-play worlds
+     * @return WorldQuery
+     */
+    public static WorldQuery ofDefaultWorlds(boolean members) {
+        WorldDirectory directory = WorldDirectory.get();
+        return new WorldQuery(directory, directory.getDefaultWorlds(members));
     }
 
     /**
@@ -33,7 +55,8 @@ public class WorldQuery extends AbstractQuery<World, WorldQuery>
      */
     public WorldQuery isF2p()
     {
-        return keepIf(w -> !w.getTypes().contains(WorldType.MEMBERS));
+        long members = WorldDirectory.mask(WorldType.MEMBERS);
+        return keepIf(w -> (directory.types(w) & members) == 0);
     }
 
     /**
@@ -43,7 +66,8 @@ public class WorldQuery extends AbstractQuery<World, WorldQuery>
      */
     public WorldQuery isP2p()
     {
-        return keepIf(w -> w.getTypes().contains(WorldType.MEMBERS));
+        long members = WorldDirectory.mask(WorldType.MEMBERS);
+        return keepIf(w -> (directory.types(w) & members) != 0);
     }
 
     /**
@@ -86,7 +110,8 @@ public class WorldQuery extends AbstractQuery<World, WorldQuery>
      */
     public WorldQuery withTypes(WorldType... types)
     {
-        return keepIf(w -> w.getTypes() != null && w.getTypes().stream().anyMatch(t -> ArrayUtils.contains(types, t)));
+        long mask = WorldDirectory.mask(types);
+        return keepIf(w -> (directory.types(w) & mask) != 0);
     }
 
     /**
@@ -97,7 +122,8 @@ public class WorldQuery extends AbstractQuery<World, WorldQuery>
      */
     public WorldQuery withOutTypes(WorldType... types)
     {
-        return removeIf(w -> w.getTypes() == null || w.getTypes().stream().anyMatch(t -> ArrayUtils.contains(types, t)));
+        long mask = WorldDirectory.mask(types) | WorldDirectory.UNKNOWN_TYPES;
+        return removeIf(w -> (directory.types(w) & mask) != 0);
     }
 
     /**
@@ -285,11 +311,11 @@ public class WorldQuery extends AbstractQuery<World, WorldQuery>
         int currentWorld = client.getWorld();
 
         List<World> results = sortByIdAsc().collect();
-        for (World world : results)
+        for (int i = results.size() - 1; i >= 0; i--)
         {
-            if (world.getId() < currentWorld)
+            if (results.get(i).getId() < currentWorld)
             {
-                return world;
+                return results.get(i);
             }
         }
 
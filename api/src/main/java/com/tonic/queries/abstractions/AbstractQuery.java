@@ -1,7 +1,9 @@
 package com.tonic.queries.abstractions;
 
 import com.tonic.Static;
+import com.tonic.services.pathfinder.distance.PathDistanceOracle;
 import net.runelite.api.Client;
+import net.runelite.api.coords.WorldPoint;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -59,6 +61,19 @@ public abstract class AbstractQuery<T, Q extends AbstractQuery<T, Q>> {
         return self();
     }
 
+    /**
+     * Lazily sort by scene path distance from a point. Every comparison reads the same flood from the
+     * center, see {@link PathDistanceOracle}; unreachable elements sort as furthest.
+     * @param center point the paths start from
+     * @param location the tile an element is walked to
+     * @param shortestFirst true to put the nearest elements first
+     * @return the query instance
+     */
+    protected Q sortByPathDistance(WorldPoint center, Function<T, WorldPoint> location, boolean shortestFirst) {
+        Comparator<T> comparator = Comparator.comparingInt(o -> PathDistanceOracle.distance(center, location.apply(o)));
+        return sort(shortestFirst ? comparator : comparator.reversed());
+    }
+
     /**
      * Limit the number of results
      * @return the query instance
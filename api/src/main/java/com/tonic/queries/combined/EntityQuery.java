@@ -1,6 +1,5 @@
 package com.tonic.queries.combined;
 
-import com.tonic.api.game.SceneAPI;
 import com.tonic.data.wrappers.NpcEx;
 import com.tonic.data.wrappers.PlayerEx;
 import com.tonic.data.wrappers.TileItemEx;
@@ -15,7 +14,6 @@ import net.runelite.client.util.WildcardMatcher;
 import org.apache.commons.lang3.ArrayUtils;
 
 import java.util.Collection;
-import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -243,13 +241,7 @@ public class EntityQuery extends AbstractQuery<Entity, EntityQuery> {
      */
     public EntityQuery sortShortestPath(WorldPoint center)
     {
-        return sort((o1, o2) -> {
-            List<WorldPoint> path1 = SceneAPI.pathTo(center, o1.getInteractionPoint());
-            List<WorldPoint> path2 = SceneAPI.pathTo(center, o2.getInteractionPoint());
-            int len1 = path1 == null ? Integer.MAX_VALUE : path1.size();
-            int len2 = path2 == null ? Integer.MAX_VALUE : path2.size();
-            return Integer.compare(len1, len2);
-        });
+        return sortByPathDistance(center, o -> o.getInteractionPoint(), true);
     }
 
     /**
@@ -268,13 +260,7 @@ public class EntityQuery extends AbstractQuery<Entity, EntityQuery> {
      */
     public EntityQuery sortLongestPath(WorldPoint center)
     {
-        return sort((o1, o2) -> {
-            List<WorldPoint> path1 = SceneAPI.pathTo(center, o1.getInteractionPoint());
-            List<WorldPoint> path2 = SceneAPI.pathTo(center, o2.getInteractionPoint());
-            int len1 = path1 == null ? Integer.MAX_VALUE : path1.size();
-            int len2 = path2 == null ? Integer.MAX_VALUE : path2.size();
-            return Integer.compare(len2, len1);
-        });
+        return sortByPathDistance(center, o -> o.getInteractionPoint(), false);
     }
 
     /**
@@ -0,0 +1,96 @@
+package com.tonic.services;
+
+import com.tonic.Static;
+import com.tonic.api.widgets.DialogueSnapshot;
+import com.tonic.services.metrics.Counter;
+import com.tonic.services.metrics.Metrics;
+import net.runelite.api.Client;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.WidgetClosed;
+import net.runelite.api.events.WidgetLoaded;
+import net.runelite.client.eventbus.Subscribe;
+
+/**
+ * Keeps the {@link DialogueSnapshot} of the current tick. The first read after a tick, an interface opening
+ * or closing, or a dialogue action captures it on the client thread; reads after that need no client thread hop.
+ */
+public class DialogueCache
+{
+    private static DialogueCache INSTANCE;
+
+    private static final Counter HITS = Metrics.counter("dialogue.snapshot.hits");
+    private static final Counter CAPTURES = Metrics.counter("dialogue.snapshot.captures");
+
+    private static volatile DialogueSnapshot snapshot;
+
+    /**
+     * @return the dialogue on screen
+     */
+    public static DialogueSnapshot get()
+    {
+        DialogueSnapshot current = snapshot;
+        if(current != null)
+        {
+            HITS.increment();
+            return current;
+        }
+        return Static.invoke(DialogueCache::capture);
+    }
+
+    /**
+     * Drop the snapshot, e.g. after acting on the dialogue. The next read captures it again.
+     */
+    public static void invalidate()
+    {
+        snapshot = null;
+    }
+
+    private static DialogueSnapshot capture()
+    {
+        DialogueSnapshot current = snapshot;
+        if(current != null)
+            return current;
+
+        CAPTURES.increment();
+        Client client = Static.getClient();
+        current = DialogueSnapshot.capture(client::getWidget);
+        snapshot = current;
+        return current;
+    }
+
+    @Subscribe
+    protected void onGameTick(GameTick event)
+    {
+        invalidate();
+    }
+
+    @Subscribe
+    public void onWidgetLoaded(WidgetLoaded event)
+    {
+        invalidate();
+    }
+
+    @Subscribe
+    public void onWidgetClosed(WidgetClosed event)
+    {
+        invalidate();
+    }
+
+    @Subscribe
+    public void onGameStateChanged(GameStateChanged event)
+    {
+        invalidate();
+    }
+
+    static void init()
+    {
+        if(INSTANCE != null)
+            return;
+
+        INSTANCE = new DialogueCache();
+        Static.getRuneLite()
+                .getEventBus()
+                .register(INSTANCE);
+    }
+}
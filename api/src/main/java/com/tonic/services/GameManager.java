@@ -12,14 +12,20 @@ import com.tonic.data.wrappers.NpcEx;
 import com.tonic.data.wrappers.PlayerEx;
 import com.tonic.data.wrappers.TileItemEx;
 import com.tonic.data.wrappers.TileObjectEx;
+import com.tonic.headless.RenderGate;
 import com.tonic.services.hotswapper.PluginReloader;
 import com.tonic.services.mouse.ClickVisualizationOverlay;
 import com.tonic.services.mouse.MovementVisualizationOverlay;
 import com.tonic.services.pathfinder.abstractions.IPathfinder;
 import com.tonic.services.pathfinder.abstractions.IStep;
 import com.tonic.services.pathfinder.Walker;
+import com.tonic.services.pathfinder.collections.CompactPath;
+import com.tonic.services.pathfinder.distance.PathDistanceOracle;
 import com.tonic.services.pathfinder.model.WalkerPath;
+import com.tonic.services.pathfinder.teleports.TeleportCache;
 import com.tonic.services.pathfinder.transports.TransportLoader;
+import com.tonic.services.metrics.Histogram;
+import com.tonic.services.metrics.Metrics;
 import com.tonic.util.RuneliteConfigUtil;
 import com.tonic.util.ThreadPool;
 import com.tonic.util.WorldPointUtil;
@@ -32,6 +38,7 @@ import net.runelite.api.coords.WorldPoint;
 import net.runelite.api.events.*;
 import net.runelite.api.gameval.InterfaceID;
 import net.runelite.api.widgets.Widget;
+import net.runelite.client.callback.Hooks;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.game.WorldService;
 import net.runelite.client.ui.overlay.*;
@@ -68,6 +75,13 @@ public class GameManager extends Overlay {
     private static final List<NpcEx> npcs = new ArrayList<>();
     private static final List<PlayerEx> players = new ArrayList<>();
     private static final List<TileItemEx> tileItemCache = new CopyOnWriteArrayList<>();
+    private static final Histogram PLAYER_REBUILD = Metrics.timer("gamemanager.rebuild.players");
+    private static final Histogram NPC_REBUILD = Metrics.timer("gamemanager.rebuild.npcs");
+    private static final Histogram OBJECT_REBUILD = Metrics.timer("gamemanager.rebuild.objects");
+    private static final Histogram TILE_ITEM_REBUILD = Metrics.timer("gamemanager.rebuild.tile_items");
+    private static final Histogram REACHABLE_REBUILD = Metrics.timer("gamemanager.rebuild.reachable");
+    // keeps the scene's models from being rasterised on frames the render gate skips
+    private static final Hooks.RenderableDrawListener SCENE_GATE = (renderable, drawingUI) -> RenderGate.isDrawing();
     public static Stream<PlayerEx> playerStream()
     {
         return  playerList().stream();
@@ -86,6 +100,7 @@ public class GameManager extends Overlay {
 
         if (lastUpdatePlayers < client.getTickCount())
         {
+            long start = System.nanoTime();
             players.clear();
             players.addAll(Static.invoke(() ->
                     client.getTopLevelWorldView().players().stream()
@@ -93,6 +108,7 @@ public class GameManager extends Overlay {
                             .collect(Collectors.toList())
             ));
             lastUpdatePlayers = client.getTickCount();
+            PLAYER_REBUILD.recordSince(start);
         }
 
         return players;
@@ -104,6 +120,7 @@ public class GameManager extends Overlay {
 
         if (lastUpdateNpcs < client.getTickCount())
         {
+            long start = System.nanoTime();
             npcs.clear();
             npcs.addAll(Static.invoke(() ->
                     client.getTopLevelWorldView().npcs().stream()
@@ -111,6 +128,7 @@ public class GameManager extends Overlay {
                             .collect(Collectors.toList())
             ));
             lastUpdateNpcs = client.getTickCount();
+            NPC_REBUILD.recordSince(start);
         }
 
         return npcs;
@@ -131,9 +149,11 @@ public class GameManager extends Overlay {
         Client client = Static.getClient();
         if(lastUpdateReachableTiles < client.getTickCount())
         {
+            long start = System.nanoTime();
             reachableTiles.clear();
             reachableTiles.addAll(SceneAPI.reachableTilesCompressed(PlayerEx.getLocal().getWorldPoint()));
             lastUpdateReachableTiles = client.getTickCount();
+            REACHABLE_REBUILD.recordSince(start);
         }
         return reachableTiles.contains(compressed);
     }
@@ -165,6 +185,7 @@ public class GameManager extends Overlay {
 
         if (lastUpdateTileObjects < client.getTickCount())
         {
+            long start = System.nanoTime();
             tileObjects.clear();
 
             ArrayList<TileObjectEx> objects = Static.invoke(() -> {
@@ -199,6 +220,7 @@ public class GameManager extends Overlay {
 
             tileObjects.addAll(objects);
             lastUpdateTileObjects = client.getTickCount();
+            OBJECT_REBUILD.recordSince(start);
         }
 
         return GameManager.tileObjects;
@@ -214,6 +236,7 @@ public class GameManager extends Overlay {
         Client client = Static.getClient();
         if(lastUpdateTileItems < client.getTickCount())
         {
+            long start = System.nanoTime();
             tileItemCache.clear();
             tileItemCache.addAll(Static.invoke(() -> {
                 ArrayList<TileItemEx> temp = new ArrayList<>();
@@ -244,6 +267,7 @@ public class GameManager extends Overlay {
             }));
 
             lastUpdateTileItems = client.getTickCount();
+            TILE_ITEM_REBUILD.recordSince(start);
         }
 
         return tileItemCache;
@@ -390,8 +414,13 @@ public class GameManager extends Overlay {
         Static.getRuneLite()
                 .getEventBus()
                 .register(this);
+        Static.getInjector().getInstance(Hooks.class).registerRenderableDrawListener(SCENE_GATE);
         TransportLoader.init();
         BankCache.init();
+        ItemContainerCache.init();
+        DialogueCache.init();
+        PathDistanceOracle.init();
+        TeleportCache.init();
 
         ThreadPool.submit(() -> {
             Client client = Static.getClient();
@@ -461,14 +490,14 @@ public class GameManager extends Overlay {
 
     private int tickCount = 0;
     @Getter
-    private volatile List<WorldPoint> pathPoints = null;
+    private volatile CompactPath pathPoints = null;
     @Getter
-    private volatile List<WorldPoint> testPoints = null;
+    private volatile CompactPath testPoints = null;
 
     private final TileOverlays tileOverlays;
     private final DistanceOverlays distanceOverlays;
 
-    public static void setPathPoints(List<WorldPoint> points)
+    public static void setPathPoints(CompactPath points)
     {
         INSTANCE.pathPoints = points;
     }
@@ -478,6 +507,12 @@ public class GameManager extends Overlay {
         INSTANCE.pathPoints = null;
     }
 
+    @Subscribe
+    protected void onBeforeRender(BeforeRender event)
+    {
+        RenderGate.beginFrame();
+    }
+
     @Subscribe
     protected void onGameTick(GameTick event)
     {
@@ -556,7 +591,7 @@ public class GameManager extends Overlay {
                     List<? extends IStep> path = engine.find(wp);
                     if(path == null || path.isEmpty())
                         return;
-                    testPoints = IStep.toWorldPoints(path);
+                    testPoints = CompactPath.of(path);
                 }));
         color = "<col=FF0000>";
         if(testPoints != null)
@@ -575,23 +610,23 @@ public class GameManager extends Overlay {
     @Override
     public Dimension render(Graphics2D graphics)
     {
+        CompactPath testPoints = this.testPoints;
         if(testPoints != null && !testPoints.isEmpty())
         {
             WorldMapAPI.drawPath(graphics, testPoints, Color.MAGENTA);
             MiniMapAPI.drawPath(graphics, testPoints, Color.MAGENTA);
-            WorldPoint last = testPoints.get(testPoints.size() - 1);
-            WorldMapAPI.drawRedMapMarker(graphics, last);
+            WorldMapAPI.drawRedMapMarker(graphics, testPoints.getLastPosition());
         }
 
         if(!Static.getVitaConfig().shouldDrawWalkerPath())
             return null;
 
+        CompactPath pathPoints = this.pathPoints;
         if(pathPoints != null && !pathPoints.isEmpty())
         {
             WorldMapAPI.drawPath(graphics, pathPoints, Color.CYAN);
             MiniMapAPI.drawPath(graphics, pathPoints, Color.CYAN);
-            WorldPoint last = pathPoints.get(pathPoints.size() - 1);
-            WorldMapAPI.drawGreenMapMarker(graphics, last);
+            WorldMapAPI.drawGreenMapMarker(graphics, pathPoints.getLastPosition());
         }
 
         return null;
@@ -0,0 +1,119 @@
+package com.tonic.services;
+
+import com.tonic.Static;
+import com.tonic.data.wrappers.ItemContainerSnapshot;
+import com.tonic.services.metrics.Counter;
+import com.tonic.services.metrics.Metrics;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.ItemContainer;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.client.eventbus.Subscribe;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a {@link ItemContainerSnapshot} per item container, rebuilt on {@link ItemContainerChanged}.
+ * Reads of a known container need no client thread hop, only the first read of a container does.
+ */
+public class ItemContainerCache
+{
+    private static ItemContainerCache INSTANCE;
+
+    private static final Map<Integer, ItemContainerSnapshot> snapshots = new ConcurrentHashMap<>();
+    private static final AtomicLong VERSION = new AtomicLong();
+    private static final Counter HITS = Metrics.counter("containers.snapshot.hits");
+    private static final Counter LOADS = Metrics.counter("containers.snapshot.loads");
+
+    /**
+     * Get the current snapshot of a container.
+     *
+     * @param containerId The item container id.
+     * @return The snapshot, empty if the client has no such container.
+     */
+    public static ItemContainerSnapshot get(int containerId)
+    {
+        ItemContainerSnapshot snapshot = snapshots.get(containerId);
+        if(snapshot != null)
+        {
+            HITS.increment();
+            return snapshot;
+        }
+        return Static.invoke(() -> load(containerId));
+    }
+
+    /**
+     * Version of a container's current snapshot, for callers that keep derived state.
+     *
+     * @param containerId The item container id.
+     * @return The version, changes whenever the container does.
+     */
+    public static long getVersion(int containerId)
+    {
+        return get(containerId).getVersion();
+    }
+
+    private static ItemContainerSnapshot load(int containerId)
+    {
+        // an event may have landed while this was queued on the client thread
+        ItemContainerSnapshot snapshot = snapshots.get(containerId);
+        if(snapshot != null)
+            return snapshot;
+
+        LOADS.increment();
+        Client client = Static.getClient();
+        ItemContainer container = client.getItemContainer(containerId);
+        snapshot = container == null
+                ? ItemContainerSnapshot.empty(containerId, VERSION.incrementAndGet())
+                : ItemContainerSnapshot.of(container, VERSION.incrementAndGet());
+        snapshots.put(containerId, snapshot);
+        return snapshot;
+    }
+
+    @Subscribe
+    public void onItemContainerChanged(ItemContainerChanged event)
+    {
+        ItemContainer container = event.getItemContainer();
+        if(container == null)
+            return;
+        snapshots.put(event.getContainerId(), ItemContainerSnapshot.of(container, VERSION.incrementAndGet()));
+    }
+
+    @Subscribe
+    protected void onGameTick(GameTick event)
+    {
+        // containers the client drops (e.g. the bank on close) do not post a change event
+        Client client = Static.getClient();
+        for(ItemContainerSnapshot snapshot : snapshots.values())
+        {
+            if(snapshot.getCapacity() > 0 && client.getItemContainer(snapshot.getContainerId()) == null)
+            {
+                snapshots.put(snapshot.getContainerId(), ItemContainerSnapshot.empty(snapshot.getContainerId(), VERSION.incrementAndGet()));
+            }
+        }
+    }
+
+    @Subscribe
+    public void onGameStateChanged(GameStateChanged event)
+    {
+        if(event.getGameState() == GameState.LOGIN_SCREEN || event.getGameState() == GameState.HOPPING)
+        {
+            snapshots.clear();
+        }
+    }
+
+    static void init()
+    {
+        if(INSTANCE != null)
+            return;
+
+        INSTANCE = new ItemContainerCache();
+        Static.getRuneLite()
+                .getEventBus()
+                .register(INSTANCE);
+    }
+}
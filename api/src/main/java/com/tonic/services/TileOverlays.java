@@ -9,6 +9,7 @@ import com.tonic.data.ObjectBlockAccessFlags;
 import com.tonic.data.Walls;
 import com.tonic.data.wrappers.PlayerEx;
 import com.tonic.data.wrappers.TileObjectEx;
+import com.tonic.services.pathfinder.collections.CompactPath;
 import com.tonic.services.pathfinder.collision.Flags;
 import com.tonic.services.pathfinder.local.CollisionUtil;
 import com.tonic.services.pathfinder.local.LocalCollisionMap;
@@ -77,9 +78,9 @@ public class TileOverlays extends Overlay
         return null;
     }
 
-    private void drawWorldTiles(Graphics2D graphics, List<WorldPoint> points, Color color)
+    private void drawWorldTiles(Graphics2D graphics, CompactPath path, Color color)
     {
-        if(points == null || points.isEmpty())
+        if(path == null || path.isEmpty())
             return;
 
         final Client client = Static.getClient();
@@ -90,11 +91,8 @@ public class TileOverlays extends Overlay
         Color fillColor = new Color(color.getRed(), color.getGreen(), color.getBlue(), 50);
         Stroke stroke = new BasicStroke(2.0f);
 
-        for(WorldPoint point : points)
+        for(WorldPoint point : path.window(WorldPointUtil.compress(playerLocation), MAX_DRAW_DISTANCE))
         {
-            if(point.distanceTo(playerLocation) >= MAX_DRAW_DISTANCE)
-                continue;
-
             LocalPoint localPoint = LocalPoint.fromWorld(worldView, point);
             if(localPoint == null)
                 continue;
@@ -0,0 +1,288 @@
+package com.tonic.services;
+
+import com.tonic.Static;
+import com.tonic.services.metrics.Counter;
+import com.tonic.services.metrics.Metrics;
+import net.runelite.client.game.WorldService;
+import net.runelite.http.api.worlds.World;
+import net.runelite.http.api.worlds.WorldResult;
+import net.runelite.http.api.worlds.WorldType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Snapshot of the {@link WorldService} world list, sorted by id, with each world's types as a bitmask and the
+ * default hop partitions (not skill total, main game, not pvp; members and free to play) worked out up front.
+ * Immutable; {@link #get()} rebuilds it only when the world service fetched a new list.
+ */
+public class WorldDirectory
+{
+    /**
+     * Bit set for worlds without a type list, which every type filter leaves out.
+     */
+    public static final long UNKNOWN_TYPES = 1L << 63;
+
+    private static final long SKIP_DEFAULT = mask(
+            WorldType.SKILL_TOTAL,
+            WorldType.PVP,
+            WorldType.PVP_ARENA,
+            WorldType.QUEST_SPEEDRUNNING,
+            WorldType.BETA_WORLD,
+            WorldType.LEGACY_ONLY,
+            WorldType.EOC_ONLY,
+            WorldType.NOSAVE_MODE,
+            WorldType.TOURNAMENT,
+            WorldType.FRESH_START_WORLD,
+            WorldType.DEADMAN,
+            WorldType.SEASONAL
+    ) | UNKNOWN_TYPES;
+    private static final long MEMBERS = mask(WorldType.MEMBERS);
+
+    private static final WorldDirectory EMPTY = new WorldDirectory(null, Collections.emptyList());
+    private static final Counter BUILDS = Metrics.counter("worlds.directory.builds");
+
+    private static volatile WorldDirectory current = EMPTY;
+
+    private final WorldResult source;
+    private final World[] worlds;
+    private final int[] ids;
+    private final long[] types;
+    // world id -> index into worlds, -1 for unknown ids
+    private final int[] indexById;
+    // indices into worlds, ascending id
+    private final int[] members;
+    private final int[] f2p;
+    private final List<World> list;
+
+    private WorldDirectory(WorldResult source, List<World> worlds)
+    {
+        this.source = source;
+        this.worlds = worlds.toArray(new World[0]);
+        Arrays.sort(this.worlds, Comparator.comparingInt(World::getId));
+        this.ids = new int[this.worlds.length];
+        this.types = new long[this.worlds.length];
+        int maxId = -1;
+        int memberCount = 0, f2pCount = 0;
+        for (int i = 0; i < this.worlds.length; i++)
+        {
+            ids[i] = this.worlds[i].getId();
+            types[i] = typesOf(this.worlds[i]);
+            maxId = Math.max(maxId, ids[i]);
+            if ((types[i] & SKIP_DEFAULT) == 0)
+            {
+                if ((types[i] & MEMBERS) != 0)
+                    memberCount++;
+                else
+                    f2pCount++;
+            }
+        }
+
+        this.indexById = new int[maxId + 1];
+        Arrays.fill(indexById, -1);
+        this.members = new int[memberCount];
+        this.f2p = new int[f2pCount];
+        memberCount = f2pCount = 0;
+        for (int i = 0; i < this.worlds.length; i++)
+        {
+            if (ids[i] >= 0 && indexById[ids[i]] == -1)
+            {
+                indexById[ids[i]] = i;
+            }
+            if ((types[i] & SKIP_DEFAULT) == 0)
+            {
+                if ((types[i] & MEMBERS) != 0)
+                    members[memberCount++] = i;
+                else
+                    f2p[f2pCount++] = i;
+            }
+        }
+        this.list = Collections.unmodifiableList(Arrays.asList(this.worlds));
+    }
+
+    /**
+     * @return the directory of the world service's current list, empty until it has fetched one
+     */
+    public static WorldDirectory get()
+    {
+        WorldResult result = Static.getInjector().getInstance(WorldService.class).getWorlds();
+        WorldDirectory directory = current;
+        if (result == null || result == directory.source)
+        {
+            return directory;
+        }
+        directory = of(result);
+        current = directory;
+        return directory;
+    }
+
+    /**
+     * Build a directory over a world list, e.g. a canned one.
+     */
+    public static WorldDirectory of(WorldResult result)
+    {
+        BUILDS.increment();
+        List<World> worlds = result.getWorlds();
+        return new WorldDirectory(result, worlds == null ? Collections.emptyList() : worlds);
+    }
+
+    /**
+     * @return bitmask of the types, by ordinal
+     */
+    public static long mask(WorldType... types)
+    {
+        long mask = 0;
+        for (WorldType type : types)
+        {
+            mask |= 1L << type.ordinal();
+        }
+        return mask;
+    }
+
+    /**
+     * @return bitmask of the world's types, {@link #UNKNOWN_TYPES} if it has no type list
+     */
+    public static long typesOf(World world)
+    {
+        Set<WorldType> set = world.getTypes();
+        if (set == null)
+        {
+            return UNKNOWN_TYPES;
+        }
+        return mask(set.toArray(new WorldType[0]));
+    }
+
+    /**
+     * @return all worlds, ascending id
+     */
+    public List<World> getWorlds()
+    {
+        return list;
+    }
+
+    /**
+     * @return worlds passing the default filter, ascending id
+     */
+    public List<World> getDefaultWorlds(boolean members)
+    {
+        int[] partition = members ? this.members : this.f2p;
+        List<World> result = new ArrayList<>(partition.length);
+        for (int i : partition)
+        {
+            result.add(worlds[i]);
+        }
+        return result;
+    }
+
+    public int size()
+    {
+        return worlds.length;
+    }
+
+    /**
+     * @return the world with the id, or null
+     */
+    public World byId(int id)
+    {
+        int index = indexOf(id);
+        return index == -1 ? null : worlds[index];
+    }
+
+    /**
+     * @return the type bitmask of a world, looked up by id when it is in this directory
+     */
+    public long types(World world)
+    {
+        int index = indexOf(world.getId());
+        return index != -1 && worlds[index] == world ? types[index] : typesOf(world);
+    }
+
+    /**
+     * @return whether the world with the id is a members world
+     */
+    public boolean isMembers(int id)
+    {
+        int index = indexOf(id);
+        return index != -1 && (types[index] & MEMBERS) != 0;
+    }
+
+    /**
+     * @return the first default world with an id above the current one, wrapping to the lowest, or null if
+     * there is no other
+     */
+    public World next(boolean members, int currentWorld)
+    {
+        int[] partition = members ? this.members : this.f2p;
+        if (partition.length == 0)
+        {
+            return null;
+        }
+        int position = above(partition, currentWorld);
+        World world = worlds[partition[position == partition.length ? 0 : position]];
+        return world.getId() == currentWorld ? null : world;
+    }
+
+    /**
+     * @return the last default world with an id below the current one, wrapping to the highest, or null if
+     * there is no other
+     */
+    public World previous(boolean members, int currentWorld)
+    {
+        int[] partition = members ? this.members : this.f2p;
+        if (partition.length == 0)
+        {
+            return null;
+        }
+        int position = above(partition, currentWorld - 1) - 1;
+        World world = worlds[partition[position == -1 ? partition.length - 1 : position]];
+        return world.getId() == currentWorld ? null : world;
+    }
+
+    /**
+     * @return a random default world other than the current one, or null
+     */
+    public World random(boolean members, int currentWorld)
+    {
+        int[] partition = members ? this.members : this.f2p;
+        int position = above(partition, currentWorld - 1);
+        boolean holdsCurrent = position < partition.length && ids[partition[position]] == currentWorld;
+        int count = holdsCurrent ? partition.length - 1 : partition.length;
+        if (count == 0)
+        {
+            return null;
+        }
+        int pick = ThreadLocalRandom.current().nextInt(count);
+        if (holdsCurrent && pick >= position)
+        {
+            pick++;
+        }
+        return worlds[partition[pick]];
+    }
+
+    private int indexOf(int id)
+    {
+        return id >= 0 && id < indexById.length ? indexById[id] : -1;
+    }
+
+    /**
+     * @return position of the first partition entry with an id above the given one, the length if there is none
+     */
+    private int above(int[] partition, int id)
+    {
+        int low = 0, high = partition.length;
+        while (low < high)
+        {
+            int mid = (low + high) >>> 1;
+            if (ids[partition[mid]] > id)
+                high = mid;
+            else
+                low = mid + 1;
+        }
+        return low;
+    }
+}
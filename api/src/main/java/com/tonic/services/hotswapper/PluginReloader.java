@@ -2,6 +2,8 @@ package com.tonic.services.hotswapper;
 
 import com.tonic.Logger;
 import com.tonic.Static;
+import com.tonic.services.metrics.Histogram;
+import com.tonic.services.metrics.Metrics;
 import com.tonic.util.ReflectBuilder;
 import lombok.Getter;
 import lombok.Setter;
@@ -19,6 +21,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class PluginReloader {
+    private static final Histogram SIDELOAD = Metrics.timer("plugins.sideload");
     private static PluginManager pluginManager;
 
     private static boolean isLoaded = false;
@@ -47,37 +50,43 @@ public class PluginReloader {
                 .map(Path::toFile)
                 .collect(Collectors.toList());
 
-        for (File jar : jars) {
-            try
-            {
-                PluginClassLoader classLoader = new PluginClassLoader(jar, Static.getClassLoader());
-                List<Class<?>> pluginClasses = classLoader.getPluginClasses();
+        // jars are independent, index them in parallel, nothing is loaded from them here
+        long start = System.nanoTime();
+        jars.parallelStream().forEach(PluginReloader::register);
+        SIDELOAD.recordSince(start);
+    }
 
-                List<Plugin> plugins = new ArrayList<>();
-                for(Class<?> clazz : pluginClasses)
+    private static void register(File jar)
+    {
+        try
+        {
+            PluginClassLoader classLoader = new PluginClassLoader(jar, Static.getClassLoader());
+            List<String> pluginClasses = classLoader.getPluginClassNames();
+
+            List<Plugin> plugins = new ArrayList<>();
+            for(String name : pluginClasses)
+            {
+                Plugin plugin = findLoadedPlugin(name);
+                if(plugin != null)
                 {
-                    Plugin plugin = findLoadedPlugin(clazz);
-                    if(plugin != null)
-                    {
-                        plugins.add(plugin);
-                    }
+                    plugins.add(plugin);
                 }
-
-                PluginContext.getLoadedPlugins().put(jar.getAbsolutePath(), new PluginContext(
-                        classLoader, plugins, jar.lastModified()
-                ));
-            }
-            catch (Exception e) {
-                e.printStackTrace();
             }
+
+            PluginContext.getLoadedPlugins().put(jar.getAbsolutePath(), new PluginContext(
+                    classLoader, plugins, jar.lastModified()
+            ));
+        }
+        catch (Exception e) {
+            e.printStackTrace();
         }
     }
 
-    private static Plugin findLoadedPlugin(Class<?> clazz)
+    private static Plugin findLoadedPlugin(String name)
     {
         for(Plugin plugin : pluginManager.getPlugins())
         {
-            if(plugin.getClass().getName().equals(clazz.getName()))
+            if(plugin.getClass().getName().equals(name))
             {
                 return plugin;
             }
@@ -105,7 +114,7 @@ public class PluginReloader {
             }
 
             PluginClassLoader newClassLoader = new PluginClassLoader(jarFile, Static.getClassLoader());
-            List<Class<?>> newClasses = newClassLoader.getClasses();
+            List<Class<?>> newClasses = newClassLoader.getPluginClasses();
             List<Plugin> newPlugins = pluginManager.loadPlugins(newClasses, null);
             PluginContext.getLoadedPlugins().put(jarFile.getAbsolutePath(), new PluginContext(
                     newClassLoader, newPlugins, jarFile.lastModified()
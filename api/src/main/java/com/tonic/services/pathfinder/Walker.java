@@ -85,6 +85,15 @@ public class Walker
         return walk(areas, stopCondition);
     }
 
+    /**
+     * Walk a path obtained up front, e.g. one that was also shared with other clients
+     * @param walkerPath path to walk
+     */
+    public static boolean walkTo(WalkerPath walkerPath)
+    {
+        return walk(walkerPath, () -> false);
+    }
+
     private static void walk(WorldPoint target) {
         walk(target, () -> false);
     }
@@ -94,12 +103,12 @@ public class Walker
     }
 
     private static boolean walk(WorldPoint target, BooleanSupplier stopCondition) {
-        WalkerPath walkerPath = WalkerPath.get(target);
+        WalkerPath walkerPath = Static.getVitaConfig().shouldStreamWalkerPath() ? WalkerPath.stream(target) : WalkerPath.get(target);
         return walk(walkerPath, stopCondition);
     }
 
     private static boolean walk(List<WorldArea> targets, BooleanSupplier stopCondition) {
-        WalkerPath walkerPath = WalkerPath.get(targets);
+        WalkerPath walkerPath = Static.getVitaConfig().shouldStreamWalkerPath() ? WalkerPath.stream(targets) : WalkerPath.get(targets);
         return walk(walkerPath, stopCondition);
     }
 
@@ -113,7 +122,6 @@ public class Walker
         Client client = Static.getClient();
         try
         {
-            WorldPoint end = walkerPath.getSteps().get(walkerPath.getSteps().size() - 1).getPosition();
             running = true;
             if(stopCondition.getAsBoolean())
             {
@@ -134,6 +142,12 @@ public class Walker
                 }
                 Delays.tick();
             }
+            // read after stepping, a streamed path only knows its final tile once refined
+            WorldPoint end = walkerPath.getDestination();
+            if(end == null)
+            {
+                return false;
+            }
             int timeout = 50;
             WorldPoint worldPoint = Static.invoke(() -> client.getLocalPlayer().getWorldLocation());
             while(!worldPoint.equals(end) && timeout > 0)
@@ -13,4 +13,19 @@ public interface IPathfinder
     List<? extends IStep> find(WorldPoint target);
     List<? extends IStep> find(WorldArea... worldAreas);
     List<? extends IStep> find(List<WorldArea> worldAreas);
+
+    /**
+     * Headless search between two fixed points. Does not touch the client: no teleports, no instance
+     * collision, and transports are whatever {@link com.tonic.services.pathfinder.transports.TransportLoader}
+     * currently holds. Used by the benchmarks.
+     */
+    List<? extends IStep> find(WorldPoint start, WorldPoint target);
+
+    /**
+     * @return number of nodes expanded by the last search, 0 for engines that do not count them
+     */
+    default int getNodesExpanded()
+    {
+        return 0;
+    }
 }
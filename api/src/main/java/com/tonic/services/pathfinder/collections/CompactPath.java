@@ -0,0 +1,307 @@
+package com.tonic.services.pathfinder.collections;
+
+import com.tonic.services.pathfinder.abstractions.IStep;
+import com.tonic.services.pathfinder.routes.RouteStep;
+import com.tonic.services.pathfinder.transports.Transport;
+import com.tonic.util.WorldPointUtil;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Path stored as runs of equal single tile moves over compressed points, with transports kept in a
+ * sparse table. A straight or diagonal stretch of any length costs three ints.
+ * <p>
+ * Steps and {@link WorldPoint}s are created on access, so readers that only look at a window of the path
+ * (the walker, the overlays) allocate for that window only. Steps can only be removed from the front.
+ */
+public class CompactPath extends AbstractList<IStep> implements RandomAccess
+{
+    public static final CompactPath EMPTY = new CompactPath(new int[0], new int[0], new int[0], new int[0], new Transport[0], 0, 0);
+
+    // first compressed point, packed delta between points and first step index of every run
+    private final int[] runStarts;
+    private final int[] runDeltas;
+    private final int[] runIndices;
+    // step indices with a transport, ascending, and the transport taken from each
+    private final int[] transportIndices;
+    private final Transport[] transports;
+    private final int length;
+    private int head;
+    private volatile List<WorldPoint> worldPoints;
+
+    private CompactPath(int[] runStarts, int[] runDeltas, int[] runIndices, int[] transportIndices, Transport[] transports, int length, int head)
+    {
+        this.runStarts = runStarts;
+        this.runDeltas = runDeltas;
+        this.runIndices = runIndices;
+        this.transportIndices = transportIndices;
+        this.transports = transports;
+        this.length = length;
+        this.head = head;
+    }
+
+    /**
+     * @param steps the steps an engine returned
+     * @return the steps as a compact path
+     */
+    public static CompactPath of(List<? extends IStep> steps)
+    {
+        if (steps == null || steps.isEmpty())
+        {
+            return EMPTY.snapshot();
+        }
+        if (steps instanceof CompactPath)
+        {
+            return ((CompactPath) steps).snapshot();
+        }
+
+        int size = steps.size();
+        int[] runStarts = new int[8];
+        int[] runDeltas = new int[8];
+        int[] runIndices = new int[8];
+        int runs = 0;
+        int[] transportIndices = new int[4];
+        Transport[] transports = new Transport[4];
+        int transportCount = 0;
+
+        int previous = 0;
+        int i = 0;
+        for (IStep step : steps)
+        {
+            int packed = step.getPackedPosition();
+            boolean continues = runs > 0 && isUnitMove(previous, packed)
+                    && (i - runIndices[runs - 1] == 1 || packed - previous == runDeltas[runs - 1]);
+            if (continues)
+            {
+                runDeltas[runs - 1] = packed - previous;
+            }
+            else
+            {
+                if (runs == runStarts.length)
+                {
+                    runStarts = Arrays.copyOf(runStarts, runs * 2);
+                    runDeltas = Arrays.copyOf(runDeltas, runs * 2);
+                    runIndices = Arrays.copyOf(runIndices, runs * 2);
+                }
+                runStarts[runs] = packed;
+                runDeltas[runs] = 0;
+                runIndices[runs] = i;
+                runs++;
+            }
+            if (step.hasTransport())
+            {
+                if (transportCount == transports.length)
+                {
+                    transportIndices = Arrays.copyOf(transportIndices, transportCount * 2);
+                    transports = Arrays.copyOf(transports, transportCount * 2);
+                }
+                transportIndices[transportCount] = i;
+                transports[transportCount] = step.getTransport();
+                transportCount++;
+            }
+            previous = packed;
+            i++;
+        }
+        return new CompactPath(
+                Arrays.copyOf(runStarts, runs),
+                Arrays.copyOf(runDeltas, runs),
+                Arrays.copyOf(runIndices, runs),
+                Arrays.copyOf(transportIndices, transportCount),
+                Arrays.copyOf(transports, transportCount),
+                size,
+                0
+        );
+    }
+
+    /**
+     * Only moves of at most one tile along each axis keep x, y and plane linear in a run.
+     */
+    private static boolean isUnitMove(int from, int to)
+    {
+        return Math.abs(WorldPointUtil.getCompressedX(to) - WorldPointUtil.getCompressedX(from)) <= 1
+                && Math.abs(WorldPointUtil.getCompressedY(to) - WorldPointUtil.getCompressedY(from)) <= 1
+                && Math.abs(WorldPointUtil.getCompressedPlane(to) - WorldPointUtil.getCompressedPlane(from)) <= 1;
+    }
+
+    /**
+     * @return a path over the remaining steps that is not affected by later removals from this one
+     */
+    public CompactPath snapshot()
+    {
+        return new CompactPath(runStarts, runDeltas, runIndices, transportIndices, transports, length, head);
+    }
+
+    @Override
+    public int size()
+    {
+        return length - head;
+    }
+
+    @Override
+    public IStep get(int index)
+    {
+        return new RouteStep(getPackedPosition(index), getTransport(index));
+    }
+
+    /**
+     * @return the compressed position of a step
+     */
+    public int getPackedPosition(int index)
+    {
+        int step = absolute(index);
+        int run = run(step);
+        return runStarts[run] + (step - runIndices[run]) * runDeltas[run];
+    }
+
+    /**
+     * @return the transport taken from a step, or null
+     */
+    public Transport getTransport(int index)
+    {
+        int slot = Arrays.binarySearch(transportIndices, absolute(index));
+        return slot >= 0 ? transports[slot] : null;
+    }
+
+    public boolean hasTransport(int index)
+    {
+        return Arrays.binarySearch(transportIndices, absolute(index)) >= 0;
+    }
+
+    /**
+     * @return the last step's position, or null if the path is empty
+     */
+    public WorldPoint getLastPosition()
+    {
+        return isEmpty() ? null : WorldPointUtil.fromCompressed(getPackedPosition(size() - 1));
+    }
+
+    /**
+     * Drop steps from the front.
+     * @param count number of steps to drop
+     */
+    public void advance(int count)
+    {
+        if (count < 0 || count > size())
+        {
+            throw new IndexOutOfBoundsException("Cannot advance " + count + " of " + size() + " steps");
+        }
+        head += count;
+        worldPoints = null;
+        modCount++;
+    }
+
+    /**
+     * Only the first step can be removed.
+     */
+    @Override
+    public IStep remove(int index)
+    {
+        if (index != 0)
+        {
+            throw new UnsupportedOperationException("Steps can only be removed from the front");
+        }
+        IStep step = get(0);
+        advance(1);
+        return step;
+    }
+
+    @Override
+    public void clear()
+    {
+        advance(size());
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex)
+    {
+        if (fromIndex != 0)
+        {
+            throw new UnsupportedOperationException("Steps can only be removed from the front");
+        }
+        advance(toIndex);
+    }
+
+    /**
+     * Positions of the steps within a square around a point, in path order. Only these are turned into
+     * {@link WorldPoint}s, runs outside the square are skipped whole.
+     * @param center compressed center point
+     * @param radius points at this distance or more are left out
+     * @return the positions near the center
+     */
+    public List<WorldPoint> window(int center, int radius)
+    {
+        if (isEmpty())
+        {
+            return Collections.emptyList();
+        }
+        int cx = WorldPointUtil.getCompressedX(center);
+        int cy = WorldPointUtil.getCompressedY(center);
+        int plane = WorldPointUtil.getCompressedPlane(center);
+        List<WorldPoint> points = new ArrayList<>();
+        for (int run = run(head); run < runStarts.length; run++)
+        {
+            int first = Math.max(head, runIndices[run]);
+            int last = (run + 1 < runIndices.length ? runIndices[run + 1] : length) - 1;
+            int a = runStarts[run] + (first - runIndices[run]) * runDeltas[run];
+            int b = runStarts[run] + (last - runIndices[run]) * runDeltas[run];
+            int ax = WorldPointUtil.getCompressedX(a), bx = WorldPointUtil.getCompressedX(b);
+            int ay = WorldPointUtil.getCompressedY(a), by = WorldPointUtil.getCompressedY(b);
+            if (Math.min(ax, bx) - cx >= radius || cx - Math.max(ax, bx) >= radius
+                    || Math.min(ay, by) - cy >= radius || cy - Math.max(ay, by) >= radius)
+            {
+                continue;
+            }
+            for (int point = a, i = first; i <= last; i++, point += runDeltas[run])
+            {
+                if (WorldPointUtil.getCompressedPlane(point) == plane
+                        && Math.abs(WorldPointUtil.getCompressedX(point) - cx) < radius
+                        && Math.abs(WorldPointUtil.getCompressedY(point) - cy) < radius)
+                {
+                    points.add(WorldPointUtil.fromCompressed(point));
+                }
+            }
+        }
+        return points;
+    }
+
+    /**
+     * All remaining positions, built on first use and kept until steps are removed. For readers that need
+     * the whole path, e.g. the world map.
+     */
+    public List<WorldPoint> toWorldPoints()
+    {
+        List<WorldPoint> points = worldPoints;
+        if (points == null)
+        {
+            points = new ArrayList<>(size());
+            for (int i = 0; i < size(); i++)
+            {
+                points.add(WorldPointUtil.fromCompressed(getPackedPosition(i)));
+            }
+            points = Collections.unmodifiableList(points);
+            worldPoints = points;
+        }
+        return points;
+    }
+
+    private int absolute(int index)
+    {
+        if (index < 0 || index >= size())
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return head + index;
+    }
+
+    private int run(int step)
+    {
+        int run = Arrays.binarySearch(runIndices, step);
+        return run >= 0 ? run : -run - 2;
+    }
+}
@@ -3,8 +3,10 @@ package com.tonic.services.pathfinder.collision;
 import com.tonic.Logger;
 import com.tonic.services.pathfinder.Walker;
 import com.tonic.util.WorldPointUtil;
+import gnu.trove.set.hash.TIntHashSet;
 
 import java.io.*;
+import java.util.function.IntConsumer;
 
 public class GlobalCollisionMap implements CollisionMap {
     public static final int W_FLAG = 1 << 30;
@@ -59,6 +61,31 @@ public class GlobalCollisionMap implements CollisionMap {
         return get((x & 8191) | ((y & 32767) << 13) | (z << 28) | W_FLAG);
     }
 
+    /**
+     * Visits every 64x64 block that holds collision data, once per plane, as
+     * {@code plane << 16 | blockX << 9 | blockY}. Unmapped space has no blocked edges,
+     * so a block with none at all is indistinguishable from it and is skipped.
+     */
+    public void forEachMappedBlock(IntConsumer consumer) {
+        TIntHashSet seen = new TIntHashSet();
+        int i = bitSet.nextSetBit(0);
+        while (i >= 0) {
+            int x = i & 8191;
+            int y = (i >>> 13) & 32767;
+            int z = (i >>> 28) & 3;
+            int block = (z << 16) | ((x >> 6) << 9) | (y >> 6);
+            if (seen.add(block)) {
+                consumer.accept(block);
+            }
+            // rest of this row segment belongs to the same block
+            int next = (i | 63) + 1;
+            if (next <= 0) {
+                break;
+            }
+            i = bitSet.nextSetBit(next);
+        }
+    }
+
     public static GlobalCollisionMap load() throws IOException, ClassNotFoundException {
         try (InputStream is = Walker.class.getResourceAsStream("map.dat")) {
             ObjectInputStream objectInputStream = new ObjectInputStream(is);
@@ -0,0 +1,231 @@
+package com.tonic.services.pathfinder.distance;
+
+import com.tonic.services.pathfinder.collision.CollisionMap;
+import com.tonic.services.pathfinder.collision.Flags;
+import com.tonic.services.pathfinder.collision.Properties;
+import com.tonic.services.pathfinder.transports.Transport;
+import com.tonic.util.WorldPointUtil;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Dijkstra over the global collision map plus transports. Walking costs 1 per tile, transports use
+ * the same duration based cost as the flow field so distances agree with the engines.
+ * Instanced tiles (x > 6000) are not part of the global map and are never expanded.
+ */
+final class DistanceExpansion
+{
+    static final int MAX_NODES = 500_000;
+
+    private final CollisionMap collisionMap;
+    private final TIntObjectHashMap<ArrayList<Transport>> transports;
+    private TIntObjectHashMap<ArrayList<Transport>> reverseTransports;
+    private int nodesExpanded;
+
+    DistanceExpansion(CollisionMap collisionMap, TIntObjectHashMap<ArrayList<Transport>> transports)
+    {
+        this.collisionMap = collisionMap;
+        this.transports = transports;
+    }
+
+    static int transportCost(Transport transport)
+    {
+        int duration = transport.getDuration();
+        return duration > 3 ? duration + 1 : duration;
+    }
+
+    int getNodesExpanded()
+    {
+        return nodesExpanded;
+    }
+
+    /**
+     * Multi-source expansion backwards from the goals. The result holds, for every settled tile,
+     * the cost of walking from that tile to the nearest goal.
+     *
+     * @param goals compressed goal tiles
+     * @return tile -> cost, missing tiles map to {@link Integer#MAX_VALUE}
+     */
+    TIntIntHashMap reverse(int[] goals)
+    {
+        if (reverseTransports == null)
+        {
+            reverseTransports = buildReverseTransports();
+        }
+
+        TIntIntHashMap costs = new TIntIntHashMap(10_000, 0.5f, -1, Integer.MAX_VALUE);
+        IntHeap heap = new IntHeap(4096);
+        blacklist(costs);
+        for (int goal : goals)
+        {
+            if (collisionMap.walkable(goal) && costs.get(goal) > 0)
+            {
+                costs.put(goal, 0);
+                heap.add(goal, 0);
+            }
+        }
+
+        nodesExpanded = 0;
+        while (!heap.isEmpty() && nodesExpanded < MAX_NODES)
+        {
+            int cost = heap.peekPriority();
+            int node = heap.poll();
+            if (cost > costs.get(node))
+            {
+                continue;
+            }
+            nodesExpanded++;
+
+            walk(node, cost, costs, heap);
+
+            ArrayList<Transport> incoming = reverseTransports.get(node);
+            if (incoming != null)
+            {
+                for (Transport transport : incoming)
+                {
+                    relax(transport.getSource(), cost + transportCost(transport), costs, heap);
+                }
+            }
+        }
+        for (int tile : Properties.getBlacklist())
+        {
+            costs.remove(tile);
+        }
+        return costs;
+    }
+
+    /**
+     * Single source expansion forwards, stopping once every target has been settled.
+     *
+     * @param source compressed start tile
+     * @param targetOf compressed tile -> target index, several tiles may share an index (areas)
+     * @param targetCount number of distinct targets
+     * @return cost per target index, {@link Integer#MAX_VALUE} when not reached
+     */
+    int[] forward(int source, TIntIntHashMap targetOf, int targetCount)
+    {
+        int[] result = new int[targetCount];
+        Arrays.fill(result, Integer.MAX_VALUE);
+        int remaining = targetCount;
+
+        TIntIntHashMap costs = new TIntIntHashMap(10_000, 0.5f, -1, Integer.MAX_VALUE);
+        IntHeap heap = new IntHeap(4096);
+        blacklist(costs);
+        costs.put(source, 0);
+        heap.add(source, 0);
+
+        nodesExpanded = 0;
+        while (!heap.isEmpty() && remaining > 0 && nodesExpanded < MAX_NODES)
+        {
+            int cost = heap.peekPriority();
+            int node = heap.poll();
+            if (cost > costs.get(node))
+            {
+                continue;
+            }
+            nodesExpanded++;
+
+            if (targetOf.containsKey(node))
+            {
+                int target = targetOf.get(node);
+                if (result[target] == Integer.MAX_VALUE)
+                {
+                    result[target] = cost;
+                    remaining--;
+                }
+            }
+
+            walk(node, cost, costs, heap);
+
+            ArrayList<Transport> outgoing = transports.get(node);
+            if (outgoing != null)
+            {
+                for (Transport transport : outgoing)
+                {
+                    relax(transport.getDestination(), cost + transportCost(transport), costs, heap);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Walking edges are symmetric on the global map, so the same expansion serves both directions.
+     */
+    private void walk(int node, int cost, TIntIntHashMap costs, IntHeap heap)
+    {
+        short x = WorldPointUtil.getCompressedX(node);
+        short y = WorldPointUtil.getCompressedY(node);
+        byte plane = WorldPointUtil.getCompressedPlane(node);
+        if (x > 6000)
+        {
+            return;
+        }
+
+        byte flags = collisionMap.all(x, y, plane);
+        if (flags == Flags.NONE)
+        {
+            return;
+        }
+
+        int next = cost + 1;
+        if ((flags & Flags.WEST) != 0)
+            relax(WorldPointUtil.compress(x - 1, y, plane), next, costs, heap);
+        if ((flags & Flags.EAST) != 0)
+            relax(WorldPointUtil.compress(x + 1, y, plane), next, costs, heap);
+        if ((flags & Flags.SOUTH) != 0)
+            relax(WorldPointUtil.compress(x, y - 1, plane), next, costs, heap);
+        if ((flags & Flags.NORTH) != 0)
+            relax(WorldPointUtil.compress(x, y + 1, plane), next, costs, heap);
+        if ((flags & Flags.SOUTHWEST) != 0)
+            relax(WorldPointUtil.compress(x - 1, y - 1, plane), next, costs, heap);
+        if ((flags & Flags.SOUTHEAST) != 0)
+            relax(WorldPointUtil.compress(x + 1, y - 1, plane), next, costs, heap);
+        if ((flags & Flags.NORTHWEST) != 0)
+            relax(WorldPointUtil.compress(x - 1, y + 1, plane), next, costs, heap);
+        if ((flags & Flags.NORTHEAST) != 0)
+            relax(WorldPointUtil.compress(x + 1, y + 1, plane), next, costs, heap);
+    }
+
+    /**
+     * Blacklisted tiles are seeded below any real cost so they are never relaxed into.
+     */
+    private static void blacklist(TIntIntHashMap costs)
+    {
+        for (int tile : Properties.getBlacklist())
+        {
+            costs.put(tile, -1);
+        }
+    }
+
+    private static void relax(int node, int cost, TIntIntHashMap costs, IntHeap heap)
+    {
+        if (cost < costs.get(node))
+        {
+            costs.put(node, cost);
+            heap.add(node, cost);
+        }
+    }
+
+    private TIntObjectHashMap<ArrayList<Transport>> buildReverseTransports()
+    {
+        TIntObjectHashMap<ArrayList<Transport>> reverse = new TIntObjectHashMap<>();
+        transports.forEachValue(list -> {
+            for (Transport transport : list)
+            {
+                ArrayList<Transport> incoming = reverse.get(transport.getDestination());
+                if (incoming == null)
+                {
+                    incoming = new ArrayList<>(2);
+                    reverse.put(transport.getDestination(), incoming);
+                }
+                incoming.add(transport);
+            }
+            return true;
+        });
+        return reverse;
+    }
+}
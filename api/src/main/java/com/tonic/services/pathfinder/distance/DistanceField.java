@@ -0,0 +1,112 @@
+package com.tonic.services.pathfinder.distance;
+
+import com.tonic.services.pathfinder.objects.VarInt;
+import com.tonic.util.WorldPointUtil;
+import gnu.trove.map.hash.TIntIntHashMap;
+import lombok.Getter;
+import net.runelite.api.coords.WorldPoint;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Walking cost from every settled tile to one destination, produced by a single reverse expansion.
+ * Fields are only valid for the transport set and collision map they were built against, which is
+ * captured in the {@link #getFingerprint() fingerprint}.
+ */
+public class DistanceField
+{
+    private static final int MAGIC = 0x56444644; // "VDFD"
+    private static final int FORMAT = 1;
+
+    @Getter
+    private final int destination;
+    @Getter
+    private final long fingerprint;
+    private final TIntIntHashMap costs;
+    @Getter
+    private final long timestamp;
+
+    DistanceField(int destination, long fingerprint, TIntIntHashMap costs)
+    {
+        this.destination = destination;
+        this.fingerprint = fingerprint;
+        this.costs = costs;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    /**
+     * @param position compressed tile
+     * @return cost to the destination, or {@link DistanceResult#UNREACHABLE} if the tile was not settled
+     */
+    public int getCost(int position)
+    {
+        return costs.get(position);
+    }
+
+    public int getCost(WorldPoint position)
+    {
+        return getCost(WorldPointUtil.compress(position));
+    }
+
+    public boolean isReachable(int position)
+    {
+        return costs.containsKey(position);
+    }
+
+    public int getTilesReachable()
+    {
+        return costs.size();
+    }
+
+    /**
+     * Tiles are written sorted and delta encoded, costs as varints, which keeps a
+     * 500k tile field to a couple of megabytes.
+     */
+    void write(Path path) throws IOException
+    {
+        int[] tiles = costs.keys();
+        Arrays.sort(tiles);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path))))
+        {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            out.writeLong(fingerprint);
+            out.writeInt(destination);
+            out.writeInt(tiles.length);
+            int previous = 0;
+            for (int tile : tiles)
+            {
+                VarInt.writeVarInt(out, tile - previous);
+                VarInt.writeVarInt(out, costs.get(tile));
+                previous = tile;
+            }
+        }
+    }
+
+    /**
+     * @return the field, or null if the file is not a field built against {@code fingerprint}
+     */
+    static DistanceField read(Path path, long fingerprint) throws IOException
+    {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path))))
+        {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT || in.readLong() != fingerprint)
+            {
+                return null;
+            }
+            int destination = in.readInt();
+            int count = in.readInt();
+            TIntIntHashMap costs = new TIntIntHashMap(count, 0.5f, -1, DistanceResult.UNREACHABLE);
+            int tile = 0;
+            for (int i = 0; i < count; i++)
+            {
+                tile += VarInt.readVarInt(in);
+                costs.put(tile, VarInt.readVarInt(in));
+            }
+            return new DistanceField(destination, fingerprint, costs);
+        }
+    }
+}
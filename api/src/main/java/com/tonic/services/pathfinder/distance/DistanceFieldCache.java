@@ -0,0 +1,154 @@
+package com.tonic.services.pathfinder.distance;
+
+import com.tonic.Static;
+import gnu.trove.map.hash.TIntIntHashMap;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Distance fields for popular destinations. Fields live in a small in-memory LRU and, once a
+ * destination has been asked for often enough, are persisted under the VitaLite directory so
+ * later sessions (and other clients on the same machine) skip the expansion entirely.
+ */
+public class DistanceFieldCache
+{
+    public static final Path DIRECTORY = Static.VITA_DIR.resolve("distance");
+
+    private static final int MAX_CACHE_SIZE = 16;
+    private static final int MAX_PERSISTED = 128;
+    static final int POPULAR_AFTER = 3;
+
+    private final Map<Integer, DistanceField> cache;
+    private final TIntIntHashMap requests = new TIntIntHashMap();
+
+    public DistanceFieldCache()
+    {
+        this.cache = new LinkedHashMap<Integer, DistanceField>(MAX_CACHE_SIZE, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, DistanceField> eldest)
+            {
+                return size() > MAX_CACHE_SIZE;
+            }
+        };
+    }
+
+    /**
+     * Look a field up in memory, then on disk.
+     * @param destination compressed destination
+     * @param fingerprint current transport/collision fingerprint
+     * @return the field or null
+     */
+    public synchronized DistanceField get(int destination, long fingerprint)
+    {
+        DistanceField field = cache.get(destination);
+        if (field != null && field.getFingerprint() == fingerprint)
+        {
+            return field;
+        }
+
+        Path path = path(destination, fingerprint);
+        if (!Files.exists(path))
+        {
+            return null;
+        }
+        try
+        {
+            field = DistanceField.read(path, fingerprint);
+        }
+        catch (IOException e)
+        {
+            System.err.println("Failed to read distance field " + path.getFileName() + ": " + e.getMessage());
+            return null;
+        }
+        if (field != null)
+        {
+            cache.put(destination, field);
+        }
+        return field;
+    }
+
+    /**
+     * Count a query for a destination.
+     * @return true once the destination is popular enough to deserve a persisted field
+     */
+    synchronized boolean request(int destination)
+    {
+        return requests.adjustOrPutValue(destination, 1, 1) >= POPULAR_AFTER;
+    }
+
+    public synchronized void put(DistanceField field)
+    {
+        cache.put(field.getDestination(), field);
+    }
+
+    /**
+     * Cache a field and write it to disk.
+     */
+    public void persist(DistanceField field)
+    {
+        put(field);
+        Path path = path(field.getDestination(), field.getFingerprint());
+        try
+        {
+            Files.createDirectories(DIRECTORY);
+            Path temp = Files.createTempFile(DIRECTORY, "field", ".tmp");
+            try
+            {
+                field.write(temp);
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            finally
+            {
+                Files.deleteIfExists(temp);
+            }
+            prune();
+        }
+        catch (IOException e)
+        {
+            System.err.println("Failed to persist distance field " + path.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    public synchronized void clear()
+    {
+        cache.clear();
+        requests.clear();
+    }
+
+    /**
+     * Drop the oldest persisted fields, stale fingerprints age out the same way.
+     */
+    private void prune() throws IOException
+    {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(DIRECTORY))
+        {
+            files = stream.filter(p -> p.getFileName().toString().endsWith(".dfield"))
+                    .collect(Collectors.toList());
+        }
+        if (files.size() <= MAX_PERSISTED)
+        {
+            return;
+        }
+        Map<Path, Long> modified = new HashMap<>();
+        for (Path file : files)
+        {
+            modified.put(file, Files.getLastModifiedTime(file).toMillis());
+        }
+        files.sort(Comparator.comparingLong(modified::get));
+        for (int i = 0; i < files.size() - MAX_PERSISTED; i++)
+        {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    private static Path path(int destination, long fingerprint)
+    {
+        return DIRECTORY.resolve(Integer.toHexString(destination) + "-" + Long.toHexString(fingerprint) + ".dfield");
+    }
+}
@@ -0,0 +1,395 @@
+package com.tonic.services.pathfinder.distance;
+
+import com.tonic.Logger;
+import com.tonic.Static;
+import com.tonic.services.metrics.Counter;
+import com.tonic.services.metrics.Histogram;
+import com.tonic.services.metrics.Metrics;
+import com.tonic.services.pathfinder.Walker;
+import com.tonic.services.pathfinder.collision.CollisionMap;
+import com.tonic.services.pathfinder.transports.Transport;
+import com.tonic.services.pathfinder.transports.TransportLoader;
+import com.tonic.util.ResourceUtil;
+import com.tonic.util.TaskLane;
+import com.tonic.util.ThreadPool;
+import com.tonic.util.WorldPointUtil;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import net.runelite.api.Client;
+import net.runelite.api.coords.WorldArea;
+import net.runelite.api.coords.WorldPoint;
+
+import java.net.URL;
+import java.util.*;
+
+/**
+ * Walking distance queries over the global collision map and the current transports.
+ * <p>
+ * "Which of these banks is closest" is answered with a single expansion instead of one path search
+ * per candidate: costs to every target and the nearest one come out of one forward Dijkstra that stops
+ * as soon as the last target is settled. Destinations that are queried repeatedly get a reverse
+ * {@link DistanceField} built in the background and persisted, after which their cost is a lookup.
+ * <p>
+ * Like the global pathfinders, instanced tiles are not covered.
+ */
+public class DistanceQuery
+{
+    private static final DistanceFieldCache CACHE = new DistanceFieldCache();
+    private static final Set<Integer> WARMING = new HashSet<>();
+    private static final Histogram QUERY = Metrics.timer("distance.query");
+    private static final Histogram FIELD_BUILD = Metrics.timer("distance.field.build");
+    private static final Counter FIELD_HITS = Metrics.counter("distance.field.hits");
+    private static long mapFingerprint = -1;
+
+    public static DistanceFieldCache getCache()
+    {
+        return CACHE;
+    }
+
+    /**
+     * Costs from the local player to each target. Refreshes transports for the player like the engines do.
+     */
+    public static DistanceResult<WorldPoint> fromPlayer(List<WorldPoint> targets)
+    {
+        TransportLoader.refreshTransports();
+        return query(playerLocation(), targets);
+    }
+
+    /**
+     * Costs from the local player to the closest tile of each area.
+     */
+    public static DistanceResult<WorldArea> fromPlayerToAreas(List<WorldArea> targets)
+    {
+        TransportLoader.refreshTransports();
+        return queryAreas(playerLocation(), targets);
+    }
+
+    /**
+     * Walking cost from one tile to each target, plus the nearest target.
+     * @param from start tile
+     * @param targets candidate destinations
+     * @return per target costs, in query order
+     */
+    public static DistanceResult<WorldPoint> query(WorldPoint from, List<WorldPoint> targets)
+    {
+        long start = System.nanoTime();
+        int[] costs = new int[targets.size()];
+        Arrays.fill(costs, DistanceResult.UNREACHABLE);
+
+        CollisionMap collisionMap = Walker.getCollisionMap();
+        if (collisionMap == null)
+        {
+            Logger.error("[DistanceQuery] Collision map is null");
+            return new DistanceResult<>(targets, costs);
+        }
+
+        TIntObjectHashMap<ArrayList<Transport>> transports = transports();
+        long fingerprint = fingerprint(transports);
+        int source = WorldPointUtil.compress(from);
+
+        // targets without a usable field share one forward expansion, slots dedupe repeated tiles
+        TIntIntHashMap slots = new TIntIntHashMap();
+        int[] slotOf = new int[targets.size()];
+        for (int i = 0; i < targets.size(); i++)
+        {
+            int destination = WorldPointUtil.compress(targets.get(i));
+            boolean popular = CACHE.request(destination);
+            DistanceField field = CACHE.get(destination, fingerprint);
+            if (field != null && field.isReachable(source))
+            {
+                costs[i] = field.getCost(source);
+                slotOf[i] = -1;
+                FIELD_HITS.increment();
+                continue;
+            }
+            if (field == null && popular)
+            {
+                warmAsync(destination, fingerprint, transports);
+            }
+            if (!slots.containsKey(destination))
+            {
+                slots.put(destination, slots.size());
+            }
+            slotOf[i] = slots.get(destination);
+        }
+
+        if (!slots.isEmpty())
+        {
+            int[] slotCosts = new DistanceExpansion(collisionMap, transports).forward(source, slots, slots.size());
+            for (int i = 0; i < slotOf.length; i++)
+            {
+                if (slotOf[i] != -1)
+                {
+                    costs[i] = slotCosts[slotOf[i]];
+                }
+            }
+        }
+
+        QUERY.recordSince(start);
+        return new DistanceResult<>(targets, costs);
+    }
+
+    /**
+     * Walking cost from one tile to the closest tile of each area, plus the nearest area.
+     */
+    public static DistanceResult<WorldArea> queryAreas(WorldPoint from, List<WorldArea> targets)
+    {
+        long start = System.nanoTime();
+        int[] costs = new int[targets.size()];
+        Arrays.fill(costs, DistanceResult.UNREACHABLE);
+
+        CollisionMap collisionMap = Walker.getCollisionMap();
+        if (collisionMap == null)
+        {
+            Logger.error("[DistanceQuery] Collision map is null");
+            return new DistanceResult<>(targets, costs);
+        }
+
+        TIntIntHashMap targetOf = new TIntIntHashMap();
+        for (int i = 0; i < targets.size(); i++)
+        {
+            for (int tile : WorldPointUtil.toCompressedPoints(targets.get(i)))
+            {
+                // overlapping areas: the first one listed owns the shared tiles
+                if (!targetOf.containsKey(tile))
+                {
+                    targetOf.put(tile, i);
+                }
+            }
+        }
+
+        costs = new DistanceExpansion(collisionMap, transports())
+                .forward(WorldPointUtil.compress(from), targetOf, targets.size());
+        QUERY.recordSince(start);
+        return new DistanceResult<>(targets, costs);
+    }
+
+    /**
+     * Many-to-many walking costs. Runs one expansion per entry of the smaller side: reverse fields per
+     * target (cached, so repeated matrices against the same destinations are cheap) or forward passes per source.
+     * @return {@code [source][target]} costs, {@link DistanceResult#UNREACHABLE} where no path exists
+     */
+    public static int[][] matrix(List<WorldPoint> sources, List<WorldPoint> targets)
+    {
+        long start = System.nanoTime();
+        int[][] out = new int[sources.size()][targets.size()];
+        for (int[] row : out)
+        {
+            Arrays.fill(row, DistanceResult.UNREACHABLE);
+        }
+
+        CollisionMap collisionMap = Walker.getCollisionMap();
+        if (collisionMap == null)
+        {
+            Logger.error("[DistanceQuery] Collision map is null");
+            return out;
+        }
+
+        TIntObjectHashMap<ArrayList<Transport>> transports = transports();
+        DistanceExpansion expansion = new DistanceExpansion(collisionMap, transports);
+        long fingerprint = fingerprint(transports);
+        int[] sourceTiles = new int[sources.size()];
+        for (int i = 0; i < sources.size(); i++)
+        {
+            sourceTiles[i] = WorldPointUtil.compress(sources.get(i));
+        }
+
+        boolean[][] resolved = new boolean[sources.size()][targets.size()];
+        if (targets.size() < sources.size())
+        {
+            for (int j = 0; j < targets.size(); j++)
+            {
+                DistanceField field = field(WorldPointUtil.compress(targets.get(j)), fingerprint, expansion, false);
+                for (int i = 0; i < sourceTiles.length; i++)
+                {
+                    if (field.isReachable(sourceTiles[i]))
+                    {
+                        out[i][j] = field.getCost(sourceTiles[i]);
+                        resolved[i][j] = true;
+                    }
+                }
+            }
+        }
+
+        // forward passes for everything left, including sources beyond a truncated field
+        for (int i = 0; i < sourceTiles.length; i++)
+        {
+            TIntIntHashMap slots = new TIntIntHashMap();
+            int[] slotOf = new int[targets.size()];
+            for (int j = 0; j < targets.size(); j++)
+            {
+                slotOf[j] = -1;
+                if (resolved[i][j])
+                {
+                    continue;
+                }
+                int destination = WorldPointUtil.compress(targets.get(j));
+                if (!slots.containsKey(destination))
+                {
+                    slots.put(destination, slots.size());
+                }
+                slotOf[j] = slots.get(destination);
+            }
+            if (slots.isEmpty())
+            {
+                continue;
+            }
+            int[] slotCosts = expansion.forward(sourceTiles[i], slots, slots.size());
+            for (int j = 0; j < targets.size(); j++)
+            {
+                if (slotOf[j] != -1)
+                {
+                    out[i][j] = slotCosts[slotOf[j]];
+                }
+            }
+        }
+
+        QUERY.recordSince(start);
+        return out;
+    }
+
+    /**
+     * Distance field towards a destination, from the cache when possible.
+     */
+    public static DistanceField field(WorldPoint destination)
+    {
+        TIntObjectHashMap<ArrayList<Transport>> transports = transports();
+        return field(WorldPointUtil.compress(destination), fingerprint(transports),
+                new DistanceExpansion(Walker.getCollisionMap(), transports), false);
+    }
+
+    /**
+     * Build and persist fields for destinations known to be popular (banks, altars, ...) up front.
+     * Blocking, call off the client thread.
+     */
+    public static void warm(WorldPoint... destinations)
+    {
+        TIntObjectHashMap<ArrayList<Transport>> transports = transports();
+        long fingerprint = fingerprint(transports);
+        DistanceExpansion expansion = new DistanceExpansion(Walker.getCollisionMap(), transports);
+        for (WorldPoint destination : destinations)
+        {
+            field(WorldPointUtil.compress(destination), fingerprint, expansion, true);
+        }
+    }
+
+    private static DistanceField field(int destination, long fingerprint, DistanceExpansion expansion, boolean persist)
+    {
+        DistanceField field = CACHE.get(destination, fingerprint);
+        if (field != null)
+        {
+            FIELD_HITS.increment();
+            return field;
+        }
+
+        long start = System.nanoTime();
+        field = new DistanceField(destination, fingerprint, expansion.reverse(new int[]{destination}));
+        FIELD_BUILD.recordSince(start);
+        if (persist)
+        {
+            CACHE.persist(field);
+        }
+        else
+        {
+            CACHE.put(field);
+        }
+        return field;
+    }
+
+    /**
+     * The live transport map is rebuilt on the client thread by {@link TransportLoader#refreshTransports()}.
+     * Copy it there, so every query expands over a consistent snapshot, whichever thread it runs on.
+     */
+    private static TIntObjectHashMap<ArrayList<Transport>> transports()
+    {
+        return Static.invoke(() -> {
+            TIntObjectHashMap<ArrayList<Transport>> live = TransportLoader.getTransports();
+            TIntObjectHashMap<ArrayList<Transport>> snapshot = new TIntObjectHashMap<>(live.size());
+            live.forEachEntry((source, list) -> {
+                snapshot.put(source, new ArrayList<>(list));
+                return true;
+            });
+            return snapshot;
+        });
+    }
+
+    /**
+     * @param transports a snapshot from {@link #transports()}, the expansion runs over it on a background lane
+     */
+    private static void warmAsync(int destination, long fingerprint, TIntObjectHashMap<ArrayList<Transport>> transports)
+    {
+        synchronized (WARMING)
+        {
+            if (!WARMING.add(destination))
+            {
+                return;
+            }
+        }
+
+        CollisionMap collisionMap = Walker.getCollisionMap();
+
+        ThreadPool.submit(TaskLane.BACKGROUND, () -> {
+            try
+            {
+                field(destination, fingerprint, new DistanceExpansion(collisionMap, transports), true);
+            }
+            finally
+            {
+                synchronized (WARMING)
+                {
+                    WARMING.remove(destination);
+                }
+            }
+        });
+    }
+
+    /**
+     * Identifies the graph a field was built on: the bundled collision map plus the current transport set
+     * (which differs per account through requirements). Order independent, trove iteration order is not stable.
+     */
+    public static long fingerprint(TIntObjectHashMap<ArrayList<Transport>> transports)
+    {
+        long[] sum = {0};
+        transports.forEachValue(list -> {
+            for (Transport transport : list)
+            {
+                long edge = ((long) transport.getSource() << 32) ^ (transport.getDestination() & 0xFFFFFFFFL);
+                sum[0] += mix(edge * 31 + DistanceExpansion.transportCost(transport));
+            }
+            return true;
+        });
+        return mix(mapFingerprint() ^ mix(sum[0]));
+    }
+
+    private static synchronized long mapFingerprint()
+    {
+        if (mapFingerprint == -1)
+        {
+            try
+            {
+                URL resource = Walker.class.getResource("map.dat");
+                mapFingerprint = resource != null ? ResourceUtil.fingerprint(resource) : 0;
+            }
+            catch (Exception e)
+            {
+                mapFingerprint = 0;
+            }
+        }
+        return mapFingerprint;
+    }
+
+    private static long mix(long value)
+    {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    private static WorldPoint playerLocation()
+    {
+        return Static.invoke(() -> {
+            Client client = Static.getClient();
+            return client.getLocalPlayer().getWorldLocation();
+        });
+    }
+}
@@ -0,0 +1,66 @@
+package com.tonic.services.pathfinder.distance;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Walking cost to each queried target, in query order, plus the nearest one.
+ * @param <T> target type (WorldPoint or WorldArea)
+ */
+public class DistanceResult<T>
+{
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    @Getter
+    private final List<T> targets;
+    private final int[] costs;
+    @Getter
+    private final int nearestIndex;
+
+    DistanceResult(List<T> targets, int[] costs)
+    {
+        this.targets = Collections.unmodifiableList(targets);
+        this.costs = costs;
+
+        int best = -1;
+        for (int i = 0; i < costs.length; i++)
+        {
+            if (costs[i] != UNREACHABLE && (best == -1 || costs[i] < costs[best]))
+            {
+                best = i;
+            }
+        }
+        this.nearestIndex = best;
+    }
+
+    /**
+     * @return cost to the target at {@code index}, or {@link #UNREACHABLE}
+     */
+    public int getCost(int index)
+    {
+        return costs[index];
+    }
+
+    public boolean isReachable(int index)
+    {
+        return costs[index] != UNREACHABLE;
+    }
+
+    /**
+     * @return the nearest reachable target, or null if none could be reached
+     */
+    public T getNearest()
+    {
+        return nearestIndex == -1 ? null : targets.get(nearestIndex);
+    }
+
+    /**
+     * @return cost to the nearest target, or {@link #UNREACHABLE}
+     */
+    public int getNearestCost()
+    {
+        return nearestIndex == -1 ? UNREACHABLE : costs[nearestIndex];
+    }
+}
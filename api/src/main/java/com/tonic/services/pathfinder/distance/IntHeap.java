@@ -0,0 +1,81 @@
+package com.tonic.services.pathfinder.distance;
+
+import java.util.Arrays;
+
+/**
+ * Growable binary min-heap of (node, priority) pairs in parallel primitive arrays.
+ * Decrease-key is done by pushing a duplicate, callers skip stale entries on poll.
+ */
+final class IntHeap
+{
+    private int[] nodes;
+    private int[] priorities;
+    private int size;
+
+    IntHeap(int capacity)
+    {
+        nodes = new int[capacity];
+        priorities = new int[capacity];
+    }
+
+    boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    int peekPriority()
+    {
+        return priorities[0];
+    }
+
+    void add(int node, int priority)
+    {
+        if (size == nodes.length)
+        {
+            nodes = Arrays.copyOf(nodes, size << 1);
+            priorities = Arrays.copyOf(priorities, size << 1);
+        }
+        int i = size++;
+        while (i > 0)
+        {
+            int parent = (i - 1) >>> 1;
+            if (priorities[parent] <= priority)
+            {
+                break;
+            }
+            nodes[i] = nodes[parent];
+            priorities[i] = priorities[parent];
+            i = parent;
+        }
+        nodes[i] = node;
+        priorities[i] = priority;
+    }
+
+    int poll()
+    {
+        int result = nodes[0];
+        int node = nodes[--size];
+        int priority = priorities[size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half)
+        {
+            int child = (i << 1) + 1;
+            int right = child + 1;
+            if (right < size && priorities[right] < priorities[child])
+            {
+                child = right;
+            }
+            if (priority <= priorities[child])
+            {
+                break;
+            }
+            nodes[i] = nodes[child];
+            priorities[i] = priorities[child];
+            i = child;
+        }
+        nodes[i] = node;
+        priorities[i] = priority;
+        return result;
+    }
+}
@@ -0,0 +1,237 @@
+package com.tonic.services.pathfinder.distance;
+
+import com.tonic.Static;
+import com.tonic.services.metrics.Counter;
+import com.tonic.services.metrics.Histogram;
+import com.tonic.services.metrics.Metrics;
+import com.tonic.util.WorldPointUtil;
+import net.runelite.api.Client;
+import net.runelite.api.CollisionData;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.client.eventbus.Subscribe;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Scene path distances, as {@link com.tonic.api.game.SceneAPI#pathTo} measures them, for many targets at once.
+ * <p>
+ * The first question from a source floods the scene's collision flags from it once, later questions from the
+ * same source are array lookups. Floods are keyed by source and collision version; the version moves every game
+ * tick and on scene changes, since doors and objects change the flags.
+ */
+public class PathDistanceOracle
+{
+    public static final int UNREACHABLE = DistanceResult.UNREACHABLE;
+
+    // same masks as SceneAPI.checkPointsTo, flags of the tile stepped onto
+    private static final int WEST = 19136776;
+    private static final int EAST = 19136896;
+    private static final int SOUTH = 19136770;
+    private static final int NORTH = 19136800;
+    private static final int SOUTH_WEST = 19136782;
+    private static final int SOUTH_EAST = 19136899;
+    private static final int NORTH_WEST = 19136824;
+    private static final int NORTH_EAST = 19136992;
+    // SceneAPI searches a 128x128 window around the source
+    private static final int WINDOW_BEHIND = 64;
+    private static final int WINDOW_AHEAD = 63;
+
+    private static PathDistanceOracle INSTANCE;
+
+    private static final Map<Integer, SceneDistances> FLOODS = new ConcurrentHashMap<>();
+    private static final Counter HITS = Metrics.counter("path_distance.hits");
+    private static final Histogram FLOOD = Metrics.timer("path_distance.flood");
+    private static volatile int version;
+
+    /**
+     * @return path length in tiles between two points of the scene, or {@link #UNREACHABLE}
+     */
+    public static int distance(WorldPoint from, WorldPoint to)
+    {
+        if (from.equals(to))
+        {
+            return 0;
+        }
+        if (from.getPlane() != to.getPlane())
+        {
+            return UNREACHABLE;
+        }
+        return from(from).distanceTo(to);
+    }
+
+    /**
+     * @return path lengths from the source to every tile of the scene
+     */
+    public static SceneDistances from(WorldPoint source)
+    {
+        int key = WorldPointUtil.compress(source);
+        SceneDistances distances = FLOODS.get(key);
+        if (distances != null && distances.version == version)
+        {
+            HITS.increment();
+            return distances;
+        }
+        return Static.invoke(() -> flood(source, key));
+    }
+
+    private static SceneDistances flood(WorldPoint source, int key)
+    {
+        // a tick may have passed while this waited for the client thread
+        SceneDistances distances = FLOODS.get(key);
+        if (distances != null && distances.version == version)
+        {
+            return distances;
+        }
+
+        long start = System.nanoTime();
+        Client client = Static.getClient();
+        WorldView worldView = client.getTopLevelWorldView();
+        CollisionData[] collisionData = worldView.getCollisionMaps();
+        int plane = source.getPlane();
+        int sceneX = source.getX() - worldView.getBaseX();
+        int sceneY = source.getY() - worldView.getBaseY();
+        if (collisionData == null || collisionData[plane] == null)
+        {
+            distances = new SceneDistances(version, worldView.getBaseX(), worldView.getBaseY(), plane, 0, 0, new int[0]);
+        }
+        else
+        {
+            int[][] flags = collisionData[plane].getFlags();
+            distances = new SceneDistances(version, worldView.getBaseX(), worldView.getBaseY(), plane,
+                    flags.length, flags.length == 0 ? 0 : flags[0].length, flood(flags, sceneX, sceneY));
+        }
+        FLOODS.put(key, distances);
+        FLOOD.recordSince(start);
+        return distances;
+    }
+
+    /**
+     * Breadth first flood over collision flags, with the moves and window of SceneAPI's search.
+     * @param flags collision flags of one plane, [x][y]
+     * @param sourceX scene x of the source
+     * @param sourceY scene y of the source
+     * @return steps to each tile, index x * height + y, {@link #UNREACHABLE} where the search does not get
+     */
+    public static int[] flood(int[][] flags, int sourceX, int sourceY)
+    {
+        int width = flags.length;
+        int height = width == 0 ? 0 : flags[0].length;
+        int[] costs = new int[width * height];
+        Arrays.fill(costs, UNREACHABLE);
+        if (sourceX < 0 || sourceY < 0 || sourceX >= width || sourceY >= height)
+        {
+            return costs;
+        }
+
+        int minX = Math.max(0, sourceX - WINDOW_BEHIND), maxX = Math.min(width - 1, sourceX + WINDOW_AHEAD);
+        int minY = Math.max(0, sourceY - WINDOW_BEHIND), maxY = Math.min(height - 1, sourceY + WINDOW_AHEAD);
+        int[] queue = new int[width * height];
+        int head = 0, tail = 0;
+        costs[sourceX * height + sourceY] = 0;
+        queue[tail++] = sourceX * height + sourceY;
+        while (head < tail)
+        {
+            int tile = queue[head++];
+            int x = tile / height, y = tile % height;
+            int next = costs[tile] + 1;
+            boolean west = x > minX && (flags[x - 1][y] & WEST) == 0;
+            boolean east = x < maxX && (flags[x + 1][y] & EAST) == 0;
+            boolean south = y > minY && (flags[x][y - 1] & SOUTH) == 0;
+            boolean north = y < maxY && (flags[x][y + 1] & NORTH) == 0;
+            tail = visit(costs, queue, tail, west, (x - 1) * height + y, next);
+            tail = visit(costs, queue, tail, east, (x + 1) * height + y, next);
+            tail = visit(costs, queue, tail, south, x * height + y - 1, next);
+            tail = visit(costs, queue, tail, north, x * height + y + 1, next);
+            tail = visit(costs, queue, tail, west && south && (flags[x - 1][y - 1] & SOUTH_WEST) == 0, (x - 1) * height + y - 1, next);
+            tail = visit(costs, queue, tail, east && south && (flags[x + 1][y - 1] & SOUTH_EAST) == 0, (x + 1) * height + y - 1, next);
+            tail = visit(costs, queue, tail, west && north && (flags[x - 1][y + 1] & NORTH_WEST) == 0, (x - 1) * height + y + 1, next);
+            tail = visit(costs, queue, tail, east && north && (flags[x + 1][y + 1] & NORTH_EAST) == 0, (x + 1) * height + y + 1, next);
+        }
+        return costs;
+    }
+
+    private static int visit(int[] costs, int[] queue, int tail, boolean open, int tile, int cost)
+    {
+        if (!open || costs[tile] != UNREACHABLE)
+        {
+            return tail;
+        }
+        costs[tile] = cost;
+        queue[tail] = tile;
+        return tail + 1;
+    }
+
+    @Subscribe
+    protected void onGameTick(GameTick event)
+    {
+        version++;
+        FLOODS.clear();
+    }
+
+    @Subscribe
+    public void onGameStateChanged(GameStateChanged event)
+    {
+        version++;
+        FLOODS.clear();
+    }
+
+    public static void init()
+    {
+        if (INSTANCE != null)
+            return;
+
+        INSTANCE = new PathDistanceOracle();
+        Static.getRuneLite()
+                .getEventBus()
+                .register(INSTANCE);
+    }
+
+    /**
+     * Path lengths from one source over the scene it was flooded in.
+     */
+    public static class SceneDistances
+    {
+        private final int version;
+        private final int baseX;
+        private final int baseY;
+        private final int plane;
+        private final int width;
+        private final int height;
+        private final int[] costs;
+
+        private SceneDistances(int version, int baseX, int baseY, int plane, int width, int height, int[] costs)
+        {
+            this.version = version;
+            this.baseX = baseX;
+            this.baseY = baseY;
+            this.plane = plane;
+            this.width = width;
+            this.height = height;
+            this.costs = costs;
+        }
+
+        /**
+         * @return path length to the point, or {@link #UNREACHABLE}
+         */
+        public int distanceTo(WorldPoint point)
+        {
+            return distanceTo(point.getX(), point.getY(), point.getPlane());
+        }
+
+        public int distanceTo(int x, int y, int plane)
+        {
+            int sceneX = x - baseX;
+            int sceneY = y - baseY;
+            if (plane != this.plane || sceneX < 0 || sceneY < 0 || sceneX >= width || sceneY >= height)
+            {
+                return UNREACHABLE;
+            }
+            return costs[sceneX * height + sceneY];
+        }
+    }
+}
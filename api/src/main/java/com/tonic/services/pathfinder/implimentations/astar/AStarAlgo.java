@@ -12,7 +12,9 @@ import com.tonic.services.pathfinder.teleports.Teleport;
 import com.tonic.services.pathfinder.transports.Transport;
 import com.tonic.services.pathfinder.transports.TransportLoader;
 import com.tonic.util.Location;
-import com.tonic.util.Profiler;
+import com.tonic.services.metrics.Histogram;
+import com.tonic.services.metrics.Metrics;
+import com.tonic.services.metrics.Scope;
 import com.tonic.util.WorldPointUtil;
 import lombok.Getter;
 import net.runelite.api.Client;
@@ -30,6 +32,7 @@ import java.util.List;
  */
 public class AStarAlgo implements IPathfinder
 {
+    private static final Histogram PATH_LENGTH = Metrics.histogram("pathfinder.astar.path_length");
     private static final int MAX_NODES = 10_000_000;
 
     private LocalCollisionMap localMap;
@@ -52,6 +55,8 @@ public class AStarAlgo implements IPathfinder
     private int forwardTransportsUsed;
     private int backwardTransportsUsed;
     private int playerStartPos;
+    @Getter
+    private int nodesExpanded;
 
     @Override
     public List<AStarStep> find(WorldPoint target) {
@@ -98,6 +103,28 @@ public class AStarAlgo implements IPathfinder
         return find();
     }
 
+    @Override
+    public List<AStarStep> find(WorldPoint start, WorldPoint target) {
+        this.targetCompressed = WorldPointUtil.compress(target);
+        this.targetX = (short) target.getX();
+        this.targetY = (short) target.getY();
+        this.targetPlane = (byte) target.getPlane();
+        this.worldAreaPoints = null;
+        this.inInstance = false;
+        this.forwardTransportsUsed = 0;
+        this.backwardTransportsUsed = 0;
+        this.teleport = null;
+
+        playerStartPos = WorldPointUtil.compress(start);
+        this.startX = WorldPointUtil.getCompressedX(playerStartPos);
+        this.startY = WorldPointUtil.getCompressedY(playerStartPos);
+        this.startPlane = WorldPointUtil.getCompressedPlane(playerStartPos);
+
+        List<Integer> startPoints = new ArrayList<>();
+        startPoints.add(playerStartPos);
+        return buildPath(startPoints);
+    }
+
     private List<AStarStep> find() {
         if (Walker.getCollisionMap() == null) {
             Logger.error("[A*] Collision map is null");
@@ -129,9 +156,14 @@ public class AStarAlgo implements IPathfinder
                 }
             }
 
-            Profiler.Start("Bidirectional A* Pathfinding");
-            List<AStarStep> path = buildPath(startPoints);
-            Profiler.StopMS();
+            final Scope search = Metrics.scope("pathfinder.astar");
+            List<AStarStep> path;
+            try (search)
+            {
+                path = buildPath(startPoints);
+            }
+            Logger.info("[Bidirectional A* Pathfinding] Took " + search.elapsedMillis() + " ms.");
+            PATH_LENGTH.record(path.size());
 
             Logger.info("[BiDir A*] Path Length: " + path.size());
 
@@ -238,7 +270,7 @@ public class AStarAlgo implements IPathfinder
             return new ArrayList<>();
         }
 
-        int nodesExplored = 0;
+        nodesExpanded = 0;
         int meetingPoint = -1;
 
         while (!forwardOpenSet.isEmpty() && !backwardOpenSet.isEmpty()) {
@@ -250,7 +282,7 @@ public class AStarAlgo implements IPathfinder
             if (!forwardOpenSet.isEmpty()) {
                 int current = forwardOpenSet.dequeue();
                 if (!forwardClosedSet.contains(current)) {
-                    nodesExplored++;
+                    nodesExpanded++;
 
                     // Check if backward search reached this node
                     if (backwardCache.contains(current)) {
@@ -267,7 +299,7 @@ public class AStarAlgo implements IPathfinder
             if (!backwardOpenSet.isEmpty() && meetingPoint == -1) {
                 int current = backwardOpenSet.dequeue();
                 if (!backwardClosedSet.contains(current)) {
-                    nodesExplored++;
+                    nodesExpanded++;
 
                     // Check if forward search reached this node
                     if (forwardCache.contains(current)) {
@@ -282,7 +314,7 @@ public class AStarAlgo implements IPathfinder
         }
 
         if (meetingPoint != -1) {
-            Logger.info("[BiDir A*] Nodes: " + nodesExplored + ", Meeting: " + meetingPoint);
+            Logger.info("[BiDir A*] Nodes: " + nodesExpanded + ", Meeting: " + meetingPoint);
             return reconstructBidirectionalPath(forwardCache, backwardCache, meetingPoint);
         }
 
@@ -292,7 +324,7 @@ public class AStarAlgo implements IPathfinder
     private List<AStarStep> findAreaPointBidirectional(AStarCache forwardCache, AStarCache backwardCache,
                                                         AStarPriorityQueue forwardOpenSet, AStarPriorityQueue backwardOpenSet,
                                                         gnu.trove.set.hash.TIntHashSet forwardClosedSet, gnu.trove.set.hash.TIntHashSet backwardClosedSet) {
-        int nodesExplored = 0;
+        nodesExpanded = 0;
         int meetingPoint = -1;
 
         while (!forwardOpenSet.isEmpty() && !backwardOpenSet.isEmpty()) {
@@ -304,7 +336,7 @@ public class AStarAlgo implements IPathfinder
             if (!forwardOpenSet.isEmpty()) {
                 int current = forwardOpenSet.dequeue();
                 if (!forwardClosedSet.contains(current)) {
-                    nodesExplored++;
+                    nodesExpanded++;
 
                     // Check if backward search reached this node
                     if (backwardCache.contains(current)) {
@@ -321,7 +353,7 @@ public class AStarAlgo implements IPathfinder
             if (!backwardOpenSet.isEmpty() && meetingPoint == -1) {
                 int current = backwardOpenSet.dequeue();
                 if (!backwardClosedSet.contains(current)) {
-                    nodesExplored++;
+                    nodesExpanded++;
 
                     // Check if forward search reached this node
                     if (forwardCache.contains(current)) {
@@ -336,7 +368,7 @@ public class AStarAlgo implements IPathfinder
         }
 
         if (meetingPoint != -1) {
-            Logger.info("[BiDir A*] Nodes: " + nodesExplored + ", Meeting: " + meetingPoint);
+            Logger.info("[BiDir A*] Nodes: " + nodesExpanded + ", Meeting: " + meetingPoint);
             return reconstructBidirectionalPath(forwardCache, backwardCache, meetingPoint);
         }
 
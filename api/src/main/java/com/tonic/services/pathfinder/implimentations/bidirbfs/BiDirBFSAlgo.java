@@ -13,7 +13,9 @@ import com.tonic.services.pathfinder.teleports.Teleport;
 import com.tonic.services.pathfinder.transports.Transport;
 import com.tonic.services.pathfinder.transports.TransportLoader;
 import com.tonic.util.Location;
-import com.tonic.util.Profiler;
+import com.tonic.services.metrics.Histogram;
+import com.tonic.services.metrics.Metrics;
+import com.tonic.services.metrics.Scope;
 import com.tonic.util.WorldPointUtil;
 import lombok.Getter;
 import net.runelite.api.Client;
@@ -32,6 +34,7 @@ import java.util.List;
  */
 public class BiDirBFSAlgo implements IPathfinder
 {
+    private static final Histogram PATH_LENGTH = Metrics.histogram("pathfinder.bidir_bfs.path_length");
     private LocalCollisionMap localMap;
     @Getter
     private Teleport teleport;
@@ -41,6 +44,8 @@ public class BiDirBFSAlgo implements IPathfinder
     private boolean inInstance = false;
     private int forwardTransportsUsed;
     private int backwardTransportsUsed;
+    @Getter
+    private int nodesExpanded;
 
     /**
      * Initializes the pathfinder with a target WorldPoint.
@@ -78,6 +83,27 @@ public class BiDirBFSAlgo implements IPathfinder
         return find();
     }
 
+    /**
+     * Finds a path between two fixed points without touching the client.
+     *
+     * @param start The start WorldPoint.
+     * @param target The destination WorldPoint.
+     */
+    @Override
+    public List<BiDirBFSStep> find(final WorldPoint start, final WorldPoint target)
+    {
+        this.targetWorldPoint = target;
+        this.worldAreaPoints = null;
+        this.inInstance = false;
+        this.teleport = null;
+        this.forwardTransportsUsed = 0;
+        this.backwardTransportsUsed = 0;
+
+        final List<Integer> startPoints = new ArrayList<>();
+        startPoints.add(WorldPointUtil.compress(start));
+        return buildPath(startPoints);
+    }
+
     /**
      * Finds a path from the player's current location to the target WorldPoint or WorldArea.
      *
@@ -110,11 +136,14 @@ public class BiDirBFSAlgo implements IPathfinder
                 }
             }
 
-            Profiler.Start("BiDirBFS Pathfinding");
-
-            final List<BiDirBFSStep> path = buildPath(startPoints);
-
-            Profiler.StopMS();
+            final Scope search = Metrics.scope("pathfinder.bidir_bfs");
+            final List<BiDirBFSStep> path;
+            try (search)
+            {
+                path = buildPath(startPoints);
+            }
+            Logger.info("[BiDirBFS Pathfinding] Took " + search.elapsedMillis() + " ms.");
+            PATH_LENGTH.record(path.size());
             Logger.info("[BiDirBFS] Path Length: " + path.size());
 
             if(path.isEmpty())
@@ -138,6 +167,7 @@ public class BiDirBFSAlgo implements IPathfinder
 
     private List<BiDirBFSStep> buildPath(final List<Integer> starts)
     {
+        nodesExpanded = 0;
         final BiDirBFSCache forwardVisited = new BiDirBFSCache();
         final BiDirBFSCache backwardVisited = new BiDirBFSCache();
 
@@ -191,6 +221,7 @@ public class BiDirBFSAlgo implements IPathfinder
             if(!forwardQueue.isEmpty())
             {
                 int current = forwardQueue.dequeue();
+                nodesExpanded++;
 
                 // Check if backward search reached this node (get returns 0 if not present)
                 if(backwardVisited.get(current) != 0)
@@ -206,6 +237,7 @@ public class BiDirBFSAlgo implements IPathfinder
             if(!backwardQueue.isEmpty())
             {
                 int current = backwardQueue.dequeue();
+                nodesExpanded++;
 
                 // Check if forward search reached this node (get returns 0 if not present)
                 if(forwardVisited.get(current) != 0)
@@ -255,6 +287,7 @@ public class BiDirBFSAlgo implements IPathfinder
             if(!forwardQueue.isEmpty())
             {
                 int current = forwardQueue.dequeue();
+                nodesExpanded++;
 
                 // Check if we reached the goal directly
                 if(current == targetIndex)
@@ -277,6 +310,7 @@ public class BiDirBFSAlgo implements IPathfinder
             if(!backwardQueue.isEmpty())
             {
                 int current = backwardQueue.dequeue();
+                nodesExpanded++;
 
                 // Check if forward search reached this node (get returns 0 if not present)
                 if(forwardVisited.get(current) != 0)
@@ -12,7 +12,10 @@ import com.tonic.services.pathfinder.teleports.Teleport;
 import com.tonic.services.pathfinder.transports.Transport;
 import com.tonic.services.pathfinder.transports.TransportLoader;
 import com.tonic.util.Location;
-import com.tonic.util.Profiler;
+import com.tonic.services.metrics.Counter;
+import com.tonic.services.metrics.Histogram;
+import com.tonic.services.metrics.Metrics;
+import com.tonic.services.metrics.Scope;
 import com.tonic.util.WorldPointUtil;
 import gnu.trove.list.array.TIntArrayList;
 import gnu.trove.map.hash.TIntByteHashMap;
@@ -40,6 +43,8 @@ import java.util.List;
  */
 public class FlowFieldAlgo implements IPathfinder
 {
+    private static final Counter CACHE_HITS = Metrics.counter("pathfinder.flow_field.cache_hits");
+    private static final Histogram PATH_LENGTH = Metrics.histogram("pathfinder.flow_field.path_length");
     private static final int MAX_NODES_EXPANDED = 500_000;
     private static final FlowFieldCache cache = new FlowFieldCache();
 
@@ -51,6 +56,8 @@ public class FlowFieldAlgo implements IPathfinder
     private int[] worldAreaPoints;
     private boolean inInstance = false;
     private int playerStartPos;
+    @Getter
+    private int nodesExpanded;
 
     @Override
     public List<FlowFieldStep> find(WorldPoint target) {
@@ -76,6 +83,20 @@ public class FlowFieldAlgo implements IPathfinder
         return find();
     }
 
+    /**
+     * Builds a fresh field towards the target (bypassing the cache) and follows it from a fixed start,
+     * without touching the client.
+     */
+    @Override
+    public List<FlowFieldStep> find(WorldPoint start, WorldPoint target) {
+        this.targetCompressed = WorldPointUtil.compress(target);
+        this.worldAreaPoints = null;
+        this.inInstance = false;
+        this.teleport = null;
+        this.playerStartPos = WorldPointUtil.compress(start);
+        return followField(buildFlowField());
+    }
+
     private List<FlowFieldStep> find() {
         if (Walker.getCollisionMap() == null) {
             Logger.error("[FlowField] Collision map is null");
@@ -95,8 +116,10 @@ public class FlowFieldAlgo implements IPathfinder
             if (targetCompressed != -1) {
                 FlowField field = cache.get(targetCompressed);
                 if (field != null) {
+                    nodesExpanded = 0;
                     List<FlowFieldStep> path = followField(field);
                     if (!path.isEmpty()) {
+                        CACHE_HITS.increment();
                         Logger.info("[FlowField] Cache hit, path length: " + path.size());
                         return path;
                     }
@@ -106,9 +129,13 @@ public class FlowFieldAlgo implements IPathfinder
             // Build new flow field
             List<Teleport> teleports = Teleport.buildTeleportLinks();
 
-            Profiler.Start("Flow Field Build");
-            FlowField field = buildFlowField();
-            Profiler.StopMS();
+            final Scope build = Metrics.scope("pathfinder.flow_field.build");
+            FlowField field;
+            try (build)
+            {
+                field = buildFlowField();
+            }
+            Logger.info("[Flow Field Build] Took " + build.elapsedMillis() + " ms.");
 
             // Cache if single target
             if (targetCompressed != -1 && field.getTilesReachable() > 0) {
@@ -140,20 +167,25 @@ public class FlowFieldAlgo implements IPathfinder
                 }
             }
 
-            Profiler.Start("Flow Field Follow");
+            final Scope follow = Metrics.scope("pathfinder.flow_field.follow");
             List<FlowFieldStep> path;
 
+            try (follow) {
+                if (bestTeleport != null) {
+                    // Teleport provides best path
+                    teleport = bestTeleport.copy();
+                    path = followFieldFrom(field, bestStartPos);
+                } else {
+                    // Walking is best
+                    path = followField(field);
+                }
+            }
+
             if (bestTeleport != null) {
-                // Teleport provides best path
-                teleport = bestTeleport.copy();
-                path = followFieldFrom(field, bestStartPos);
                 Logger.info("[FlowField] Using teleport (saves " + (playerCost - bestStartCost) + " tiles): " + bestTeleport);
-            } else {
-                // Walking is best
-                path = followField(field);
             }
-
-            Profiler.StopMS();
+            Logger.info("[Flow Field Follow] Took " + follow.elapsedMillis() + " ms.");
+            PATH_LENGTH.record(path.size());
 
             Logger.info("[FlowField] Player cost: " + playerCost + ", Best start cost: " + bestStartCost + ", Path length: " + path.size() + ", Tiles reachable: " + field.getTilesReachable());
 
@@ -202,7 +234,7 @@ public class FlowFieldAlgo implements IPathfinder
         }
 
         // BFS expansion from goal backwards
-        int nodesExpanded = 0;
+        nodesExpanded = 0;
         while (head < queue.size() && nodesExpanded < MAX_NODES_EXPANDED) {
             int current = queue.get(head++);
             int currentCost = costs.get(current);
@@ -14,7 +14,9 @@ import com.tonic.services.pathfinder.teleports.Teleport;
 import com.tonic.services.pathfinder.transports.Transport;
 import com.tonic.services.pathfinder.transports.TransportLoader;
 import com.tonic.util.Location;
-import com.tonic.util.Profiler;
+import com.tonic.services.metrics.Histogram;
+import com.tonic.services.metrics.Metrics;
+import com.tonic.services.metrics.Scope;
 import com.tonic.util.WorldPointUtil;
 import lombok.Getter;
 import net.runelite.api.Client;
@@ -31,6 +33,7 @@ import java.util.List;
  */
 public class HybridBFSAlgo implements IPathfinder
 {
+    private static final Histogram PATH_LENGTH = Metrics.histogram("pathfinder.hybrid_bfs.path_length");
     private LocalCollisionMap localMap;
     @Getter
     private Teleport teleport;
@@ -39,6 +42,8 @@ public class HybridBFSAlgo implements IPathfinder
     private int[] worldAreaPoints;
     private boolean inInstance = false;
     private int transportsUsed;
+    @Getter
+    private int nodesExpanded;
 
     /**
      * Initializes the pathfinder with a target WorldPoint.
@@ -76,6 +81,26 @@ public class HybridBFSAlgo implements IPathfinder
         return find();
     }
 
+    /**
+     * Finds a path between two fixed points without touching the client.
+     *
+     * @param start The start WorldPoint.
+     * @param target The destination WorldPoint.
+     */
+    @Override
+    public List<HybridBFSStep> find(final WorldPoint start, final WorldPoint target)
+    {
+        this.targetWorldPoint = target;
+        this.worldAreaPoints = null;
+        this.inInstance = false;
+        this.teleport = null;
+        this.transportsUsed = 0;
+
+        final List<Integer> startPoints = new ArrayList<>();
+        startPoints.add(WorldPointUtil.compress(start));
+        return buildPath(startPoints);
+    }
+
     /**
      * Finds a path from the player's current location to the target WorldPoint or WorldArea.
      *
@@ -108,11 +133,14 @@ public class HybridBFSAlgo implements IPathfinder
                 }
             }
 
-            Profiler.Start("Pathfinding");
-
-            final List<HybridBFSStep> path = buildPath(startPoints);
-
-            Profiler.StopMS();
+            final Scope search = Metrics.scope("pathfinder.hybrid_bfs");
+            final List<HybridBFSStep> path;
+            try (search)
+            {
+                path = buildPath(startPoints);
+            }
+            Logger.info("[Pathfinding] Took " + search.elapsedMillis() + " ms.");
+            PATH_LENGTH.record(path.size());
             Logger.info("Path Length: " + path.size());
 
             if(path.isEmpty())
@@ -136,6 +164,7 @@ public class HybridBFSAlgo implements IPathfinder
 
     private List<HybridBFSStep> buildPath(final List<Integer> starts)
     {
+        nodesExpanded = 0;
         final BFSCache visited = new BFSCache();
 
         //blacklist
@@ -169,6 +198,7 @@ public class HybridBFSAlgo implements IPathfinder
                 return new ArrayList<>();
             }
             current = queue.dequeue();
+            nodesExpanded++;
             if(ArrayUtils.contains(worldAreaPoints, current))
             {
                 //Logger.info("Nodes visited: " + visited.size());
@@ -197,6 +227,7 @@ public class HybridBFSAlgo implements IPathfinder
                 return new ArrayList<>();
             }
             current = queue.dequeue();
+            nodesExpanded++;
             if(current == targetIndex)
             {
                 //Logger.info("Nodes visited: " + visited.size());
@@ -9,7 +9,9 @@ import com.tonic.services.pathfinder.collision.Flags;
 import com.tonic.services.pathfinder.teleports.Teleport;
 import com.tonic.services.pathfinder.transports.Transport;
 import com.tonic.services.pathfinder.transports.TransportLoader;
-import com.tonic.util.Profiler;
+import com.tonic.services.metrics.Histogram;
+import com.tonic.services.metrics.Metrics;
+import com.tonic.services.metrics.Scope;
 import com.tonic.util.WorldPointUtil;
 import lombok.Getter;
 import net.runelite.api.Client;
@@ -27,6 +29,7 @@ import java.util.List;
  */
 public class JPSAlgo implements IPathfinder
 {
+    private static final Histogram PATH_LENGTH = Metrics.histogram("pathfinder.jps.path_length");
     @Getter
     private Teleport teleport;
 
@@ -37,6 +40,8 @@ public class JPSAlgo implements IPathfinder
     private byte targetPlane;
     private int[] worldAreaPoints;
     private int playerStartPos;
+    @Getter
+    private int nodesExpanded;
 
     // Cached collision map to avoid repeated method calls
     private CollisionMap collisionMap;
@@ -89,6 +94,22 @@ public class JPSAlgo implements IPathfinder
         return find();
     }
 
+    @Override
+    public List<JPSStep> find(WorldPoint start, WorldPoint target) {
+        this.targetCompressed = WorldPointUtil.compress(target);
+        this.targetX = (short) target.getX();
+        this.targetY = (short) target.getY();
+        this.targetPlane = (byte) target.getPlane();
+        this.worldAreaPoints = null;
+        this.teleport = null;
+        this.collisionMap = Walker.getCollisionMap();
+        this.playerStartPos = WorldPointUtil.compress(start);
+
+        List<Integer> startPoints = new ArrayList<>();
+        startPoints.add(playerStartPos);
+        return buildPath(startPoints);
+    }
+
     private List<JPSStep> find() {
         collisionMap = Walker.getCollisionMap();
         if (collisionMap == null) {
@@ -108,9 +129,14 @@ public class JPSAlgo implements IPathfinder
                 startPoints.add(WorldPointUtil.compress(tp.getDestination()));
             }
 
-            Profiler.Start("Canonical JPS Pathfinding");
-            List<JPSStep> path = buildPath(startPoints);
-            Profiler.StopMS();
+            final Scope search = Metrics.scope("pathfinder.jps");
+            List<JPSStep> path;
+            try (search)
+            {
+                path = buildPath(startPoints);
+            }
+            Logger.info("[Canonical JPS Pathfinding] Took " + search.elapsedMillis() + " ms.");
+            PATH_LENGTH.record(path.size());
 
             Logger.info("[Canonical JPS] Path Length: " + path.size());
 
@@ -137,6 +163,7 @@ public class JPSAlgo implements IPathfinder
         JPSCache cache = new JPSCache(200_000);
         JPSPriorityQueue openSet = new JPSPriorityQueue(200_000);
         TIntHashSet closedSet = new TIntHashSet(200_000);
+        nodesExpanded = 0;
 
         // Initialize start nodes
         for (int start : starts) {
@@ -152,6 +179,7 @@ public class JPSAlgo implements IPathfinder
             if (!closedSet.add(current)) {
                 continue;
             }
+            nodesExpanded++;
 
             // Goal reached
             if (isGoal(current)) {
@@ -28,13 +28,7 @@ public class JPSCache
      * @return true if added (better path), false if already has better path
      */
     public boolean putIfBetter(int position, int gScore, int parent) {
-        int existingGScore = gScores.get(position);
-        if (gScore < existingGScore) {
-            gScores.put(position, gScore);
-            parents.put(position, parent);
-            return true;
-        }
-        return false;
+        return putIfBetter(position, gScore, parent, null);
     }
 
     /**
@@ -45,8 +39,11 @@ public class JPSCache
         if (gScore < existingGScore) {
             gScores.put(position, gScore);
             parents.put(position, parent);
+            // a better walked path must not keep the transport of the path it replaces
             if (transport != null) {
                 transports.put(position, transport);
+            } else {
+                transports.remove(position);
             }
             return true;
         }
@@ -0,0 +1,444 @@
+package com.tonic.services.pathfinder.implimentations.jps;
+
+import com.tonic.Logger;
+import com.tonic.Static;
+import com.tonic.services.metrics.Histogram;
+import com.tonic.services.metrics.Metrics;
+import com.tonic.services.metrics.Scope;
+import com.tonic.services.pathfinder.Walker;
+import com.tonic.services.pathfinder.abstractions.IPathfinder;
+import com.tonic.services.pathfinder.collision.CollisionMap;
+import com.tonic.services.pathfinder.teleports.Teleport;
+import com.tonic.services.pathfinder.transports.Transport;
+import com.tonic.services.pathfinder.transports.TransportLoader;
+import com.tonic.util.WorldPointUtil;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.set.hash.TIntHashSet;
+import lombok.Getter;
+import net.runelite.api.Client;
+import net.runelite.api.coords.WorldArea;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.tonic.services.pathfinder.implimentations.jps.JumpTable.DX;
+import static com.tonic.services.pathfinder.implimentations.jps.JumpTable.DY;
+
+/**
+ * JPS+ pathfinder. Jump distances come from the precomputed {@link JumpTable}, so a search only
+ * touches jump points instead of rescanning open ground on every query.
+ * <p>
+ * Every expanded node follows all eight directions (no direction pruning), which keeps the search
+ * correct when nodes are entered through transports or teleports. Targets and transports that are
+ * not in the table (the ones added at runtime) are found along the precomputed runs at query time.
+ * Tiles outside the table's mapped blocks are expanded one step at a time.
+ */
+public class JPSPlusAlgo implements IPathfinder
+{
+    private static final Histogram PATH_LENGTH = Metrics.histogram("pathfinder.jps_plus.path_length");
+    private static final Histogram NODES_EXPANDED = Metrics.histogram("pathfinder.jps_plus.nodes_expanded");
+    @Getter
+    private Teleport teleport;
+
+    private int targetCompressed;
+    private TIntHashSet worldAreaSet;
+    private int playerStartPos;
+    @Getter
+    private int nodesExpanded;
+
+    // bounding box of the target tiles, areas are tested tile by tile inside it
+    private int minX;
+    private int maxX;
+    private int minY;
+    private int maxY;
+    private int planeMask;
+
+    // transport sources the table does not know about, as parallel primitive arrays
+    private int[] extraX;
+    private int[] extraY;
+    private int[] extraPlane;
+
+    private CollisionMap collisionMap;
+    private JumpTable table;
+
+    public JPSPlusAlgo() {
+    }
+
+    @Override
+    public List<JPSStep> find(WorldPoint target) {
+        TransportLoader.refreshTransports();
+        setTarget(target);
+        return find();
+    }
+
+    @Override
+    public List<JPSStep> find(WorldArea... worldAreas) {
+        TransportLoader.refreshTransports();
+        setTarget(WorldPointUtil.toCompressedPoints(worldAreas));
+        return find();
+    }
+
+    @Override
+    public List<JPSStep> find(List<WorldArea> worldAreas) {
+        TransportLoader.refreshTransports();
+        setTarget(WorldPointUtil.toCompressedPoints(worldAreas.toArray(new WorldArea[0])));
+        return find();
+    }
+
+    @Override
+    public List<JPSStep> find(WorldPoint start, WorldPoint target) {
+        setTarget(target);
+        this.teleport = null;
+        this.collisionMap = Walker.getCollisionMap();
+        this.playerStartPos = WorldPointUtil.compress(start);
+
+        List<Integer> startPoints = new ArrayList<>();
+        startPoints.add(playerStartPos);
+        return buildPath(startPoints);
+    }
+
+    private void setTarget(WorldPoint target) {
+        this.targetCompressed = WorldPointUtil.compress(target);
+        this.worldAreaSet = null;
+        this.minX = this.maxX = target.getX();
+        this.minY = this.maxY = target.getY();
+        this.planeMask = 1 << target.getPlane();
+    }
+
+    private void setTarget(int[] areaPoints) {
+        this.targetCompressed = -1;
+        this.worldAreaSet = new TIntHashSet(areaPoints);
+        this.minX = this.minY = Integer.MAX_VALUE;
+        this.maxX = this.maxY = Integer.MIN_VALUE;
+        this.planeMask = 0;
+        for (int point : areaPoints) {
+            int x = WorldPointUtil.getCompressedX(point);
+            int y = WorldPointUtil.getCompressedY(point);
+            minX = Math.min(minX, x);
+            maxX = Math.max(maxX, x);
+            minY = Math.min(minY, y);
+            maxY = Math.max(maxY, y);
+            planeMask |= 1 << WorldPointUtil.getCompressedPlane(point);
+        }
+    }
+
+    private List<JPSStep> find() {
+        collisionMap = Walker.getCollisionMap();
+        if (collisionMap == null) {
+            Logger.error("[JPS+] Collision map is null");
+            return new ArrayList<>();
+        }
+
+        try {
+            Client client = Static.getClient();
+            playerStartPos = WorldPointUtil.compress(client.getLocalPlayer().getWorldLocation());
+
+            List<Teleport> teleports = Teleport.buildTeleportLinks();
+            List<Integer> startPoints = new ArrayList<>();
+            startPoints.add(playerStartPos);
+
+            for (Teleport tp : teleports) {
+                startPoints.add(WorldPointUtil.compress(tp.getDestination()));
+            }
+
+            final Scope search = Metrics.scope("pathfinder.jps_plus");
+            List<JPSStep> path;
+            try (search)
+            {
+                path = buildPath(startPoints);
+            }
+            Logger.info("[JPS+ Pathfinding] Took " + search.elapsedMillis() + " ms, expanded " + nodesExpanded + " nodes.");
+            PATH_LENGTH.record(path.size());
+            NODES_EXPANDED.record(nodesExpanded);
+
+            if (path.isEmpty())
+                return path;
+
+            // Set teleport if path starts with one
+            for (Teleport tp : teleports) {
+                if (WorldPointUtil.compress(tp.getDestination()) == path.get(0).getPackedPosition()) {
+                    teleport = tp.copy();
+                    break;
+                }
+            }
+
+            return path;
+
+        } catch (Exception e) {
+            Logger.error(e, "[JPS+] %e");
+            return new ArrayList<>();
+        }
+    }
+
+    private List<JPSStep> buildPath(List<Integer> starts) {
+        table = JumpTable.get();
+        loadExtraSources();
+
+        JPSCache cache = new JPSCache(50_000);
+        JPSPriorityQueue openSet = new JPSPriorityQueue(200_000);
+        TIntHashSet closedSet = new TIntHashSet(50_000);
+        nodesExpanded = 0;
+
+        for (int start : starts) {
+            if (cache.putIfBetter(start, 0, -1)) {
+                openSet.enqueue(start, heuristic(start));
+            }
+        }
+
+        while (!openSet.isEmpty()) {
+            int current = openSet.dequeue();
+
+            if (!closedSet.add(current)) {
+                continue;
+            }
+            nodesExpanded++;
+
+            if (isGoal(current)) {
+                return cache.reconstructPath(current, playerStartPos);
+            }
+
+            int currentG = cache.getGScore(current);
+            expandJumps(current, currentG, cache, openSet, closedSet);
+            expandTransports(current, currentG, cache, openSet, closedSet);
+        }
+
+        return new ArrayList<>();
+    }
+
+    /**
+     * Sources of the current transports that were not jump points when the table was built.
+     */
+    private void loadExtraSources() {
+        TIntArrayList extras = new TIntArrayList();
+        for (int source : TransportLoader.getTransports().keys()) {
+            if (table == null || !table.isStaticSource(source)) {
+                extras.add(source);
+            }
+        }
+        extraX = new int[extras.size()];
+        extraY = new int[extras.size()];
+        extraPlane = new int[extras.size()];
+        for (int i = 0; i < extras.size(); i++) {
+            extraX[i] = WorldPointUtil.getCompressedX(extras.get(i));
+            extraY[i] = WorldPointUtil.getCompressedY(extras.get(i));
+            extraPlane[i] = WorldPointUtil.getCompressedPlane(extras.get(i));
+        }
+    }
+
+    private boolean isGoal(int position) {
+        if (targetCompressed != -1) {
+            return position == targetCompressed;
+        }
+        return worldAreaSet != null && worldAreaSet.contains(position);
+    }
+
+    private void expandJumps(int current, int currentG, JPSCache cache,
+                             JPSPriorityQueue openSet, TIntHashSet closedSet) {
+        short x = WorldPointUtil.getCompressedX(current);
+        short y = WorldPointUtil.getCompressedY(current);
+        byte plane = WorldPointUtil.getCompressedPlane(current);
+
+        int block = table == null ? -1 : table.block(x, y, plane);
+        if (block == -1) {
+            expandSteps(current, currentG, x, y, plane, false, cache, openSet, closedSet);
+            return;
+        }
+
+        for (int direction = 0; direction < 8; direction++) {
+            int distance = table.distance(block, x, y, direction);
+            if (distance == 0) {
+                continue;
+            }
+            if ((direction & 1) == 0) {
+                jumpStraight(current, currentG, x, y, plane, direction, distance, cache, openSet, closedSet);
+            } else {
+                jumpDiagonal(current, currentG, x, y, plane, direction, distance, cache, openSet, closedSet);
+            }
+        }
+
+        // blocks next to unmapped space are left through plain moves
+        int column = x & 63;
+        int row = y & 63;
+        if (column == 0 || column == 63 || row == 0 || row == 63) {
+            expandSteps(current, currentG, x, y, plane, true, cache, openSet, closedSet);
+        }
+    }
+
+    /**
+     * Straight run: stops early at a target or unknown transport on the run, else at the jump point.
+     */
+    private void jumpStraight(int current, int currentG, short x, short y, byte plane, int direction, int distance,
+                              JPSCache cache, JPSPriorityQueue openSet, TIntHashSet closedSet) {
+        int dx = DX[direction];
+        int dy = DY[direction];
+        int reach = Math.abs(distance);
+        int stop = distance > 0 ? distance : Integer.MAX_VALUE;
+
+        if ((planeMask & (1 << plane)) != 0) {
+            int goal = firstGoalOnRun(x, y, plane, dx, dy, Math.min(reach, stop));
+            if (goal > 0) {
+                stop = goal;
+            }
+        }
+        for (int i = 0; i < extraX.length; i++) {
+            if (extraPlane[i] != plane) {
+                continue;
+            }
+            int k = dx != 0
+                    ? (extraY[i] == y ? (extraX[i] - x) * dx : 0)
+                    : (extraX[i] == x ? (extraY[i] - y) * dy : 0);
+            if (k > 0 && k <= reach && k < stop) {
+                stop = k;
+            }
+        }
+
+        if (stop != Integer.MAX_VALUE) {
+            push(WorldPointUtil.compress(x + dx * stop, y + dy * stop, plane), currentG + stop,
+                    current, cache, openSet, closedSet);
+        }
+    }
+
+    /**
+     * Diagonal run: continues to the jump point, and also stops where the run lines up with a target
+     * or unknown transport, since the straight runs from there are what reach them.
+     */
+    private void jumpDiagonal(int current, int currentG, short x, short y, byte plane, int direction, int distance,
+                              JPSCache cache, JPSPriorityQueue openSet, TIntHashSet closedSet) {
+        int dx = DX[direction];
+        int dy = DY[direction];
+        int reach = Math.abs(distance);
+
+        if (distance > 0) {
+            push(WorldPointUtil.compress(x + dx * distance, y + dy * distance, plane), currentG + distance,
+                    current, cache, openSet, closedSet);
+        }
+
+        if ((planeMask & (1 << plane)) != 0) {
+            lineUp(current, currentG, x, y, plane, dx, dy, reach, minX, maxX, minY, maxY, cache, openSet, closedSet);
+        }
+        for (int i = 0; i < extraX.length; i++) {
+            if (extraPlane[i] == plane) {
+                lineUp(current, currentG, x, y, plane, dx, dy, reach,
+                        extraX[i], extraX[i], extraY[i], extraY[i], cache, openSet, closedSet);
+            }
+        }
+    }
+
+    /**
+     * Pushes the first tiles of a diagonal run that enter the box's columns or rows, when the box lies
+     * ahead. Inside the box's span this is the next diagonal tile, so the span is walked lazily.
+     */
+    private void lineUp(int current, int currentG, short x, short y, byte plane, int dx, int dy, int reach,
+                        int boxMinX, int boxMaxX, int boxMinY, int boxMaxY,
+                        JPSCache cache, JPSPriorityQueue openSet, TIntHashSet closedSet) {
+        boolean aheadY = dy > 0 ? boxMaxY > y : boxMinY < y;
+        if (aheadY) {
+            int k = Math.max(1, dx > 0 ? boxMinX - x : x - boxMaxX);
+            int column = x + dx * k;
+            if (k <= reach && column >= boxMinX && column <= boxMaxX) {
+                push(WorldPointUtil.compress(column, y + dy * k, plane), currentG + k, current, cache, openSet, closedSet);
+            }
+        }
+
+        boolean aheadX = dx > 0 ? boxMaxX > x : boxMinX < x;
+        if (aheadX) {
+            int k = Math.max(1, dy > 0 ? boxMinY - y : y - boxMaxY);
+            int row = y + dy * k;
+            if (k <= reach && row >= boxMinY && row <= boxMaxY) {
+                push(WorldPointUtil.compress(x + dx * k, row, plane), currentG + k, current, cache, openSet, closedSet);
+            }
+        }
+    }
+
+    /**
+     * @return steps to the first target tile on the run within {@code reach}, or -1
+     */
+    private int firstGoalOnRun(short x, short y, byte plane, int dx, int dy, int reach) {
+        int from;
+        int to;
+        if (dx != 0) {
+            if (y < minY || y > maxY) {
+                return -1;
+            }
+            from = dx > 0 ? minX - x : x - maxX;
+            to = dx > 0 ? maxX - x : x - minX;
+        } else {
+            if (x < minX || x > maxX) {
+                return -1;
+            }
+            from = dy > 0 ? minY - y : y - maxY;
+            to = dy > 0 ? maxY - y : y - minY;
+        }
+
+        for (int k = Math.max(1, from), end = Math.min(reach, to); k <= end; k++) {
+            if (isGoal(WorldPointUtil.compress(x + dx * k, y + dy * k, plane))) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Single tile moves, for nodes outside the table or stepping off it.
+     */
+    private void expandSteps(int current, int currentG, short x, short y, byte plane, boolean unmappedOnly,
+                             JPSCache cache, JPSPriorityQueue openSet, TIntHashSet closedSet) {
+        byte flags = collisionMap.all(x, y, plane);
+        for (int direction = 0; direction < 8; direction++) {
+            if ((flags & JumpTable.FLAGS[direction]) == 0) {
+                continue;
+            }
+            int nx = x + DX[direction];
+            int ny = y + DY[direction];
+            if (unmappedOnly && table.block(nx, ny, plane) != -1
+                    && table.block(nx, y, plane) != -1 && table.block(x, ny, plane) != -1) {
+                continue;
+            }
+            push(WorldPointUtil.compress(nx, ny, plane), currentG + 1, current, cache, openSet, closedSet);
+        }
+    }
+
+    /**
+     * Expands all transport edges from current node.
+     * Uses index-based iteration to avoid iterator allocation.
+     */
+    private void expandTransports(int current, int currentG, JPSCache cache,
+                                  JPSPriorityQueue openSet, TIntHashSet closedSet) {
+        ArrayList<Transport> transports = TransportLoader.getTransports().get(current);
+        if (transports == null) return;
+
+        for (int i = 0, size = transports.size(); i < size; i++) {
+            Transport transport = transports.get(i);
+            int destination = transport.getDestination();
+
+            if (closedSet.contains(destination)) continue;
+
+            int tentativeG = currentG + transport.getDuration() + 1;
+            if (cache.putIfBetter(destination, tentativeG, current, transport)) {
+                openSet.enqueue(destination, tentativeG + heuristic(destination));
+            }
+        }
+    }
+
+    private void push(int position, int g, int parent, JPSCache cache,
+                      JPSPriorityQueue openSet, TIntHashSet closedSet) {
+        if (!closedSet.contains(position) && cache.putIfBetter(position, g, parent)) {
+            openSet.enqueue(position, g + heuristic(position));
+        }
+    }
+
+    /**
+     * Chebyshev distance to the target box, never more than the distance to any target tile.
+     */
+    private int heuristic(int from) {
+        short sx = WorldPointUtil.getCompressedX(from);
+        short sy = WorldPointUtil.getCompressedY(from);
+        byte sp = WorldPointUtil.getCompressedPlane(from);
+
+        int dx = sx < minX ? minX - sx : (sx > maxX ? sx - maxX : 0);
+        int dy = sy < minY ? minY - sy : (sy > maxY ? sy - maxY : 0);
+        int dz = (planeMask & (1 << sp)) != 0 ? 0 : 1;
+        return Math.max(dx, dy) + (dz * 100);
+    }
+}
@@ -0,0 +1,197 @@
+package com.tonic.services.pathfinder.implimentations.jps;
+
+import com.tonic.Logger;
+import com.tonic.Static;
+import com.tonic.services.pathfinder.Walker;
+import com.tonic.services.pathfinder.collision.CollisionMap;
+import com.tonic.services.pathfinder.collision.Flags;
+import com.tonic.services.pathfinder.collision.GlobalCollisionMap;
+import com.tonic.services.pathfinder.transports.TransportLoader;
+import com.tonic.util.ResourceUtil;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.Arrays;
+
+/**
+ * Precomputed JPS+ jump distances over the global collision map.
+ * <p>
+ * For every tile of every mapped 64x64 block and each of the eight directions the table holds the
+ * distance to the next jump point in that direction (positive), or how many tiles can be walked
+ * before a wall (zero or negative). Distances are clamped to {@link #CAP}; a clamped entry is just an
+ * intermediate stop that gets expanded like any other jump point.
+ * <p>
+ * The table is built once from map.dat and the static transports (their sources are jump points),
+ * written to {@code jps.idx} in the vitalite dir and memory mapped by every client, like objects.idx.
+ * It is rebuilt whenever map.dat or the static transport sources change.
+ */
+public class JumpTable {
+    static final int MAGIC = 0x564A5053; // "VJPS"
+    static final int FORMAT = 1;
+    static final int HEADER_SIZE = 32;
+    static final int CAP = 127;
+
+    static final int PLANES = 4;
+    static final int BLOCKS_X = 128;
+    static final int BLOCKS_Y = 512;
+    static final int DIRECTORY_SIZE = PLANES * BLOCKS_X * BLOCKS_Y;
+    static final int BLOCK_TILES = 64 * 64;
+    // instance templates live past x 6000, the global engines never path there
+    static final int MAX_BLOCK_X = 6000 >> 6;
+
+    // N, NE, E, SE, S, SW, W, NW: cardinals are even, a diagonal's components are its two neighbours
+    static final int[] DX = {0, 1, 1, 1, 0, -1, -1, -1};
+    static final int[] DY = {1, 1, 0, -1, -1, -1, 0, 1};
+    static final byte[] FLAGS = {Flags.NORTH, Flags.NORTHEAST, Flags.EAST, Flags.SOUTHEAST,
+            Flags.SOUTH, Flags.SOUTHWEST, Flags.WEST, Flags.NORTHWEST};
+
+    private static final Path INDEX_PATH = Static.VITA_DIR.resolve("jps.idx");
+    private static JumpTable instance;
+    private static boolean attempted;
+
+    private final IntBuffer directory;
+    private final int[] sources;
+    private final ByteBuffer distances;
+    @Getter
+    private final int blockCount;
+    @Getter
+    private final long fingerprint;
+
+    private JumpTable(ByteBuffer index) {
+        this.fingerprint = index.getLong(8);
+        this.blockCount = index.getInt(16);
+        int sourceCount = index.getInt(20);
+
+        ByteBuffer body = index.duplicate();
+        body.position(HEADER_SIZE);
+        this.directory = body.slice().asIntBuffer();
+        this.directory.limit(DIRECTORY_SIZE);
+
+        this.sources = new int[sourceCount];
+        IntBuffer sourceBuffer = body.slice().asIntBuffer();
+        sourceBuffer.position(DIRECTORY_SIZE);
+        sourceBuffer.get(sources);
+
+        body.position((int) distancesOffset(sourceCount));
+        this.distances = body.slice();
+    }
+
+    /**
+     * The shared jump table, mapped (or built) on first use.
+     * @return the table, or null when it could not be built; callers fall back to plain expansion
+     */
+    public static synchronized JumpTable get() {
+        if (!attempted) {
+            attempted = true;
+            try {
+                instance = load();
+            } catch (Exception e) {
+                Logger.error(e, "[JPS+] Failed to load jump table: %e");
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * @return the block index holding the tile, or -1 when the tile is outside every mapped block
+     */
+    public int block(int x, int y, int plane) {
+        if (x < 0 || y < 0 || plane < 0 || plane >= PLANES || (x >> 6) >= BLOCKS_X || (y >> 6) >= BLOCKS_Y) {
+            return -1;
+        }
+        return directory.get(directoryIndex(plane, x >> 6, y >> 6));
+    }
+
+    /**
+     * @param block block index from {@link #block}
+     * @param direction index into {@link #DX}/{@link #DY}
+     * @return distance to the next jump point (positive) or to the wall (zero or negative)
+     */
+    public int distance(int block, int x, int y, int direction) {
+        return distances.get((direction * blockCount + block) * BLOCK_TILES + (((y & 63) << 6) | (x & 63)));
+    }
+
+    /**
+     * Whether a transport source was already a jump point when the table was built. Sources added at
+     * runtime (quest and item dependent transports) have to be handled by the search.
+     */
+    public boolean isStaticSource(int packed) {
+        return Arrays.binarySearch(sources, packed) >= 0;
+    }
+
+    static int directoryIndex(int plane, int blockX, int blockY) {
+        return (plane * BLOCKS_X + blockX) * BLOCKS_Y + blockY;
+    }
+
+    static long distancesOffset(int sourceCount) {
+        return HEADER_SIZE + (DIRECTORY_SIZE + (long) sourceCount) * 4;
+    }
+
+    private static JumpTable load() throws IOException {
+        CollisionMap collisionMap = Walker.getCollisionMap();
+        if (!(collisionMap instanceof GlobalCollisionMap)) {
+            Logger.error("[JPS+] Global collision map is unavailable");
+            return null;
+        }
+
+        int[] sources = TransportLoader.getStaticTransports().keys();
+        Arrays.sort(sources);
+        long fingerprint = fingerprint(Walker.class.getResource("map.dat"), sources);
+
+        ByteBuffer index = mapIndex(fingerprint);
+        if (index == null) {
+            long start = System.currentTimeMillis();
+            Files.createDirectories(INDEX_PATH.getParent());
+            Path temp = Files.createTempFile(INDEX_PATH.getParent(), "jps", ".idx.tmp");
+            try {
+                JumpTableBuilder.build((GlobalCollisionMap) collisionMap, sources, fingerprint, temp);
+                // atomic so concurrently starting clients only ever map a complete table
+                Files.move(temp, INDEX_PATH, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            Logger.info("[JPS+] Built jump table in " + (System.currentTimeMillis() - start) + " ms");
+
+            index = mapIndex(fingerprint);
+            if (index == null) {
+                return null;
+            }
+        }
+        return new JumpTable(index);
+    }
+
+    private static ByteBuffer mapIndex(long fingerprint) {
+        if (!Files.exists(INDEX_PATH)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(INDEX_PATH, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                return null;
+            }
+
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != FORMAT || mapped.getLong(8) != fingerprint) {
+                return null;
+            }
+            return mapped;
+        } catch (IOException e) {
+            System.err.println("Failed to map jump table: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static long fingerprint(URL map, int[] sources) throws IOException {
+        long hash = map != null ? ResourceUtil.fingerprint(map) : 0;
+        hash = hash * 31 + FORMAT;
+        for (int source : sources) {
+            hash = hash * 31 + source;
+        }
+        return hash;
+    }
+}
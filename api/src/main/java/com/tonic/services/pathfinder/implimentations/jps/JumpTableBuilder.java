@@ -0,0 +1,296 @@
+package com.tonic.services.pathfinder.implimentations.jps;
+
+import com.tonic.services.pathfinder.collision.GlobalCollisionMap;
+import com.tonic.util.WorldPointUtil;
+import gnu.trove.list.array.TIntArrayList;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import static com.tonic.services.pathfinder.implimentations.jps.JumpTable.*;
+
+/**
+ * Builds the {@link JumpTable} file from the global collision map.
+ * <p>
+ * Collision here is per edge rather than per tile, so forced neighbours are derived from movement
+ * flags: scanning a straight line, tile {@code u} (entered from {@code p}) is a jump point when a
+ * perpendicular neighbour of {@code u} is reachable from {@code u} but not from {@code p} by going
+ * round. Diagonal moves already require both L shaped paths, so diagonal tiles never have forced
+ * neighbours of their own; they stop where one of their straight components finds a jump point.
+ * Transport sources and tiles that can step off the mapped blocks are jump points in every direction.
+ * <p>
+ * Each direction is one dynamic programming pass over the blocks, ordered so that the tile one step
+ * ahead is always already solved. Only the boundary values of finished blocks are kept between
+ * blocks and the distances are streamed straight to disk, so the whole table is never on the heap.
+ */
+final class JumpTableBuilder {
+    private static final int SPECIAL = 1 << 4;
+
+    private final GlobalCollisionMap collisionMap;
+    private final int[] directory = new int[DIRECTORY_SIZE];
+    private final int[] blocks;
+    // movement flags restricted to the mapped blocks
+    private final byte[][] flags;
+    // bit (direction / 2): straight ray reaches a real jump point, SPECIAL: jump point in every direction
+    private final byte[][] marks;
+    private final int[] scratch = new int[BLOCK_TILES];
+    private int[][] edges;
+
+    private JumpTableBuilder(GlobalCollisionMap collisionMap, int[] sources) {
+        this.collisionMap = collisionMap;
+
+        TIntArrayList keys = new TIntArrayList();
+        collisionMap.forEachMappedBlock(key -> {
+            if (((key >> 9) & 127) <= MAX_BLOCK_X) {
+                keys.add(key);
+            }
+        });
+        keys.sort();
+        this.blocks = keys.toArray();
+
+        Arrays.fill(directory, -1);
+        for (int i = 0; i < blocks.length; i++) {
+            directory[directoryIndex(plane(blocks[i]), blockX(blocks[i]), blockY(blocks[i]))] = i;
+        }
+
+        this.flags = new byte[blocks.length][];
+        this.marks = new byte[blocks.length][];
+        for (int i = 0; i < blocks.length; i++) {
+            loadFlags(i);
+        }
+
+        for (int source : sources) {
+            int x = WorldPointUtil.getCompressedX(source);
+            int y = WorldPointUtil.getCompressedY(source);
+            int block = blockAt(x, y, WorldPointUtil.getCompressedPlane(source));
+            if (block != -1) {
+                marks[block][tile(x, y)] |= SPECIAL;
+            }
+        }
+    }
+
+    static void build(GlobalCollisionMap collisionMap, int[] sources, long fingerprint, Path path) throws IOException {
+        JumpTableBuilder builder = new JumpTableBuilder(collisionMap, sources);
+        if ((long) builder.blocks.length * 8 * BLOCK_TILES > Integer.MAX_VALUE) {
+            throw new IOException("Too many mapped blocks for a jump table: " + builder.blocks.length);
+        }
+        builder.write(sources, fingerprint, path);
+    }
+
+    private void write(int[] sources, long fingerprint, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer head = ByteBuffer.allocate((int) distancesOffset(sources.length));
+            head.putInt(MAGIC);
+            head.putInt(FORMAT);
+            head.putLong(fingerprint);
+            head.putInt(blocks.length);
+            head.putInt(sources.length);
+            head.putInt(CAP);
+            head.putInt(0);
+            head.asIntBuffer().put(directory).put(sources);
+            writeFully(channel, head, 0);
+
+            long base = head.capacity();
+            // straight passes first, diagonals read their results through marks
+            for (int direction = 0; direction < 8; direction += 2) {
+                pass(channel, base, direction);
+            }
+            for (int direction = 1; direction < 8; direction += 2) {
+                pass(channel, base, direction);
+            }
+        }
+    }
+
+    private void pass(FileChannel channel, long base, int direction) throws IOException {
+        int dx = DX[direction];
+        int dy = DY[direction];
+        boolean straight = (direction & 1) == 0;
+
+        Integer[] order = new Integer[blocks.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        // blocks further along the direction first
+        Arrays.sort(order, Comparator.<Integer>comparingInt(b -> -dy * blockY(blocks[b]))
+                .thenComparingInt(b -> -dx * blockX(blocks[b])));
+
+        edges = new int[blocks.length][];
+        byte[] out = new byte[BLOCK_TILES];
+        int firstRow = dy > 0 ? 63 : 0;
+        int firstColumn = dx > 0 ? 63 : 0;
+        int rowStep = dy > 0 ? -1 : 1;
+        int columnStep = dx > 0 ? -1 : 1;
+
+        for (int block : order) {
+            int key = blocks[block];
+            int plane = plane(key);
+            int originX = blockX(key) << 6;
+            int originY = blockY(key) << 6;
+
+            for (int row = firstRow, r = 0; r < 64; row += rowStep, r++) {
+                for (int column = firstColumn, c = 0; c < 64; column += columnStep, c++) {
+                    int tile = (row << 6) | column;
+                    int value = solve(block, originX + column, originY + row, plane, direction);
+                    scratch[tile] = value;
+                    out[tile] = encode(value);
+                    if (straight && value > 0) {
+                        marks[block][tile] |= (byte) (1 << (direction >> 1));
+                    }
+                }
+            }
+
+            // later blocks only ever step into the row and column this pass entered from
+            int[] saved = new int[128];
+            int entryRow = dy > 0 ? 0 : 63;
+            int entryColumn = dx > 0 ? 0 : 63;
+            for (int i = 0; i < 64; i++) {
+                saved[i] = scratch[(entryRow << 6) | i];
+                saved[64 + i] = scratch[(i << 6) | entryColumn];
+            }
+            edges[block] = saved;
+
+            writeFully(channel, ByteBuffer.wrap(out), base + ((long) direction * blocks.length + block) * BLOCK_TILES);
+        }
+        edges = null;
+    }
+
+    /**
+     * Exact distance from a tile along a direction, positive to a jump point, otherwise minus the
+     * walkable run up to the wall.
+     */
+    private int solve(int block, int x, int y, int plane, int direction) {
+        if ((flags[block][tile(x, y)] & FLAGS[direction]) == 0) {
+            return 0;
+        }
+
+        int ux = x + DX[direction];
+        int uy = y + DY[direction];
+        int next = blockAt(ux, uy, plane);
+        int nextTile = tile(ux, uy);
+        if (isJumpPoint(next, nextTile, x, y, ux, uy, plane, direction)) {
+            return 1;
+        }
+
+        int ahead;
+        if (next == block) {
+            ahead = scratch[nextTile];
+        } else if ((uy >> 6) != (y >> 6)) {
+            ahead = edges[next][ux & 63];
+        } else {
+            ahead = edges[next][64 + (uy & 63)];
+        }
+        return ahead > 0 ? ahead + 1 : ahead - 1;
+    }
+
+    private boolean isJumpPoint(int block, int tile, int px, int py, int x, int y, int plane, int direction) {
+        byte mark = marks[block][tile];
+        if ((mark & SPECIAL) != 0) {
+            return true;
+        }
+
+        if ((direction & 1) == 1) {
+            int first = (direction + 7) & 7;
+            int second = (direction + 1) & 7;
+            return (mark & ((1 << (first >> 1)) | (1 << (second >> 1)))) != 0;
+        }
+
+        return isForced(px, py, x, y, plane, direction, (direction + 2) & 7)
+                || isForced(px, py, x, y, plane, direction, (direction + 6) & 7);
+    }
+
+    /**
+     * The neighbour of {@code (x, y)} on {@code side} is forced when {@code p} cannot reach it by going round.
+     */
+    private boolean isForced(int px, int py, int x, int y, int plane, int direction, int side) {
+        return canMove(x, y, plane, side)
+                && !(canMove(px, py, plane, side) && canMove(px + DX[side], py + DY[side], plane, direction));
+    }
+
+    private void loadFlags(int block) {
+        int key = blocks[block];
+        int plane = plane(key);
+        int originX = blockX(key) << 6;
+        int originY = blockY(key) << 6;
+        byte[] blockFlags = new byte[BLOCK_TILES];
+        byte[] blockMarks = new byte[BLOCK_TILES];
+
+        for (int row = 0; row < 64; row++) {
+            for (int column = 0; column < 64; column++) {
+                int x = originX + column;
+                int y = originY + row;
+                byte all = collisionMap.all((short) x, (short) y, (byte) plane);
+                byte mapped = all;
+                for (int direction = 0; direction < 8; direction++) {
+                    if ((all & FLAGS[direction]) != 0 && !mappedStep(x, y, plane, direction)) {
+                        mapped &= (byte) ~FLAGS[direction];
+                    }
+                }
+                int tile = (row << 6) | column;
+                blockFlags[tile] = mapped;
+                if (mapped != all) {
+                    // can step off the table, the search takes it from here with plain moves
+                    blockMarks[tile] |= SPECIAL;
+                }
+            }
+        }
+        flags[block] = blockFlags;
+        marks[block] = blockMarks;
+    }
+
+    private boolean mappedStep(int x, int y, int plane, int direction) {
+        int dx = DX[direction];
+        int dy = DY[direction];
+        if (blockAt(x + dx, y + dy, plane) == -1) {
+            return false;
+        }
+        return (dx == 0 || dy == 0) || (blockAt(x + dx, y, plane) != -1 && blockAt(x, y + dy, plane) != -1);
+    }
+
+    private boolean canMove(int x, int y, int plane, int direction) {
+        int block = blockAt(x, y, plane);
+        return block != -1 && (flags[block][tile(x, y)] & FLAGS[direction]) != 0;
+    }
+
+    private int blockAt(int x, int y, int plane) {
+        if (x < 0 || y < 0 || (x >> 6) >= BLOCKS_X || (y >> 6) >= BLOCKS_Y) {
+            return -1;
+        }
+        return directory[directoryIndex(plane, x >> 6, y >> 6)];
+    }
+
+    private static byte encode(int value) {
+        // long open runs become an intermediate stop at the cap
+        if (value > CAP || value < -CAP) {
+            return (byte) CAP;
+        }
+        return (byte) value;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        buffer.position(0);
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static int tile(int x, int y) {
+        return ((y & 63) << 6) | (x & 63);
+    }
+
+    private static int plane(int key) {
+        return key >>> 16;
+    }
+
+    private static int blockX(int key) {
+        return (key >> 9) & 127;
+    }
+
+    private static int blockY(int key) {
+        return key & 511;
+    }
+}
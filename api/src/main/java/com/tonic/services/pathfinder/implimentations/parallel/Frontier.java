@@ -0,0 +1,302 @@
+package com.tonic.services.pathfinder.implimentations.parallel;
+
+import com.tonic.services.pathfinder.collision.CollisionMap;
+import com.tonic.services.pathfinder.collision.Flags;
+import com.tonic.services.pathfinder.local.LocalCollisionMap;
+import com.tonic.services.pathfinder.transports.Transport;
+import com.tonic.util.WorldPointUtil;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.set.hash.TIntHashSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * One direction of a {@link ParallelBiDirAlgo} search: a Dijkstra expansion owned by a single thread.
+ * Parents and the heap are private to that thread, only costs go through the shared {@link MeetingTable}.
+ * <p>
+ * Each side publishes its radius (the cost of the node it is settling, never decreasing) and stops once
+ * its own radius plus the other side's radius reaches the best meeting cost: every cheaper path would
+ * have to pass a tile neither side has settled yet, and there is none.
+ */
+final class Frontier implements Runnable
+{
+    private final int side;
+    private final MeetingTable table;
+    private final CollisionMap collisionMap;
+    private final LocalCollisionMap localMap;
+    // outgoing transports going forward, incoming ones going backward
+    private final TIntObjectHashMap<ArrayList<Transport>> transports;
+    private final TIntHashSet blacklist;
+    private final int maxNodes;
+
+    private final TIntIntHashMap parents = new TIntIntHashMap(10_000, 0.5f, -1, -1);
+    private final TIntObjectHashMap<Transport> via = new TIntObjectHashMap<>();
+    private int[] heapNodes = new int[4096];
+    private int[] heapCosts = new int[4096];
+    private int heapSize;
+
+    private Frontier other;
+    private volatile int radius;
+    private int nodesExpanded;
+    private boolean truncated;
+    private volatile boolean failed;
+
+    Frontier(int side, MeetingTable table, CollisionMap collisionMap, LocalCollisionMap localMap,
+             TIntObjectHashMap<ArrayList<Transport>> transports, TIntHashSet blacklist, int maxNodes)
+    {
+        this.side = side;
+        this.table = table;
+        this.collisionMap = collisionMap;
+        this.localMap = localMap;
+        this.transports = transports;
+        this.blacklist = blacklist;
+        this.maxNodes = maxNodes;
+    }
+
+    void setOther(Frontier other)
+    {
+        this.other = other;
+    }
+
+    /**
+     * Seeds a tile at cost zero. Call before the frontiers are started.
+     */
+    void seed(int node)
+    {
+        if (table.relax(node, side, 0))
+        {
+            push(node, 0);
+        }
+    }
+
+    @Override
+    public void run()
+    {
+        while (expand(Integer.MAX_VALUE))
+        {
+        }
+    }
+
+    /**
+     * Settles up to {@code batch} tiles, so one thread can alternate both sides under the same bounds.
+     * @return false once this side is done: met, exhausted, truncated or failed
+     */
+    boolean expand(int batch)
+    {
+        boolean done = true;
+        try
+        {
+            for (int i = 0; i < batch; i++)
+            {
+                if (!settle())
+                {
+                    return false;
+                }
+            }
+            done = false;
+            return true;
+        }
+        catch (RuntimeException e)
+        {
+            failed = true;
+            throw e;
+        }
+        finally
+        {
+            // done, exhausted or failed: either way the other side must not wait on this one
+            if (done)
+            {
+                radius = MeetingTable.UNREACHED;
+            }
+        }
+    }
+
+    private boolean settle()
+    {
+        if (heapSize == 0)
+        {
+            return false;
+        }
+
+        int cost = heapCosts[0];
+        int node = poll();
+        if (cost > table.cost(node, side))
+        {
+            return true;
+        }
+
+        radius = cost;
+        if ((long) cost + other.radius >= table.bestCost())
+        {
+            return false;
+        }
+        if (++nodesExpanded > maxNodes)
+        {
+            truncated = true;
+            return false;
+        }
+
+        walk(node, cost);
+        ArrayList<Transport> edges = transports.get(node);
+        if (edges != null)
+        {
+            for (int i = 0, size = edges.size(); i < size; i++)
+            {
+                Transport transport = edges.get(i);
+                int next = side == MeetingTable.FORWARD ? transport.getDestination() : transport.getSource();
+                relax(next, cost + transport.getDuration() + 1, node, transport);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the previous tile on this side's tree, towards its seeds, or -1 for a seed
+     */
+    int parent(int node)
+    {
+        return parents.get(node);
+    }
+
+    /**
+     * @return the transport on the edge between the tile and its parent, or null when walked
+     */
+    Transport via(int node)
+    {
+        return via.get(node);
+    }
+
+    int getNodesExpanded()
+    {
+        return nodesExpanded;
+    }
+
+    boolean isTruncated()
+    {
+        return truncated;
+    }
+
+    boolean isFailed()
+    {
+        return failed;
+    }
+
+    /**
+     * Walking edges are treated as symmetric, so the same neighbours serve both directions.
+     */
+    private void walk(int node, int cost)
+    {
+        short x = WorldPointUtil.getCompressedX(node);
+        short y = WorldPointUtil.getCompressedY(node);
+        byte plane = WorldPointUtil.getCompressedPlane(node);
+
+        byte flags;
+        if (x > 6000)
+        {
+            if (localMap == null)
+            {
+                return;
+            }
+            flags = localMap.all(x, y, plane);
+        }
+        else
+        {
+            flags = collisionMap.all(x, y, plane);
+        }
+        if (flags == Flags.NONE)
+        {
+            return;
+        }
+
+        int next = cost + 1;
+        if ((flags & Flags.WEST) != 0)
+            relax(WorldPointUtil.compress(x - 1, y, plane), next, node, null);
+        if ((flags & Flags.EAST) != 0)
+            relax(WorldPointUtil.compress(x + 1, y, plane), next, node, null);
+        if ((flags & Flags.SOUTH) != 0)
+            relax(WorldPointUtil.compress(x, y - 1, plane), next, node, null);
+        if ((flags & Flags.NORTH) != 0)
+            relax(WorldPointUtil.compress(x, y + 1, plane), next, node, null);
+        if ((flags & Flags.SOUTHWEST) != 0)
+            relax(WorldPointUtil.compress(x - 1, y - 1, plane), next, node, null);
+        if ((flags & Flags.SOUTHEAST) != 0)
+            relax(WorldPointUtil.compress(x + 1, y - 1, plane), next, node, null);
+        if ((flags & Flags.NORTHWEST) != 0)
+            relax(WorldPointUtil.compress(x - 1, y + 1, plane), next, node, null);
+        if ((flags & Flags.NORTHEAST) != 0)
+            relax(WorldPointUtil.compress(x + 1, y + 1, plane), next, node, null);
+    }
+
+    private void relax(int node, int cost, int parent, Transport transport)
+    {
+        if (blacklist.contains(node) || !table.relax(node, side, cost))
+        {
+            return;
+        }
+        parents.put(node, parent);
+        if (transport != null)
+        {
+            via.put(node, transport);
+        }
+        else
+        {
+            via.remove(node);
+        }
+        push(node, cost);
+    }
+
+    /**
+     * Decrease-key by pushing a duplicate, stale entries are skipped when polled.
+     */
+    private void push(int node, int cost)
+    {
+        if (heapSize == heapNodes.length)
+        {
+            heapNodes = Arrays.copyOf(heapNodes, heapSize << 1);
+            heapCosts = Arrays.copyOf(heapCosts, heapSize << 1);
+        }
+        int i = heapSize++;
+        while (i > 0)
+        {
+            int parent = (i - 1) >>> 1;
+            if (heapCosts[parent] <= cost)
+            {
+                break;
+            }
+            heapNodes[i] = heapNodes[parent];
+            heapCosts[i] = heapCosts[parent];
+            i = parent;
+        }
+        heapNodes[i] = node;
+        heapCosts[i] = cost;
+    }
+
+    private int poll()
+    {
+        int result = heapNodes[0];
+        int node = heapNodes[--heapSize];
+        int cost = heapCosts[heapSize];
+        int i = 0;
+        int half = heapSize >>> 1;
+        while (i < half)
+        {
+            int child = (i << 1) + 1;
+            if (child + 1 < heapSize && heapCosts[child + 1] < heapCosts[child])
+            {
+                child++;
+            }
+            if (cost <= heapCosts[child])
+            {
+                break;
+            }
+            heapNodes[i] = heapNodes[child];
+            heapCosts[i] = heapCosts[child];
+            i = child;
+        }
+        heapNodes[i] = node;
+        heapCosts[i] = cost;
+        return result;
+    }
+}
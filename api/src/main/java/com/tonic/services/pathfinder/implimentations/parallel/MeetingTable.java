@@ -0,0 +1,125 @@
+package com.tonic.services.pathfinder.implimentations.parallel;
+
+import com.tonic.util.WorldPointUtil;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free cost table shared by the two frontiers of a {@link ParallelBiDirAlgo} search.
+ * <p>
+ * Every compressed tile owns one long holding the best forward cost in the high half and the best
+ * backward cost in the low half (stored plus one, so zero means unreached). Both halves are updated
+ * with a single CAS, so whichever frontier lowers its cost second always sees the other's cost and
+ * offers the meeting. Cells are allocated per 64x64 block on first touch, memory follows the area
+ * actually searched rather than the whole map.
+ */
+final class MeetingTable
+{
+    static final int FORWARD = 0;
+    static final int BACKWARD = 1;
+    static final int UNREACHED = Integer.MAX_VALUE;
+
+    private static final int PLANES = 4;
+    private static final int BLOCKS_X = 128;
+    private static final int BLOCKS_Y = 512;
+
+    private final AtomicReferenceArray<AtomicLongArray> blocks = new AtomicReferenceArray<>(PLANES * BLOCKS_X * BLOCKS_Y);
+    // best meeting as cost << 32 | tile, so min() picks the cheapest
+    private final AtomicLong best = new AtomicLong(Long.MAX_VALUE);
+
+    /**
+     * @return the side's best known cost to the tile, or {@link #UNREACHED}
+     */
+    int cost(int node, int side)
+    {
+        AtomicLongArray block = blocks.get(blockIndex(node));
+        if (block == null)
+        {
+            return UNREACHED;
+        }
+        return decode(block.get(tile(node)), side);
+    }
+
+    /**
+     * Lowers the side's cost to the tile and records a meeting when the other side has reached it.
+     * @return true when the cost was lowered
+     */
+    boolean relax(int node, int side, int cost)
+    {
+        AtomicLongArray block = block(node);
+        int tile = tile(node);
+        int shift = side == FORWARD ? 32 : 0;
+
+        while (true)
+        {
+            long cell = block.get(tile);
+            if (cost >= decode(cell, side))
+            {
+                return false;
+            }
+
+            long updated = (cell & ~(0xFFFFFFFFL << shift)) | ((cost + 1L) << shift);
+            if (block.compareAndSet(tile, cell, updated))
+            {
+                int other = decode(cell, side ^ 1);
+                if (other != UNREACHED)
+                {
+                    long meeting = ((long) (cost + other) << 32) | (node & 0xFFFFFFFFL);
+                    best.accumulateAndGet(meeting, Math::min);
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return cost of the cheapest meeting so far, or {@link #UNREACHED}
+     */
+    int bestCost()
+    {
+        return (int) (best.get() >>> 32);
+    }
+
+    /**
+     * @return tile of the cheapest meeting so far, only meaningful once {@link #bestCost()} is reached
+     */
+    int bestNode()
+    {
+        return (int) best.get();
+    }
+
+    private AtomicLongArray block(int node)
+    {
+        int index = blockIndex(node);
+        AtomicLongArray block = blocks.get(index);
+        if (block == null)
+        {
+            AtomicLongArray created = new AtomicLongArray(64 * 64);
+            block = blocks.compareAndSet(index, null, created) ? created : blocks.get(index);
+        }
+        return block;
+    }
+
+    private static int decode(long cell, int side)
+    {
+        long value = side == FORWARD ? cell >>> 32 : cell & 0xFFFFFFFFL;
+        return value == 0 ? UNREACHED : (int) (value - 1);
+    }
+
+    private static int blockIndex(int node)
+    {
+        int x = WorldPointUtil.getCompressedX(node);
+        int y = WorldPointUtil.getCompressedY(node);
+        int plane = WorldPointUtil.getCompressedPlane(node);
+        return (plane * BLOCKS_X + (x >> 6)) * BLOCKS_Y + (y >> 6);
+    }
+
+    private static int tile(int node)
+    {
+        int x = WorldPointUtil.getCompressedX(node);
+        int y = WorldPointUtil.getCompressedY(node);
+        return ((y & 63) << 6) | (x & 63);
+    }
+}
@@ -0,0 +1,283 @@
+package com.tonic.services.pathfinder.implimentations.parallel;
+
+import com.tonic.Logger;
+import com.tonic.Static;
+import com.tonic.api.game.SceneAPI;
+import com.tonic.services.metrics.Histogram;
+import com.tonic.services.metrics.Metrics;
+import com.tonic.services.metrics.Scope;
+import com.tonic.services.pathfinder.Walker;
+import com.tonic.services.pathfinder.abstractions.IPathfinder;
+import com.tonic.services.pathfinder.collision.CollisionMap;
+import com.tonic.services.pathfinder.collision.Properties;
+import com.tonic.services.pathfinder.implimentations.bidirbfs.BiDirBFSStep;
+import com.tonic.services.pathfinder.local.LocalCollisionMap;
+import com.tonic.services.pathfinder.teleports.Teleport;
+import com.tonic.services.pathfinder.transports.Transport;
+import com.tonic.services.pathfinder.transports.TransportLoader;
+import com.tonic.util.TaskLane;
+import com.tonic.util.ThreadPool;
+import com.tonic.util.WorldPointUtil;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.set.hash.TIntHashSet;
+import lombok.Getter;
+import net.runelite.api.Client;
+import net.runelite.api.coords.WorldArea;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Parallel bidirectional search. The forward frontier expands on the calling thread while the backward
+ * frontier expands on a pool worker, instead of interleaving both on one thread like {@code AStarAlgo}
+ * and {@code BiDirBFSAlgo}. Called from an interactive worker, or with that lane full, both sides are
+ * interleaved on the calling thread. The frontiers meet through a lock-free {@link MeetingTable} over compressed
+ * tiles.
+ * <p>
+ * Both sides run Dijkstra (walking costs 1, transports their duration plus one) and stop on the best
+ * meeting cost rather than the first contact, so the returned path is the cheapest one, transports included.
+ */
+public class ParallelBiDirAlgo implements IPathfinder
+{
+    private static final Histogram PATH_LENGTH = Metrics.histogram("pathfinder.parallel_bidir.path_length");
+    private static final Histogram NODES_EXPANDED = Metrics.histogram("pathfinder.parallel_bidir.nodes_expanded");
+    private static final int MAX_NODES_PER_SIDE = 5_000_000;
+    private static final int INTERLEAVE_BATCH = 256;
+
+    @Getter
+    private Teleport teleport;
+    @Getter
+    private int nodesExpanded;
+
+    private int targetCompressed;
+    private int[] worldAreaPoints;
+    private int playerStartPos;
+    private LocalCollisionMap localMap;
+
+    @Override
+    public List<BiDirBFSStep> find(WorldPoint target) {
+        TransportLoader.refreshTransports();
+        this.targetCompressed = WorldPointUtil.compress(target);
+        this.worldAreaPoints = null;
+        return find();
+    }
+
+    @Override
+    public List<BiDirBFSStep> find(WorldArea... worldAreas) {
+        TransportLoader.refreshTransports();
+        this.targetCompressed = -1;
+        this.worldAreaPoints = WorldPointUtil.toCompressedPoints(worldAreas);
+        return find();
+    }
+
+    @Override
+    public List<BiDirBFSStep> find(List<WorldArea> worldAreas) {
+        TransportLoader.refreshTransports();
+        this.targetCompressed = -1;
+        this.worldAreaPoints = WorldPointUtil.toCompressedPoints(worldAreas.toArray(new WorldArea[0]));
+        return find();
+    }
+
+    @Override
+    public List<BiDirBFSStep> find(WorldPoint start, WorldPoint target) {
+        this.targetCompressed = WorldPointUtil.compress(target);
+        this.worldAreaPoints = null;
+        this.teleport = null;
+        this.localMap = null;
+        this.playerStartPos = WorldPointUtil.compress(start);
+
+        List<Integer> startPoints = new ArrayList<>();
+        startPoints.add(playerStartPos);
+        return buildPath(startPoints);
+    }
+
+    private List<BiDirBFSStep> find() {
+        if (Walker.getCollisionMap() == null) {
+            Logger.error("[Parallel BiDir] Collision map is null");
+            return new ArrayList<>();
+        }
+
+        try {
+            Client client = Static.getClient();
+            this.teleport = null;
+            this.localMap = client.getTopLevelWorldView().isInstance() ? new LocalCollisionMap() : null;
+            playerStartPos = WorldPointUtil.compress(client.getLocalPlayer().getWorldLocation());
+
+            List<Teleport> teleports = Teleport.buildTeleportLinks();
+            List<Integer> startPoints = new ArrayList<>();
+            startPoints.add(playerStartPos);
+
+            for (Teleport tp : teleports) {
+                if (!filterTeleports(tp.getDestination())) {
+                    startPoints.add(WorldPointUtil.compress(tp.getDestination()));
+                }
+            }
+
+            final Scope search = Metrics.scope("pathfinder.parallel_bidir");
+            List<BiDirBFSStep> path;
+            try (search)
+            {
+                path = buildPath(startPoints);
+            }
+            Logger.info("[Parallel BiDir Pathfinding] Took " + search.elapsedMillis() + " ms, expanded " + nodesExpanded + " nodes.");
+            PATH_LENGTH.record(path.size());
+            NODES_EXPANDED.record(nodesExpanded);
+
+            if (path.isEmpty())
+                return path;
+
+            // Set teleport if path starts with one
+            for (Teleport tp : teleports) {
+                if (WorldPointUtil.compress(tp.getDestination()) == path.get(0).getPackedPosition()) {
+                    teleport = tp.copy();
+                    break;
+                }
+            }
+
+            return path;
+
+        } catch (Exception e) {
+            Logger.error(e, "[Parallel BiDir] %e");
+            return new ArrayList<>();
+        }
+    }
+
+    private List<BiDirBFSStep> buildPath(List<Integer> starts) {
+        CollisionMap collisionMap = Walker.getCollisionMap();
+        nodesExpanded = 0;
+
+        if (targetCompressed != -1 && !collisionMap.walkable(targetCompressed)) {
+            Logger.info("[Parallel BiDir] Target blocked");
+            return new ArrayList<>();
+        }
+
+        // the live transport map is rebuilt on the client thread, both workers read a private copy
+        TIntObjectHashMap<ArrayList<Transport>> outgoing = new TIntObjectHashMap<>();
+        TIntObjectHashMap<ArrayList<Transport>> incoming = new TIntObjectHashMap<>();
+        TransportLoader.getTransports().forEachValue(list -> {
+            for (Transport transport : list) {
+                add(outgoing, transport.getSource(), transport);
+                add(incoming, transport.getDestination(), transport);
+            }
+            return true;
+        });
+
+        TIntHashSet blacklist = new TIntHashSet();
+        for (int tile : Properties.getBlacklist()) {
+            blacklist.add(tile);
+        }
+
+        MeetingTable table = new MeetingTable();
+        Frontier forward = new Frontier(MeetingTable.FORWARD, table, collisionMap, localMap, outgoing, blacklist, MAX_NODES_PER_SIDE);
+        Frontier backward = new Frontier(MeetingTable.BACKWARD, table, collisionMap, localMap, incoming, blacklist, MAX_NODES_PER_SIDE);
+        forward.setOther(backward);
+        backward.setOther(forward);
+
+        for (int start : starts) {
+            forward.seed(start);
+        }
+        if (targetCompressed != -1) {
+            backward.seed(targetCompressed);
+        } else if (worldAreaPoints != null) {
+            for (int point : worldAreaPoints) {
+                backward.seed(point);
+            }
+        }
+
+        // on an interactive worker a saturated lane would run the backward side in place, before the forward
+        // side starts and so without a meeting bound; alternate both on this thread instead
+        Future<?> worker = ThreadPool.currentLane() == TaskLane.INTERACTIVE ? null : ThreadPool.submit(TaskLane.INTERACTIVE, backward);
+        if (worker == null || worker.isCancelled()) {
+            interleave(forward, backward);
+        } else {
+            forward.run();
+            try {
+                worker.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new ArrayList<>();
+            } catch (ExecutionException e) {
+                Logger.error(e, "[Parallel BiDir] %e");
+                return new ArrayList<>();
+            }
+        }
+
+        nodesExpanded = forward.getNodesExpanded() + backward.getNodesExpanded();
+        if (backward.isFailed()) {
+            // the pool only logs the failure, a half updated tree cannot be joined
+            return new ArrayList<>();
+        }
+        if (table.bestCost() == MeetingTable.UNREACHED) {
+            if (forward.isTruncated() || backward.isTruncated()) {
+                Logger.info("[Parallel BiDir] Search limit reached");
+            }
+            return new ArrayList<>();
+        }
+
+        int meeting = table.bestNode();
+        Logger.info("[Parallel BiDir] Nodes: " + nodesExpanded + ", Meeting: " + meeting + ", Cost: " + table.bestCost());
+        return reconstructPath(forward, backward, meeting);
+    }
+
+    /**
+     * Joins the two trees at the meeting tile. A step's transport is the one taken to leave that step.
+     */
+    private List<BiDirBFSStep> reconstructPath(Frontier forward, Frontier backward, int meeting) {
+        LinkedList<BiDirBFSStep> path = new LinkedList<>();
+        path.add(new BiDirBFSStep(meeting, backward.via(meeting)));
+
+        int node = meeting;
+        int parent = forward.parent(node);
+        while (parent != -1) {
+            path.addFirst(new BiDirBFSStep(parent, forward.via(node)));
+            node = parent;
+            parent = forward.parent(node);
+        }
+
+        parent = backward.parent(meeting);
+        while (parent != -1) {
+            path.add(new BiDirBFSStep(parent, backward.via(parent)));
+            parent = backward.parent(parent);
+        }
+
+        return new ArrayList<>(path);
+    }
+
+    /**
+     * Single threaded fallback: both sides take turns, each stopping on the shared meeting bound as usual.
+     */
+    private static void interleave(Frontier forward, Frontier backward) {
+        boolean forwardRunning = true;
+        boolean backwardRunning = true;
+        while (forwardRunning || backwardRunning) {
+            if (forwardRunning) {
+                forwardRunning = forward.expand(INTERLEAVE_BATCH);
+            }
+            if (backwardRunning) {
+                backwardRunning = backward.expand(INTERLEAVE_BATCH);
+            }
+        }
+    }
+
+    private static void add(TIntObjectHashMap<ArrayList<Transport>> index, int key, Transport transport) {
+        ArrayList<Transport> list = index.get(key);
+        if (list == null) {
+            list = new ArrayList<>(2);
+            index.put(key, list);
+        }
+        list.add(transport);
+    }
+
+    private boolean filterTeleports(WorldPoint dest) {
+        return Static.invoke(() -> {
+            Client client = Static.getClient();
+            WorldPoint local = client.getLocalPlayer().getWorldLocation();
+            List<WorldPoint> path = SceneAPI.pathTo(local, dest);
+            return path != null && path.size() < 20 && SceneAPI.isReachable(local, dest);
+        });
+    }
+}
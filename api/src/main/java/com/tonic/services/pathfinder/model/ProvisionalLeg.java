@@ -0,0 +1,237 @@
+package com.tonic.services.pathfinder.model;
+
+import com.tonic.services.pathfinder.Walker;
+import com.tonic.services.pathfinder.abstractions.IStep;
+import com.tonic.services.pathfinder.collision.CollisionMap;
+import com.tonic.services.pathfinder.collision.Flags;
+import com.tonic.services.pathfinder.transports.Transport;
+import com.tonic.util.WorldPointUtil;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.set.hash.TIntHashSet;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * First leg of a streamed {@link WalkerPath}: a small bounded search from the player towards the goal that
+ * returns the walk to the explored tile closest to it, so the player can start moving while the real
+ * engine is still searching. Walking only, no transports or teleports; the refined route replaces it.
+ */
+final class ProvisionalLeg
+{
+    private static final int MAX_NODES = 4096;
+    // weighted towards the goal, the leg only has to make progress, not be optimal
+    private static final int WEIGHT = 2;
+    // legs gaining less than this on the goal are not worth walking before the real route is known
+    private static final int MIN_PROGRESS = 8;
+
+    private static final int[] DX = {0, 1, 1, 1, 0, -1, -1, -1};
+    private static final int[] DY = {1, 1, 0, -1, -1, -1, 0, 1};
+    private static final byte[] FLAGS = {Flags.NORTH, Flags.NORTHEAST, Flags.EAST, Flags.SOUTHEAST,
+            Flags.SOUTH, Flags.SOUTHWEST, Flags.WEST, Flags.NORTHWEST};
+
+    private final CollisionMap collisionMap;
+    private int minX = Integer.MAX_VALUE;
+    private int maxX = Integer.MIN_VALUE;
+    private int minY = Integer.MAX_VALUE;
+    private int maxY = Integer.MIN_VALUE;
+    private int planeMask;
+
+    private int[] nodes = new int[1024];
+    private int[] priorities = new int[1024];
+    private int size;
+
+    private ProvisionalLeg(CollisionMap collisionMap, int[] goals)
+    {
+        this.collisionMap = collisionMap;
+        for (int goal : goals)
+        {
+            int x = WorldPointUtil.getCompressedX(goal);
+            int y = WorldPointUtil.getCompressedY(goal);
+            minX = Math.min(minX, x);
+            maxX = Math.max(maxX, x);
+            minY = Math.min(minY, y);
+            maxY = Math.max(maxY, y);
+            planeMask |= 1 << WorldPointUtil.getCompressedPlane(goal);
+        }
+    }
+
+    /**
+     * @param start player tile
+     * @param goals compressed goal tiles
+     * @return steps from the start towards the goals, empty when there is nothing worth walking
+     */
+    static List<IStep> toward(WorldPoint start, int[] goals)
+    {
+        CollisionMap collisionMap = Walker.getCollisionMap();
+        if (collisionMap == null || goals.length == 0 || start.getX() > 6000)
+        {
+            return new ArrayList<>();
+        }
+        return new ProvisionalLeg(collisionMap, goals).search(WorldPointUtil.compress(start));
+    }
+
+    private List<IStep> search(int start)
+    {
+        TIntIntHashMap costs = new TIntIntHashMap(MAX_NODES * 2, 0.5f, -1, Integer.MAX_VALUE);
+        TIntIntHashMap parents = new TIntIntHashMap(MAX_NODES * 2, 0.5f, -1, -1);
+        TIntHashSet closed = new TIntHashSet(MAX_NODES * 2);
+
+        int startH = heuristic(start);
+        int best = start;
+        int bestH = startH;
+        costs.put(start, 0);
+        push(start, startH * WEIGHT);
+
+        while (size > 0 && closed.size() < MAX_NODES)
+        {
+            int node = poll();
+            if (!closed.add(node))
+            {
+                continue;
+            }
+
+            int h = heuristic(node);
+            if (h < bestH)
+            {
+                best = node;
+                bestH = h;
+                if (h == 0)
+                {
+                    break;
+                }
+            }
+
+            short x = WorldPointUtil.getCompressedX(node);
+            short y = WorldPointUtil.getCompressedY(node);
+            byte plane = WorldPointUtil.getCompressedPlane(node);
+            byte flags = collisionMap.all(x, y, plane);
+            int cost = costs.get(node) + 1;
+            for (int direction = 0; direction < 8; direction++)
+            {
+                if ((flags & FLAGS[direction]) == 0)
+                {
+                    continue;
+                }
+                int next = WorldPointUtil.compress(x + DX[direction], y + DY[direction], plane);
+                if (cost < costs.get(next))
+                {
+                    costs.put(next, cost);
+                    parents.put(next, node);
+                    push(next, cost + heuristic(next) * WEIGHT);
+                }
+            }
+        }
+
+        if (startH - bestH < MIN_PROGRESS && bestH != 0)
+        {
+            return new ArrayList<>();
+        }
+
+        LinkedList<IStep> path = new LinkedList<>();
+        for (int node = best; node != -1; node = parents.get(node))
+        {
+            path.addFirst(new Step(node));
+        }
+        return new ArrayList<>(path);
+    }
+
+    private void push(int node, int priority)
+    {
+        if (size == nodes.length)
+        {
+            nodes = Arrays.copyOf(nodes, size << 1);
+            priorities = Arrays.copyOf(priorities, size << 1);
+        }
+        int i = size++;
+        while (i > 0)
+        {
+            int parent = (i - 1) >>> 1;
+            if (priorities[parent] <= priority)
+            {
+                break;
+            }
+            nodes[i] = nodes[parent];
+            priorities[i] = priorities[parent];
+            i = parent;
+        }
+        nodes[i] = node;
+        priorities[i] = priority;
+    }
+
+    private int poll()
+    {
+        int result = nodes[0];
+        int node = nodes[--size];
+        int priority = priorities[size];
+        int i = 0;
+        while (i < size >>> 1)
+        {
+            int child = (i << 1) + 1;
+            if (child + 1 < size && priorities[child + 1] < priorities[child])
+            {
+                child++;
+            }
+            if (priority <= priorities[child])
+            {
+                break;
+            }
+            nodes[i] = nodes[child];
+            priorities[i] = priorities[child];
+            i = child;
+        }
+        nodes[i] = node;
+        priorities[i] = priority;
+        return result;
+    }
+
+    /**
+     * Chebyshev distance to the goal box, off plane goals count as far away.
+     */
+    private int heuristic(int node)
+    {
+        int x = WorldPointUtil.getCompressedX(node);
+        int y = WorldPointUtil.getCompressedY(node);
+        int dx = x < minX ? minX - x : (x > maxX ? x - maxX : 0);
+        int dy = y < minY ? minY - y : (y > maxY ? y - maxY : 0);
+        int dz = (planeMask & (1 << WorldPointUtil.getCompressedPlane(node))) != 0 ? 0 : 100;
+        return Math.max(dx, dy) + dz;
+    }
+
+    private static final class Step implements IStep
+    {
+        private final int position;
+
+        private Step(int position)
+        {
+            this.position = position;
+        }
+
+        @Override
+        public WorldPoint getPosition()
+        {
+            return WorldPointUtil.fromCompressed(position);
+        }
+
+        @Override
+        public Transport getTransport()
+        {
+            return null;
+        }
+
+        @Override
+        public int getPackedPosition()
+        {
+            return position;
+        }
+
+        @Override
+        public boolean hasTransport()
+        {
+            return false;
+        }
+    }
+}
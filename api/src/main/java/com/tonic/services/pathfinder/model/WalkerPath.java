@@ -18,14 +18,24 @@ import com.tonic.queries.TileObjectQuery;
 import com.tonic.queries.WidgetQuery;
 import static com.tonic.services.pathfinder.Walker.*;
 import com.tonic.services.GameManager;
+import com.tonic.services.metrics.Histogram;
+import com.tonic.services.metrics.Metrics;
 import com.tonic.services.pathfinder.abstractions.IPathfinder;
 import com.tonic.services.pathfinder.abstractions.IStep;
+import com.tonic.services.pathfinder.collections.CompactPath;
+import com.tonic.services.pathfinder.routes.RouteCache;
+import com.tonic.services.pathfinder.routes.RouteCodec;
+import com.tonic.services.pathfinder.routes.RouteRequest;
 import com.tonic.services.pathfinder.teleports.Teleport;
 import com.tonic.util.ClickManagerUtil;
 import com.tonic.util.Location;
 import com.tonic.util.StaticIntFinder;
+import com.tonic.util.TaskLane;
+import com.tonic.util.ThreadPool;
+import com.tonic.util.WorldPointUtil;
 import lombok.Getter;
 import lombok.Setter;
+import lombok.Value;
 import net.runelite.api.*;
 import net.runelite.api.coords.WorldArea;
 import net.runelite.api.coords.WorldPoint;
@@ -35,16 +45,23 @@ import net.runelite.api.gameval.ItemID;
 import net.runelite.api.widgets.Widget;
 import net.runelite.api.widgets.WidgetInfo;
 import org.apache.commons.lang3.ArrayUtils;
+import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 public class WalkerPath
 {
+    private static final Histogram STREAM_REFINE = Metrics.timer("walker.stream.refine");
     private static final int[] STAMINA = {net.runelite.api.gameval.ItemID._1DOSESTAMINA, net.runelite.api.gameval.ItemID._2DOSESTAMINA, net.runelite.api.gameval.ItemID._3DOSESTAMINA, ItemID._4DOSESTAMINA};
 
     private final Client client;
-    @Getter
-    private final List<IStep> steps;
+    private CompactPath steps;
+    private final List<IStep> stepsView = new StepsView();
     @Getter
     private boolean canceled = false;
     @Setter
@@ -54,7 +71,11 @@ public class WalkerPath
     @Setter
     private PrayerAPI[] prayers = null;
     private final int prayerDangerZone;
+    @Getter
     private WorldPoint destination;
+    // streamed paths: the engine's route, handed over from the search thread
+    private final AtomicReference<Refinement> refinement = new AtomicReference<>();
+    private volatile boolean streaming = false;
     private boolean ranInit = false;
     private int timesDialogueSeen = 0;
     private String lastText = null;
@@ -66,8 +87,15 @@ public class WalkerPath
      */
     public static WalkerPath get(WorldPoint target)
     {
+        RouteRequest request = RouteCache.request(target);
+        RouteRequest.ResolvedRoute cached = request.lookup();
+        if (cached != null)
+        {
+            return new WalkerPath(cached.getSteps(), cached.getTeleport());
+        }
         final IPathfinder engine = Static.getVitaConfig().getPathfinderImpl().newInstance();
         List<? extends IStep> path = engine.find(target);
+        request.store(path, engine.getTeleport());
         return new WalkerPath(path, engine.getTeleport());
     }
 
@@ -78,33 +106,164 @@ public class WalkerPath
      */
     public static WalkerPath get(List<WorldArea> targets)
     {
+        RouteRequest request = RouteCache.request(targets);
+        RouteRequest.ResolvedRoute cached = request.lookup();
+        if (cached != null)
+        {
+            return new WalkerPath(cached.getSteps(), cached.getTeleport());
+        }
         final IPathfinder engine = Static.getVitaConfig().getPathfinderImpl().newInstance();
         List<? extends IStep> path = engine.find(targets);
+        request.store(path, engine.getTeleport());
         return new WalkerPath(path, engine.getTeleport());
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
+    /**
+     * Get a WalkerPath from a route another client solved, joined to this player's position. Falls back
+     * to a normal search if the route cannot be used from here.
+     * @param target The target WorldPoint the route was solved for
+     * @param encoded The route, see {@link #encode()}
+     * @return The WalkerPath
+     */
+    public static WalkerPath adopt(WorldPoint target, String encoded)
+    {
+        RouteRequest request = RouteCache.request(target);
+        RouteRequest.ResolvedRoute shared = request.adopt(RouteCodec.decode(encoded));
+        if (shared != null)
+        {
+            return new WalkerPath(shared.getSteps(), shared.getTeleport());
+        }
+        return get(target);
+    }
+
+    /**
+     * @return this path as compact text for {@link #adopt(WorldPoint, String)} on other clients
+     */
+    public String encode()
+    {
+        return RouteCodec.encode(steps, teleport);
+    }
+
+    /**
+     * Get a streamed WalkerPath to a single target. Starts out with a short provisional leg towards the
+     * target and swaps in the engine's route once the background search finishes.
+     * @param target The target WorldPoint
+     * @return The WalkerPath
+     */
+    public static WalkerPath stream(WorldPoint target)
+    {
+        return stream(RouteCache.request(target), new int[]{WorldPointUtil.compress(target)}, target, engine -> engine.find(target));
+    }
+
+    /**
+     * Get a streamed WalkerPath to the closest of multiple targets
+     * @param targets The target WorldAreas
+     * @return The WalkerPath
+     */
+    public static WalkerPath stream(List<WorldArea> targets)
+    {
+        int[] goals = WorldPointUtil.toCompressedPoints(targets.toArray(new WorldArea[0]));
+        return stream(RouteCache.request(targets), goals, null, engine -> engine.find(targets));
+    }
+
+    private static WalkerPath stream(RouteRequest request, int[] goals, WorldPoint target, Function<IPathfinder, List<? extends IStep>> search)
+    {
+        RouteRequest.ResolvedRoute cached = request.lookup();
+        if (cached != null)
+        {
+            // a cached route is as good as the engine's, nothing to stream
+            return new WalkerPath(cached.getSteps(), cached.getTeleport());
+        }
+        final IPathfinder engine = Static.getVitaConfig().getPathfinderImpl().newInstance();
+        WorldPoint start = Static.invoke(() -> {
+            Client client = Static.getClient();
+            return client.getLocalPlayer().getWorldLocation();
+        });
+        List<IStep> leg = ProvisionalLeg.toward(start, goals);
+        if (leg.isEmpty())
+        {
+            // nothing worth walking meanwhile, same as a blocking search
+            List<? extends IStep> steps = search.apply(engine);
+            request.store(steps, engine.getTeleport());
+            return new WalkerPath(steps, engine.getTeleport());
+        }
+
+        WalkerPath path = new WalkerPath(leg, null);
+        if (target != null)
+        {
+            path.destination = target;
+        }
+        path.streaming = true;
+
+        long begin = System.nanoTime();
+        Future<?> refine = ThreadPool.submit(TaskLane.INTERACTIVE, () -> {
+            List<? extends IStep> steps = null;
+            try
+            {
+                steps = search.apply(engine);
+                request.store(steps, engine.getTeleport());
+            }
+            finally
+            {
+                // always hand something over, the walker waits on it once the leg is used up
+                path.refinement.set(new Refinement(steps != null ? steps : new ArrayList<>(), engine.getTeleport()));
+                STREAM_REFINE.recordSince(begin);
+            }
+        });
+        if (refine.isCancelled())
+        {
+            // lane full, the refinement would never arrive: search here like get() does
+            path.streaming = false;
+            List<? extends IStep> steps = search.apply(engine);
+            request.store(steps, engine.getTeleport());
+            return new WalkerPath(steps, engine.getTeleport());
+        }
+        return path;
+    }
+
     WalkerPath(List<? extends IStep> steps, Teleport teleport) {
         this.client = Static.getClient();
-        this.steps = (List) steps;
+        this.steps = CompactPath.of(steps);
         this.teleport = teleport;
         prayerDangerZone = client.getRealSkillLevel(Skill.PRAYER) / 2;
-        if(!steps.isEmpty()) {
-            destination = steps.get(steps.size() - 1).getPosition();
+        if(!this.steps.isEmpty()) {
+            destination = this.steps.getLastPosition();
         }
     }
 
+    /**
+     * @return the remaining steps. The list follows the path when a streamed route swaps in the engine's
+     * route, and can be changed anywhere, though only removing from the front keeps the path compact.
+     */
+    public List<IStep> getSteps()
+    {
+        return stepsView;
+    }
+
+    /**
+     * @return the remaining steps in their compact form. Replaced when a streamed route is refined, so
+     * read it again rather than holding on to it.
+     */
+    public CompactPath getCompactSteps()
+    {
+        return steps;
+    }
+
     public void cancel()
     {
         this.canceled = true;
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
     private void repath()
     {
         steps.clear();
+        if(streaming)
+        {
+            // the refined route is on its way
+            return;
+        }
         final IPathfinder engine = Static.getVitaConfig().getPathfinderImpl().newInstance();
-        ((List) steps).addAll(engine.find(destination));
+        steps = CompactPath.of(engine.find(destination));
     }
 
     /**
@@ -117,7 +276,7 @@ public class WalkerPath
             return;
         }
 
-        GameManager.setPathPoints(IStep.toWorldPoints(steps));
+        GameManager.setPathPoints(steps.snapshot());
 
         if(prayers != null)
         {
@@ -131,6 +290,11 @@ public class WalkerPath
      */
     public void shutdown()
     {
+        if(teleport != null)
+        {
+            // a cancelled walk must not leave the teleport halfway through its steps
+            teleport.getHandlers().reset();
+        }
         if(prayers != null)
         {
             PrayerAPI.turnOffQuickPrayers();
@@ -138,9 +302,62 @@ public class WalkerPath
         GameManager.clearPathPoints();
     }
 
+    /**
+     * Splice the engine's route in place of the provisional leg, continuing from the step closest to
+     * where the leg has taken the player.
+     */
+    private void applyRefinement()
+    {
+        Refinement next = refinement.getAndSet(null);
+        if(next == null)
+        {
+            return;
+        }
+        streaming = false;
+        steps.clear();
+
+        List<? extends IStep> refined = next.getSteps();
+        if(refined.isEmpty())
+        {
+            Logger.info("[Pathfinder] No path found, dropping provisional leg");
+            return;
+        }
+
+        int from = next.getTeleport() != null ? 0 : rejoinIndex(refined);
+        steps = CompactPath.of(refined.subList(from, refined.size()));
+        teleport = next.getTeleport();
+        destination = steps.getLastPosition();
+        GameManager.setPathPoints(steps.snapshot());
+    }
+
+    /**
+     * Only the walk up to the first transport is considered, past it the route cannot be joined on foot.
+     */
+    private int rejoinIndex(List<? extends IStep> refined)
+    {
+        WorldPoint local = Static.invoke(() -> client.getLocalPlayer().getWorldLocation());
+        int best = 0;
+        int bestDistance = Integer.MAX_VALUE;
+        for(int i = 0; i < refined.size(); i++)
+        {
+            IStep step = refined.get(i);
+            int distance = step.getPosition().distanceTo(local);
+            if(distance < bestDistance)
+            {
+                best = i;
+                bestDistance = distance;
+            }
+            if(step.hasTransport())
+            {
+                break;
+            }
+        }
+        return best;
+    }
+
     private boolean isDone()
     {
-        boolean value = steps.isEmpty();
+        boolean value = steps.isEmpty() && !streaming;
         if(value)
         {
             shutdown();
@@ -162,8 +379,15 @@ public class WalkerPath
             return false;
         }
 
+        applyRefinement();
+
         if(steps == null || steps.isEmpty())
         {
+            if(streaming)
+            {
+                // provisional leg used up, wait for the refined route
+                return true;
+            }
             shutdown();
             return false;
         }
@@ -225,9 +449,9 @@ public class WalkerPath
 
         int s = 0;
         rand = ThreadLocalRandom.current().nextInt(5, 16);
-        while(s <= rand && s < steps.size() && !steps.get(s).hasTransport())
+        while(s <= rand && s < steps.size() && !steps.hasTransport(s))
         {
-            if(!SceneAPI.isReachable(local.getWorldLocation(), steps.get(s).getPosition()))
+            if(!SceneAPI.isReachable(local.getWorldLocation(), WorldPointUtil.fromCompressed(steps.getPackedPosition(s))))
             {
                 break;
             }
@@ -236,18 +460,18 @@ public class WalkerPath
         if(s > 0)
         {
             s--;
-            steps.subList(0, s).clear();
+            steps.advance(s);
         }
-        if(steps.size() > 1 && steps.get(1).hasTransport())
+        if(steps.size() > 1 && steps.hasTransport(1))
         {
-            steps.remove(0);
+            steps.advance(1);
         }
         step = steps.get(0); //Walker.walkTo(new WorldPoint(2575,3268,1));
         IStep nextStep = steps.size() > 1 ? steps.get(1) : null;
         boolean nextBlocked = nextStep != null && !SceneAPI.isReachable(step.getPosition(), nextStep.getPosition());
         MovementAPI.walkTowards(step.getPosition());
         if((!step.hasTransport() && MovementAPI.isMoving()) || nextBlocked || (steps.size() == 1 && local.getWorldLocation().equals(step.getPosition())))
-            steps.remove(step);
+            steps.advance(1);
         return !isDone();
     }
 
@@ -338,7 +562,7 @@ public class WalkerPath
         boolean value = step.getTransport().getHandler().step();
         if(!value)
         {
-            steps.remove(step);
+            steps.advance(1);
         }
         return value;
     }
@@ -434,4 +658,81 @@ public class WalkerPath
                 InventoryAPI.interact(item, 1);
         }
     }
+
+    @Value
+    /**
+     * Reads through to whichever path is current. Removing from the front advances the path, any other
+     * change rebuilds it.
+     */
+    private class StepsView extends AbstractList<IStep> implements RandomAccess
+    {
+        @Override
+        public IStep get(int index)
+        {
+            return steps.get(index);
+        }
+
+        @Override
+        public int size()
+        {
+            return steps.size();
+        }
+
+        @Override
+        public IStep set(int index, IStep step)
+        {
+            List<IStep> copy = new ArrayList<>(steps);
+            IStep previous = copy.set(index, step);
+            rebuild(copy);
+            return previous;
+        }
+
+        @Override
+        public void add(int index, IStep step)
+        {
+            List<IStep> copy = new ArrayList<>(steps);
+            copy.add(index, step);
+            rebuild(copy);
+        }
+
+        @Override
+        public IStep remove(int index)
+        {
+            if(index == 0)
+            {
+                modCount++;
+                return steps.remove(0);
+            }
+            List<IStep> copy = new ArrayList<>(steps);
+            IStep removed = copy.remove(index);
+            rebuild(copy);
+            return removed;
+        }
+
+        @Override
+        protected void removeRange(int fromIndex, int toIndex)
+        {
+            if(fromIndex == 0)
+            {
+                modCount++;
+                steps.advance(toIndex);
+                return;
+            }
+            List<IStep> copy = new ArrayList<>(steps);
+            copy.subList(fromIndex, toIndex).clear();
+            rebuild(copy);
+        }
+
+        private void rebuild(List<IStep> copy)
+        {
+            modCount++;
+            steps = CompactPath.of(copy);
+        }
+    }
+
+    private static class Refinement
+    {
+        List<? extends IStep> steps;
+        Teleport teleport;
+    }
 }
@@ -1,77 +1,287 @@
 package com.tonic.services.pathfinder.objects;
 
+import com.tonic.Static;
 import com.tonic.services.pathfinder.Walker;
+import com.tonic.util.ResourceUtil;
+import com.tonic.util.WorldPointUtil;
 import lombok.Getter;
 
 import java.io.*;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
 import java.util.*;
+import java.util.function.IntConsumer;
 
 /**
  * Reads object ID data from a saved object map file.
  * Provides efficient lookup of object IDs at world coordinates.
+ * <p>
+ * The first client to load objects.dat decodes it into a flat, fixed width index
+ * ({@code objects.idx} in the vitalite dir) that every client then memory maps, so
+ * the data lives once in the OS page cache instead of once per JVM heap. The index
+ * also carries a reverse lookup from object id to the tiles it is placed on.
  */
 public class ObjectMap {
-    private final long[] coordinates;
-    private final int[] offsets;
-    private final int[] objectIds;
+    private static final int INDEX_MAGIC = 0x564F4958; // "VOIX"
+    private static final int INDEX_FORMAT = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final Path INDEX_PATH = Static.VITA_DIR.resolve("objects.idx");
+
+    private final IntBuffer coordinates;
+    private final IntBuffer offsets;
+    private final IntBuffer objectIds;
+    private final IntBuffer reverseIds;
+    private final IntBuffer reverseOffsets;
+    private final IntBuffer reverseCoordinates;
     @Getter
     private final int version;
 
-    private ObjectMap(long[] coordinates, int[] offsets, int[] objectIds, int version) {
-        this.coordinates = coordinates;
-        this.offsets = offsets;
-        this.objectIds = objectIds;
-        this.version = version;
+    private ObjectMap(ByteBuffer index) {
+        this.version = index.getInt(16);
+        int entryCount = index.getInt(20);
+        int idCount = index.getInt(24);
+        int uniqueCount = index.getInt(28);
+
+        ByteBuffer body = index.duplicate();
+        body.position(HEADER_SIZE);
+        IntBuffer ints = body.slice().asIntBuffer();
+        int position = 0;
+        coordinates = slice(ints, position, entryCount);
+        position += entryCount;
+        offsets = slice(ints, position, entryCount + 1);
+        position += entryCount + 1;
+        objectIds = slice(ints, position, idCount);
+        position += idCount;
+        reverseIds = slice(ints, position, uniqueCount);
+        position += uniqueCount;
+        reverseOffsets = slice(ints, position, uniqueCount + 1);
+        position += uniqueCount + 1;
+        reverseCoordinates = slice(ints, position, idCount);
     }
 
     /**
      * Gets all object IDs at the specified world coordinates.
+     * Allocates a list per call, prefer {@link #forEachObject} or {@link #containsObject} on hot paths.
      */
     public List<Integer> getObjects(int x, int y, int z) {
-        long packedCoord = packCoordinate((short) x, (short)y, (byte)z);
-        int index = Arrays.binarySearch(coordinates, packedCoord);
+        int index = indexOf(x, y, z);
 
         if (index < 0) {
             return Collections.emptyList();
         }
 
-        int startOffset = offsets[index];
-        int endOffset = (index + 1 < offsets.length) ? offsets[index + 1] : objectIds.length;
+        int startOffset = offsets.get(index);
+        int endOffset = offsets.get(index + 1);
 
         List<Integer> result = new ArrayList<>(endOffset - startOffset);
         for (int i = startOffset; i < endOffset; i++) {
-            result.add(objectIds[i]);
+            result.add(objectIds.get(i));
         }
 
         return result;
     }
 
+    /**
+     * Visits every object ID at the specified world coordinates without allocating.
+     */
+    public void forEachObject(int x, int y, int z, IntConsumer consumer) {
+        int index = indexOf(x, y, z);
+
+        if (index < 0) {
+            return;
+        }
+
+        int endOffset = offsets.get(index + 1);
+        for (int i = offsets.get(index); i < endOffset; i++) {
+            consumer.accept(objectIds.get(i));
+        }
+    }
+
+    /**
+     * Checks whether a specific object ID is placed at the specified world coordinates.
+     */
+    public boolean containsObject(int x, int y, int z, int objectId) {
+        int index = indexOf(x, y, z);
+
+        if (index < 0) {
+            return false;
+        }
+
+        int endOffset = offsets.get(index + 1);
+        for (int i = offsets.get(index); i < endOffset; i++) {
+            if (objectIds.get(i) == objectId) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the number of objects at the specified world coordinates.
+     */
+    public int getObjectCount(int x, int y, int z) {
+        int index = indexOf(x, y, z);
+        return index < 0 ? 0 : offsets.get(index + 1) - offsets.get(index);
+    }
+
     public boolean hasObjects(int x, int y, int z) {
-        long packedCoord = packCoordinate((short) x, (short)y, (byte)z);
-        return Arrays.binarySearch(coordinates, packedCoord) >= 0;
+        return indexOf(x, y, z) >= 0;
+    }
+
+    /**
+     * Visits every tile an object ID is placed on, as {@link WorldPointUtil} compressed points.
+     */
+    public void forEachLocation(int objectId, IntConsumer consumer) {
+        int index = binarySearch(reverseIds, objectId);
+
+        if (index < 0) {
+            return;
+        }
+
+        int endOffset = reverseOffsets.get(index + 1);
+        for (int i = reverseOffsets.get(index); i < endOffset; i++) {
+            int packed = reverseCoordinates.get(i);
+            consumer.accept(WorldPointUtil.compress(packed & 8191, (packed >>> 13) & 32767, (packed >>> 28) & 15));
+        }
+    }
+
+    /**
+     * Gets the number of tiles an object ID is placed on.
+     */
+    public int getLocationCount(int objectId) {
+        int index = binarySearch(reverseIds, objectId);
+        return index < 0 ? 0 : reverseOffsets.get(index + 1) - reverseOffsets.get(index);
     }
 
     public int size() {
-        return coordinates.length;
+        return coordinates.limit();
+    }
+
+    private int indexOf(int x, int y, int z) {
+        return binarySearch(coordinates, packCoordinate((short) x, (short) y, (byte) z));
+    }
+
+    private static int packCoordinate(short x, short y, byte z) {
+        return (x & 8191) | ((y & 32767) << 13) | ((z & 15) << 28);
+    }
+
+    private static int binarySearch(IntBuffer buffer, int key) {
+        int low = 0;
+        int high = buffer.limit() - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = buffer.get(mid);
+
+            if (value < key) {
+                low = mid + 1;
+            } else if (value > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+
+        return -(low + 1);
     }
 
-    private long packCoordinate(short x, short y, byte z) {
-        return (x & 8191) | ((long)(y & 32767) << 13) | ((long)(z & 15) << 28);
+    private static IntBuffer slice(IntBuffer ints, int position, int length) {
+        IntBuffer duplicate = ints.duplicate();
+        duplicate.position(position);
+        duplicate.limit(position + length);
+        return duplicate.slice();
     }
 
     /**
-     * Loads compressed object map from InputStream.
+     * Loads the object map, memory mapping the shared index and building it from objects.dat when
+     * it is missing or was built from a different objects.dat.
      */
     public static ObjectMap load() throws IOException {
-        InputStream inputStream = Walker.class.getResourceAsStream("objects.dat");
-        if (inputStream == null) {
+        URL resource = Walker.class.getResource("objects.dat");
+        if (resource == null) {
             System.err.println("Object map input stream is null");
             return null;
         }
 
         long startTime = System.currentTimeMillis();
+        long fingerprint = ResourceUtil.fingerprint(resource);
+
+        ByteBuffer index = mapIndex(fingerprint);
+        if (index == null) {
+            ByteBuffer built;
+            try (InputStream inputStream = resource.openStream()) {
+                built = buildIndex(inputStream, fingerprint);
+            }
+
+            try {
+                writeIndex(built);
+                index = mapIndex(fingerprint);
+            } catch (IOException e) {
+                System.err.println("Failed to write shared object index, using heap copy: " + e.getMessage());
+            }
+
+            if (index == null) {
+                index = built;
+            }
+        }
+
+        ObjectMap map = new ObjectMap(index);
+        long loadTime = System.currentTimeMillis() - startTime;
+        System.out.println("Loaded object map: " + map.size() +
+                " coordinates, " + map.objectIds.limit() + " objects in " + loadTime + "ms");
+
+        return map;
+    }
+
+    private static ByteBuffer mapIndex(long fingerprint) {
+        if (!Files.exists(INDEX_PATH)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(INDEX_PATH, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                return null;
+            }
+
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.getInt(0) != INDEX_MAGIC || mapped.getInt(4) != INDEX_FORMAT || mapped.getLong(8) != fingerprint) {
+                return null;
+            }
+            return mapped;
+        } catch (IOException e) {
+            System.err.println("Failed to map object index: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void writeIndex(ByteBuffer index) throws IOException {
+        Files.createDirectories(INDEX_PATH.getParent());
+        Path temp = Files.createTempFile(INDEX_PATH.getParent(), "objects", ".idx.tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer source = index.duplicate();
+                source.position(0);
+                while (source.hasRemaining()) {
+                    channel.write(source);
+                }
+            }
+            // atomic so concurrently starting clients only ever map a complete index
+            Files.move(temp, INDEX_PATH, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Decodes the compressed objects.dat into the flat index layout.
+     */
+    private static ByteBuffer buildIndex(InputStream inputStream, long fingerprint) throws IOException {
         int version;
-        long[] coordinates;
+        int[] coordinates;
         int[] offsets;
         int[] objectIds;
 
@@ -91,9 +301,9 @@ public class ObjectMap {
                 throw new IOException("Invalid entry count: " + entryCount);
             }
 
-            coordinates = new long[entryCount];
-            offsets = new int[entryCount];
-            List<Integer> objectIdList = new ArrayList<>(entryCount * 3);
+            coordinates = new int[entryCount];
+            offsets = new int[entryCount + 1];
+            objectIds = new int[entryCount * 3];
 
             long currentCoord = 0;
             int currentOffset = 0;
@@ -102,7 +312,7 @@ public class ObjectMap {
                 // Read delta-encoded coordinate
                 long delta = VarInt.readVarLong(dis);
                 currentCoord += delta;
-                coordinates[i] = currentCoord;
+                coordinates[i] = (int) currentCoord;
 
                 // Read object count
                 int objectCount = VarInt.readVarInt(dis);
@@ -113,25 +323,71 @@ public class ObjectMap {
 
                 offsets[i] = currentOffset;
 
+                if (currentOffset + objectCount > objectIds.length) {
+                    objectIds = Arrays.copyOf(objectIds, Math.max(objectIds.length * 2, currentOffset + objectCount));
+                }
+
                 // Read object IDs
                 for (int j = 0; j < objectCount; j++) {
-                    objectIdList.add(VarInt.readVarInt(dis));
+                    objectIds[currentOffset + j] = VarInt.readVarInt(dis);
                 }
 
                 currentOffset += objectCount;
             }
 
-            // Convert to primitive array
-            objectIds = new int[objectIdList.size()];
-            for (int i = 0; i < objectIdList.size(); i++) {
-                objectIds[i] = objectIdList.get(i);
+            offsets[entryCount] = currentOffset;
+            objectIds = Arrays.copyOf(objectIds, currentOffset);
+        }
+
+        // reverse index: (id, coordinate) pairs sorted by id then coordinate
+        long[] pairs = new long[objectIds.length];
+        for (int i = 0; i < coordinates.length; i++) {
+            for (int j = offsets[i]; j < offsets[i + 1]; j++) {
+                pairs[j] = ((long) objectIds[j] << 32) | (coordinates[i] & 0xFFFFFFFFL);
             }
         }
+        Arrays.sort(pairs);
 
-        long loadTime = System.currentTimeMillis() - startTime;
-        System.out.println("Loaded compressed object map: " + coordinates.length +
-                " coordinates, " + objectIds.length + " objects in " + loadTime + "ms");
+        int uniqueCount = 0;
+        for (int i = 0; i < pairs.length; i++) {
+            if (i == 0 || (int) (pairs[i] >>> 32) != (int) (pairs[i - 1] >>> 32)) {
+                uniqueCount++;
+            }
+        }
+
+        int intCount = coordinates.length + offsets.length + objectIds.length + uniqueCount + (uniqueCount + 1) + pairs.length;
+        ByteBuffer index = ByteBuffer.allocate(HEADER_SIZE + intCount * 4);
+        index.putInt(INDEX_MAGIC);
+        index.putInt(INDEX_FORMAT);
+        index.putLong(fingerprint);
+        index.putInt(version);
+        index.putInt(coordinates.length);
+        index.putInt(objectIds.length);
+        index.putInt(uniqueCount);
+
+        IntBuffer ints = index.asIntBuffer();
+        ints.put(coordinates);
+        ints.put(offsets);
+        ints.put(objectIds);
+
+        int reverseStart = ints.position();
+        int[] reverseOffsets = new int[uniqueCount + 1];
+        int unique = 0;
+        for (int i = 0; i < pairs.length; i++) {
+            int id = (int) (pairs[i] >>> 32);
+            if (i == 0 || id != (int) (pairs[i - 1] >>> 32)) {
+                ints.put(reverseStart + unique, id);
+                reverseOffsets[unique++] = i;
+            }
+        }
+        reverseOffsets[uniqueCount] = pairs.length;
+        ints.position(reverseStart + uniqueCount);
+        ints.put(reverseOffsets);
+        for (long pair : pairs) {
+            ints.put((int) pair);
+        }
 
-        return new ObjectMap(coordinates, offsets, objectIds, version);
+        index.position(0);
+        return index;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,96 @@
+package com.tonic.services.pathfinder.routes;
+
+import lombok.Getter;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A solved route as compressed tiles. Transports and the teleport are stored by tile only and resolved
+ * against the live transport and teleport lists when the route is reused.
+ */
+public class CachedRoute
+{
+    private static final int MAGIC = 0x56525445; // "VRTE"
+    private static final int FORMAT = 1;
+
+    @Getter
+    private final RouteKey key;
+    // compressed teleport destination, -1 when the route starts on foot
+    @Getter
+    private final int teleport;
+    private final int[] positions;
+    // per step, destination of the transport taken from it or -1
+    private final int[] transports;
+
+    CachedRoute(RouteKey key, int teleport, int[] positions, int[] transports)
+    {
+        this.key = key;
+        this.teleport = teleport;
+        this.positions = positions;
+        this.transports = transports;
+    }
+
+    public int size()
+    {
+        return positions.length;
+    }
+
+    int[] positions()
+    {
+        return positions.clone();
+    }
+
+    int[] transports()
+    {
+        return transports.clone();
+    }
+
+    void write(Path path) throws IOException
+    {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path))))
+        {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            out.writeInt(key.getStartBucket());
+            out.writeLong(key.getGoal());
+            out.writeLong(key.getFingerprint());
+            out.writeInt(teleport);
+            out.writeInt(positions.length);
+            for (int i = 0; i < positions.length; i++)
+            {
+                out.writeInt(positions[i]);
+                out.writeInt(transports[i]);
+            }
+        }
+    }
+
+    /**
+     * @return the route, or null if the file holds a different key or format
+     */
+    static CachedRoute read(Path path, RouteKey key) throws IOException
+    {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path))))
+        {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT)
+            {
+                return null;
+            }
+            if (in.readInt() != key.getStartBucket() || in.readLong() != key.getGoal() || in.readLong() != key.getFingerprint())
+            {
+                return null;
+            }
+            int teleport = in.readInt();
+            int count = in.readInt();
+            int[] positions = new int[count];
+            int[] transports = new int[count];
+            for (int i = 0; i < count; i++)
+            {
+                positions[i] = in.readInt();
+                transports[i] = in.readInt();
+            }
+            return new CachedRoute(key, teleport, positions, transports);
+        }
+    }
+}
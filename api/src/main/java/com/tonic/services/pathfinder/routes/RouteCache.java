@@ -0,0 +1,170 @@
+package com.tonic.services.pathfinder.routes;
+
+import com.tonic.Static;
+import com.tonic.services.metrics.Counter;
+import com.tonic.services.metrics.Metrics;
+import com.tonic.util.TaskLane;
+import com.tonic.util.ThreadPool;
+import net.runelite.api.coords.WorldArea;
+import net.runelite.api.coords.WorldPoint;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Solved routes keyed by start bucket, goal and transport/teleport fingerprint. Routes live in a
+ * small in-memory LRU and are persisted under the VitaLite directory, so the bank to resource spot
+ * walks a script repeats all day are solved once per requirement state rather than on every call.
+ */
+public class RouteCache
+{
+    public static final Path DIRECTORY = Static.VITA_DIR.resolve("routes");
+
+    private static final int MAX_CACHE_SIZE = 64;
+    private static final int MAX_PERSISTED = 512;
+    private static final RouteCache INSTANCE = new RouteCache();
+
+    static final Counter HITS = Metrics.counter("route_cache.hits");
+    static final Counter MISSES = Metrics.counter("route_cache.misses");
+
+    private final Map<RouteKey, CachedRoute> cache;
+
+    private RouteCache()
+    {
+        this.cache = new LinkedHashMap<RouteKey, CachedRoute>(MAX_CACHE_SIZE, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RouteKey, CachedRoute> eldest)
+            {
+                return size() > MAX_CACHE_SIZE;
+            }
+        };
+    }
+
+    public static RouteCache getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Prepare a lookup from the local player to a tile. Refreshes transports like the engines do, the
+     * engine's own refresh on a miss is then a no-op for the rest of the tick. With route caching turned
+     * off in the client options every lookup misses and nothing is stored.
+     */
+    public static RouteRequest request(WorldPoint target)
+    {
+        return RouteRequest.create(target, null);
+    }
+
+    /**
+     * Prepare a lookup from the local player to the closest of several areas.
+     */
+    public static RouteRequest request(List<WorldArea> targets)
+    {
+        return RouteRequest.create(null, targets);
+    }
+
+    /**
+     * Look a route up in memory, then on disk.
+     * @return the route or null
+     */
+    synchronized CachedRoute get(RouteKey key)
+    {
+        CachedRoute route = cache.get(key);
+        if (route != null)
+        {
+            return route;
+        }
+
+        Path path = DIRECTORY.resolve(key.fileName());
+        if (!Files.exists(path))
+        {
+            return null;
+        }
+        try
+        {
+            route = CachedRoute.read(path, key);
+        }
+        catch (IOException e)
+        {
+            System.err.println("Failed to read route " + path.getFileName() + ": " + e.getMessage());
+            return null;
+        }
+        if (route != null)
+        {
+            cache.put(key, route);
+        }
+        return route;
+    }
+
+    /**
+     * Cache a route and write it to disk off the calling thread.
+     */
+    void put(CachedRoute route)
+    {
+        synchronized (this)
+        {
+            cache.put(route.getKey(), route);
+        }
+        ThreadPool.submit(TaskLane.BACKGROUND, () -> persist(route));
+    }
+
+    public synchronized void clear()
+    {
+        cache.clear();
+    }
+
+    private void persist(CachedRoute route)
+    {
+        Path path = DIRECTORY.resolve(route.getKey().fileName());
+        try
+        {
+            Files.createDirectories(DIRECTORY);
+            Path temp = Files.createTempFile(DIRECTORY, "route", ".tmp");
+            try
+            {
+                route.write(temp);
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            finally
+            {
+                Files.deleteIfExists(temp);
+            }
+            prune();
+        }
+        catch (IOException e)
+        {
+            System.err.println("Failed to persist route " + path.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Drop the oldest persisted routes, stale fingerprints age out the same way.
+     */
+    private void prune() throws IOException
+    {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(DIRECTORY))
+        {
+            files = stream.filter(p -> p.getFileName().toString().endsWith(".route"))
+                    .collect(Collectors.toList());
+        }
+        if (files.size() <= MAX_PERSISTED)
+        {
+            return;
+        }
+        Map<Path, Long> modified = new HashMap<>();
+        for (Path file : files)
+        {
+            modified.put(file, Files.getLastModifiedTime(file).toMillis());
+        }
+        files.sort(Comparator.comparingLong(modified::get));
+        for (int i = 0; i < files.size() - MAX_PERSISTED; i++)
+        {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+}
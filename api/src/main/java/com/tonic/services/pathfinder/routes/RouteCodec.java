@@ -0,0 +1,125 @@
+package com.tonic.services.pathfinder.routes;
+
+import com.tonic.services.pathfinder.abstractions.IStep;
+import com.tonic.services.pathfinder.teleports.Teleport;
+import com.tonic.util.WorldPointUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Text encoding of a route for sending to other clients. Steps are stored as zigzag varint deltas,
+ * which for walking steps is three bytes a tile; transports add their destination.
+ */
+public class RouteCodec
+{
+    private static final int FORMAT = 1;
+
+    /**
+     * @param path the steps of a solved route
+     * @param teleport the teleport the route starts with, or null
+     * @return the route as a Base64 string
+     */
+    public static String encode(List<? extends IStep> path, Teleport teleport)
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(path.size() * 3 + 16);
+        writeVarInt(out, FORMAT);
+        writeVarInt(out, zigzag(teleport != null ? WorldPointUtil.compress(teleport.getDestination()) : -1));
+        writeVarInt(out, path.size());
+        int x = 0, y = 0, plane = 0;
+        for (IStep step : path)
+        {
+            int packed = step.getPackedPosition();
+            int nx = WorldPointUtil.getCompressedX(packed);
+            int ny = WorldPointUtil.getCompressedY(packed);
+            int np = WorldPointUtil.getCompressedPlane(packed);
+            writeVarInt(out, zigzag(nx - x));
+            writeVarInt(out, zigzag(ny - y));
+            writeVarInt(out, zigzag(np - plane) << 1 | (step.hasTransport() ? 1 : 0));
+            if (step.hasTransport())
+            {
+                writeVarInt(out, zigzag(step.getTransport().getDestination()));
+            }
+            x = nx;
+            y = ny;
+            plane = np;
+        }
+        return Base64.getEncoder().encodeToString(out.toByteArray());
+    }
+
+    /**
+     * @return the decoded route, or null if the text is not a route of this format
+     */
+    public static CachedRoute decode(String encoded)
+    {
+        try
+        {
+            ByteBuffer in = ByteBuffer.wrap(Base64.getDecoder().decode(encoded));
+            if (readVarInt(in) != FORMAT)
+            {
+                return null;
+            }
+            int teleport = unzigzag(readVarInt(in));
+            int count = readVarInt(in);
+            if (count < 0 || count > in.remaining())
+            {
+                return null;
+            }
+            int[] positions = new int[count];
+            int[] transports = new int[count];
+            int x = 0, y = 0, plane = 0;
+            for (int i = 0; i < count; i++)
+            {
+                x += unzigzag(readVarInt(in));
+                y += unzigzag(readVarInt(in));
+                int last = readVarInt(in);
+                plane += unzigzag(last >>> 1);
+                positions[i] = WorldPointUtil.compress(x, y, plane);
+                transports[i] = (last & 1) != 0 ? unzigzag(readVarInt(in)) : -1;
+            }
+            return new CachedRoute(null, teleport, positions, transports);
+        }
+        catch (IllegalArgumentException | BufferUnderflowException e)
+        {
+            return null;
+        }
+    }
+
+    private static int zigzag(int value)
+    {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value)
+    {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value)
+    {
+        while ((value & ~0x7F) != 0)
+        {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(ByteBuffer in)
+    {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7)
+        {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+            {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+}
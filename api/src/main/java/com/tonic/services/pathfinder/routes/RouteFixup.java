@@ -0,0 +1,92 @@
+package com.tonic.services.pathfinder.routes;
+
+import com.tonic.services.pathfinder.collision.CollisionMap;
+import com.tonic.services.pathfinder.collision.Flags;
+import com.tonic.util.WorldPointUtil;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.hash.TIntIntHashMap;
+
+/**
+ * Short walking BFS around a tile, used to join a cached route from a nearby start or to a nearby goal
+ * instead of solving the whole route again. Walking edges are symmetric, so the same search serves both.
+ */
+final class RouteFixup
+{
+    static final int UNREACHED = Integer.MAX_VALUE;
+    private static final int MAX_NODES = 4096;
+
+    private static final int[] DX = {0, 1, 1, 1, 0, -1, -1, -1};
+    private static final int[] DY = {1, 1, 0, -1, -1, -1, 0, 1};
+    private static final byte[] FLAGS = {Flags.NORTH, Flags.NORTHEAST, Flags.EAST, Flags.SOUTHEAST,
+            Flags.SOUTH, Flags.SOUTHWEST, Flags.WEST, Flags.NORTHWEST};
+
+    private final int origin;
+    private final TIntIntHashMap parents = new TIntIntHashMap(MAX_NODES * 2, 0.5f, -1, -1);
+    private final TIntIntHashMap distances = new TIntIntHashMap(MAX_NODES * 2, 0.5f, -1, UNREACHED);
+
+    private RouteFixup(int origin)
+    {
+        this.origin = origin;
+    }
+
+    static RouteFixup around(CollisionMap collisionMap, int origin)
+    {
+        RouteFixup fixup = new RouteFixup(origin);
+        fixup.search(collisionMap);
+        return fixup;
+    }
+
+    /**
+     * @return walking steps from the origin, or {@link #UNREACHED} outside the searched area
+     */
+    int distance(int tile)
+    {
+        return distances.get(tile);
+    }
+
+    /**
+     * @return tiles from the origin to {@code tile}, both included
+     */
+    int[] path(int tile)
+    {
+        TIntArrayList path = new TIntArrayList(distance(tile) + 1);
+        for (int node = tile; node != origin; node = parents.get(node))
+        {
+            path.add(node);
+        }
+        path.add(origin);
+        path.reverse();
+        return path.toArray();
+    }
+
+    private void search(CollisionMap collisionMap)
+    {
+        TIntArrayList queue = new TIntArrayList(MAX_NODES);
+        distances.put(origin, 0);
+        queue.add(origin);
+
+        for (int head = 0; head < queue.size() && queue.size() < MAX_NODES; head++)
+        {
+            int node = queue.get(head);
+            short x = WorldPointUtil.getCompressedX(node);
+            short y = WorldPointUtil.getCompressedY(node);
+            byte plane = WorldPointUtil.getCompressedPlane(node);
+            byte flags = collisionMap.all(x, y, plane);
+            int distance = distances.get(node) + 1;
+            for (int direction = 0; direction < 8; direction++)
+            {
+                if ((flags & FLAGS[direction]) == 0)
+                {
+                    continue;
+                }
+                int next = WorldPointUtil.compress(x + DX[direction], y + DY[direction], plane);
+                if (!distances.containsKey(next))
+                {
+                    distances.put(next, distance);
+                    parents.put(next, node);
+                    queue.add(next);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.tonic.services.pathfinder.routes;
+
+import com.tonic.util.WorldPointUtil;
+import lombok.Value;
+import net.runelite.api.coords.WorldArea;
+
+import java.util.List;
+
+/**
+ * Identifies a cached route: the start bucket, the goal (bucket for a tile, exact area list for areas)
+ * and the fingerprint of the transports and teleports usable when it was solved.
+ */
+@Value
+public class RouteKey
+{
+    // tiles per bucket side, starts and goals inside one bucket share a route and get fixed up
+    static final int BUCKET_SHIFT = 4;
+
+    int startBucket;
+    long goal;
+    long fingerprint;
+
+    static int bucket(int packed)
+    {
+        int x = WorldPointUtil.getCompressedX(packed) >> BUCKET_SHIFT;
+        int y = WorldPointUtil.getCompressedY(packed) >> BUCKET_SHIFT;
+        int plane = WorldPointUtil.getCompressedPlane(packed);
+        return (plane << 20) | (x << 11) | y;
+    }
+
+    /**
+     * Area goals are matched exactly, the sign bit keeps them apart from tile buckets.
+     */
+    static long areas(List<WorldArea> areas)
+    {
+        long hash = 17;
+        for (WorldArea area : areas)
+        {
+            hash = hash * 31 + area.getX();
+            hash = hash * 31 + area.getY();
+            hash = hash * 31 + area.getWidth();
+            hash = hash * 31 + area.getHeight();
+            hash = hash * 31 + area.getPlane();
+        }
+        return hash | Long.MIN_VALUE;
+    }
+
+    String fileName()
+    {
+        return Integer.toHexString(startBucket) + "-" + Long.toHexString(goal) + "-" + Long.toHexString(fingerprint) + ".route";
+    }
+}
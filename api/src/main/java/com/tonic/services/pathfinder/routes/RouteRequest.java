@@ -0,0 +1,286 @@
+package com.tonic.services.pathfinder.routes;
+
+import com.tonic.Static;
+import com.tonic.services.metrics.Counter;
+import com.tonic.services.metrics.Metrics;
+import com.tonic.services.pathfinder.Walker;
+import com.tonic.services.pathfinder.abstractions.IStep;
+import com.tonic.services.pathfinder.collision.CollisionMap;
+import com.tonic.services.pathfinder.distance.DistanceQuery;
+import com.tonic.services.pathfinder.teleports.Teleport;
+import com.tonic.services.pathfinder.teleports.TeleportCache;
+import com.tonic.services.pathfinder.transports.Transport;
+import com.tonic.services.pathfinder.transports.TransportLoader;
+import com.tonic.util.WorldPointUtil;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import lombok.Value;
+import net.runelite.api.Client;
+import net.runelite.api.coords.WorldArea;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One walker request against the {@link RouteCache}: the player's start, the goal and the transports and
+ * teleports usable right now. Look the route up first, and store the engine's route on a miss.
+ */
+public class RouteRequest
+{
+    private static final Counter SHARED_JOINED = Metrics.counter("route_share.joined");
+    private static final Counter SHARED_REJECTED = Metrics.counter("route_share.rejected");
+
+    private final int start;
+    // compressed goal tile, -1 for area goals
+    private final int goal;
+    private final List<Teleport> teleports;
+    private final TIntObjectHashMap<ArrayList<Transport>> transports;
+    // null when the request cannot be cached or the cache is turned off
+    private final RouteKey key;
+
+    private RouteRequest(int start, int goal, long goalKey, List<Teleport> teleports, TIntObjectHashMap<ArrayList<Transport>> transports, boolean enabled)
+    {
+        this.start = start;
+        this.goal = goal;
+        this.teleports = teleports;
+        this.transports = transports;
+        this.key = enabled && cacheable(start) && (goal == -1 || cacheable(goal))
+                ? new RouteKey(RouteKey.bucket(start), goalKey, fingerprint(transports, teleports))
+                : null;
+    }
+
+    static RouteRequest create(WorldPoint target, List<WorldArea> targets)
+    {
+        WorldPoint location = Static.invoke(() -> {
+            Client client = Static.getClient();
+            return client.getLocalPlayer().getWorldLocation();
+        });
+        TIntObjectHashMap<ArrayList<Transport>> transports = TransportLoader.snapshotTransports();
+        List<Teleport> teleports = TeleportCache.get().getTeleports();
+
+        boolean enabled = Static.getVitaConfig().shouldCacheWalkerRoutes();
+        int start = WorldPointUtil.compress(location);
+        if (target != null)
+        {
+            int goal = WorldPointUtil.compress(target);
+            return new RouteRequest(start, goal, RouteKey.bucket(goal) & 0xFFFFFFFFL, teleports, transports, enabled);
+        }
+        return new RouteRequest(start, -1, RouteKey.areas(targets), teleports, transports, enabled);
+    }
+
+    /**
+     * @return the cached route fixed up to this start and goal, or null on a miss
+     */
+    public ResolvedRoute lookup()
+    {
+        if (key == null)
+        {
+            return null;
+        }
+        CachedRoute route = RouteCache.getInstance().get(key);
+        ResolvedRoute resolved = route != null ? resolve(route) : null;
+        if (resolved == null)
+        {
+            RouteCache.MISSES.increment();
+            return null;
+        }
+        RouteCache.HITS.increment();
+        return resolved;
+    }
+
+    /**
+     * Fit a route another client solved, e.g. one received through {@link RouteCodec}, to this request.
+     * The route was solved under the other client's requirements, so it is only checked for usability
+     * here and never cached.
+     * @return the route joined to this start and goal, or null if it cannot be used from here
+     */
+    public ResolvedRoute adopt(CachedRoute route)
+    {
+        ResolvedRoute resolved = route != null && route.size() > 0 ? resolve(route) : null;
+        (resolved != null ? SHARED_JOINED : SHARED_REJECTED).increment();
+        return resolved;
+    }
+
+    /**
+     * Remember the engine's route for this request.
+     * @param path the steps the engine returned
+     * @param teleport the teleport the engine chose, or null
+     */
+    public void store(List<? extends IStep> path, Teleport teleport)
+    {
+        if (key == null || path == null || path.isEmpty())
+        {
+            return;
+        }
+        int[] positions = new int[path.size()];
+        int[] destinations = new int[path.size()];
+        for (int i = 0; i < path.size(); i++)
+        {
+            IStep step = path.get(i);
+            positions[i] = step.getPackedPosition();
+            destinations[i] = step.hasTransport() ? step.getTransport().getDestination() : -1;
+        }
+        int destination = teleport != null ? WorldPointUtil.compress(teleport.getDestination()) : -1;
+        RouteCache.getInstance().put(new CachedRoute(key, destination, positions, destinations));
+    }
+
+    private ResolvedRoute resolve(CachedRoute route)
+    {
+        Teleport teleport = null;
+        if (route.getTeleport() != -1)
+        {
+            for (Teleport candidate : teleports)
+            {
+                if (WorldPointUtil.compress(candidate.getDestination()) == route.getTeleport())
+                {
+                    teleport = candidate.copy();
+                    break;
+                }
+            }
+            if (teleport == null)
+            {
+                return null;
+            }
+        }
+
+        int[] positions = route.positions();
+        int[] destinations = route.transports();
+        int firstTransport = positions.length - 1;
+        int lastTransport = -1;
+        for (int i = 0; i < destinations.length; i++)
+        {
+            if (destinations[i] != -1)
+            {
+                firstTransport = Math.min(firstTransport, i);
+                lastTransport = i;
+            }
+        }
+
+        CollisionMap collisionMap = Walker.getCollisionMap();
+        int from = 0;
+        int[] head = new int[0];
+        // a teleport route starts at the teleport, not at the player
+        if (teleport == null && positions[0] != start)
+        {
+            if (collisionMap == null)
+            {
+                return null;
+            }
+            RouteFixup fixup = RouteFixup.around(collisionMap, start);
+            int best = RouteFixup.UNREACHED;
+            for (int i = 0; i <= firstTransport; i++)
+            {
+                int distance = fixup.distance(positions[i]);
+                if (distance != RouteFixup.UNREACHED && distance - i < best)
+                {
+                    best = distance - i;
+                    from = i;
+                }
+            }
+            if (best == RouteFixup.UNREACHED)
+            {
+                return null;
+            }
+            int[] join = fixup.path(positions[from]);
+            head = Arrays.copyOf(join, join.length - 1);
+        }
+
+        int to = positions.length - 1;
+        int[] tail = new int[0];
+        if (goal != -1 && positions[to] != goal)
+        {
+            if (collisionMap == null)
+            {
+                return null;
+            }
+            RouteFixup fixup = RouteFixup.around(collisionMap, goal);
+            long best = Long.MAX_VALUE;
+            for (int i = Math.max(from, lastTransport + 1); i < positions.length; i++)
+            {
+                int distance = fixup.distance(positions[i]);
+                if (distance != RouteFixup.UNREACHED && distance + i < best)
+                {
+                    best = distance + i;
+                    to = i;
+                }
+            }
+            if (best == Long.MAX_VALUE)
+            {
+                return null;
+            }
+            int[] join = fixup.path(positions[to]);
+            tail = new int[join.length - 1];
+            for (int i = 0; i < tail.length; i++)
+            {
+                tail[i] = join[join.length - 2 - i];
+            }
+        }
+
+        List<IStep> steps = new ArrayList<>(head.length + (to - from + 1) + tail.length);
+        for (int position : head)
+        {
+            steps.add(new RouteStep(position, null));
+        }
+        for (int i = from; i <= to; i++)
+        {
+            Transport transport = null;
+            if (destinations[i] != -1)
+            {
+                transport = transport(positions[i], destinations[i]);
+                if (transport == null)
+                {
+                    return null;
+                }
+            }
+            steps.add(new RouteStep(positions[i], transport));
+        }
+        for (int position : tail)
+        {
+            steps.add(new RouteStep(position, null));
+        }
+        return new ResolvedRoute(steps, teleport);
+    }
+
+    private Transport transport(int source, int destination)
+    {
+        ArrayList<Transport> list = transports.get(source);
+        if (list == null)
+        {
+            return null;
+        }
+        for (Transport transport : list)
+        {
+            if (transport.getDestination() == destination)
+            {
+                return transport;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Instanced tiles change between visits, like the global pathfinders they are not covered.
+     */
+    private static boolean cacheable(int packed)
+    {
+        return WorldPointUtil.getCompressedX(packed) <= 6000;
+    }
+
+    private static long fingerprint(TIntObjectHashMap<ArrayList<Transport>> transports, List<Teleport> teleports)
+    {
+        long sum = 0;
+        for (Teleport teleport : teleports)
+        {
+            sum += (WorldPointUtil.compress(teleport.getDestination()) + 1L) * 0x9E3779B97F4A7C15L;
+        }
+        return DistanceQuery.fingerprint(transports) * 31 + sum;
+    }
+
+    @Value
+    public static class ResolvedRoute
+    {
+        List<IStep> steps;
+        Teleport teleport;
+    }
+}
@@ -0,0 +1,45 @@
+package com.tonic.services.pathfinder.routes;
+
+import com.tonic.services.pathfinder.abstractions.IStep;
+import com.tonic.services.pathfinder.transports.Transport;
+import com.tonic.util.WorldPointUtil;
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * Step of a route rebuilt from the cache. The transport, if any, is the one taken from this tile.
+ */
+public class RouteStep implements IStep
+{
+    private final int position;
+    private final Transport transport;
+
+    public RouteStep(int position, Transport transport)
+    {
+        this.position = position;
+        this.transport = transport;
+    }
+
+    @Override
+    public WorldPoint getPosition()
+    {
+        return WorldPointUtil.fromCompressed(position);
+    }
+
+    @Override
+    public Transport getTransport()
+    {
+        return transport;
+    }
+
+    @Override
+    public int getPackedPosition()
+    {
+        return position;
+    }
+
+    @Override
+    public boolean hasTransport()
+    {
+        return transport != null;
+    }
+}
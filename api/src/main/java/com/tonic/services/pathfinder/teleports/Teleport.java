@@ -3,11 +3,16 @@ package com.tonic.services.pathfinder.teleports;
 import com.tonic.util.handler.StepHandler;
 import com.tonic.util.handler.HandlerBuilder;
 import com.tonic.util.WorldPointUtil;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.Value;
 import net.runelite.api.coords.WorldPoint;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 @Value
 public class Teleport
@@ -15,45 +20,60 @@ public class Teleport
     WorldPoint destination;
     int radius;
     StepHandler handlers;
+    // builds a fresh handler for each copy
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    Supplier<StepHandler> factory;
 
     public Teleport(WorldPoint destination, int radius, List<Runnable> handlers){
-        this.destination = destination;
-        this.radius = radius;
-        HandlerBuilder builder = HandlerBuilder.get();
-        int i = 0;
-        for(Runnable handler : handlers){
-            builder.add(i++, handler);
-        }
-        builder.addDelay(i, 3);
-        this.handlers = builder.build();
+        this(destination, radius, () -> {
+            HandlerBuilder builder = HandlerBuilder.get();
+            int i = 0;
+            for(Runnable handler : handlers){
+                builder.add(i++, handler);
+            }
+            builder.addDelay(i, 3);
+            return builder.build();
+        });
     }
 
     public Teleport(WorldPoint destination, int radius, Runnable handler){
-        this.destination = destination;
-        this.radius = radius;
-        HandlerBuilder builder = HandlerBuilder.get()
+        this(destination, radius, () -> HandlerBuilder.get()
                 .add(0, handler)
-                .addDelay(1, 3);
-        this.handlers = builder.build();
+                .addDelay(1, 3)
+                .build());
     }
 
-    public Teleport(WorldPoint destination, int radius, StepHandler handler){
+    /**
+     * @param factory builds the teleport's handler; called again for every {@link #copy()}, so it must
+     *                return a new handler each time
+     */
+    public Teleport(WorldPoint destination, int radius, Supplier<StepHandler> factory){
         this.destination = destination;
         this.radius = radius;
-        this.handlers = handler;
+        this.handlers = factory.get();
+        this.factory = factory;
     }
 
+    /**
+     * @return the teleports usable from the player's location, from {@link TeleportCache}
+     */
     public static List<Teleport> buildTeleportLinks()
     {
-        return new ArrayList<>(TeleportLoader.buildTeleports());
+        return new ArrayList<>(TeleportCache.get().getTeleports());
     }
 
+    /**
+     * Copies the teleport with its own handler, so a walk does not pick up the step pointer, context or
+     * delay counters another walk left behind on the cached teleport.
+     */
     public Teleport copy()
     {
         return new Teleport(
                 WorldPointUtil.fromCompressed(WorldPointUtil.compress(destination)),
                 radius,
-                handlers
+                factory
         );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,196 @@
+package com.tonic.services.pathfinder.teleports;
+
+import com.tonic.Static;
+import com.tonic.api.game.GameAPI;
+import com.tonic.services.metrics.Counter;
+import com.tonic.services.metrics.Metrics;
+import com.tonic.util.WorldPointUtil;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.Player;
+import net.runelite.api.Varbits;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.api.gameval.InventoryID;
+import net.runelite.api.gameval.VarPlayerID;
+import net.runelite.api.gameval.VarbitID;
+import net.runelite.client.eventbus.Subscribe;
+import org.apache.commons.lang3.ArrayUtils;
+
+/**
+ * Keeps the teleports the player can use as a {@link TeleportSet}, so a search does not rebuild them on the
+ * client thread. The set is marked stale by inventory, equipment, requirement var, spellbook and world changes
+ * and rebuilt on the next read. Player location and wilderness level are tracked every tick and applied at
+ * read time.
+ */
+public class TeleportCache
+{
+    private static TeleportCache INSTANCE;
+
+    // vars read by TeleportLoader and TeleportItem#hasRequirements, keep these in step with them
+    private static final int[] VARBITS = {
+            Varbits.DIARY_FREMENNIK_ELITE,
+            Varbits.DIARY_FREMENNIK_HARD,
+            VarbitID.SPELLBOOK
+    };
+    private static final int[] VARPS = {
+            165,
+            302,
+            VarPlayerID.COLOSSEUM_GLORY
+    };
+
+    private static final Counter HITS = Metrics.counter("teleports.cache.hits");
+    private static final Counter REBUILDS = Metrics.counter("teleports.cache.rebuilds");
+
+    private static volatile TeleportSet teleports;
+    private static volatile boolean stale = true;
+    private static volatile int location = -1;
+    private static volatile int wildyLevel;
+    // last result of available(), reused while the player stays put
+    private static volatile Available available;
+
+    /**
+     * @return the teleports usable from the player's current location
+     */
+    public static TeleportSet get()
+    {
+        TeleportSet current = teleports;
+        if (current == null || stale || location == -1)
+        {
+            current = Static.invoke(TeleportCache::rebuild);
+        }
+        else
+        {
+            HITS.increment();
+        }
+
+        int location = TeleportCache.location;
+        int wildyLevel = TeleportCache.wildyLevel;
+        Available last = available;
+        if (last != null && last.all == current && last.location == location && last.wildyLevel == wildyLevel)
+        {
+            return last.teleports;
+        }
+        TeleportSet result = current.available(location, wildyLevel);
+        available = new Available(current, location, wildyLevel, result);
+        return result;
+    }
+
+    /**
+     * Drop the cached set, the next read rebuilds it.
+     */
+    public static void invalidate()
+    {
+        stale = true;
+    }
+
+    private static TeleportSet rebuild()
+    {
+        track();
+        TeleportSet current = teleports;
+        if (current != null && !stale)
+        {
+            return current;
+        }
+        // cleared first, so a change landing during the load marks the new set stale again
+        stale = false;
+        REBUILDS.increment();
+        current = TeleportLoader.loadTeleports();
+        teleports = current;
+        return current;
+    }
+
+    /**
+     * Read the player's location and wilderness level. Call on the client thread.
+     */
+    private static void track()
+    {
+        Client client = Static.getClient();
+        Player player = client.getLocalPlayer();
+        if (player == null)
+        {
+            return;
+        }
+        int previous = location;
+        location = WorldPointUtil.compress(player.getWorldLocation());
+        wildyLevel = GameAPI.getWildyLevel();
+        // some item requirements depend on the region, e.g. the quetzal whistle
+        if (previous == -1 || region(previous) != region(location))
+        {
+            stale = true;
+        }
+    }
+
+    private static int region(int packed)
+    {
+        return (WorldPointUtil.getCompressedX(packed) >> 6) << 8 | (WorldPointUtil.getCompressedY(packed) >> 6);
+    }
+
+    @Subscribe
+    public void onItemContainerChanged(ItemContainerChanged event)
+    {
+        if (event.getContainerId() == InventoryID.INV || event.getContainerId() == InventoryID.WORN)
+        {
+            stale = true;
+        }
+    }
+
+    @Subscribe
+    public void onVarbitChanged(VarbitChanged event)
+    {
+        if (event.getVarbitId() != -1 ? ArrayUtils.contains(VARBITS, event.getVarbitId()) : ArrayUtils.contains(VARPS, event.getVarpId()))
+        {
+            stale = true;
+        }
+    }
+
+    @Subscribe
+    protected void onGameTick(GameTick event)
+    {
+        track();
+    }
+
+    @Subscribe
+    public void onGameStateChanged(GameStateChanged event)
+    {
+        // members only teleports depend on the world
+        if (event.getGameState() == GameState.LOGGED_IN || event.getGameState() == GameState.HOPPING)
+        {
+            stale = true;
+        }
+        else if (event.getGameState() == GameState.LOGIN_SCREEN)
+        {
+            stale = true;
+            location = -1;
+        }
+    }
+
+    public static void init()
+    {
+        if (INSTANCE != null)
+            return;
+
+        INSTANCE = new TeleportCache();
+        Static.getRuneLite()
+                .getEventBus()
+                .register(INSTANCE);
+    }
+
+    private static class Available
+    {
+        private final TeleportSet all;
+        private final int location;
+        private final int wildyLevel;
+        private final TeleportSet teleports;
+
+        private Available(TeleportSet all, int location, int wildyLevel, TeleportSet teleports)
+        {
+            this.all = all;
+            this.location = location;
+            this.wildyLevel = wildyLevel;
+            this.teleports = teleports;
+        }
+    }
+}
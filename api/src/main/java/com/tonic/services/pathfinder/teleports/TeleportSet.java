@@ -0,0 +1,89 @@
+package com.tonic.services.pathfinder.teleports;
+
+import com.tonic.util.WorldPointUtil;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable set of teleports with their compressed destinations, ready for seeding a search.
+ * Safe to share between threads, see {@link TeleportCache}.
+ */
+public class TeleportSet
+{
+    public static final TeleportSet EMPTY = new TeleportSet(Collections.emptyList(), new int[0]);
+
+    /**
+     * Teleports closer than this to the player are not worth taking.
+     */
+    private static final int MIN_DISTANCE = 20;
+
+    @Getter
+    private final List<Teleport> teleports;
+    /**
+     * Compressed destination of each teleport, in list order.
+     */
+    @Getter
+    private final int[] destinations;
+    // highest wilderness level each teleport works from
+    private final int[] maxWildyLevels;
+
+    TeleportSet(List<Teleport> teleports, int[] maxWildyLevels)
+    {
+        this.teleports = Collections.unmodifiableList(teleports);
+        this.maxWildyLevels = maxWildyLevels;
+        this.destinations = new int[teleports.size()];
+        for (int i = 0; i < destinations.length; i++)
+        {
+            destinations[i] = WorldPointUtil.compress(teleports.get(i).getDestination());
+        }
+    }
+
+    public int size()
+    {
+        return destinations.length;
+    }
+
+    /**
+     * @param location compressed player location
+     * @param wildyLevel the player's wilderness level
+     * @return the teleports usable from the location that land far enough away to be useful
+     */
+    public TeleportSet available(int location, int wildyLevel)
+    {
+        List<Teleport> available = new ArrayList<>(destinations.length);
+        int[] levels = new int[destinations.length];
+        for (int i = 0; i < destinations.length; i++)
+        {
+            if (wildyLevel <= maxWildyLevels[i] && distance(location, destinations[i]) > MIN_DISTANCE)
+            {
+                levels[available.size()] = maxWildyLevels[i];
+                available.add(teleports.get(i));
+            }
+        }
+        if (available.size() == destinations.length)
+        {
+            return this;
+        }
+        int[] trimmed = new int[available.size()];
+        System.arraycopy(levels, 0, trimmed, 0, trimmed.length);
+        return new TeleportSet(available, trimmed);
+    }
+
+    /**
+     * Same measure as {@link net.runelite.api.coords.WorldPoint#distanceTo}.
+     */
+    private static int distance(int from, int to)
+    {
+        if (WorldPointUtil.getCompressedPlane(from) != WorldPointUtil.getCompressedPlane(to))
+        {
+            return Integer.MAX_VALUE;
+        }
+        return Math.max(
+                Math.abs(WorldPointUtil.getCompressedX(from) - WorldPointUtil.getCompressedX(to)),
+                Math.abs(WorldPointUtil.getCompressedY(from) - WorldPointUtil.getCompressedY(to))
+        );
+    }
+}
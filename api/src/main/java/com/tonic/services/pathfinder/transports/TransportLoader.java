@@ -38,6 +38,7 @@ import org.apache.commons.lang3.tuple.Pair;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -51,26 +52,37 @@ public class TransportLoader
     private static final TIntObjectHashMap<ArrayList<Transport>> ALL_STATIC_TRANSPORTS = new TIntObjectHashMap<>();
     private static final TIntObjectHashMap<ArrayList<Transport>> LAST_TRANSPORT_LIST = new TIntObjectHashMap<>();
     private static List<Transport> TEMP_TRANSPORTS;
+    // requirements follow the game state, a second refresh on the same tick would rebuild the same map
+    private static volatile int refreshedTick = -1;
+    private static boolean refreshedFiltered;
 
     public static void init()
     {
         ALL_STATIC_TRANSPORTS.clear();
-        try (InputStream stream = Walker.class.getResourceAsStream("transports.json"))
+        refreshedTick = -1;
+        try
         {
-            if (stream == null)
+            // the build and the transport editor recompile the table whenever the json changes, so it is
+            // never older than the json it ships with; the json is only read when there is no table
+            TransportTable table = loadTable();
+            if (table != null)
             {
-                System.err.println("transports.json not found!");
-                return;
+                for (int i = 0; i < table.getSize(); i++)
+                {
+                    computeIfAbsent(ALL_STATIC_TRANSPORTS, table.toTransport(i));
+                }
             }
-
-            TransportDto[] json = GSON.fromJson(new String(stream.readAllBytes()), TransportDto[].class);
-
-            List<Transport> list = Arrays.stream(json)
-                    .map(TransportDto::toTransport)
-                    .collect(Collectors.toList());
-            for(Transport transport : list)
+            else
             {
-                computeIfAbsent(ALL_STATIC_TRANSPORTS, transport);
+                byte[] json = readJson();
+                if (json != null)
+                {
+                    loadJson(json);
+                }
+                else
+                {
+                    System.err.println("transports.json not found!");
+                }
             }
         }
         catch (IOException e)
@@ -82,6 +94,46 @@ public class TransportLoader
         System.out.println("Loaded " + ALL_STATIC_TRANSPORTS.size() + " transports");
     }
 
+    private static byte[] readJson() throws IOException
+    {
+        try (InputStream stream = Walker.class.getResourceAsStream("transports.json"))
+        {
+            return stream == null ? null : stream.readAllBytes();
+        }
+    }
+
+    private static TransportTable loadTable()
+    {
+        try
+        {
+            TransportTable table = TransportTable.load();
+            if (table == null)
+            {
+                System.err.println("transports.bin not found, falling back to transports.json");
+            }
+            return table;
+        }
+        catch (IOException | IllegalArgumentException e)
+        {
+            // IllegalArgumentException: an enum constant in the table no longer exists in the runelite api
+            System.err.println("Failed to read transports.bin (" + e.getMessage() + "), falling back to transports.json");
+            return null;
+        }
+    }
+
+    private static void loadJson(byte[] json)
+    {
+        TransportDto[] transports = GSON.fromJson(new String(json, StandardCharsets.UTF_8), TransportDto[].class);
+
+        List<Transport> list = Arrays.stream(transports)
+                .map(TransportDto::toTransport)
+                .collect(Collectors.toList());
+        for(Transport transport : list)
+        {
+            computeIfAbsent(ALL_STATIC_TRANSPORTS, transport);
+        }
+    }
+
     public static TIntObjectHashMap<ArrayList<Transport>> getTransports()
     {
         return LAST_TRANSPORT_LIST;
@@ -102,15 +154,71 @@ public class TransportLoader
         list.add(transport);
     }
 
+    /**
+     * Every static transport, unfiltered, keyed by source. Callers must not modify the map.
+     */
+    public static TIntObjectHashMap<ArrayList<Transport>> getStaticTransports()
+    {
+        if (ALL_STATIC_TRANSPORTS.isEmpty())
+        {
+            init();
+        }
+        return ALL_STATIC_TRANSPORTS;
+    }
+
+    /**
+     * Publish every static transport, unfiltered, without touching the client. For headless
+     * tooling such as the benchmarks, in place of {@link #refreshTransports()}.
+     */
+    public static void publishStaticTransports()
+    {
+        if (ALL_STATIC_TRANSPORTS.isEmpty())
+        {
+            init();
+        }
+        refreshedTick = -1;
+        LAST_TRANSPORT_LIST.clear();
+        ALL_STATIC_TRANSPORTS.forEachEntry((source, list) -> {
+            LAST_TRANSPORT_LIST.put(source, new ArrayList<>(list));
+            return true;
+        });
+    }
+
     public static void refreshTransports()
     {
         refreshTransports(true);
     }
 
+    /**
+     * Refresh the usable transports and copy them on the client thread, where every refresh rebuilds them,
+     * so the copy never sees another caller's refresh half done. A refresh fills fresh lists, so the lists
+     * shared with the copy are not changed afterwards.
+     * @return a copy of the usable transports, keyed by source
+     */
+    public static TIntObjectHashMap<ArrayList<Transport>> snapshotTransports()
+    {
+        return Static.invoke(() ->
+        {
+            refreshTransports(true);
+            return new TIntObjectHashMap<>(LAST_TRANSPORT_LIST);
+        });
+    }
+
+    /**
+     * Rebuilds the usable transports from the current game state. Only the first call on a game tick
+     * does the work, so a route cache lookup followed by a search refreshes once.
+     * @param filter false to keep transports whose requirements are not met
+     */
     public static void refreshTransports(boolean filter)
     {
         boolean lock = Static.invoke(() ->
         {
+            int tick = Static.getClient().getTickCount();
+            if (tick == refreshedTick && filter == refreshedFiltered)
+            {
+                return true;
+            }
+
             List<Transport> filteredStatic = new ArrayList<>();
             for (ArrayList<Transport> list : ALL_STATIC_TRANSPORTS.valueCollection()) {
                 for(var transport : list)
@@ -441,6 +549,8 @@ public class TransportLoader
                 LAST_TRANSPORT_LIST.retainEntries((key, value) ->  !value.isEmpty());
             }
 
+            refreshedTick = tick;
+            refreshedFiltered = filter;
             return true;
         });
     }
@@ -777,12 +887,14 @@ public class TransportLoader
     public static void updateTempTransports(List<Transport> transports)
     {
         TEMP_TRANSPORTS = transports;
+        refreshedTick = -1;
         refreshTransports();
     }
 
     public static void clearTempTransports()
     {
         TEMP_TRANSPORTS = null;
+        refreshedTick = -1;
         refreshTransports();
     }
 
@@ -0,0 +1,287 @@
+package com.tonic.services.pathfinder.transports;
+
+import com.tonic.services.pathfinder.Walker;
+import com.tonic.services.pathfinder.requirements.*;
+import com.tonic.util.WorldPointUtil;
+import lombok.Getter;
+import net.runelite.api.Quest;
+import net.runelite.api.QuestState;
+import net.runelite.api.Skill;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Read-only view over the binary transport table produced by {@link TransportTableCompiler}.
+ * <p>
+ * Layout (big endian):
+ * <pre>
+ * header       magic, version, stringCount, requirementCount, recordCount, recordsOffset (6 x int32),
+ *              sourceHash (int64)
+ * strings      stringCount x (uint16 length, utf8 bytes)
+ * requirements requirementCount encoded requirement sets
+ * records      recordCount x (source int32, destination int32, objectId int32, action uint16, requirement uint16)
+ * </pre>
+ * Records are sorted by compressed source point and are read straight out of the backing buffer,
+ * only the string table and the (small) shared requirement sets are decoded up front. A string index
+ * of {@link #NO_STRING} stands for a null action.
+ */
+public class TransportTable
+{
+    public static final int MAGIC = 0x56545442; // "VTTB"
+    public static final int VERSION = 2;
+    public static final int HEADER_SIZE = 32;
+    public static final int RECORD_SIZE = 16;
+    public static final int NO_REQUIREMENTS = 0xFFFF;
+    public static final int NO_STRING = 0xFFFF;
+    public static final String RESOURCE = "transports.bin";
+
+    private final ByteBuffer buffer;
+    private final String[] strings;
+    private final Requirements[] requirements;
+    private final int recordsOffset;
+    @Getter
+    private final int size;
+    /**
+     * {@link #sourceHash(byte[])} of the json the table was compiled from.
+     */
+    @Getter
+    private final long sourceHash;
+
+    private TransportTable(ByteBuffer buffer) throws IOException
+    {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC)
+        {
+            throw new IOException("Not a transport table");
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION)
+        {
+            throw new IOException("Unsupported transport table version: " + version);
+        }
+
+        int stringCount = buffer.getInt(8);
+        int requirementCount = buffer.getInt(12);
+        this.size = buffer.getInt(16);
+        this.recordsOffset = buffer.getInt(20);
+        this.sourceHash = buffer.getLong(24);
+
+        if (recordsOffset + (long) size * RECORD_SIZE > buffer.limit())
+        {
+            throw new IOException("Truncated transport table");
+        }
+
+        ByteBuffer reader = buffer.duplicate();
+        reader.position(HEADER_SIZE);
+
+        strings = new String[stringCount];
+        for (int i = 0; i < stringCount; i++)
+        {
+            byte[] utf = new byte[reader.getShort() & 0xFFFF];
+            reader.get(utf);
+            strings[i] = new String(utf, StandardCharsets.UTF_8).intern();
+        }
+
+        requirements = new Requirements[requirementCount];
+        for (int i = 0; i < requirementCount; i++)
+        {
+            requirements[i] = readRequirements(reader);
+        }
+    }
+
+    /**
+     * Load the table bundled next to the walker resources.
+     * @return the table, or null if the build did not produce one
+     */
+    public static TransportTable load() throws IOException
+    {
+        try (InputStream stream = Walker.class.getResourceAsStream(RESOURCE))
+        {
+            if (stream == null)
+            {
+                return null;
+            }
+            return new TransportTable(ByteBuffer.wrap(stream.readAllBytes()));
+        }
+    }
+
+    /**
+     * Memory map a table from disk.
+     * @param path the table file
+     * @return the table
+     */
+    public static TransportTable load(Path path) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new TransportTable(mapped);
+        }
+    }
+
+    /**
+     * Hash of a transports.json file, stored in the table so a table compiled from an older
+     * version of the json can be told apart from a current one.
+     * @param json the raw json bytes
+     * @return the first 8 bytes of its SHA-256
+     */
+    public static long sourceHash(byte[] json)
+    {
+        try
+        {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return ByteBuffer.wrap(digest).getLong();
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public int getSource(int index)
+    {
+        return buffer.getInt(record(index));
+    }
+
+    public int getDestination(int index)
+    {
+        return buffer.getInt(record(index) + 4);
+    }
+
+    public int getObjectId(int index)
+    {
+        return buffer.getInt(record(index) + 8);
+    }
+
+    public String getAction(int index)
+    {
+        int action = buffer.getShort(record(index) + 12) & 0xFFFF;
+        return action == NO_STRING ? null : strings[action];
+    }
+
+    /**
+     * Requirement sets are shared between every record that uses them, treat them as read only.
+     */
+    public Requirements getRequirements(int index)
+    {
+        int requirement = buffer.getShort(record(index) + 14) & 0xFFFF;
+        return requirement == NO_REQUIREMENTS ? null : requirements[requirement];
+    }
+
+    /**
+     * Binary search for the first record starting at a source point.
+     * @param source compressed source point
+     * @return index of the first matching record, or -1 if none
+     */
+    public int indexOf(int source)
+    {
+        int low = 0;
+        int high = size - 1;
+        int found = -1;
+        while (low <= high)
+        {
+            int mid = (low + high) >>> 1;
+            int value = getSource(mid);
+            if (value < source)
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                if (value == source)
+                {
+                    found = mid;
+                }
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Build the runtime transport for a record.
+     */
+    public Transport toTransport(int index)
+    {
+        return TransportLoader.objectTransport(
+                WorldPointUtil.fromCompressed(getSource(index)),
+                WorldPointUtil.fromCompressed(getDestination(index)),
+                getObjectId(index),
+                getAction(index),
+                getRequirements(index)
+        );
+    }
+
+    private int record(int index)
+    {
+        return recordsOffset + index * RECORD_SIZE;
+    }
+
+    private Requirements readRequirements(ByteBuffer reader)
+    {
+        Requirements out = new Requirements();
+
+        int items = reader.get() & 0xFF;
+        for (int i = 0; i < items; i++)
+        {
+            Reduction reduction = Reduction.valueOf(strings[reader.getShort() & 0xFFFF]);
+            int equipped = reader.get();
+            int amount = reader.getInt();
+            int[] ids = new int[reader.getShort() & 0xFFFF];
+            for (int j = 0; j < ids.length; j++)
+            {
+                ids[j] = reader.getInt();
+            }
+            out.addRequirement(new ItemRequirement(reduction, equipped == 0 ? null : equipped == 2, amount, ids));
+        }
+
+        int skills = reader.get() & 0xFF;
+        for (int i = 0; i < skills; i++)
+        {
+            Skill skill = Skill.valueOf(strings[reader.getShort() & 0xFFFF]);
+            out.addRequirement(new SkillRequirement(skill, reader.getShort()));
+        }
+
+        int vars = reader.get() & 0xFF;
+        for (int i = 0; i < vars; i++)
+        {
+            Comparison comparison = Comparison.valueOf(strings[reader.getShort() & 0xFFFF]);
+            VarType type = VarType.valueOf(strings[reader.getShort() & 0xFFFF]);
+            int var = reader.getInt();
+            int value = reader.getInt();
+            out.addRequirement(new VarRequirement(comparison, type, var, value));
+        }
+
+        int quests = reader.get() & 0xFF;
+        for (int i = 0; i < quests; i++)
+        {
+            Quest quest = Quest.valueOf(strings[reader.getShort() & 0xFFFF]);
+            int stateCount = reader.get() & 0xFF;
+            Set<QuestState> states = EnumSet.noneOf(QuestState.class);
+            for (int j = 0; j < stateCount; j++)
+            {
+                states.add(QuestState.valueOf(strings[reader.getShort() & 0xFFFF]));
+            }
+            out.addRequirement(new QuestRequirement(quest, states));
+        }
+
+        int worlds = reader.get() & 0xFF;
+        for (int i = 0; i < worlds; i++)
+        {
+            out.addRequirement(new WorldRequirement(reader.get() != 0));
+        }
+
+        return out;
+    }
+}
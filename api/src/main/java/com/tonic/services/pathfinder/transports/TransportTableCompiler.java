@@ -0,0 +1,274 @@
+package com.tonic.services.pathfinder.transports;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.tonic.services.pathfinder.model.TransportDto;
+import com.tonic.services.pathfinder.requirements.*;
+import com.tonic.util.WorldPointUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Compiles the editable transports.json into the binary table read by {@link TransportTable}.
+ * <p>
+ * Records are sorted by compressed source point, action strings and requirement enum names are
+ * interned into a single string table, and identical requirement sets are encoded once and shared.
+ * Run as part of the build (see the {@code compileTransportTable} task) or from the transport editor on save.
+ */
+public class TransportTableCompiler
+{
+    private static final Gson GSON = new GsonBuilder().create();
+
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length != 2)
+        {
+            System.err.println("Usage: TransportTableCompiler <transports.json> <transports.bin>");
+            System.exit(1);
+        }
+
+        int count = compile(Path.of(args[0]), Path.of(args[1]));
+        System.out.println("Compiled " + count + " transports into " + args[1]);
+    }
+
+    /**
+     * Compile a transports.json file into a binary table file.
+     * @param json the source json file
+     * @param output the binary table to write
+     * @return the number of transports written
+     */
+    public static int compile(Path json, Path output) throws IOException
+    {
+        byte[] source = Files.readAllBytes(json);
+        TransportDto[] transports = GSON.fromJson(new String(source, StandardCharsets.UTF_8), TransportDto[].class);
+
+        if (transports == null)
+        {
+            throw new IOException("Invalid JSON format in transport file: " + json);
+        }
+
+        compile(transports, TransportTable.sourceHash(source), output);
+        return transports.length;
+    }
+
+    /**
+     * Compile transports into a binary table file. The file is written to a temporary sibling
+     * first and moved into place so a running client never maps a half written table.
+     * @param transports the transports
+     * @param sourceHash {@link TransportTable#sourceHash(byte[])} of the json they were read from
+     * @param output the binary table to write
+     */
+    public static void compile(TransportDto[] transports, long sourceHash, Path output) throws IOException
+    {
+        byte[] bytes = compile(transports, sourceHash);
+        Path parent = output.toAbsolutePath().getParent();
+        if (parent != null)
+        {
+            Files.createDirectories(parent);
+        }
+        Path temp = output.resolveSibling(output.getFileName() + ".tmp");
+        Files.write(temp, bytes);
+        Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Compile transports into the binary table format.
+     * @param transports the transports
+     * @param sourceHash {@link TransportTable#sourceHash(byte[])} of the json they were read from
+     * @return the encoded table
+     */
+    public static byte[] compile(TransportDto[] transports, long sourceHash) throws IOException
+    {
+        Integer[] order = new Integer[transports.length];
+        int[] sources = new int[transports.length];
+        for (int i = 0; i < transports.length; i++)
+        {
+            order[i] = i;
+            sources[i] = WorldPointUtil.compress(transports[i].getSource());
+        }
+        // stable, so transports sharing a source keep their json order
+        Arrays.sort(order, Comparator.comparingInt(i -> sources[i]));
+
+        StringTable strings = new StringTable();
+        Map<ByteBuffer, Integer> requirementIndex = new LinkedHashMap<>();
+        int[] recordRequirement = new int[transports.length];
+        int[] recordAction = new int[transports.length];
+
+        for (int i = 0; i < transports.length; i++)
+        {
+            TransportDto dto = transports[i];
+            recordAction[i] = strings.intern(dto.getAction());
+            if (dto.getRequirements() == null)
+            {
+                recordRequirement[i] = TransportTable.NO_REQUIREMENTS;
+                continue;
+            }
+            ByteBuffer encoded = ByteBuffer.wrap(encodeRequirements(dto.getRequirements(), strings));
+            Integer index = requirementIndex.get(encoded);
+            if (index == null)
+            {
+                index = requirementIndex.size();
+                requirementIndex.put(encoded, index);
+            }
+            recordRequirement[i] = index;
+        }
+
+        if (requirementIndex.size() >= TransportTable.NO_REQUIREMENTS)
+        {
+            throw new IOException("Too many distinct requirement sets: " + requirementIndex.size());
+        }
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(transports.length * TransportTable.RECORD_SIZE + 8192);
+        DataOutputStream out = new DataOutputStream(body);
+
+        for (String string : strings.values)
+        {
+            byte[] utf = string.getBytes(StandardCharsets.UTF_8);
+            out.writeShort(utf.length);
+            out.write(utf);
+        }
+
+        for (ByteBuffer requirement : requirementIndex.keySet())
+        {
+            out.write(requirement.array());
+        }
+
+        out.flush();
+        int recordsOffset = TransportTable.HEADER_SIZE + body.size();
+
+        for (int i : order)
+        {
+            TransportDto dto = transports[i];
+            out.writeInt(sources[i]);
+            out.writeInt(WorldPointUtil.compress(dto.getDestination()));
+            out.writeInt(dto.getObjectId() != null ? dto.getObjectId() : -1);
+            out.writeShort(recordAction[i]);
+            out.writeShort(recordRequirement[i]);
+        }
+        out.flush();
+
+        ByteArrayOutputStream table = new ByteArrayOutputStream(TransportTable.HEADER_SIZE + body.size());
+        DataOutputStream header = new DataOutputStream(table);
+        header.writeInt(TransportTable.MAGIC);
+        header.writeInt(TransportTable.VERSION);
+        header.writeInt(strings.values.size());
+        header.writeInt(requirementIndex.size());
+        header.writeInt(transports.length);
+        header.writeInt(recordsOffset);
+        header.writeLong(sourceHash);
+        body.writeTo(header);
+        header.flush();
+        return table.toByteArray();
+    }
+
+    private static byte[] encodeRequirements(Requirements requirements, StringTable strings) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        List<ItemRequirement> items = orEmpty(requirements.getItemRequirements());
+        out.writeByte(items.size());
+        for (ItemRequirement item : items)
+        {
+            Reduction reduction = item.getReduction() != null ? item.getReduction() : Reduction.OR;
+            out.writeShort(strings.intern(reduction.name()));
+            out.writeByte(item.getEquipped() == null ? 0 : item.getEquipped() ? 2 : 1);
+            out.writeInt(item.getAmount());
+            List<Integer> ids = orEmpty(item.getIds());
+            out.writeShort(ids.size());
+            for (int id : ids)
+            {
+                out.writeInt(id);
+            }
+        }
+
+        List<SkillRequirement> skills = orEmpty(requirements.getSkillRequirements());
+        out.writeByte(skills.size());
+        for (SkillRequirement skill : skills)
+        {
+            out.writeShort(strings.intern(skill.getSkill().name()));
+            out.writeShort(skill.getLevel());
+        }
+
+        List<VarRequirement> vars = orEmpty(requirements.getVarRequirements());
+        out.writeByte(vars.size());
+        for (VarRequirement var : vars)
+        {
+            out.writeShort(strings.intern(var.getComparison().name()));
+            out.writeShort(strings.intern(var.getType().name()));
+            out.writeInt(var.getVar());
+            out.writeInt(var.getValue());
+        }
+
+        List<QuestRequirement> quests = orEmpty(requirements.getQuestRequirements());
+        out.writeByte(quests.size());
+        for (QuestRequirement quest : quests)
+        {
+            out.writeShort(strings.intern(quest.getQuest().name()));
+            // sorted so equal state sets always encode (and dedupe) identically
+            List<String> states = new ArrayList<>();
+            quest.getStates().forEach(state -> states.add(state.name()));
+            Collections.sort(states);
+            out.writeByte(states.size());
+            for (String state : states)
+            {
+                out.writeShort(strings.intern(state));
+            }
+        }
+
+        List<WorldRequirement> worlds = orEmpty(requirements.getWorldRequirements());
+        out.writeByte(worlds.size());
+        for (WorldRequirement world : worlds)
+        {
+            out.writeBoolean(world.isMemberWorld());
+        }
+
+        if (!orEmpty(requirements.getOtherRequirements()).isEmpty())
+        {
+            System.err.println("[TransportTable] Dropping " + requirements.getOtherRequirements().size()
+                    + " code requirement(s), they cannot be stored in the transport table");
+        }
+
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static <T> List<T> orEmpty(List<T> list)
+    {
+        return list != null ? list : Collections.emptyList();
+    }
+
+    private static class StringTable
+    {
+        private final List<String> values = new ArrayList<>();
+        private final Map<String, Integer> indices = new HashMap<>();
+
+        int intern(String value) throws IOException
+        {
+            if (value == null)
+            {
+                return TransportTable.NO_STRING;
+            }
+            Integer index = indices.get(value);
+            if (index == null)
+            {
+                index = values.size();
+                if (index >= TransportTable.NO_STRING)
+                {
+                    throw new IOException("String table overflow");
+                }
+                values.add(value);
+                indices.put(value, index);
+            }
+            return index;
+        }
+    }
+}
@@ -10,6 +10,7 @@ import com.tonic.services.pathfinder.ui.components.TransportDetailPanel;
 import com.tonic.services.pathfinder.ui.components.TransportListPanel;
 import com.tonic.services.pathfinder.ui.components.ToolbarPanel;
 import com.tonic.services.pathfinder.ui.utils.JsonFileManager;
+import com.tonic.util.TaskLane;
 import com.tonic.util.ThreadPool;
 import lombok.Getter;
 import net.runelite.api.coords.WorldPoint;
@@ -221,7 +222,7 @@ public class TransportEditorFrame extends JFrame {
             fileManager.saveTransports(transportArray);
             setHasUnsavedChanges(false);
             showStatusMessage("Saved " + transports.size() + " transports");
-            ThreadPool.submit(TransportLoader::init);
+            ThreadPool.submit(TaskLane.BACKGROUND, TransportLoader::init);
         } catch (Exception e) {
             showErrorDialog("Failed to save transports", e);
         }
@@ -3,6 +3,7 @@ package com.tonic.services.pathfinder.ui.utils;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.tonic.services.pathfinder.model.TransportDto;
+import com.tonic.services.pathfinder.transports.TransportTableCompiler;
 
 import javax.swing.*;
 import javax.swing.filechooser.FileNameExtensionFilter;
@@ -17,6 +18,7 @@ import java.nio.file.Paths;
 public class JsonFileManager {
 
     private static final String DEFAULT_TRANSPORTS_PATH = "api/src/main/resources/com/tonic/services/pathfinder/transports.json";
+    private static final String DEFAULT_TABLE_PATH = "api/build/generated/transports/com/tonic/services/pathfinder/transports.bin";
     private final Gson gson;
     private File lastLoadedFile;
 
@@ -174,6 +176,27 @@ public class JsonFileManager {
         } catch (Exception e) {
             throw new IOException("Failed to save transport file: " + e.getMessage(), e);
         }
+
+        compileTransportTable(file);
+    }
+
+    /**
+     * Recompile the binary transport table the client loads so it never drifts from the saved JSON.
+     * Compiled from the file as written, so the table carries the hash of exactly those bytes
+     */
+    private void compileTransportTable(File jsonFile) throws IOException {
+        Path output;
+        if (jsonFile.toPath().toAbsolutePath().equals(Paths.get(DEFAULT_TRANSPORTS_PATH).toAbsolutePath())) {
+            output = Paths.get(DEFAULT_TABLE_PATH);
+        } else {
+            output = jsonFile.toPath().resolveSibling(jsonFile.getName().replaceFirst("(\\.[^.]*)?$", ".bin"));
+        }
+
+        try {
+            TransportTableCompiler.compile(jsonFile.toPath(), output);
+        } catch (Exception e) {
+            throw new IOException("Saved JSON but failed to compile transport table: " + e.getMessage(), e);
+        }
     }
 
     private void createBackupIfExists(File file) {
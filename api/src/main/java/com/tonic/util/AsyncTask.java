@@ -11,9 +11,10 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * A class representing a AsyncTask that can be cancelled.
  * The AsyncTask is created from a given Runnable
  */
-public class AsyncTask implements Runnable {
-    private static volatile boolean canceled = false;
+public class AsyncTask implements Runnable, Cancellable {
+    private static final ThreadLocal<AsyncTask> CURRENT = new ThreadLocal<>();
     private static volatile AsyncTask live = null;
+    private volatile boolean canceled = false;
     private final Runnable runnable;
     @Setter
     @Getter
@@ -31,9 +32,13 @@ public class AsyncTask implements Runnable {
         this.runnable = runnable;
     }
 
+    /**
+     * @return true if the task running on the calling thread has been cancelled
+     */
     public static boolean _isCancelled()
     {
-        return canceled;
+        AsyncTask task = CURRENT.get();
+        return task != null && task.canceled;
     }
 
     public boolean isCancelled()
@@ -41,9 +46,16 @@ public class AsyncTask implements Runnable {
         return canceled;
     }
 
+    /**
+     * Cancels the most recently started task, prefer {@link #cancel()} on the task itself.
+     */
     public static void _cancel()
     {
-        canceled = true;
+        AsyncTask task = live;
+        if(task != null)
+        {
+            task.cancel();
+        }
     }
 
     public void cancel()
@@ -53,7 +65,6 @@ public class AsyncTask implements Runnable {
 
     public static void dispose()
     {
-        canceled = false;
         live = null;
     }
 
@@ -138,6 +149,8 @@ public class AsyncTask implements Runnable {
     @Override
     public void run() {
         threadId = Thread.currentThread().getId();
+        AsyncTask parent = CURRENT.get();
+        CURRENT.set(this);
         live = this;
         if(runnable == null)
             return;
@@ -153,7 +166,10 @@ public class AsyncTask implements Runnable {
         }
         finally {
             live = null;
-            canceled = false;
+            if(parent != null)
+                CURRENT.set(parent);
+            else
+                CURRENT.remove();
         }
     }
 }
\ No newline at end of file
@@ -1,12 +1,9 @@
 package com.tonic.util;
 
-import com.tonic.Static;
-import com.tonic.api.game.SceneAPI;
+import com.tonic.services.pathfinder.distance.PathDistanceOracle;
 import net.runelite.api.Tile;
 import net.runelite.api.coords.WorldPoint;
 
-import java.util.List;
-
 /**
  * Utility class for calculating various distance metrics between points.
  */
@@ -22,16 +19,7 @@ public class Distance
 
     public static int pathDistanceTo(WorldPoint from, WorldPoint to)
     {
-        if(from.equals(to))
-            return 0;
-        return Static.invoke(() -> {
-            List<WorldPoint> path = SceneAPI.pathTo(from, to);
-            if (path == null || path.isEmpty())
-            {
-                return Integer.MAX_VALUE;
-            }
-            return path.size() - 1;
-        });
+        return PathDistanceOracle.distance(from, to);
     }
 
     //base
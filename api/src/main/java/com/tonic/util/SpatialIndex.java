@@ -0,0 +1,367 @@
+package com.tonic.util;
+
+import gnu.trove.map.hash.TIntObjectHashMap;
+import net.runelite.api.coords.WorldArea;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Immutable index of named rectangles, e.g. the bank or area catalogs, bucketed by the 64x64 regions they
+ * overlap. Answers the same as scanning the catalog in order with {@link WorldArea#contains(WorldPoint)} and
+ * {@link WorldArea#distanceTo(WorldPoint)} (or {@link WorldArea#distanceTo2D(WorldPoint)}), ties going to the
+ * entry listed first.
+ *
+ * @param <T> the catalog entry
+ */
+public class SpatialIndex<T>
+{
+    private static final int REGION_SHIFT = 6;
+    private static final int REGION_SIZE = 1 << REGION_SHIFT;
+
+    private final Object[] values;
+    private final int[] x;
+    private final int[] y;
+    private final int[] width;
+    private final int[] height;
+    private final int[] plane;
+    private final boolean ignorePlane;
+    // region key -> indices of the entries overlapping that region, ascending
+    private final TIntObjectHashMap<int[]> buckets = new TIntObjectHashMap<>();
+    private final int minRegionX, maxRegionX, minRegionY, maxRegionY;
+
+    private SpatialIndex(List<T> values, Function<T, WorldArea> area, boolean ignorePlane)
+    {
+        int size = values.size();
+        this.values = values.toArray();
+        this.x = new int[size];
+        this.y = new int[size];
+        this.width = new int[size];
+        this.height = new int[size];
+        this.plane = new int[size];
+        this.ignorePlane = ignorePlane;
+
+        TIntObjectHashMap<List<Integer>> regions = new TIntObjectHashMap<>();
+        int minRx = Integer.MAX_VALUE, maxRx = Integer.MIN_VALUE, minRy = Integer.MAX_VALUE, maxRy = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++)
+        {
+            WorldArea worldArea = area.apply(values.get(i));
+            x[i] = worldArea.getX();
+            y[i] = worldArea.getY();
+            width[i] = worldArea.getWidth();
+            height[i] = worldArea.getHeight();
+            plane[i] = worldArea.getPlane();
+            for (int rx = regionX(i); rx <= lastRegionX(i); rx++)
+            {
+                for (int ry = regionY(i); ry <= lastRegionY(i); ry++)
+                {
+                    List<Integer> bucket = regions.get(key(rx, ry));
+                    if (bucket == null)
+                    {
+                        bucket = new ArrayList<>();
+                        regions.put(key(rx, ry), bucket);
+                    }
+                    bucket.add(i);
+                }
+            }
+            minRx = Math.min(minRx, regionX(i));
+            maxRx = Math.max(maxRx, lastRegionX(i));
+            minRy = Math.min(minRy, regionY(i));
+            maxRy = Math.max(maxRy, lastRegionY(i));
+        }
+        regions.forEachEntry((key, bucket) -> {
+            buckets.put(key, bucket.stream().mapToInt(Integer::intValue).toArray());
+            return true;
+        });
+        this.minRegionX = minRx;
+        this.maxRegionX = maxRx;
+        this.minRegionY = minRy;
+        this.maxRegionY = maxRy;
+    }
+
+    /**
+     * @param values the catalog, in priority order
+     * @param area the rectangle of an entry
+     * @return an index measuring distance with {@link WorldArea#distanceTo(WorldPoint)}, entries on other planes
+     * are never near
+     */
+    public static <T> SpatialIndex<T> of(List<T> values, Function<T, WorldArea> area)
+    {
+        return new SpatialIndex<>(values, area, false);
+    }
+
+    /**
+     * @return an index measuring distance with {@link WorldArea#distanceTo2D(WorldPoint)}, ignoring planes.
+     * Containment still checks the plane.
+     */
+    public static <T> SpatialIndex<T> of2D(List<T> values, Function<T, WorldArea> area)
+    {
+        return new SpatialIndex<>(values, area, true);
+    }
+
+    public int size()
+    {
+        return values.length;
+    }
+
+    /**
+     * @return the first entry containing the point, or null
+     */
+    public T containing(WorldPoint point)
+    {
+        return containing(point.getX(), point.getY(), point.getPlane());
+    }
+
+    /**
+     * @return the first entry containing the tile, or null
+     */
+    @SuppressWarnings("unchecked")
+    public T containing(int px, int py, int pz)
+    {
+        int[] bucket = buckets.get(key(px >> REGION_SHIFT, py >> REGION_SHIFT));
+        if (bucket == null)
+        {
+            return null;
+        }
+        for (int i : bucket)
+        {
+            if (contains(i, px, py, pz))
+            {
+                return (T) values[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the nearest entry, or null
+     */
+    public T nearest(WorldPoint point)
+    {
+        return nearest(point, (Predicate<? super T>) null);
+    }
+
+    /**
+     * @return the nearest entry accepted by the filter, or null
+     */
+    public T nearest(WorldPoint point, Predicate<? super T> filter)
+    {
+        List<T> nearest = nearest(point, 1, filter);
+        return nearest.isEmpty() ? null : nearest.get(0);
+    }
+
+    /**
+     * @return up to k entries, nearest first
+     */
+    public List<T> nearest(WorldPoint point, int k)
+    {
+        return nearest(point, k, null);
+    }
+
+    /**
+     * Search outwards ring by ring of regions. Entries first met in ring r lie outside the regions of ring r - 1,
+     * so they are more than (r - 1) * 64 tiles away. Once rings cover more regions than there are entries, a
+     * plain scan is cheaper and finishes the search.
+     * @return up to k entries accepted by the filter, nearest first
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> nearest(WorldPoint point, int k, Predicate<? super T> filter)
+    {
+        if (k <= 0)
+        {
+            return Collections.emptyList();
+        }
+        int px = point.getX(), py = point.getY(), pz = point.getPlane();
+        int[] best = new int[k];
+        int[] bestDistance = new int[k];
+        int found = 0;
+
+        int rx = px >> REGION_SHIFT, ry = py >> REGION_SHIFT;
+        int rings = Math.max(Math.max(rx - minRegionX, maxRegionX - rx), Math.max(ry - minRegionY, maxRegionY - ry));
+        for (int ring = 0; ring <= rings; ring++)
+        {
+            if (found == k && bestDistance[k - 1] <= (ring - 1) * REGION_SIZE)
+            {
+                break;
+            }
+            if (8 * ring > values.length)
+            {
+                found = 0;
+                for (int i = 0; i < values.length; i++)
+                {
+                    found = offer(i, px, py, pz, filter, best, bestDistance, found);
+                }
+                break;
+            }
+            for (int dx = -ring; dx <= ring; dx++)
+            {
+                int step = dx == -ring || dx == ring ? 1 : 2 * ring;
+                for (int dy = -ring; dy <= ring; dy += step)
+                {
+                    int[] bucket = buckets.get(key(rx + dx, ry + dy));
+                    if (bucket == null)
+                    {
+                        continue;
+                    }
+                    for (int i : bucket)
+                    {
+                        found = offer(i, px, py, pz, filter, best, bestDistance, found);
+                    }
+                }
+            }
+        }
+
+        List<T> result = new ArrayList<>(found);
+        for (int i = 0; i < found; i++)
+        {
+            result.add((T) values[best[i]]);
+        }
+        return result;
+    }
+
+    /**
+     * @return the entries at most radius tiles away, in catalog order
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> within(WorldPoint point, int radius)
+    {
+        int px = point.getX(), py = point.getY(), pz = point.getPlane();
+        int fromX = Math.max((px - radius) >> REGION_SHIFT, minRegionX), toX = Math.min((px + radius) >> REGION_SHIFT, maxRegionX);
+        int fromY = Math.max((py - radius) >> REGION_SHIFT, minRegionY), toY = Math.min((py + radius) >> REGION_SHIFT, maxRegionY);
+        int[] hits = null;
+        int count = 0;
+        for (int rx = fromX; rx <= toX; rx++)
+        {
+            for (int ry = fromY; ry <= toY; ry++)
+            {
+                int[] bucket = buckets.get(key(rx, ry));
+                if (bucket == null)
+                {
+                    continue;
+                }
+                for (int i : bucket)
+                {
+                    // an entry spanning several regions is only taken from the first one scanned
+                    if (Math.max(regionX(i), fromX) != rx || Math.max(regionY(i), fromY) != ry
+                            || distance(i, px, py, pz) > radius)
+                    {
+                        continue;
+                    }
+                    if (hits == null)
+                    {
+                        hits = new int[8];
+                    }
+                    else if (count == hits.length)
+                    {
+                        hits = Arrays.copyOf(hits, count * 2);
+                    }
+                    hits[count++] = i;
+                }
+            }
+        }
+        if (count == 0)
+        {
+            return Collections.emptyList();
+        }
+        Arrays.sort(hits, 0, count);
+        List<T> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+        {
+            result.add((T) values[hits[i]]);
+        }
+        return result;
+    }
+
+    /**
+     * Keep the k best entries sorted by distance then catalog order. An entry met again from another region is
+     * either already kept or was rejected before, so it needs no visited set.
+     */
+    @SuppressWarnings("unchecked")
+    private int offer(int i, int px, int py, int pz, Predicate<? super T> filter, int[] best, int[] bestDistance, int found)
+    {
+        int distance = distance(i, px, py, pz);
+        if (distance == Integer.MAX_VALUE)
+        {
+            return found;
+        }
+        int k = best.length;
+        int slot = found;
+        while (slot > 0 && (bestDistance[slot - 1] > distance || bestDistance[slot - 1] == distance && best[slot - 1] > i))
+        {
+            slot--;
+        }
+        if (slot == k || slot > 0 && best[slot - 1] == i)
+        {
+            return found;
+        }
+        if (filter != null && !filter.test((T) values[i]))
+        {
+            return found;
+        }
+        int last = Math.min(found, k - 1);
+        System.arraycopy(best, slot, best, slot + 1, last - slot);
+        System.arraycopy(bestDistance, slot, bestDistance, slot + 1, last - slot);
+        best[slot] = i;
+        bestDistance[slot] = distance;
+        return Math.min(found + 1, k);
+    }
+
+    private boolean contains(int i, int px, int py, int pz)
+    {
+        return pz == plane[i]
+                && px >= x[i] && px < x[i] + width[i]
+                && py >= y[i] && py < y[i] + height[i];
+    }
+
+    /**
+     * Same as {@link WorldArea#distanceTo(WorldPoint)}, including its handling of empty areas.
+     */
+    private int distance(int i, int px, int py, int pz)
+    {
+        if (!ignorePlane && pz != plane[i])
+        {
+            return Integer.MAX_VALUE;
+        }
+        return Math.max(axisDistance(px, x[i], width[i]), axisDistance(py, y[i], height[i]));
+    }
+
+    private static int axisDistance(int p, int start, int length)
+    {
+        if (p <= start)
+        {
+            return start - p;
+        }
+        int end = start + length - 1;
+        return p >= end ? p - end : 0;
+    }
+
+    private int regionX(int i)
+    {
+        return x[i] >> REGION_SHIFT;
+    }
+
+    private int regionY(int i)
+    {
+        return y[i] >> REGION_SHIFT;
+    }
+
+    private int lastRegionX(int i)
+    {
+        return (x[i] + Math.max(width[i], 1) - 1) >> REGION_SHIFT;
+    }
+
+    private int lastRegionY(int i)
+    {
+        return (y[i] + Math.max(height[i], 1) - 1) >> REGION_SHIFT;
+    }
+
+    private static int key(int rx, int ry)
+    {
+        return (rx & 0xFFFF) << 16 | (ry & 0xFFFF);
+    }
+}
@@ -12,6 +12,7 @@ import java.util.concurrent.Future;
 public class VitaPlugin extends Plugin
 {
     private Future<?> loopFuture = null;
+    private AsyncTask loopTask = null;
 
     /**
      * Overridable loop() method. It is safe to sleep in, but as a result is
@@ -35,7 +36,7 @@ public class VitaPlugin extends Plugin
         if(loopFuture != null && !loopFuture.isDone())
             return;
 
-        loopFuture = ThreadPool.submit(new AsyncTask(() -> {
+        loopTask = new AsyncTask(() -> {
             try
             {
                 loop();
@@ -53,7 +54,15 @@ public class VitaPlugin extends Plugin
             {
                 AsyncTask.dispose();
             }
-        }));
+        });
+        loopFuture = ThreadPool.submit(loopTask);
+        if(loopFuture.isCancelled())
+        {
+            // the scripting lane is full and the client thread does not wait for room, retry next tick
+            Logger.warn("[" + getName() + "] Plugin::loop() could not be scheduled, retrying next tick.");
+            loopFuture = null;
+            loopTask = null;
+        }
     }
 
     /**
@@ -62,12 +71,17 @@ public class VitaPlugin extends Plugin
      */
     public void haltLoop(Runnable callback)
     {
-        if(loopFuture == null || loopFuture.isDone())
-            callback.run();
+        Future<?> future = loopFuture;
+        if(future == null || future.isDone())
+        {
+            if(callback != null)
+                callback.run();
+            return;
+        }
         System.out.println("Halting " + getName() + " loop...");
-        AsyncTask._cancel();
+        loopTask.cancel();
         ThreadPool.submit(() -> {
-            while(!loopFuture.isDone())
+            while(!future.isDone())
             {
                 try {
                     Thread.sleep(10);
@@ -0,0 +1,392 @@
+package com.tonic.api.loadouts.plan;
+
+import com.tonic.api.loadouts.plan.LoadoutPlanner.Target;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * {@link LoadoutPlanner} replayed against a model of the inventory, equipment and bank the way
+ * {@link com.tonic.api.widgets.BankAPI#restock} runs it: plan, send the first phase, let it land, plan again.
+ * <p>
+ * Items 1 to 40 are banked, 30 to 40 stack, and every item's note is its id plus 1000.
+ */
+public class LoadoutPlannerTest
+{
+
+  private static final int CASES = 20000;
+  private static final int MAX_ROUNDS = 4;
+  private static final int NOTE = 1000;
+
+  private static final Set<Integer> STACKABLE = new HashSet<>();
+
+  static
+  {
+    for (int id = 30; id <= 40; id++)
+    {
+      STACKABLE.add(id);
+    }
+    for (int id = 1; id <= 40; id++)
+    {
+      STACKABLE.add(id + NOTE);
+    }
+  }
+
+  @Test
+  public void randomisedReplay()
+  {
+    Random random = new Random(1);
+    for (int i = 0; i < CASES; i++)
+    {
+      Model model = Model.random(random);
+      List<Target> targets = targets(random);
+      String problem = replay(model, targets);
+      if (problem != null)
+      {
+        fail("case " + i + ": " + problem + "\n targets " + targets);
+      }
+    }
+  }
+
+  @Test
+  public void withdrawnEquipmentWaitsForALaterPhase()
+  {
+    Model model = new Model();
+    model.bank.put(5, 1);
+    model.bank.put(6, 10);
+    List<Target> targets = Arrays.asList(Target.worn(5, -1, 1, false), Target.carried(6, -1, 10, false));
+
+    LoadoutPlan plan = model.plan(targets);
+    assertEquals(Collections.singletonList(PlanStep.Type.WITHDRAW), types(plan.getFirstPhase()));
+    assertTrue(plan.hasLaterPhase());
+    assertEquals(Arrays.asList(PlanStep.Type.WITHDRAW, PlanStep.Type.EQUIP, PlanStep.Type.WITHDRAW), types(plan.getSteps()));
+
+    model.apply(plan.getFirstPhase());
+    plan = model.plan(targets);
+    assertEquals(Arrays.asList(PlanStep.Type.EQUIP, PlanStep.Type.WITHDRAW), types(plan.getFirstPhase()));
+    assertFalse(plan.hasLaterPhase());
+
+    model.apply(plan.getFirstPhase());
+    assertTrue(model.plan(targets).isEmpty());
+    assertEquals(1, (int) model.worn.get(5));
+    assertEquals(10, (int) model.inventory.get(6));
+  }
+
+  @Test
+  public void carriedEquipmentIsEquippedAtOnce()
+  {
+    Model model = new Model();
+    model.inventory.put(5, 1);
+    model.inventory.put(7, 1);
+    model.bank.put(6, 3);
+
+    LoadoutPlan plan = model.plan(Arrays.asList(Target.worn(5, -1, 1, false), Target.carried(6, -1, 3, false)));
+    assertFalse(plan.hasLaterPhase());
+    assertEquals(Arrays.asList(PlanStep.Type.DEPOSIT, PlanStep.Type.EQUIP, PlanStep.Type.WITHDRAW), types(plan.getSteps()));
+  }
+
+  /**
+   * Runs the plan phase by phase until nothing is left to do, then checks the end state.
+   * @return What went wrong, or null
+   */
+  private static String replay(Model model, List<Target> targets)
+  {
+    Model start = model.copy();
+    LoadoutPlan plan = model.plan(targets);
+    for (int round = 0; !plan.isEmpty(); round++)
+    {
+      if (round == MAX_ROUNDS)
+      {
+        return "still planning after " + MAX_ROUNDS + " rounds: " + plan;
+      }
+
+      String problem = model.apply(plan.getFirstPhase());
+      if (problem != null)
+      {
+        return problem + " in " + plan + " from " + model;
+      }
+      plan = model.plan(targets);
+    }
+
+    Set<Integer> wanted = new HashSet<>();
+    for (Target target : targets)
+    {
+      if (!target.isEquip())
+      {
+        wanted.add(target.getInventoryId());
+      }
+    }
+    for (int id : model.inventory.keySet())
+    {
+      if (!wanted.contains(id))
+      {
+        return "left " + id + " in the inventory, " + model + " from " + start;
+      }
+    }
+
+    for (Target target : targets)
+    {
+      if (plan.getShortfalls().containsKey(target))
+      {
+        int available = model.bank.getOrDefault(target.getId(), 0) + model.inventory.getOrDefault(target.getId(), 0)
+            + model.inventory.getOrDefault(target.getId() + NOTE, 0) + (target.isEquip() ? model.worn.getOrDefault(target.getId(), 0) : 0);
+        int needed = target.isEquip() && !target.isStackable() ? 1 : target.getAmount();
+        if (available >= needed && model.slots() < LoadoutPlanner.CAPACITY)
+        {
+          return "reported " + target + " short with " + available + " available, " + model + " from " + start;
+        }
+        continue;
+      }
+
+      if (target.isEquip())
+      {
+        int worn = model.worn.getOrDefault(target.getId(), 0);
+        if (worn == 0 || target.isStackable() && worn < target.getAmount())
+        {
+          return "not wearing " + target + ", " + model + " from " + start;
+        }
+        continue;
+      }
+
+      int held = model.inventory.getOrDefault(target.getInventoryId(), 0);
+      if (!target.isSatisfiedBy(held) || held > target.getAmount())
+      {
+        return "holding " + held + " of " + target + ", " + model + " from " + start;
+      }
+    }
+
+    return null;
+  }
+
+  private static List<Target> targets(Random random)
+  {
+    List<Target> targets = new ArrayList<>();
+    Set<Integer> used = new HashSet<>();
+    int slots = 0;
+    int count = random.nextInt(8);
+    for (int i = 0; i < count; i++)
+    {
+      int id = 1 + random.nextInt(40);
+      if (!used.add(id))
+      {
+        continue;
+      }
+
+      boolean stackable = STACKABLE.contains(id);
+      switch (random.nextInt(3))
+      {
+        case 0:
+        {
+          int amount = stackable ? 1 + random.nextInt(500) : 1 + random.nextInt(6);
+          int needed = stackable ? 1 : amount;
+          if (slots + needed > LoadoutPlanner.CAPACITY)
+          {
+            continue;
+          }
+          slots += needed;
+          int minimum = random.nextBoolean() ? -1 : Math.max(1, amount / 2);
+          targets.add(Target.carried(id, minimum, amount, stackable));
+          break;
+        }
+        case 1:
+        {
+          if (slots + 1 > LoadoutPlanner.CAPACITY)
+          {
+            continue;
+          }
+          slots++;
+          targets.add(Target.carriedNoted(id, id + NOTE, -1, 1 + random.nextInt(100)));
+          break;
+        }
+        default:
+          targets.add(Target.worn(id, -1, stackable ? 1 + random.nextInt(200) : 1, stackable));
+          break;
+      }
+    }
+
+    return targets;
+  }
+
+  private static List<PlanStep.Type> types(List<PlanStep> steps)
+  {
+    List<PlanStep.Type> types = new ArrayList<>();
+    for (PlanStep step : steps)
+    {
+      types.add(step.getType());
+    }
+
+    return types;
+  }
+
+  /**
+   * The inventory, equipment, bank and withdraw mode, as the client would see them once a phase has landed.
+   */
+  private static class Model
+  {
+
+    private Map<Integer, Integer> inventory = new HashMap<>();
+    private Map<Integer, Integer> worn = new HashMap<>();
+    private Map<Integer, Integer> bank = new HashMap<>();
+    private boolean noted;
+
+    private static Model random(Random random)
+    {
+      Model model = new Model();
+      int tries = random.nextInt(30);
+      for (int i = 0; i < tries; i++)
+      {
+        int id = 1 + random.nextInt(40) + (random.nextInt(4) == 0 ? NOTE : 0);
+        int count = STACKABLE.contains(id) ? 1 + random.nextInt(300) : 1;
+        model.inventory.merge(id, count, Integer::sum);
+        if (model.slots() > LoadoutPlanner.CAPACITY)
+        {
+          remove(model.inventory, id, count);
+        }
+      }
+
+      int worn = random.nextInt(5);
+      for (int i = 0; i < worn; i++)
+      {
+        int id = 1 + random.nextInt(40);
+        model.worn.put(id, STACKABLE.contains(id) ? 1 + random.nextInt(100) : 1);
+      }
+
+      for (int id = 1; id <= 40; id++)
+      {
+        if (random.nextInt(5) != 0)
+        {
+          model.bank.put(id, random.nextInt(1000));
+        }
+      }
+      model.noted = random.nextBoolean();
+      return model;
+    }
+
+    private LoadoutPlan plan(List<Target> targets)
+    {
+      return new LoadoutPlanner(inventory, worn, bank, STACKABLE::contains)
+          .unnote(id -> id > NOTE ? id - NOTE : id)
+          .withdrawNoted(noted)
+          .plan(targets);
+    }
+
+    /**
+     * Sends one phase. Equipping finds the item in the inventory as it was before the phase, like the client does.
+     * @return What went wrong, or null
+     */
+    private String apply(List<PlanStep> phase)
+    {
+      Map<Integer, Integer> landed = new HashMap<>(inventory);
+      for (PlanStep step : phase)
+      {
+        int id = step.getItemId();
+        switch (step.getType())
+        {
+          case DEPOSIT_ALL:
+            for (Map.Entry<Integer, Integer> entry : inventory.entrySet())
+            {
+              bank.merge(unnote(entry.getKey()), entry.getValue(), Integer::sum);
+            }
+            inventory.clear();
+            break;
+          case DEPOSIT:
+          {
+            int held = inventory.getOrDefault(id, 0);
+            int amount = step.getAmount() == -1 ? held : step.getAmount();
+            if (amount <= 0 || amount > held)
+            {
+              return "deposited " + amount + " of " + held + " " + id;
+            }
+            remove(inventory, id, amount);
+            bank.merge(unnote(id), amount, Integer::sum);
+            break;
+          }
+          case WITHDRAW_MODE:
+            if (noted == step.isNoted())
+            {
+              return "switched to the withdraw mode already set";
+            }
+            noted = step.isNoted();
+            break;
+          case WITHDRAW:
+          {
+            if (noted != step.isNoted())
+            {
+              return "withdrew " + step + " in the wrong mode";
+            }
+            int banked = bank.getOrDefault(id, 0);
+            if (step.getAmount() <= 0 || step.getAmount() > banked)
+            {
+              return "withdrew " + step + " with " + banked + " banked";
+            }
+            remove(bank, id, step.getAmount());
+            inventory.merge(step.isNoted() ? id + NOTE : id, step.getAmount(), Integer::sum);
+            if (slots() > LoadoutPlanner.CAPACITY)
+            {
+              return "overflowed the inventory to " + slots() + " slots";
+            }
+            break;
+          }
+          case EQUIP:
+          {
+            if (landed.getOrDefault(id, 0) == 0)
+            {
+              return "equipped " + id + " before it landed";
+            }
+            int amount = Math.min(inventory.getOrDefault(id, 0), step.getAmount());
+            remove(inventory, id, amount);
+            worn.merge(id, amount, Integer::sum);
+            break;
+          }
+        }
+      }
+
+      return null;
+    }
+
+    private int slots()
+    {
+      int used = 0;
+      for (Map.Entry<Integer, Integer> entry : inventory.entrySet())
+      {
+        used += STACKABLE.contains(entry.getKey()) ? 1 : entry.getValue();
+      }
+
+      return used;
+    }
+
+    private static void remove(Map<Integer, Integer> items, int id, int amount)
+    {
+      if (items.merge(id, -amount, Integer::sum) <= 0)
+      {
+        items.remove(id);
+      }
+    }
+
+    private static int unnote(int id)
+    {
+      return id > NOTE ? id - NOTE : id;
+    }
+
+    private Model copy()
+    {
+      Model copy = new Model();
+      copy.inventory = new HashMap<>(inventory);
+      copy.worn = new HashMap<>(worn);
+      copy.bank = new HashMap<>(bank);
+      copy.noted = noted;
+      return copy;
+    }
+
+    @Override
+    public String toString()
+    {
+      return "inventory " + new TreeMap<>(inventory) + " worn " + new TreeMap<>(worn) + (noted ? " noted" : "");
+    }
+  }
+}
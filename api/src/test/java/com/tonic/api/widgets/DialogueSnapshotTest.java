@@ -0,0 +1,135 @@
+package com.tonic.api.widgets;
+
+import net.runelite.api.widgets.Widget;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@link DialogueSnapshot#capture(IntFunction)} over fake widget trees keyed by packed id.
+ */
+public class DialogueSnapshotTest
+{
+    private final Map<Integer, Widget> tree = new HashMap<>();
+    private final Map<Integer, Integer> lookups = new HashMap<>();
+
+    @Test
+    public void nothingLoaded()
+    {
+        DialogueSnapshot snapshot = capture();
+        assertSame(DialogueSnapshot.NONE, snapshot);
+        assertFalse(snapshot.isPresent());
+        assertTrue(snapshot.getOptions().isEmpty());
+        assertEquals(-1, snapshot.indexOf("yes"));
+    }
+
+    @Test
+    public void continueWithoutText()
+    {
+        tree.put(DialogueState.NPC_CONTINUE.getProbe(), widget("Anything"));
+        DialogueSnapshot snapshot = capture();
+        assertEquals(DialogueState.NPC_CONTINUE, snapshot.getState());
+        assertTrue(snapshot.isPresent());
+        assertTrue(snapshot.getState().canContinue());
+    }
+
+    @Test
+    public void continueTextRequired()
+    {
+        tree.put(DialogueState.LEVEL_UP.getProbe(), widget("Congratulations"));
+        assertFalse(capture().getState() == DialogueState.LEVEL_UP);
+
+        tree.put(DialogueState.LEVEL_UP.getProbe(), widget(DialogueState.CONTINUE_TEXT));
+        assertEquals(DialogueState.LEVEL_UP, capture().getState());
+    }
+
+    @Test
+    public void probesInPriorityOrder()
+    {
+        tree.put(DialogueState.OPTIONS.getProbe(), widget(null, widget("Select an Option"), widget("Yes"), widget("No")));
+        tree.put(DialogueState.PLAYER_CONTINUE.getProbe(), widget("Hello"));
+        assertEquals(DialogueState.PLAYER_CONTINUE, capture().getState());
+
+        tree.remove(DialogueState.PLAYER_CONTINUE.getProbe());
+        assertEquals(DialogueState.OPTIONS, capture().getState());
+    }
+
+    @Test
+    public void options()
+    {
+        tree.put(DialogueState.OPTIONS.getProbe(), widget(null,
+                widget("Select an Option"), widget("Yes please."), widget(""), null, widget(null), widget("No THANKS.")));
+        DialogueSnapshot snapshot = capture();
+
+        assertEquals(DialogueState.OPTIONS, snapshot.getState());
+        assertFalse(snapshot.getState().canContinue());
+        assertEquals(Arrays.asList("Yes please.", "No THANKS."), snapshot.getOptions());
+        // indices are widget children, the title included, for selectOption
+        assertEquals(0, snapshot.indexOf("select an"));
+        assertEquals(1, snapshot.indexOf("YES"));
+        assertEquals(5, snapshot.indexOf("no thanks"));
+        assertEquals(-1, snapshot.indexOf("maybe"));
+    }
+
+    @Test
+    public void optionsWithoutChoices()
+    {
+        tree.put(DialogueState.OPTIONS.getProbe(), widget(null, widget("Select an Option")));
+        DialogueSnapshot snapshot = capture();
+        assertEquals(DialogueState.OPTIONS, snapshot.getState());
+        assertEquals(Collections.emptyList(), snapshot.getOptions());
+        assertEquals(-1, snapshot.indexOf("select"));
+    }
+
+    @Test
+    public void eachWidgetLookedUpOnce()
+    {
+        capture();
+        for (DialogueState state : DialogueState.values())
+        {
+            if (state != DialogueState.NONE)
+            {
+                assertEquals(1, (int) lookups.get(state.getProbe()), state.name());
+            }
+        }
+    }
+
+    private DialogueSnapshot capture()
+    {
+        lookups.clear();
+        return DialogueSnapshot.capture(id -> {
+            lookups.merge(id, 1, Integer::sum);
+            return tree.get(id);
+        });
+    }
+
+    /**
+     * A widget answering only what the snapshot reads, anything else fails the test.
+     */
+    private static Widget widget(String text, Widget... children)
+    {
+        return (Widget) Proxy.newProxyInstance(Widget.class.getClassLoader(), new Class<?>[]{Widget.class}, (proxy, method, args) -> {
+            switch (method.getName())
+            {
+                case "getText":
+                    return text;
+                case "getChildren":
+                    return children.length == 0 ? null : children;
+                case "toString":
+                    return "Widget(" + text + ")";
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+}
@@ -0,0 +1,155 @@
+package com.tonic.services;
+
+import com.google.gson.Gson;
+import net.runelite.http.api.worlds.World;
+import net.runelite.http.api.worlds.WorldResult;
+import net.runelite.http.api.worlds.WorldType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link WorldDirectory} over a canned world list, parsed the way the world service parses its feed.
+ */
+public class WorldDirectoryTest
+{
+    // out of order on purpose; default members worlds 301, 318 and free to play worlds 308, 316, 335
+    private static final String WORLDS = "{\"worlds\": ["
+            + "{\"id\": 318, \"types\": [\"MEMBERS\"]},"
+            + "{\"id\": 302, \"types\": [\"MEMBERS\", \"PVP\"]},"
+            + "{\"id\": 335, \"types\": []},"
+            + "{\"id\": 310, \"types\": [\"MEMBERS\", \"SKILL_TOTAL\"]},"
+            + "{\"id\": 301, \"types\": [\"MEMBERS\"]},"
+            + "{\"id\": 317},"
+            + "{\"id\": 316, \"types\": []},"
+            + "{\"id\": 325, \"types\": [\"MEMBERS\", \"SEASONAL\"]},"
+            + "{\"id\": 337, \"types\": [\"PVP\"]},"
+            + "{\"id\": 308, \"types\": []}"
+            + "]}";
+
+    private final WorldDirectory directory = WorldDirectory.of(parse(WORLDS));
+
+    @Test
+    public void sortedById()
+    {
+        assertEquals(Arrays.asList(301, 302, 308, 310, 316, 317, 318, 325, 335, 337), ids(directory.getWorlds()));
+        assertEquals(10, directory.size());
+        assertEquals(316, directory.byId(316).getId());
+        assertNull(directory.byId(303));
+        assertNull(directory.byId(-1));
+        assertNull(directory.byId(5000));
+    }
+
+    @Test
+    public void typeMasks()
+    {
+        World pvp = directory.byId(302);
+        assertEquals(WorldDirectory.mask(WorldType.MEMBERS, WorldType.PVP), WorldDirectory.typesOf(pvp));
+        assertEquals(WorldDirectory.typesOf(pvp), directory.types(pvp));
+        assertEquals(0, WorldDirectory.typesOf(directory.byId(335)));
+        assertEquals(WorldDirectory.UNKNOWN_TYPES, WorldDirectory.typesOf(directory.byId(317)));
+
+        assertTrue(directory.isMembers(301));
+        assertTrue(directory.isMembers(325));
+        assertFalse(directory.isMembers(308));
+        assertFalse(directory.isMembers(317));
+        assertFalse(directory.isMembers(303));
+    }
+
+    @Test
+    public void defaultWorldsSkipSpecialTypes()
+    {
+        // pvp, skill total, seasonal and worlds without a type list are left out
+        assertEquals(Arrays.asList(301, 318), ids(directory.getDefaultWorlds(true)));
+        assertEquals(Arrays.asList(308, 316, 335), ids(directory.getDefaultWorlds(false)));
+    }
+
+    @Test
+    public void next()
+    {
+        assertEquals(318, directory.next(true, 301).getId());
+        assertEquals(301, directory.next(true, 318).getId());
+        // current worlds outside the partition hop to the next one above them
+        assertEquals(318, directory.next(true, 302).getId());
+        assertEquals(301, directory.next(true, 400).getId());
+        assertEquals(316, directory.next(false, 308).getId());
+        assertEquals(308, directory.next(false, 335).getId());
+    }
+
+    @Test
+    public void previous()
+    {
+        assertEquals(318, directory.previous(true, 301).getId());
+        assertEquals(301, directory.previous(true, 318).getId());
+        assertEquals(301, directory.previous(true, 310).getId());
+        assertEquals(318, directory.previous(true, 300).getId());
+        assertEquals(335, directory.previous(false, 308).getId());
+        assertEquals(308, directory.previous(false, 316).getId());
+    }
+
+    @Test
+    public void randomNeverPicksCurrent()
+    {
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < 200; i++)
+        {
+            World world = directory.random(false, 316);
+            assertNotEquals(316, world.getId());
+            assertTrue(directory.getDefaultWorlds(false).contains(world));
+            seen.add(world.getId());
+        }
+        assertEquals(new HashSet<>(Arrays.asList(308, 335)), seen);
+
+        for (int i = 0; i < 50; i++)
+        {
+            assertTrue(directory.getDefaultWorlds(true).contains(directory.random(true, 302)));
+        }
+    }
+
+    @Test
+    public void noOtherWorld()
+    {
+        WorldDirectory single = WorldDirectory.of(parse("{\"worlds\": [{\"id\": 301, \"types\": [\"MEMBERS\"]}, {\"id\": 337, \"types\": [\"PVP\"]}]}"));
+        assertNull(single.next(true, 301));
+        assertNull(single.previous(true, 301));
+        assertNull(single.random(true, 301));
+        assertSame(single.byId(301), single.next(true, 302));
+        assertSame(single.byId(301), single.random(true, 302));
+
+        assertNull(single.next(false, 301));
+        assertNull(single.previous(false, 301));
+        assertNull(single.random(false, 301));
+    }
+
+    @Test
+    public void missingWorldList()
+    {
+        WorldDirectory empty = WorldDirectory.of(parse("{}"));
+        assertEquals(0, empty.size());
+        assertTrue(empty.getWorlds().isEmpty());
+        assertNull(empty.byId(301));
+        assertNull(empty.next(true, 301));
+        assertNull(empty.random(false, 301));
+    }
+
+    private static WorldResult parse(String json)
+    {
+        return new Gson().fromJson(json, WorldResult.class);
+    }
+
+    private static List<Integer> ids(List<World> worlds)
+    {
+        return worlds.stream().map(World::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,122 @@
+package com.tonic.util;
+
+import net.runelite.api.coords.WorldArea;
+import net.runelite.api.coords.WorldPoint;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares {@link SpatialIndex} against a plain scan of the catalog over random catalogs and queries.
+ */
+public class SpatialIndexTest
+{
+    private static final int CATALOGS = 100;
+    private static final int QUERIES = 200;
+
+    @Test
+    public void matchesLinearScan()
+    {
+        Random random = new Random(1);
+        for (int catalog = 0; catalog < CATALOGS; catalog++)
+        {
+            List<WorldArea> areas = randomAreas(random, 1 + random.nextInt(catalog % 3 == 0 ? 5 : 400));
+            check(random, areas, false);
+            check(random, areas, true);
+        }
+    }
+
+    @Test
+    public void emptyCatalog()
+    {
+        SpatialIndex<WorldArea> index = SpatialIndex.of(new ArrayList<>(), area -> area);
+        WorldPoint point = new WorldPoint(3200, 3200, 0);
+        assertNull(index.containing(point));
+        assertNull(index.nearest(point));
+        assertTrue(index.within(point, 100).isEmpty());
+    }
+
+    private static void check(Random random, List<WorldArea> areas, boolean twoD)
+    {
+        // entries are indices, so equal rectangles listed twice stay apart
+        List<Integer> entries = new ArrayList<>();
+        for (int i = 0; i < areas.size(); i++)
+        {
+            entries.add(i);
+        }
+        SpatialIndex<Integer> index = twoD ? SpatialIndex.of2D(entries, areas::get) : SpatialIndex.of(entries, areas::get);
+
+        for (int query = 0; query < QUERIES; query++)
+        {
+            WorldPoint point = randomPoint(random, areas);
+            ToIntFunction<Integer> distance = i -> twoD ? areas.get(i).distanceTo2D(point) : areas.get(i).distanceTo(point);
+            Predicate<Integer> filter = random.nextBoolean() ? null : i -> areas.get(i).getWidth() % 2 == 0;
+            int k = 1 + random.nextInt(6);
+            int radius = random.nextInt(300);
+            String where = point + (twoD ? " 2D" : "");
+
+            Integer containing = null;
+            for (Integer i : entries)
+            {
+                if (areas.get(i).contains(point))
+                {
+                    containing = i;
+                    break;
+                }
+            }
+            assertEquals(containing, index.containing(point), "containing " + where);
+
+            List<Integer> nearest = entries.stream()
+                    .filter(i -> distance.applyAsInt(i) != Integer.MAX_VALUE && (filter == null || filter.test(i)))
+                    .sorted(Comparator.comparingInt(distance).thenComparingInt(i -> i))
+                    .limit(k)
+                    .collect(Collectors.toList());
+            assertEquals(nearest, index.nearest(point, k, filter), "nearest " + k + " " + where);
+
+            List<Integer> within = entries.stream()
+                    .filter(i -> distance.applyAsInt(i) <= radius)
+                    .collect(Collectors.toList());
+            assertEquals(within, index.within(point, radius), "within " + radius + " " + where);
+        }
+    }
+
+    /**
+     * Mostly small rectangles with the odd one spanning several regions, over three planes.
+     */
+    private static List<WorldArea> randomAreas(Random random, int count)
+    {
+        List<WorldArea> areas = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+        {
+            int size = random.nextInt(10) == 0 ? 400 : 30;
+            areas.add(new WorldArea(1000 + random.nextInt(3000), 2500 + random.nextInt(8000),
+                    1 + random.nextInt(size), 1 + random.nextInt(size), random.nextInt(3)));
+        }
+        return areas;
+    }
+
+    /**
+     * Half anywhere, half on or just around an entry, sometimes on another plane.
+     */
+    private static WorldPoint randomPoint(Random random, List<WorldArea> areas)
+    {
+        if (random.nextBoolean())
+        {
+            return new WorldPoint(random.nextInt(5000), random.nextInt(12000), random.nextInt(3));
+        }
+        WorldArea area = areas.get(random.nextInt(areas.size()));
+        return new WorldPoint(area.getX() - 2 + random.nextInt(area.getWidth() + 4),
+                area.getY() - 2 + random.nextInt(area.getHeight() + 4),
+                random.nextBoolean() ? area.getPlane() : random.nextInt(3));
+    }
+}
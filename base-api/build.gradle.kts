@@ -24,6 +24,7 @@ dependencies {
     compileOnly("org.jetbrains:annotations:26.0.2")
     implementation("io.netty:netty-all:5.0.0.Alpha2")
     implementation("com.google.code.gson:gson:2.8.9")
+    implementation("org.ow2.asm:asm:9.2")
     compileOnly("com.google.inject:guice:5.1.0")
     implementation("org.apache.commons:commons-configuration2:2.8.0")
     implementation("commons-beanutils:commons-beanutils:1.11.0")
@@ -32,6 +33,12 @@ dependencies {
     implementation("org.antlr:antlr4:4.13.1")
     implementation("com.github.vlsi.mxgraph:jgraphx:4.2.2")
     implementation("org.jfree:jfreechart:1.5.4")
+    testImplementation(platform("org.junit:junit-bom:5.9.1"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+}
+
+tasks.test {
+    useJUnitPlatform()
 }
 
 val apiFilePatterns = mapOf(
@@ -4,6 +4,9 @@ import com.google.inject.Injector;
 import com.tonic.api.TClient;
 import com.tonic.headless.HeadlessMode;
 import com.tonic.model.RuneLite;
+import com.tonic.services.metrics.Counter;
+import com.tonic.services.metrics.Histogram;
+import com.tonic.services.metrics.Metrics;
 import com.tonic.util.ClientConfig;
 import com.tonic.util.RuneliteConfigUtil;
 import com.tonic.util.config.ConfigFactory;
@@ -35,6 +38,8 @@ public class Static
     private static VitaLiteOptions cliArgs = new VitaLiteOptions();
     private static Object CLIENT_OBJECT;
     private static RuneLite RL;
+    private static final Histogram INVOKE_WAIT = Metrics.timer("client.invoke.wait");
+    private static final Counter INVOKE_DIRECT = Metrics.counter("client.invoke.direct");
 
     /**
      * get client instance
@@ -100,11 +105,15 @@ public class Static
     public static <T> T invoke(Supplier<T> supplier) {
         TClient T_CLIENT = (TClient) CLIENT_OBJECT;
         if (!T_CLIENT.isClientThread()) {
+            long start = System.nanoTime();
             CompletableFuture<T> future = new CompletableFuture<>();
             Runnable runnable = () -> future.complete(supplier.get());
             invoke(runnable);
-            return future.join();
+            T value = future.join();
+            INVOKE_WAIT.recordSince(start);
+            return value;
         } else {
+            INVOKE_DIRECT.increment();
             return supplier.get();
         }
     }
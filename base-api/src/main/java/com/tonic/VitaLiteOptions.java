@@ -80,6 +80,24 @@ public class VitaLiteOptions extends OptionsParser
     )
     private boolean runInjector = false;
 
+    @CLIArgument(
+            name = "verifyInjector",
+            description = "For use with developing the injector, checks the fused global patches against the legacy passes"
+    )
+    private boolean verifyInjector = false;
+
+    @CLIArgument(
+            name = "lazyPatches",
+            description = "[Optional] Patch each client class when it is first loaded instead of all at startup"
+    )
+    private boolean lazyPatches = false;
+
+    @CLIArgument(
+            name = "verifyLazyPatches",
+            description = "For use with -lazyPatches, checks the classes patched on load against patching everything up front"
+    )
+    private boolean verifyLazyPatches = false;
+
     @CLIArgument(
             name = "targetBootstrap",
             description = "Bootstrap a specific runelite version"
@@ -59,5 +59,10 @@ public class HeadlessMode {
         frame.setMinimumSize(minSize);
 
         Logger.info("Headless mode turned " + (headless ? "on" : "off"));
+        if(headless && !RenderGate.isOverlayHooked())
+        {
+            Logger.warn("Headless mode skips scene models but overlays are still drawn. The client patches "
+                    + "predate the overlay hook, regenerate patches.zip with -runInjector.");
+        }
     }
 }
@@ -0,0 +1,139 @@
+package com.tonic.headless;
+
+import com.tonic.Static;
+import com.tonic.services.metrics.Counter;
+import com.tonic.services.metrics.Metrics;
+
+/**
+ * Decides, once per client frame, whether the frame's scene models and RuneLite overlays are drawn. While
+ * headless both are skipped unless the configured draw rate is due. The rest of the frame (interfaces, the
+ * login screen, canvas upkeep) still runs, and game ticks, packets and events run on the client cycle, not the
+ * frame, so none of them are affected.
+ * <p>
+ * {@link #beginFrame()} is called on every BeforeRender. Scene models ask {@link #isDrawing()} through a
+ * RuneLite draw listener, which needs nothing from the client patches. Overlays ask {@link #drawOverlays()}
+ * from the OverlayRenderer hook, which only exists once patches.zip is regenerated with -runInjector. Until
+ * then overlays keep being drawn; {@link #isOverlayHooked()} tells the two apart and {@link HeadlessMode}
+ * reports it when headless mode is turned on.
+ */
+public class RenderGate
+{
+    private static final Counter DRAWN = Metrics.counter("render.frames.drawn");
+    private static final Counter SKIPPED = Metrics.counter("render.frames.skipped");
+    private static final long UNSET = Long.MIN_VALUE;
+
+    // nanos between headless frames, -1 to draw none, read from the config on first use
+    private static volatile long interval = UNSET;
+    private static volatile boolean drawing = true;
+    private static volatile boolean overlayHooked;
+    private static long lastDraw;
+
+    /**
+     * @param fps frames per second to draw while headless, 0 to draw none
+     */
+    public static void setDrawRate(int fps)
+    {
+        Static.getVitaConfig().setHeadlessDrawRate(Math.max(fps, 0));
+        interval = toInterval(fps);
+    }
+
+    /**
+     * @return frames per second drawn while headless, 0 for none
+     */
+    public static int getDrawRate()
+    {
+        long current = interval();
+        return current < 0 ? 0 : (int) (1_000_000_000L / current);
+    }
+
+    /**
+     * @return whether the overlay hook has asked the gate yet, false if the client patches lack it
+     */
+    public static boolean isOverlayHooked()
+    {
+        return overlayHooked;
+    }
+
+    /**
+     * Called on the client thread before every frame.
+     * @return whether the frame is drawn
+     */
+    public static boolean beginFrame()
+    {
+        return beginFrame(Static.isHeadless(), System.nanoTime());
+    }
+
+    /**
+     * {@link #beginFrame()} on an explicit clock, for client loops driven outside the game such as the
+     * benchmarks.
+     */
+    public static boolean beginFrame(boolean headless, long now)
+    {
+        if(!headless)
+        {
+            drawing = true;
+            return true;
+        }
+
+        long current = interval();
+        if(current < 0 || now - lastDraw < current)
+        {
+            SKIPPED.increment();
+            drawing = false;
+            return false;
+        }
+        lastDraw = now;
+        DRAWN.increment();
+        drawing = true;
+        return true;
+    }
+
+    /**
+     * @return whether the current frame is drawn, asked by the scene's draw listener for every model
+     */
+    public static boolean isDrawing()
+    {
+        return drawing;
+    }
+
+    /**
+     * Asked by the OverlayRenderer hook before each overlay layer.
+     * @return whether the current frame's overlays are drawn
+     */
+    public static boolean drawOverlays()
+    {
+        if(!overlayHooked)
+        {
+            overlayHooked = true;
+        }
+        return drawing;
+    }
+
+    /**
+     * Start over at the given rate without touching the config.
+     * @param fps frames per second to draw while headless, 0 to draw none
+     */
+    public static void reset(int fps)
+    {
+        interval = toInterval(fps);
+        drawing = true;
+        overlayHooked = false;
+        lastDraw = 0;
+    }
+
+    private static long interval()
+    {
+        long current = interval;
+        if(current == UNSET)
+        {
+            current = toInterval(Static.getVitaConfig().getHeadlessDrawRate());
+            interval = current;
+        }
+        return current;
+    }
+
+    private static long toInterval(int fps)
+    {
+        return fps <= 0 ? -1 : 1_000_000_000L / fps;
+    }
+}
@@ -0,0 +1,204 @@
+package com.tonic.model.ui;
+
+import com.tonic.model.ui.components.FancyButton;
+import com.tonic.model.ui.components.VitaFrame;
+import com.tonic.services.metrics.Counter;
+import com.tonic.services.metrics.Gauge;
+import com.tonic.services.metrics.Histogram;
+import com.tonic.services.metrics.Metrics;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.awt.datatransfer.StringSelection;
+import java.nio.file.Path;
+
+public class MetricsViewer extends VitaFrame {
+
+    private static MetricsViewer instance;
+    private DefaultTableModel tableModel;
+    private JTable table;
+    private JLabel statusLabel;
+    private Timer refreshTimer;
+
+    private MetricsViewer() {
+        super("Metrics");
+        setSize(900, 600);
+        setDefaultCloseOperation(JFrame.HIDE_ON_CLOSE);
+        setLocationRelativeTo(null);
+
+        initComponents();
+    }
+
+    private void initComponents() {
+        JPanel contentPanel = getContentPanel();
+        contentPanel.setLayout(new BorderLayout());
+        contentPanel.setBackground(new Color(35, 45, 60));
+
+        tableModel = new DefaultTableModel(new Object[]{"Metric", "Count", "Mean", "p50", "p90", "p99", "Max"}, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+
+        table = new JTable(tableModel);
+        table.setDefaultRenderer(Object.class, new MetricCellRenderer());
+        table.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        table.getTableHeader().setFont(new Font("Segoe UI", Font.BOLD, 14));
+        table.getTableHeader().setBackground(new Color(40, 60, 90));
+        table.getTableHeader().setForeground(Color.WHITE);
+        table.setShowGrid(true);
+        table.setGridColor(new Color(60, 80, 110));
+        table.setSelectionBackground(new Color(70, 110, 160));
+        table.setSelectionForeground(Color.WHITE);
+        table.setRowHeight(26);
+        table.getColumnModel().getColumn(0).setPreferredWidth(320);
+
+        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        scrollPane.getViewport().setBackground(new Color(45, 55, 70));
+        scrollPane.setBackground(new Color(35, 45, 60));
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 8, 6));
+        buttonPanel.setBackground(new Color(35, 45, 60));
+
+        FancyButton copyJson = new FancyButton("Copy JSON");
+        copyJson.addActionListener(e -> copy(Metrics.toJson(), "JSON"));
+        buttonPanel.add(copyJson);
+
+        FancyButton copyPrometheus = new FancyButton("Copy Prometheus");
+        copyPrometheus.addActionListener(e -> copy(Metrics.toPrometheus(), "Prometheus text"));
+        buttonPanel.add(copyPrometheus);
+
+        FancyButton dump = new FancyButton("Dump to disk");
+        dump.addActionListener(e -> {
+            try {
+                Path path = Metrics.dump();
+                statusLabel.setText(" Dumped metrics to " + path);
+            } catch (Exception ex) {
+                statusLabel.setText(" Failed to dump metrics: " + ex.getMessage());
+            }
+        });
+        buttonPanel.add(dump);
+
+        FancyButton reset = new FancyButton("Reset");
+        reset.addActionListener(e -> {
+            Metrics.reset();
+            refresh();
+        });
+        buttonPanel.add(reset);
+
+        statusLabel = new JLabel(" Ready", SwingConstants.LEFT);
+        statusLabel.setFont(new Font("Segoe UI", Font.PLAIN, 11));
+        statusLabel.setForeground(new Color(200, 210, 220));
+        statusLabel.setBackground(new Color(30, 40, 55));
+        statusLabel.setOpaque(true);
+        statusLabel.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createMatteBorder(1, 0, 0, 0, new Color(60, 80, 110)),
+                BorderFactory.createEmptyBorder(5, 10, 5, 10)
+        ));
+
+        JPanel south = new JPanel(new BorderLayout());
+        south.add(buttonPanel, BorderLayout.NORTH);
+        south.add(statusLabel, BorderLayout.SOUTH);
+
+        contentPanel.add(scrollPane, BorderLayout.CENTER);
+        contentPanel.add(south, BorderLayout.SOUTH);
+
+        // only poll the registry while the window is actually showing
+        refreshTimer = new Timer(1000, e -> refresh());
+    }
+
+    /**
+     * Toggle the metrics window
+     */
+    public static void toggle() {
+        SwingUtilities.invokeLater(() -> {
+            if(instance != null && instance.isVisible()) {
+                instance.refreshTimer.stop();
+                instance.setVisible(false);
+                return;
+            }
+
+            if (instance == null) {
+                instance = new MetricsViewer();
+            }
+            instance.refresh();
+            instance.refreshTimer.start();
+            instance.setVisible(true);
+            instance.toFront();
+            instance.requestFocus();
+        });
+    }
+
+    @Override
+    public void setVisible(boolean visible) {
+        if (!visible && refreshTimer != null) {
+            refreshTimer.stop();
+        }
+        super.setVisible(visible);
+    }
+
+    private void refresh() {
+        int selected = table.getSelectedRow();
+        tableModel.setRowCount(0);
+
+        int rows = 0;
+        for (Histogram histogram : Metrics.getHistograms()) {
+            Histogram.Snapshot snapshot = histogram.snapshot();
+            boolean timer = snapshot.isTimer();
+            tableModel.addRow(new Object[]{
+                    snapshot.getName() + (timer ? " (ms)" : ""),
+                    snapshot.getCount(),
+                    format(snapshot.getMean(), timer),
+                    format(snapshot.getValueAt(0.5), timer),
+                    format(snapshot.getValueAt(0.9), timer),
+                    format(snapshot.getValueAt(0.99), timer),
+                    format(snapshot.getMax(), timer)
+            });
+            rows++;
+        }
+        for (Counter counter : Metrics.getCounters()) {
+            tableModel.addRow(new Object[]{counter.getName(), counter.get(), "", "", "", "", ""});
+            rows++;
+        }
+        for (Gauge gauge : Metrics.getGauges()) {
+            tableModel.addRow(new Object[]{gauge.getName(), "", format(gauge.get(), false), "", "", "", ""});
+            rows++;
+        }
+
+        if (selected >= 0 && selected < rows) {
+            table.setRowSelectionInterval(selected, selected);
+        }
+        statusLabel.setText(" Displaying " + rows + " metric(s)");
+    }
+
+    private void copy(String text, String type) {
+        Toolkit.getDefaultToolkit().getSystemClipboard().setContents(new StringSelection(text), null);
+        statusLabel.setText(" Copied " + type + " to clipboard");
+    }
+
+    private static String format(double value, boolean timer) {
+        if (Double.isNaN(value)) {
+            return "-";
+        }
+        return String.format("%.2f", timer ? value / 1_000_000.0 : value);
+    }
+
+    private static class MetricCellRenderer extends DefaultTableCellRenderer {
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value,
+                                                       boolean isSelected, boolean hasFocus,
+                                                       int row, int column) {
+            super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+            if (!isSelected) {
+                setBackground(row % 2 == 0 ? new Color(45, 55, 70) : new Color(55, 65, 85));
+                setForeground(Color.WHITE);
+            }
+            setHorizontalAlignment(column == 0 ? SwingConstants.LEFT : SwingConstants.RIGHT);
+            return this;
+        }
+    }
+}
@@ -244,6 +244,26 @@ public class VitaLiteOptionsPanel extends VPluginPanel {
         walkerPanel.addContent(pathfinderAlgo);
         walkerPanel.addVerticalStrut(12);
 
+        ToggleSlider streamPath = new ToggleSlider();
+        streamPath.setSelected(Static.getVitaConfig().shouldStreamWalkerPath());
+        walkerPanel.addContent(createToggleOption(
+                "Stream Walker Path",
+                "Start walking a provisional leg while the full path is still being searched",
+                streamPath,
+                () -> Static.getVitaConfig().setShouldStreamWalkerPath(streamPath.isSelected())
+        ));
+        walkerPanel.addVerticalStrut(12);
+
+        ToggleSlider cacheRoutes = new ToggleSlider();
+        cacheRoutes.setSelected(Static.getVitaConfig().shouldCacheWalkerRoutes());
+        walkerPanel.addContent(createToggleOption(
+                "Cache Walker Routes",
+                "Reuse solved routes instead of searching again for the same walk",
+                cacheRoutes,
+                () -> Static.getVitaConfig().setShouldCacheWalkerRoutes(cacheRoutes.isSelected())
+        ));
+        walkerPanel.addVerticalStrut(12);
+
         ToggleSlider drawPath = new ToggleSlider();
         drawPath.setSelected(Static.getVitaConfig().shouldDrawWalkerPath());
         walkerPanel.addContent(createToggleOption(
@@ -459,6 +479,11 @@ public class VitaLiteOptionsPanel extends VPluginPanel {
         FancyButton mouseButton = new FancyButton("Check Mouse Values");
         mouseButton.addActionListener(e -> checkMouseValues());
         debugPanel.addContent(mouseButton);
+        debugPanel.addVerticalStrut(12);
+
+        FancyButton metricsButton = new FancyButton("Metrics");
+        metricsButton.addActionListener(e -> MetricsViewer.toggle());
+        debugPanel.addContent(metricsButton);
 
         contentPanel.add(debugPanel);
         contentPanel.add(Box.createVerticalStrut(15));
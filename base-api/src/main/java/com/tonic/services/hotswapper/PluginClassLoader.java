@@ -1,6 +1,6 @@
 package com.tonic.services.hotswapper;
 
-import com.google.common.reflect.ClassPath;
+import org.objectweb.asm.ClassReader;
 
 import java.io.File;
 import java.io.IOException;
@@ -8,15 +8,29 @@ import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
-import java.util.List;
+import java.util.*;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
-import java.util.stream.Collectors;
 import java.util.zip.ZipFile;
 
+/**
+ * Loads a plugin jar. The jar's class names are indexed up front, so lookups go straight to the jar or
+ * straight to the parent without a failed search in between, and plugin classes are found by reading
+ * superclass names from the class files instead of loading everything in the jar.
+ */
 public class PluginClassLoader extends URLClassLoader {
+    // never defined by a plugin jar, skip the index lookup entirely
+    private static final String[] PARENT_FIRST = {"java.", "jdk.", "sun.", "com.sun."};
+
+    static {
+        ClassLoader.registerAsParallelCapable();
+    }
+
     private final ClassLoader parent;
     private final JarFile jarFile;
+    private final Set<String> classNames = new HashSet<>();
+    // binary class name -> binary superclass name, read lazily from the class files
+    private Map<String, String> superNames;
 
     public PluginClassLoader(File plugin, ClassLoader parent) throws MalformedURLException
     {
@@ -29,21 +43,58 @@ public class PluginClassLoader extends URLClassLoader {
             throw new RuntimeException(ex);
         }
         this.parent = parent;
+
+        Enumeration<JarEntry> entries = jarFile.entries();
+        while (entries.hasMoreElements()) {
+            String name = entries.nextElement().getName();
+            if (!name.endsWith(".class") || name.startsWith("META-INF/") || name.endsWith("module-info.class")) {
+                continue;
+            }
+            classNames.add(name.substring(0, name.length() - ".class".length()).replace('/', '.'));
+        }
     }
 
+    /**
+     * Load only the classes that extend a {@code Plugin}, directly or through other classes.
+     */
     public List<Class<?>> getPluginClasses() throws IOException {
-        return getClasses().stream()
-            .filter(this::inheritsPluginClass)
-            .collect(Collectors.toList());
+        List<Class<?>> classes = new ArrayList<>();
+        for (String name : getPluginClassNames()) {
+            try {
+                classes.add(loadClass(name));
+            } catch (ClassNotFoundException | LinkageError e) {
+                System.err.println("Failed to load plugin class " + name + ": " + e);
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * Names of the classes that extend a {@code Plugin}, found without loading any class from the jar.
+     */
+    public synchronized List<String> getPluginClassNames() throws IOException {
+        Map<String, String> supers = getSuperNames();
+        Map<String, Boolean> external = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        for (String name : supers.keySet()) {
+            if (inheritsPluginClass(name, supers, external)) {
+                names.add(name);
+            }
+        }
+        Collections.sort(names);
+        return names;
     }
 
     public List<Class<?>> getClasses() throws IOException {
-        return ClassPath.from(this)
-                .getAllClasses()
-                .stream()
-                .filter(info -> !info.getName().equals("module-info"))
-                .map(ClassPath.ClassInfo::load)
-                .collect(Collectors.toList());
+        List<Class<?>> classes = new ArrayList<>(classNames.size());
+        for (String name : classNames) {
+            try {
+                classes.add(loadClass(name));
+            } catch (ClassNotFoundException e) {
+                throw new IOException(e);
+            }
+        }
+        return classes;
     }
 
     public boolean inheritsPluginClass(Class<?> clazz) {
@@ -58,17 +109,89 @@ public class PluginClassLoader extends URLClassLoader {
         return inheritsPluginClass(clazz.getSuperclass());
     }
 
+    private boolean inheritsPluginClass(String name, Map<String, String> supers, Map<String, Boolean> external) {
+        String superName = supers.get(name);
+        while (superName != null) {
+            if (superName.endsWith(".Plugin")) {
+                return true;
+            }
+            String next = supers.get(superName);
+            if (next == null) {
+                // the chain leaves the jar, the parent's classes are loaded already or cheap to load
+                return external.computeIfAbsent(superName, this::parentInheritsPluginClass);
+            }
+            superName = next;
+        }
+        return false;
+    }
+
+    private boolean parentInheritsPluginClass(String name) {
+        if (name.equals("java.lang.Object")) {
+            return false;
+        }
+        try {
+            return inheritsPluginClass(parent.loadClass(name));
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private Map<String, String> getSuperNames() throws IOException {
+        if (superNames != null) {
+            return superNames;
+        }
+        Map<String, String> supers = new HashMap<>(classNames.size() * 2);
+        for (String name : classNames) {
+            JarEntry entry = jarFile.getJarEntry(name.replace('.', '/').concat(".class"));
+            try (InputStream in = jarFile.getInputStream(entry)) {
+                String superName = new ClassReader(in).getSuperName();
+                if (superName != null) {
+                    supers.put(name, superName.replace('/', '.'));
+                }
+            }
+        }
+        return superNames = supers;
+    }
+
     @Override
     public Class<?> loadClass(String name) throws ClassNotFoundException
     {
-        try
+        return loadClass(name, false);
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException
+    {
+        if (isParentFirst(name) || !classNames.contains(name))
         {
-            return super.loadClass(name);
+            return parent.loadClass(name);
         }
-        catch (Throwable ex)
+
+        synchronized (getClassLoadingLock(name))
         {
-            return parent.loadClass(name);
+            Class<?> clazz = findLoadedClass(name);
+            if (clazz == null)
+            {
+                clazz = findClass(name);
+            }
+            if (resolve)
+            {
+                resolveClass(clazz);
+            }
+            return clazz;
+        }
+    }
+
+    private static boolean isParentFirst(String name)
+    {
+        for (String prefix : PARENT_FIRST)
+        {
+            if (name.startsWith(prefix))
+            {
+                return true;
+            }
         }
+        return false;
     }
 
     @Override
@@ -90,4 +213,4 @@ public class PluginClassLoader extends URLClassLoader {
         jarFile.close();
         super.close();
     }
-}
\ No newline at end of file
+}
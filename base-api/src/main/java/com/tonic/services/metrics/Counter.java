@@ -0,0 +1,40 @@
+package com.tonic.services.metrics;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic counter, striped internally so concurrent increments do not contend.
+ */
+public class Counter
+{
+    @Getter
+    private final String name;
+    private final LongAdder value = new LongAdder();
+
+    Counter(String name)
+    {
+        this.name = name;
+    }
+
+    public void increment()
+    {
+        value.increment();
+    }
+
+    public void add(long amount)
+    {
+        value.add(amount);
+    }
+
+    public long get()
+    {
+        return value.sum();
+    }
+
+    void reset()
+    {
+        value.reset();
+    }
+}
@@ -0,0 +1,33 @@
+package com.tonic.services.metrics;
+
+import lombok.Getter;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Point in time value, sampled from a supplier whenever metrics are read.
+ */
+public class Gauge
+{
+    @Getter
+    private final String name;
+    private final DoubleSupplier supplier;
+
+    Gauge(String name, DoubleSupplier supplier)
+    {
+        this.name = name;
+        this.supplier = supplier;
+    }
+
+    public double get()
+    {
+        try
+        {
+            return supplier.getAsDouble();
+        }
+        catch (Exception e)
+        {
+            return Double.NaN;
+        }
+    }
+}
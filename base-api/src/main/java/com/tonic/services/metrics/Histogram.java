@@ -0,0 +1,211 @@
+package com.tonic.services.metrics;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * HDR-style log-linear histogram. Values below 16 get exact buckets, above that every power
+ * of two is split into 16 linear sub buckets, giving ~6% worst case relative error over the
+ * full long range with a fixed 976 bucket footprint.
+ * <p>
+ * Recording threads are spread over a fixed number of shards by thread id, so threads rarely
+ * contend and the footprint stays bounded however many threads record over the life of the
+ * process. Shards are created on first use and merged when a {@link Snapshot} is taken.
+ */
+public class Histogram
+{
+    private static final int SUB_BITS = 4;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    static final int BUCKET_COUNT = (64 - SUB_BITS + 1) * SUB_COUNT;
+    static final int SHARD_COUNT = Math.min(16, Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1);
+
+    @Getter
+    private final String name;
+    @Getter
+    private final boolean timer;
+    private final AtomicReferenceArray<Shard> shards = new AtomicReferenceArray<>(SHARD_COUNT);
+
+    Histogram(String name, boolean timer)
+    {
+        this.name = name;
+        this.timer = timer;
+    }
+
+    /**
+     * Record a value. For timers the value is in nanoseconds.
+     * @param value value, negatives are clamped to 0
+     */
+    public void record(long value)
+    {
+        shard().record(Math.max(0, value));
+    }
+
+    /**
+     * Record the time elapsed since a {@link System#nanoTime()} reading.
+     * @param startNanos start time
+     */
+    public void recordSince(long startNanos)
+    {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Merge all thread shards into a point in time snapshot.
+     */
+    public Snapshot snapshot()
+    {
+        long[] buckets = new long[BUCKET_COUNT];
+        long count = 0;
+        long sum = 0;
+        long max = 0;
+        for (int s = 0; s < SHARD_COUNT; s++)
+        {
+            Shard shard = shards.get(s);
+            if (shard == null)
+            {
+                continue;
+            }
+            for (int i = 0; i < BUCKET_COUNT; i++)
+            {
+                long value = shard.buckets.get(i);
+                buckets[i] += value;
+                count += value;
+            }
+            sum += shard.sum.get();
+            max = Math.max(max, shard.max.get());
+        }
+        return new Snapshot(name, timer, buckets, count, sum, max);
+    }
+
+    void reset()
+    {
+        for (int s = 0; s < SHARD_COUNT; s++)
+        {
+            Shard shard = shards.get(s);
+            if (shard != null)
+            {
+                shard.reset();
+            }
+        }
+    }
+
+    private Shard shard()
+    {
+        long id = Thread.currentThread().getId();
+        int index = (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & (SHARD_COUNT - 1);
+        Shard shard = shards.get(index);
+        if (shard == null)
+        {
+            shards.compareAndSet(index, null, new Shard());
+            shard = shards.get(index);
+        }
+        return shard;
+    }
+
+    static int bucketOf(long value)
+    {
+        if (value < SUB_COUNT)
+        {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int mantissa = (int) (value >>> (exponent - SUB_BITS));
+        return (exponent - SUB_BITS + 1) * SUB_COUNT + (mantissa - SUB_COUNT);
+    }
+
+    static long bucketUpperBound(int bucket)
+    {
+        if (bucket < SUB_COUNT)
+        {
+            return bucket;
+        }
+        int exponent = bucket / SUB_COUNT + SUB_BITS - 1;
+        long mantissa = bucket % SUB_COUNT + SUB_COUNT;
+        long bound = ((mantissa + 1) << (exponent - SUB_BITS)) - 1;
+        return bound < 0 ? Long.MAX_VALUE : bound;
+    }
+
+    private static final class Shard
+    {
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+        private final AtomicLong sum = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+
+        // shared by every thread that hashes here
+        void record(long value)
+        {
+            buckets.incrementAndGet(bucketOf(value));
+            sum.addAndGet(value);
+            long current = max.get();
+            while (value > current && !max.compareAndSet(current, value))
+            {
+                current = max.get();
+            }
+        }
+
+        void reset()
+        {
+            for (int i = 0; i < BUCKET_COUNT; i++)
+            {
+                buckets.set(i, 0);
+            }
+            sum.set(0);
+            max.set(0);
+        }
+    }
+
+    /**
+     * Immutable merged view of a histogram.
+     */
+    @Getter
+    public static final class Snapshot
+    {
+        private final String name;
+        private final boolean timer;
+        private final long count;
+        private final long sum;
+        private final long max;
+        private final long[] buckets;
+
+        Snapshot(String name, boolean timer, long[] buckets, long count, long sum, long max)
+        {
+            this.name = name;
+            this.timer = timer;
+            this.buckets = buckets;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public double getMean()
+        {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * @param quantile quantile in [0, 1]
+         * @return the upper bound of the bucket containing the quantile
+         */
+        public long getValueAt(double quantile)
+        {
+            if (count == 0)
+            {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++)
+            {
+                seen += buckets[i];
+                if (seen >= rank)
+                {
+                    return Math.min(bucketUpperBound(i), max);
+                }
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.tonic.services.metrics;
+
+import com.tonic.Static;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Process wide registry of timers, histograms, counters and gauges.
+ * <p>
+ * All recording paths are thread safe and allocation free once a metric exists; resolve
+ * metrics you record on hot paths once and keep the reference.
+ * <pre>
+ * try (Scope scope = Metrics.scope("pathfinder.astar"))
+ * {
+ *     ...
+ * }
+ * Metrics.counter("packets.in").increment();
+ * </pre>
+ */
+public class Metrics
+{
+    private static final ConcurrentHashMap<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, Gauge> GAUGES = new ConcurrentHashMap<>();
+
+    /**
+     * Open a nestable timing scope on the calling thread.
+     * @param name scope name, nested scopes are recorded as parent/child
+     * @return the scope, close it to record the elapsed time
+     */
+    public static Scope scope(String name)
+    {
+        return Scope.open(name);
+    }
+
+    /**
+     * Get or create a latency histogram (values in nanoseconds).
+     */
+    public static Histogram timer(String name)
+    {
+        return HISTOGRAMS.computeIfAbsent(name, n -> new Histogram(n, true));
+    }
+
+    /**
+     * Get or create a histogram of plain values (sizes, counts, lengths).
+     */
+    public static Histogram histogram(String name)
+    {
+        return HISTOGRAMS.computeIfAbsent(name, n -> new Histogram(n, false));
+    }
+
+    public static Counter counter(String name)
+    {
+        return COUNTERS.computeIfAbsent(name, Counter::new);
+    }
+
+    /**
+     * Register (or replace) a gauge.
+     */
+    public static Gauge gauge(String name, DoubleSupplier supplier)
+    {
+        Gauge gauge = new Gauge(name, supplier);
+        GAUGES.put(name, gauge);
+        return gauge;
+    }
+
+    public static List<Histogram> getHistograms()
+    {
+        List<Histogram> list = new ArrayList<>(HISTOGRAMS.values());
+        list.sort(Comparator.comparing(Histogram::getName));
+        return list;
+    }
+
+    public static List<Counter> getCounters()
+    {
+        List<Counter> list = new ArrayList<>(COUNTERS.values());
+        list.sort(Comparator.comparing(Counter::getName));
+        return list;
+    }
+
+    public static List<Gauge> getGauges()
+    {
+        List<Gauge> list = new ArrayList<>(GAUGES.values());
+        list.sort(Comparator.comparing(Gauge::getName));
+        return list;
+    }
+
+    /**
+     * Zero every histogram and counter. Gauges are sampled live and are unaffected.
+     */
+    public static void reset()
+    {
+        HISTOGRAMS.values().forEach(Histogram::reset);
+        COUNTERS.values().forEach(Counter::reset);
+    }
+
+    public static String toJson()
+    {
+        return MetricsExporter.toJson();
+    }
+
+    public static String toPrometheus()
+    {
+        return MetricsExporter.toPrometheus();
+    }
+
+    /**
+     * Write JSON and Prometheus text dumps to the vitalite metrics directory.
+     * @return the directory written to
+     */
+    public static Path dump() throws IOException
+    {
+        Path dir = Static.VITA_DIR.resolve("metrics");
+        Files.createDirectories(dir);
+        String base = "metrics-" + ProcessHandle.current().pid();
+        Files.write(dir.resolve(base + ".json"), toJson().getBytes(StandardCharsets.UTF_8));
+        Files.write(dir.resolve(base + ".prom"), toPrometheus().getBytes(StandardCharsets.UTF_8));
+        return dir;
+    }
+}
@@ -0,0 +1,115 @@
+package com.tonic.services.metrics;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+
+import java.util.Locale;
+
+/**
+ * Renders the {@link Metrics} registry as JSON or Prometheus text exposition format.
+ * Every sample is labelled with the client pid so dumps from several clients on one
+ * host can be scraped side by side.
+ */
+class MetricsExporter
+{
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    static String toJson()
+    {
+        JsonObject root = new JsonObject();
+        root.addProperty("client", ProcessHandle.current().pid());
+        root.addProperty("timestamp", System.currentTimeMillis());
+
+        JsonObject timers = new JsonObject();
+        JsonObject histograms = new JsonObject();
+        for (Histogram histogram : Metrics.getHistograms())
+        {
+            Histogram.Snapshot snapshot = histogram.snapshot();
+            double scale = snapshot.isTimer() ? 1_000_000d : 1d;
+            JsonObject entry = new JsonObject();
+            entry.addProperty("count", snapshot.getCount());
+            entry.addProperty("mean", snapshot.getMean() / scale);
+            for (double quantile : QUANTILES)
+            {
+                entry.addProperty("p" + (int) (quantile * 100), snapshot.getValueAt(quantile) / scale);
+            }
+            entry.addProperty("max", snapshot.getMax() / scale);
+            (snapshot.isTimer() ? timers : histograms).add(histogram.getName(), entry);
+        }
+        root.add("timers_ms", timers);
+        root.add("histograms", histograms);
+
+        JsonObject counters = new JsonObject();
+        for (Counter counter : Metrics.getCounters())
+        {
+            counters.addProperty(counter.getName(), counter.get());
+        }
+        root.add("counters", counters);
+
+        JsonObject gauges = new JsonObject();
+        for (Gauge gauge : Metrics.getGauges())
+        {
+            gauges.addProperty(gauge.getName(), gauge.get());
+        }
+        root.add("gauges", gauges);
+
+        return new GsonBuilder().setPrettyPrinting().serializeSpecialFloatingPointValues().create().toJson(root);
+    }
+
+    static String toPrometheus()
+    {
+        String client = "client=\"" + ProcessHandle.current().pid() + "\"";
+        StringBuilder out = new StringBuilder();
+
+        for (Histogram histogram : Metrics.getHistograms())
+        {
+            Histogram.Snapshot snapshot = histogram.snapshot();
+            String name = sanitize(histogram.getName()) + (snapshot.isTimer() ? "_seconds" : "");
+            double scale = snapshot.isTimer() ? 1_000_000_000d : 1d;
+            out.append("# TYPE ").append(name).append(" summary\n");
+            for (double quantile : QUANTILES)
+            {
+                out.append(name).append('{').append(client).append(",quantile=\"").append(quantile).append("\"} ")
+                        .append(format(snapshot.getValueAt(quantile) / scale)).append('\n');
+            }
+            out.append(name).append("_sum{").append(client).append("} ").append(format(snapshot.getSum() / scale)).append('\n');
+            out.append(name).append("_count{").append(client).append("} ").append(snapshot.getCount()).append('\n');
+        }
+
+        for (Counter counter : Metrics.getCounters())
+        {
+            String name = sanitize(counter.getName()) + "_total";
+            out.append("# TYPE ").append(name).append(" counter\n");
+            out.append(name).append('{').append(client).append("} ").append(counter.get()).append('\n');
+        }
+
+        for (Gauge gauge : Metrics.getGauges())
+        {
+            String name = sanitize(gauge.getName());
+            out.append("# TYPE ").append(name).append(" gauge\n");
+            out.append(name).append('{').append(client).append("} ").append(format(gauge.get())).append('\n');
+        }
+
+        return out.toString();
+    }
+
+    private static String sanitize(String name)
+    {
+        StringBuilder out = new StringBuilder("vitalite_");
+        for (int i = 0; i < name.length(); i++)
+        {
+            char c = name.charAt(i);
+            out.append(Character.isLetterOrDigit(c) || c == '_' ? c : '_');
+        }
+        return out.toString();
+    }
+
+    private static String format(double value)
+    {
+        if (Double.isNaN(value))
+        {
+            return "NaN";
+        }
+        return String.format(Locale.ROOT, "%.9g", value);
+    }
+}
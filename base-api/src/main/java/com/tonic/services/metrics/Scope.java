@@ -0,0 +1,116 @@
+package com.tonic.services.metrics;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A timing scope. Scopes opened while another scope is open on the same thread are nested
+ * under it, so {@code pathfinder.astar} opened inside {@code walker.walk} records into
+ * {@code walker.walk/pathfinder.astar}. Use with try-with-resources.
+ * <p>
+ * Scope paths and their timers are resolved once per parent and name and kept in a tree, so
+ * opening a scope that has been opened before neither builds its path nor touches the registry.
+ */
+public final class Scope implements AutoCloseable
+{
+    private static final ThreadLocal<ArrayDeque<Scope>> STACK = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ConcurrentHashMap<String, Node> ROOTS = new ConcurrentHashMap<>();
+
+    private final Node node;
+    private final long start;
+    private long elapsed = -1;
+
+    private Scope(Node node)
+    {
+        this.node = node;
+        this.start = System.nanoTime();
+    }
+
+    static Scope open(String name)
+    {
+        ArrayDeque<Scope> stack = STACK.get();
+        Scope parent = stack.peek();
+        Scope scope = new Scope(parent == null ? Node.child(ROOTS, null, name) : parent.node.child(name));
+        stack.push(scope);
+        return scope;
+    }
+
+    /**
+     * @return the innermost open scope on the calling thread, or null
+     */
+    public static Scope current()
+    {
+        return STACK.get().peek();
+    }
+
+    public String getPath()
+    {
+        return node.path;
+    }
+
+    /**
+     * @return nanoseconds since the scope was opened, frozen once it is closed
+     */
+    public long elapsedNanos()
+    {
+        return elapsed >= 0 ? elapsed : System.nanoTime() - start;
+    }
+
+    public long elapsedMillis()
+    {
+        return elapsedNanos() / 1_000_000L;
+    }
+
+    @Override
+    public void close()
+    {
+        if (elapsed >= 0)
+        {
+            return;
+        }
+        elapsed = System.nanoTime() - start;
+        node.histogram.record(elapsed);
+
+        // tolerate scopes closed out of order rather than corrupting the stack
+        ArrayDeque<Scope> stack = STACK.get();
+        if (stack.peek() == this)
+        {
+            stack.pop();
+        }
+        else
+        {
+            stack.remove(this);
+        }
+    }
+
+    /**
+     * A resolved scope path and its timer.
+     */
+    private static final class Node
+    {
+        private final String path;
+        private final Histogram histogram;
+        private final ConcurrentHashMap<String, Node> children = new ConcurrentHashMap<>();
+
+        private Node(String path)
+        {
+            this.path = path;
+            this.histogram = Metrics.timer(path);
+        }
+
+        Node child(String name)
+        {
+            return child(children, this, name);
+        }
+
+        static Node child(ConcurrentHashMap<String, Node> nodes, Node parent, String name)
+        {
+            Node node = nodes.get(name);
+            if (node != null)
+            {
+                return node;
+            }
+            return nodes.computeIfAbsent(name, n -> new Node(parent == null ? n : parent.path + "/" + n));
+        }
+    }
+}
@@ -8,7 +8,9 @@ public enum PathfinderAlgo
     BI_DIR_BFS("com.tonic.services.pathfinder.implimentations.bidirbfs.BiDirBFSAlgo"),
     FLOW_FIELD("com.tonic.services.pathfinder.implimentations.flowfield.FlowFieldAlgo"),
     ASTAR("com.tonic.services.pathfinder.implimentations.astar.AStarAlgo"),
-    JPS("com.tonic.services.pathfinder.implimentations.jps.JPSAlgo")
+    JPS("com.tonic.services.pathfinder.implimentations.jps.JPSAlgo"),
+    JPS_PLUS("com.tonic.services.pathfinder.implimentations.jps.JPSPlusAlgo"),
+    PARALLEL_BIDIR("com.tonic.services.pathfinder.implimentations.parallel.ParallelBiDirAlgo")
     ;
 
     private final String fqdn;
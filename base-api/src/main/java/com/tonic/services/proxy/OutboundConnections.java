@@ -0,0 +1,456 @@
+package com.tonic.services.proxy;
+
+import com.tonic.services.metrics.Counter;
+import com.tonic.services.metrics.Histogram;
+import com.tonic.services.metrics.Metrics;
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Every outbound HTTP request and socket of the client goes through here, so all of them take the
+ * {@link ProxyManager} route and are counted in {@link Metrics} and, when proxied, in {@link ProxyMetrics}.
+ * <p>
+ * Requests run on {@link HttpURLConnection}, the JDK client that can go through SOCKS as well as HTTP proxies.
+ * Its keep-alive cache pools idle connections per host and proxy; a connection only goes back to the pool once
+ * its response body has been read to the end and closed, which every helper here does, and is never
+ * disconnected on success.
+ * <p>
+ * That includes the launcher's own downloads in RLUpdater, which run after {@link ProxyManager#process(String)}
+ * and so fetch the RuneLite bootstrap and artifacts through the user's proxy as well.
+ */
+public class OutboundConnections
+{
+    private static final int CONNECT_TIMEOUT = 10000;
+    private static final int READ_TIMEOUT = 30000;
+    private static final int MAX_REDIRECTS = 5;
+
+    private static final Counter REQUESTS = Metrics.counter("http.out.requests");
+    private static final Counter FAILURES = Metrics.counter("http.out.failures");
+    private static final Counter BYTES_SENT = Metrics.counter("http.out.bytes.sent");
+    private static final Counter BYTES_RECEIVED = Metrics.counter("http.out.bytes.received");
+    private static final Histogram LATENCY = Metrics.timer("http.out.latency");
+    private static final Counter SOCKETS = Metrics.counter("socket.out.connects");
+    private static final Histogram SOCKET_CONNECT = Metrics.timer("socket.out.connect");
+
+    /**
+     * @return the proxy outbound traffic takes, {@link Proxy#NO_PROXY} if none is set
+     */
+    public static Proxy proxy()
+    {
+        ProxyMetrics metrics = ProxyManager.getProxy();
+        return metrics == null || metrics.getProxy() == null ? Proxy.NO_PROXY : metrics.getProxy();
+    }
+
+    /**
+     * GET a resource into memory.
+     * @return the response, whatever its status
+     */
+    public static Response get(String url, Map<String, String> headers) throws IOException
+    {
+        return send("GET", url, headers, null);
+    }
+
+    /**
+     * POST a body and read the response into memory.
+     * @return the response, whatever its status
+     */
+    public static Response post(String url, Map<String, String> headers, byte[] body) throws IOException
+    {
+        return send("POST", url, headers, body);
+    }
+
+    /**
+     * GET a resource straight to a file.
+     * @return the response status, the file is only written on 200
+     */
+    public static int download(String url, Map<String, String> headers, Path destination) throws IOException
+    {
+        HttpURLConnection connection = open("GET", url, headers, null);
+        try (InputStream in = body(connection))
+        {
+            if (connection.getResponseCode() != HttpURLConnection.HTTP_OK)
+            {
+                in.transferTo(OutputStream.nullOutputStream());
+                return connection.getResponseCode();
+            }
+            try (OutputStream out = Files.newOutputStream(destination))
+            {
+                in.transferTo(out);
+            }
+            return HttpURLConnection.HTTP_OK;
+        }
+    }
+
+    /**
+     * Open a resource as a stream, for callers that read it themselves. Close it when done so the connection
+     * can be reused.
+     */
+    public static InputStream stream(URL url) throws IOException
+    {
+        HttpURLConnection connection = open("GET", url.toString(), Collections.emptyMap(), null);
+        if (connection.getResponseCode() >= 400)
+        {
+            try (InputStream in = body(connection))
+            {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            throw new IOException("HTTP " + connection.getResponseCode() + " for " + url);
+        }
+        return body(connection);
+    }
+
+    /**
+     * Connect a socket through the proxy, if any. Its streams are counted.
+     * <p>
+     * SOCKS proxies are left to the JDK. HTTP proxies get a CONNECT tunnel opened here instead, since the JDK's
+     * own tunnel for plain sockets never sends proxy credentials.
+     */
+    public static Socket connect(InetSocketAddress address, int timeout) throws IOException
+    {
+        ProxyMetrics metrics = ProxyManager.getProxy();
+        long start = System.nanoTime();
+        boolean tunnel = metrics != null && metrics.getProxy().type() == Proxy.Type.HTTP;
+        Socket socket = metrics == null || tunnel ? new MeteredSocket(metrics) : new MeteredSocket(proxy(), metrics);
+        try
+        {
+            if (tunnel)
+            {
+                socket.connect(metrics.getProxy().address(), timeout);
+                tunnel(socket, address, metrics.getProxyInfo(), timeout);
+            }
+            else
+            {
+                socket.connect(address, timeout);
+            }
+        }
+        catch (IOException e)
+        {
+            socket.close();
+            throw e;
+        }
+        SOCKETS.increment();
+        SOCKET_CONNECT.recordSince(start);
+        if (metrics != null)
+        {
+            metrics.getConnections().increment();
+            metrics.getLatencyNanos().add(System.nanoTime() - start);
+        }
+        return socket;
+    }
+
+    /**
+     * Ask an HTTP proxy to open a tunnel to the address, with basic auth when the proxy has credentials.
+     * The response is read a byte at a time so nothing past its headers is taken from the socket.
+     */
+    private static void tunnel(Socket socket, InetSocketAddress address, ProxyInfo info, int timeout) throws IOException
+    {
+        String host = address.getHostString();
+        String target = (host.indexOf(':') != -1 ? "[" + host + "]" : host) + ":" + address.getPort();
+        StringBuilder request = new StringBuilder()
+                .append("CONNECT ").append(target).append(" HTTP/1.1\r\n")
+                .append("Host: ").append(target).append("\r\n");
+        if (info.getUser() != null && info.getPass() != null)
+        {
+            String credentials = info.getUser() + ":" + info.getPass();
+            request.append("Proxy-Authorization: Basic ")
+                    .append(Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)))
+                    .append("\r\n");
+        }
+        request.append("\r\n");
+
+        int soTimeout = socket.getSoTimeout();
+        socket.setSoTimeout(timeout);
+        OutputStream out = socket.getOutputStream();
+        out.write(request.toString().getBytes(StandardCharsets.ISO_8859_1));
+        out.flush();
+
+        InputStream in = socket.getInputStream();
+        ByteArrayOutputStream head = new ByteArrayOutputStream();
+        int matched = 0;
+        while (matched < 4)
+        {
+            int b = in.read();
+            if (b == -1)
+            {
+                throw new IOException("Proxy closed the connection before answering CONNECT " + target);
+            }
+            head.write(b);
+            matched = b == (matched % 2 == 0 ? '\r' : '\n') ? matched + 1 : b == '\r' ? 1 : 0;
+            if (head.size() > 8192)
+            {
+                throw new IOException("Proxy answer to CONNECT " + target + " is too long");
+            }
+        }
+        String status = head.toString(StandardCharsets.ISO_8859_1);
+        status = status.substring(0, status.indexOf('\r'));
+        String[] parts = status.split(" ", 3);
+        if (parts.length < 2 || !parts[0].startsWith("HTTP/") || !parts[1].equals("200"))
+        {
+            throw new IOException("Proxy refused CONNECT " + target + ": " + status);
+        }
+        socket.setSoTimeout(soTimeout);
+    }
+
+    private static Response send(String method, String url, Map<String, String> headers, byte[] body) throws IOException
+    {
+        HttpURLConnection connection = open(method, url, headers, body);
+        try (InputStream in = body(connection))
+        {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(connection.getContentLength(), 256));
+            in.transferTo(out);
+            return new Response(connection.getResponseCode(), out.toByteArray());
+        }
+    }
+
+    /**
+     * Send a request and wait for the response headers, following redirects across http and https.
+     */
+    private static HttpURLConnection open(String method, String url, Map<String, String> headers, byte[] body) throws IOException
+    {
+        ProxyMetrics metrics = ProxyManager.getProxy();
+        Proxy proxy = proxy();
+        long start = System.nanoTime();
+        REQUESTS.increment();
+        if (metrics != null)
+        {
+            metrics.getRequests().increment();
+        }
+        try
+        {
+            URL target = new URL(url);
+            for (int redirects = 0; ; redirects++)
+            {
+                // without a proxy of our own the JDK's proxy settings still apply
+                HttpURLConnection connection = (HttpURLConnection) (proxy == Proxy.NO_PROXY
+                        ? target.openConnection()
+                        : target.openConnection(proxy));
+                connection.setInstanceFollowRedirects(false);
+                connection.setConnectTimeout(CONNECT_TIMEOUT);
+                connection.setReadTimeout(READ_TIMEOUT);
+                connection.setRequestMethod(method);
+                headers.forEach(connection::setRequestProperty);
+                if (body != null)
+                {
+                    connection.setDoOutput(true);
+                    connection.setFixedLengthStreamingMode(body.length);
+                    try (OutputStream out = connection.getOutputStream())
+                    {
+                        out.write(body);
+                    }
+                    BYTES_SENT.add(body.length);
+                    if (metrics != null)
+                    {
+                        metrics.getBytesSent().add(body.length);
+                    }
+                }
+
+                int status = connection.getResponseCode();
+                String location = connection.getHeaderField("Location");
+                if (status < 300 || status >= 400 || location == null || redirects == MAX_REDIRECTS
+                        || status == 304)
+                {
+                    LATENCY.recordSince(start);
+                    if (metrics != null)
+                    {
+                        metrics.getLatencyNanos().add(System.nanoTime() - start);
+                    }
+                    return connection;
+                }
+
+                // drain the redirect so its connection goes back to the pool
+                try (InputStream in = body(connection))
+                {
+                    in.transferTo(OutputStream.nullOutputStream());
+                }
+                target = new URL(target, location);
+                if (status != 307 && status != 308)
+                {
+                    method = "GET";
+                    body = null;
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            FAILURES.increment();
+            if (metrics != null)
+            {
+                metrics.getFailures().increment();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return the response body, or error body, counted as it is read
+     */
+    private static InputStream body(HttpURLConnection connection) throws IOException
+    {
+        InputStream in = connection.getResponseCode() >= 400 ? connection.getErrorStream() : connection.getInputStream();
+        if (in == null)
+        {
+            in = InputStream.nullInputStream();
+        }
+        return new CountingInputStream(in, ProxyManager.getProxy());
+    }
+
+    /**
+     * A response read into memory.
+     */
+    @Getter
+    public static class Response
+    {
+        private final int status;
+        private final byte[] body;
+
+        public Response(int status, byte[] body)
+        {
+            this.status = status;
+            this.body = body;
+        }
+
+        public boolean isOk()
+        {
+            return status >= 200 && status < 300;
+        }
+
+        public String text()
+        {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream
+    {
+        private final ProxyMetrics metrics;
+
+        CountingInputStream(InputStream in, ProxyMetrics metrics)
+        {
+            super(in);
+            this.metrics = metrics;
+        }
+
+        @Override
+        public int read() throws IOException
+        {
+            int b = super.read();
+            if (b != -1)
+            {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException
+        {
+            int n = super.read(b, off, len);
+            if (n > 0)
+            {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(int n)
+        {
+            BYTES_RECEIVED.add(n);
+            if (metrics != null)
+            {
+                metrics.getBytesReceived().add(n);
+            }
+        }
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream
+    {
+        private final ProxyMetrics metrics;
+
+        CountingOutputStream(OutputStream out, ProxyMetrics metrics)
+        {
+            super(out);
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void write(int b) throws IOException
+        {
+            out.write(b);
+            count(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException
+        {
+            out.write(b, off, len);
+            count(len);
+        }
+
+        private void count(int n)
+        {
+            BYTES_SENT.add(n);
+            if (metrics != null)
+            {
+                metrics.getBytesSent().add(n);
+            }
+        }
+    }
+
+    /**
+     * Socket whose streams count the bytes that pass through them.
+     */
+    private static class MeteredSocket extends Socket
+    {
+        private final ProxyMetrics metrics;
+        private InputStream in;
+        private OutputStream out;
+
+        MeteredSocket(ProxyMetrics metrics)
+        {
+            this.metrics = metrics;
+        }
+
+        MeteredSocket(Proxy proxy, ProxyMetrics metrics)
+        {
+            super(proxy);
+            this.metrics = metrics;
+        }
+
+        @Override
+        public synchronized InputStream getInputStream() throws IOException
+        {
+            if (in == null)
+            {
+                in = new CountingInputStream(super.getInputStream(), metrics);
+            }
+            return in;
+        }
+
+        @Override
+        public synchronized OutputStream getOutputStream() throws IOException
+        {
+            if (out == null)
+            {
+                out = new CountingOutputStream(super.getOutputStream(), metrics);
+            }
+            return out;
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.tonic.services.proxy;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.net.Proxy;
+
 @Getter
 @AllArgsConstructor
 public class ProxyInfo {
@@ -10,14 +12,21 @@ public class ProxyInfo {
     private final String pass;
     private final String host;
     private final int port;
+    private final Proxy.Type type;
+
+    public ProxyInfo(String user, String pass, String host, int port)
+    {
+        this(user, pass, host, port, Proxy.Type.SOCKS);
+    }
 
     @Override
     public String toString()
     {
+        String scheme = type == Proxy.Type.HTTP ? "http://" : "";
         if(user == null || pass == null)
         {
-            return host + ":" + port;
+            return scheme + host + ":" + port;
         }
-        return user + ":" + pass + ":" + host + ":" + port;
+        return scheme + user + ":" + pass + ":" + host + ":" + port;
     }
-}
\ No newline at end of file
+}
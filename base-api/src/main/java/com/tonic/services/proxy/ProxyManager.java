@@ -4,39 +4,69 @@ import com.tonic.Logger;
 import lombok.Getter;
 import java.net.Authenticator;
 import java.net.PasswordAuthentication;
+import java.net.Proxy;
 
 public class ProxyManager
 {
     @Getter
     private static volatile ProxyMetrics proxy = null;
 
+    /**
+     * @param input host:port or host:port:user:pass, SOCKS unless prefixed with http://
+     */
     public static void process(String input) throws Exception {
+        Proxy.Type type = Proxy.Type.SOCKS;
+        int scheme = input.indexOf("://");
+        if(scheme != -1)
+        {
+            type = input.substring(0, scheme).equalsIgnoreCase("http") ? Proxy.Type.HTTP : Proxy.Type.SOCKS;
+            input = input.substring(scheme + 3);
+        }
         String[] parts = input.split(":");
         if(parts.length == 2)
         {
-            addProxy(parts[0], Integer.parseInt(parts[1]));
+            addProxy(parts[0], Integer.parseInt(parts[1]), null, null, type);
         }
         else if(parts.length == 4)
         {
-            addProxy(parts[0], Integer.parseInt(parts[1]), parts[2], parts[3]);
+            addProxy(parts[0], Integer.parseInt(parts[1]), parts[2], parts[3], type);
         }
         else
         {
-            Logger.error("Invalid proxy format. Use host:port or host:port:user:pass");
+            Logger.error("Invalid proxy format. Use [http://]host:port or [http://]host:port:user:pass");
         }
     }
 
     public static void addProxy(String host, int port) throws Exception {
-        ProxyInfo proxyInfo = new ProxyInfo(null, null, host, port);
-        proxy = new ProxyMetrics(proxyInfo);
+        addProxy(host, port, null, null, Proxy.Type.SOCKS);
     }
 
     public static void addProxy(String host, int port, String user, String pass) throws Exception {
-        ProxyInfo proxyInfo = new ProxyInfo(user, pass, host, port);
+        addProxy(host, port, user, pass, Proxy.Type.SOCKS);
+    }
+
+    public static void addProxy(String host, int port, String user, String pass, Proxy.Type type) throws Exception {
+        ProxyInfo proxyInfo = new ProxyInfo(user, pass, host, port, type);
         proxy = new ProxyMetrics(proxyInfo);
+        if(user == null || pass == null)
+            return;
+
+        if(type == Proxy.Type.HTTP)
+        {
+            // basic auth on CONNECT tunnels is off by default, https through an http proxy needs it
+            System.setProperty("jdk.http.auth.tunneling.disabledSchemes", "");
+        }
         Authenticator.setDefault(authenticator);
     }
 
+    /**
+     * Go back to direct connections. An authenticator installed for an earlier proxy stays the default.
+     */
+    public static void clearProxy()
+    {
+        proxy = null;
+    }
+
     @Getter
     private static final Authenticator authenticator = new Authenticator()
     {
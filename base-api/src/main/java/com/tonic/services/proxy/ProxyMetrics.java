@@ -2,7 +2,11 @@ package com.tonic.services.proxy;
 
 import lombok.Getter;
 import java.net.*;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * The proxy in use and what went through it, filled in by {@link OutboundConnections}.
+ */
 @Getter
 public class ProxyMetrics
 {
@@ -10,8 +14,23 @@ public class ProxyMetrics
         this.proxyInfo = proxyInfo;
         InetAddress address = InetAddress.getByName(proxyInfo.getHost());
         SocketAddress sa = new InetSocketAddress(address, proxyInfo.getPort());
-        proxy = new Proxy(Proxy.Type.SOCKS, sa);
+        proxy = new Proxy(proxyInfo.getType(), sa);
     }
     private final Proxy proxy;
     private final ProxyInfo proxyInfo;
-}
\ No newline at end of file
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder connections = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+
+    /**
+     * @return mean time to response headers or to a connected socket, in milliseconds
+     */
+    public double getMeanLatencyMillis()
+    {
+        long count = requests.sum() + connections.sum();
+        return count == 0 ? 0 : latencyNanos.sum() / 1_000_000.0 / count;
+    }
+}
@@ -0,0 +1,10 @@
+package com.tonic.util;
+
+/**
+ * A task that winds itself down when asked. Cancelling the {@link java.util.concurrent.Future} the
+ * {@link ThreadPool} returned for it calls {@link #cancel()} instead of relying on thread interrupts.
+ */
+public interface Cancellable
+{
+    void cancel();
+}
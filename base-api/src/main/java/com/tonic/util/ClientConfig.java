@@ -47,6 +47,16 @@ public interface ClientConfig extends VitaConfig {
     @ConfigKey(value = "pathfinderImpl")
     void setPathfinderImpl(PathfinderAlgo impl);
 
+    @ConfigKey(value = "streamWalkerPath", defaultValue = "false")
+    boolean shouldStreamWalkerPath();
+    @ConfigKey(value = "streamWalkerPath")
+    void setShouldStreamWalkerPath(boolean shouldStream);
+
+    @ConfigKey(value = "cacheWalkerRoutes", defaultValue = "true")
+    boolean shouldCacheWalkerRoutes();
+    @ConfigKey(value = "cacheWalkerRoutes")
+    void setShouldCacheWalkerRoutes(boolean shouldCache);
+
     @ConfigKey(value = "drawWalkerPath", defaultValue = "true")
     boolean shouldDrawWalkerPath();
     @ConfigKey(value = "drawWalkerPath")
@@ -95,4 +105,9 @@ public interface ClientConfig extends VitaConfig {
     int getLogHistoryLimit();
     @ConfigKey(value = "logHistoryLimit")
     void setLogHistoryLimit(int limit);
+
+    @ConfigKey(value = "headlessDrawRate", defaultValue = "0")
+    int getHeadlessDrawRate();
+    @ConfigKey(value = "headlessDrawRate")
+    void setHeadlessDrawRate(int fps);
 }
@@ -0,0 +1,188 @@
+package com.tonic.util;
+
+import com.tonic.Static;
+import com.tonic.api.TClient;
+import com.tonic.services.metrics.Counter;
+import com.tonic.services.metrics.Histogram;
+import com.tonic.services.metrics.Metrics;
+
+import javax.swing.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor behind one {@link TaskLane}. Workers are created up to the lane size and retire after a minute
+ * idle; an elastic lane hands each task to a worker instead of queueing it. A full queue pushes back on
+ * the submitter instead of growing the pool. The Swing thread, the client thread and pool workers are
+ * rejected at once rather than stalled.
+ */
+final class LaneExecutor extends ThreadPoolExecutor
+{
+    // how long a submitter waits for room in a full lane before the task is rejected
+    private static final long BACKPRESSURE_TIMEOUT_MS = 5_000;
+    private static final ThreadLocal<TaskLane> CURRENT = new ThreadLocal<>();
+
+    private final TaskLane lane;
+    private final Histogram waitTime;
+    private final Histogram runTime;
+    private final Counter rejected;
+
+    LaneExecutor(TaskLane lane)
+    {
+        super(lane.isElastic() ? 0 : lane.getThreads(), lane.getThreads(), 60, TimeUnit.SECONDS,
+                queue(lane), threadFactory(lane));
+        allowCoreThreadTimeOut(true);
+        setRejectedExecutionHandler(this::backpressure);
+
+        this.lane = lane;
+        String prefix = "threadpool." + lane.name().toLowerCase();
+        this.waitTime = Metrics.timer(prefix + ".wait");
+        this.runTime = Metrics.timer(prefix + ".run");
+        this.rejected = Metrics.counter(prefix + ".rejected");
+        Metrics.gauge(prefix + ".queue_depth", () -> getQueue().size());
+        Metrics.gauge(prefix + ".active", this::getActiveCount);
+    }
+
+    /**
+     * @return the lane the calling thread works for, or null off the pool
+     */
+    static TaskLane currentLane()
+    {
+        return CURRENT.get();
+    }
+
+    LaneTask submitTask(Runnable runnable)
+    {
+        LaneTask task = new LaneTask(runnable);
+        execute(task);
+        return task;
+    }
+
+    @Override
+    protected void beforeExecute(Thread thread, Runnable runnable)
+    {
+        if (runnable instanceof LaneTask)
+        {
+            waitTime.recordSince(((LaneTask) runnable).enqueued);
+        }
+    }
+
+    private void backpressure(Runnable runnable, ThreadPoolExecutor executor)
+    {
+        if (isShutdown())
+        {
+            reject(runnable, "shut down");
+        }
+        // never stall the UI, the game loop or another task; the submitter gets a cancelled future to fall back on
+        if (SwingUtilities.isEventDispatchThread() || isClientThread() || currentLane() != null)
+        {
+            reject(runnable, "full");
+        }
+        try
+        {
+            if (!getQueue().offer(runnable, BACKPRESSURE_TIMEOUT_MS, TimeUnit.MILLISECONDS))
+            {
+                reject(runnable, "full");
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            reject(runnable, "interrupted");
+        }
+    }
+
+    private void reject(Runnable runnable, String reason)
+    {
+        rejected.increment();
+        throw new RejectedExecutionException(lane.getName() + " lane " + reason + ", rejected " + runnable);
+    }
+
+    private static boolean isClientThread()
+    {
+        TClient client = Static.getClient();
+        return client != null && client.isClientThread();
+    }
+
+    private static BlockingQueue<Runnable> queue(TaskLane lane)
+    {
+        if (lane.isElastic())
+        {
+            return new SynchronousQueue<>();
+        }
+        return new ArrayBlockingQueue<>(lane.getQueueCapacity());
+    }
+
+    private static ThreadFactory threadFactory(TaskLane lane)
+    {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(() -> {
+                CURRENT.set(lane);
+                runnable.run();
+            }, "Vita-" + lane.getName() + "-" + count.incrementAndGet());
+            thread.setPriority(lane.getPriority());
+            return thread;
+        };
+    }
+
+    /**
+     * Tasks that throw are logged and their future completes normally, as submit always did. Only errors
+     * fail the future.
+     */
+    private static Runnable guard(Runnable task)
+    {
+        return () -> {
+            try
+            {
+                task.run();
+            }
+            catch (Exception e)
+            {
+                System.err.println("Task execution failed: " + e.getMessage());
+            }
+        };
+    }
+
+    /**
+     * A submitted task. Cancelling it also asks a started {@link Cancellable} task to stop.
+     */
+    final class LaneTask extends FutureTask<Void>
+    {
+        private final Runnable task;
+        private final long enqueued = System.nanoTime();
+        private volatile boolean started = false;
+
+        private LaneTask(Runnable task)
+        {
+            super(guard(task), null);
+            this.task = task;
+        }
+
+        @Override
+        public void run()
+        {
+            started = true;
+            long start = System.nanoTime();
+            try
+            {
+                super.run();
+            }
+            finally
+            {
+                runTime.recordSince(start);
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning)
+        {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled && started && task instanceof Cancellable)
+            {
+                ((Cancellable) task).cancel();
+            }
+            return cancelled;
+        }
+    }
+}
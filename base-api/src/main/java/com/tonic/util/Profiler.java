@@ -1,19 +1,20 @@
 package com.tonic.util;
 
 import com.tonic.Logger;
+import com.tonic.services.metrics.Metrics;
+import com.tonic.services.metrics.Scope;
 
-import javax.inject.Singleton;
-import java.time.Duration;
-import java.time.Instant;
+import java.util.ArrayDeque;
 
 /**
- * Profiler for measuring task time duration
+ * Profiler for measuring task time duration.
+ * <p>
+ * Start/Stop pairs are tracked per thread and may be nested. Every measurement is also
+ * recorded into the {@link Metrics} registry under the task name, prefer using
+ * {@link Metrics#scope(String)} directly in new code.
  */
-@Singleton
 public class Profiler {
-    private String task;
-    private Instant startup;
-    private static Profiler INSTANCE;
+    private static final ThreadLocal<ArrayDeque<Scope>> SCOPES = ThreadLocal.withInitial(ArrayDeque::new);
 
     /**
      * start the profiler timer
@@ -21,9 +22,7 @@ public class Profiler {
      */
     public static void Start(String task)
     {
-        if(INSTANCE == null)
-            INSTANCE = new Profiler();
-        INSTANCE.PStart(task);
+        SCOPES.get().push(Metrics.scope(task));
     }
 
     /**
@@ -31,40 +30,25 @@ public class Profiler {
      */
     public static void Stop()
     {
-        if(INSTANCE == null)
+        Scope scope = SCOPES.get().poll();
+        if(scope == null)
             return;
-        INSTANCE.PStop();
+        scope.close();
+        log(scope.getPath(), scope.elapsedNanos() / 1_000_000_000L + " seconds.");
     }
 
     public static void StopMS()
     {
-        if(INSTANCE == null)
+        Scope scope = SCOPES.get().poll();
+        if(scope == null)
             return;
-        INSTANCE.PStopMS();
+        scope.close();
+        log(scope.getPath(), scope.elapsedMillis() + " ms.");
     }
 
-    /**
-     * internal start()
-     * @param task task name
-     */
-    private void PStart(String task)
-    {
-        this.task = task;
-        startup = Instant.now();
-    }
-
-    /**
-     * internal stop()
-     */
-    private void PStop()
-    {
-        Logger.info("[" + task + "] Took " + Duration.between(startup, Instant.now()).getSeconds() + " seconds.");
-        System.out.println("[" + task + "] Took " + Duration.between(startup, Instant.now()).getSeconds() + " seconds.");
-    }
-
-    private void PStopMS()
+    private static void log(String task, String took)
     {
-        Logger.info("[" + task + "] Took " + Duration.between(startup, Instant.now()).toMillis() + " ms.");
-        System.out.println("[" + task + "] Took " + Duration.between(startup, Instant.now()).toMillis() + " ms.");
+        Logger.info("[" + task + "] Took " + took);
+        System.out.println("[" + task + "] Took " + took);
     }
-}
\ No newline at end of file
+}
@@ -96,10 +96,7 @@ public class ReflectBuilder
                     .getClassLoader()
                     .loadClass(classFqdn);
 
-            if(parameterTypes== null || parameterTypes.length == 0)
-                return new ReflectBuilder(clazz.getDeclaredConstructor().newInstance());
-            else
-                return new ReflectBuilder(clazz.getDeclaredConstructor(parameterTypes).newInstance(args));
+            return new ReflectBuilder(ReflectCache.newInstance(clazz, parameterTypes, args));
         }
         catch (Exception e)
         {
@@ -0,0 +1,280 @@
+package com.tonic.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolved members for {@link ReflectUtil} and {@link ReflectBuilder}. Each field, method and constructor is
+ * looked up and made accessible once, then kept as a {@link MethodHandle} adapted to a generic shape. Failed
+ * lookups are remembered too, so a missing member does not run the exception path on every call.
+ * <p>
+ * Entries hang off a {@link ClassValue}, so they go away with the class, e.g. when a plugin is reloaded.
+ */
+public final class ReflectCache
+{
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final Class<?>[] NO_TYPES = new Class<?>[0];
+    private static final Object[] NO_ARGS = new Object[0];
+    private static final Object MISSING = new Object();
+
+    private static final ClassValue<Members> MEMBERS = new ClassValue<Members>()
+    {
+        @Override
+        protected Members computeValue(Class<?> type)
+        {
+            return new Members();
+        }
+    };
+
+    private ReflectCache()
+    {
+    }
+
+    /**
+     * @return the value of a field declared by the class, static or not
+     */
+    public static Object getField(Class<?> clazz, String name, Object instance) throws Exception
+    {
+        try
+        {
+            return (Object) getter(clazz, name).invokeExact(instance);
+        }
+        catch (Exception | Error e)
+        {
+            throw e;
+        }
+        catch (Throwable t)
+        {
+            throw new RuntimeException(t);
+        }
+    }
+
+    /**
+     * Call a method declared by the class, or failing that a public one it inherits.
+     * @param instance the receiver, ignored for static methods
+     * @return the return value, null for void methods
+     * @throws InvocationTargetException if the method throws, like {@link Method#invoke}
+     */
+    public static Object invoke(Class<?> clazz, String name, Class<?>[] argTypes, Object instance, Object[] args) throws Exception
+    {
+        return call(method(clazz, name, argTypes, true), instance, args);
+    }
+
+    /**
+     * Call a public method of the class, declared or inherited, like {@link Class#getMethod}.
+     */
+    public static Object invokePublic(Class<?> clazz, String name, Class<?>[] argTypes, Object instance, Object[] args) throws Exception
+    {
+        return call(method(clazz, name, argTypes, false), instance, args);
+    }
+
+    /**
+     * Create an instance through a constructor declared by the class.
+     * @throws InvocationTargetException if the constructor throws, like {@link Constructor#newInstance}
+     */
+    public static Object newInstance(Class<?> clazz, Class<?>[] argTypes, Object[] args) throws Exception
+    {
+        Key key = new Key("<init>", argTypes);
+        Object handle = MEMBERS.get(clazz).constructors.computeIfAbsent(key, k -> resolveConstructor(clazz, k));
+        if (handle == MISSING)
+        {
+            throw new NoSuchMethodException(clazz.getName() + ".<init>" + key.signature());
+        }
+        return call((MethodHandle) handle, null, args);
+    }
+
+    /**
+     * @return the field, made accessible
+     */
+    public static Field field(Class<?> clazz, String name) throws NoSuchFieldException
+    {
+        Object field = MEMBERS.get(clazz).fields.computeIfAbsent(name, k -> resolveField(clazz, k));
+        if (field == MISSING)
+        {
+            throw new NoSuchFieldException(clazz.getName() + "." + name);
+        }
+        return (Field) field;
+    }
+
+    private static MethodHandle getter(Class<?> clazz, String name) throws NoSuchFieldException
+    {
+        Object getter = MEMBERS.get(clazz).getters.computeIfAbsent(name, k -> {
+            try
+            {
+                Field field = field(clazz, k);
+                // (Object)Object for both kinds, the receiver is dropped for static fields
+                MethodHandle handle = LOOKUP.unreflectGetter(field);
+                if (Modifier.isStatic(field.getModifiers()))
+                {
+                    return MethodHandles.dropArguments(handle.asType(MethodType.methodType(Object.class)), 0, Object.class);
+                }
+                return handle.asType(MethodType.methodType(Object.class, Object.class));
+            }
+            catch (NoSuchFieldException | IllegalAccessException e)
+            {
+                return MISSING;
+            }
+        });
+        if (getter == MISSING)
+        {
+            throw new NoSuchFieldException(clazz.getName() + "." + name);
+        }
+        return (MethodHandle) getter;
+    }
+
+    private static MethodHandle method(Class<?> clazz, String name, Class<?>[] argTypes, boolean declared) throws NoSuchMethodException
+    {
+        Key key = new Key(name, argTypes);
+        Members members = MEMBERS.get(clazz);
+        Map<Key, Object> methods = declared ? members.methods : members.publicMethods;
+        Object handle = methods.computeIfAbsent(key, k -> resolveMethod(clazz, k, declared));
+        if (handle == MISSING)
+        {
+            throw new NoSuchMethodException(clazz.getName() + "." + name + key.signature());
+        }
+        return (MethodHandle) handle;
+    }
+
+    private static Object call(MethodHandle handle, Object instance, Object[] args) throws Exception
+    {
+        Object[] values = args == null ? NO_ARGS : args;
+        try
+        {
+            return (Object) handle.invokeExact(instance, values);
+        }
+        catch (Throwable t)
+        {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    private static Object resolveField(Class<?> clazz, String name)
+    {
+        try
+        {
+            Field field = clazz.getDeclaredField(name);
+            field.setAccessible(true);
+            return field;
+        }
+        catch (NoSuchFieldException e)
+        {
+            return MISSING;
+        }
+    }
+
+    private static Object resolveMethod(Class<?> clazz, Key key, boolean declared)
+    {
+        Method method = null;
+        if (declared)
+        {
+            try
+            {
+                method = clazz.getDeclaredMethod(key.name, key.types);
+            }
+            catch (NoSuchMethodException ignored)
+            {
+            }
+        }
+        try
+        {
+            if (method == null)
+            {
+                method = clazz.getMethod(key.name, key.types);
+            }
+            method.setAccessible(true);
+            MethodHandle handle = LOOKUP.unreflect(method);
+            if (Modifier.isStatic(method.getModifiers()))
+            {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return spread(handle, key.types.length);
+        }
+        catch (NoSuchMethodException | IllegalAccessException e)
+        {
+            return MISSING;
+        }
+    }
+
+    private static Object resolveConstructor(Class<?> clazz, Key key)
+    {
+        try
+        {
+            Constructor<?> constructor = clazz.getDeclaredConstructor(key.types);
+            constructor.setAccessible(true);
+            MethodHandle handle = MethodHandles.dropArguments(LOOKUP.unreflectConstructor(constructor), 0, Object.class);
+            return spread(handle, key.types.length);
+        }
+        catch (NoSuchMethodException | IllegalAccessException e)
+        {
+            return MISSING;
+        }
+    }
+
+    /**
+     * Adapt (receiver, params...) to (Object, Object[])Object, the shape {@link #call} invokes.
+     */
+    private static MethodHandle spread(MethodHandle handle, int params)
+    {
+        return handle.asType(MethodType.genericMethodType(params + 1))
+                .asSpreader(Object[].class, params);
+    }
+
+    private static final class Members
+    {
+        private final Map<String, Object> fields = new ConcurrentHashMap<>();
+        private final Map<String, Object> getters = new ConcurrentHashMap<>();
+        private final Map<Key, Object> methods = new ConcurrentHashMap<>();
+        private final Map<Key, Object> publicMethods = new ConcurrentHashMap<>();
+        private final Map<Key, Object> constructors = new ConcurrentHashMap<>();
+    }
+
+    private static final class Key
+    {
+        private final String name;
+        private final Class<?>[] types;
+        private final int hash;
+
+        private Key(String name, Class<?>[] types)
+        {
+            this.name = name;
+            this.types = types == null ? NO_TYPES : types;
+            this.hash = name.hashCode() * 31 + Arrays.hashCode(this.types);
+        }
+
+        private String signature()
+        {
+            StringBuilder builder = new StringBuilder("(");
+            for (int i = 0; i < types.length; i++)
+            {
+                builder.append(i == 0 ? "" : ", ").append(types[i].getName());
+            }
+            return builder.append(')').toString();
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (!(o instanceof Key))
+            {
+                return false;
+            }
+            Key other = (Key) o;
+            return name.equals(other.name) && Arrays.equals(types, other.types);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+    }
+}
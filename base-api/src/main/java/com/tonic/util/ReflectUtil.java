@@ -1,6 +1,5 @@
 package com.tonic.util;
 
-import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -9,72 +8,27 @@ public class ReflectUtil
 {
     public static Object getStaticField(Class<?> clazz, String fieldName) throws Exception
     {
-        Field injectorField = clazz.getDeclaredField(fieldName);
-        injectorField.setAccessible(true);
-        return injectorField.get(null);
+        return ReflectCache.getField(clazz, fieldName, null);
     }
 
     public static Object getField(Object object, String fieldName) throws Exception
     {
-        Field injectorField = object.getClass().getDeclaredField(fieldName);
-        injectorField.setAccessible(true);
-        return injectorField.get(object);
+        return ReflectCache.getField(object.getClass(), fieldName, object);
     }
 
     public static Object getStaticMethod(Class<?> clazz, String methodName, Class<?>[] argTypes, Object[] values) throws Exception
     {
-        Method method = clazz.getMethod(methodName, argTypes);
-        method.setAccessible(true);
-        return method.invoke(null, values);
+        return ReflectCache.invokePublic(clazz, methodName, argTypes, null, values);
     }
 
     public static Object getMethod(Object object, String methodName, Class<?>[] argTypes, Object[] values) throws Exception
     {
-        Method method;
-        if(argTypes.length == 0)
-        {
-            try
-            {
-                method = object.getClass().getDeclaredMethod(methodName);
-                method.setAccessible(true);
-                return method.invoke(object);
-            }
-            catch (Exception e)
-            {
-                method = object.getClass().getMethod(methodName);
-                method.setAccessible(true);
-                return method.invoke(object);
-            }
-        }
-
-        try
-        {
-            method = object.getClass().getDeclaredMethod(methodName, argTypes);
-            method.setAccessible(true);
-            return method.invoke(object, values);
-        }
-        catch (Exception e)
-        {
-            method = object.getClass().getMethod(methodName, argTypes);
-            method.setAccessible(true);
-            return method.invoke(object, values);
-        }
+        return ReflectCache.invoke(object.getClass(), methodName, argTypes, object, values);
     }
 
     public static Object newInstance(Class<?> clazz, Class<?>[] argTypes, Object[] values) throws Exception
     {
-        if(argTypes == null || argTypes.length == 0)
-        {
-            Constructor<?> constructor = clazz.getDeclaredConstructor();
-            constructor.setAccessible(true);
-            return constructor.newInstance();
-        }
-        else
-        {
-            Constructor<?> constructor = clazz.getDeclaredConstructor(argTypes);
-            constructor.setAccessible(true);
-            return constructor.newInstance(values);
-        }
+        return ReflectCache.newInstance(clazz, argTypes, values);
     }
 
     public static void inspectNonStaticFields(Object obj) {
@@ -4,6 +4,13 @@ import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.jar.JarEntry;
 
 public class ResourceUtil
 {
@@ -35,4 +42,34 @@ public class ResourceUtil
             return null;
         }
     }
+
+    /**
+     * Identifies a bundled resource (objects.dat, map.dat) without reading it, so stale derived
+     * data can be detected cheaply.
+     *
+     * @param resource The resource, inside a jar or on disk
+     * @return The jar entry's CRC and size, or the file's modification time and size
+     */
+    public static long fingerprint(URL resource) throws IOException
+    {
+        URLConnection connection = resource.openConnection();
+        if (connection instanceof JarURLConnection)
+        {
+            JarEntry entry = ((JarURLConnection) connection).getJarEntry();
+            return (entry.getCrc() << 32) ^ entry.getSize();
+        }
+        if ("file".equals(resource.getProtocol()))
+        {
+            try
+            {
+                Path path = Paths.get(resource.toURI());
+                return (Files.getLastModifiedTime(path).toMillis() << 20) ^ Files.size(path);
+            }
+            catch (Exception e)
+            {
+                throw new IOException("Failed to stat " + resource, e);
+            }
+        }
+        return connection.getContentLengthLong();
+    }
 }
@@ -0,0 +1,48 @@
+package com.tonic.util;
+
+import lombok.Getter;
+
+/**
+ * Priority lanes of the {@link ThreadPool}. Each lane has its own workers and queue, so a burst in one lane
+ * (e.g. broadcast multi-client commands) cannot starve the others. A lane with no queue is elastic: every
+ * task starts at once on an idle or new worker, like a cached pool.
+ */
+@Getter
+public enum TaskLane
+{
+    /**
+     * Short work a user or the walker is waiting on: menu actions, search workers.
+     */
+    INTERACTIVE("Interactive", Math.max(4, Runtime.getRuntime().availableProcessors()), 256, Thread.NORM_PRIORITY + 1),
+    /**
+     * Long running, blocking game actions: plugin loops, walking, dispatched commands. These hold their worker
+     * for their whole lifetime, so the lane is elastic; a queued loop would never start.
+     */
+    SCRIPTING("Scripting", Integer.MAX_VALUE, 0, Thread.NORM_PRIORITY),
+    /**
+     * Disk and network I/O, cache warming and other work nobody waits on.
+     */
+    BACKGROUND("Background", Math.max(2, Runtime.getRuntime().availableProcessors() / 2), 1024, Thread.NORM_PRIORITY - 2)
+    ;
+
+    private final String name;
+    private final int threads;
+    private final int queueCapacity;
+    private final int priority;
+
+    TaskLane(String name, int threads, int queueCapacity, int priority)
+    {
+        this.name = name;
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+        this.priority = priority;
+    }
+
+    /**
+     * @return true if the lane hands every task straight to a worker instead of queueing it
+     */
+    public boolean isElastic()
+    {
+        return queueCapacity == 0;
+    }
+}
@@ -1,31 +1,98 @@
 package com.tonic.util;
 
 import com.tonic.Static;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.concurrent.*;
 import java.util.function.Supplier;
 
+/**
+ * Shared task scheduler. Work runs on named {@link TaskLane} pools; untagged submissions go to the elastic
+ * {@link TaskLane#SCRIPTING} lane. Per lane wait and run latency, queue depth, active workers and rejections
+ * are published under {@code threadpool.<lane>.*} in the metrics registry.
+ */
 public class ThreadPool
 {
-    private final static ExecutorService executor = Executors.newCachedThreadPool();
+    private final static Map<TaskLane, LaneExecutor> lanes = new EnumMap<>(TaskLane.class);
     private static ScheduledExecutorService executorService;
 
+    static
+    {
+        for (TaskLane lane : TaskLane.values())
+        {
+            lanes.put(lane, new LaneExecutor(lane));
+        }
+    }
+
     public static Future<?> submit(Runnable runnable)
     {
-        return executor.submit(() -> {
-            try {
-                runnable.run();
-            } catch (Exception e) {
-                System.err.println("Task execution failed: " + e.getMessage());
-            }
-        });
+        return submit(TaskLane.SCRIPTING, runnable);
     }
 
+    /**
+     * Run a task on a lane. Blocks while the lane is saturated and returns a cancelled future if it stays
+     * full. On the Swing thread, the client thread or a pool worker a saturated lane returns the cancelled
+     * future at once. A task that throws is logged and its future completes
+     * normally. Cancelling the future asks a {@link Cancellable} task to stop.
+     * @param lane lane to run on
+     * @param runnable the task
+     * @return the task's future
+     */
+    public static Future<?> submit(TaskLane lane, Runnable runnable)
+    {
+        try
+        {
+            return lanes.get(lane).submitTask(runnable);
+        }
+        catch (RejectedExecutionException e)
+        {
+            System.err.println("Task rejected: " + e.getMessage());
+            CompletableFuture<?> rejected = new CompletableFuture<>();
+            rejected.cancel(false);
+            return rejected;
+        }
+    }
+
+    /**
+     * Run a supplier on the scripting lane and wait for its result.
+     */
     public static <T> T submit(Supplier<T> supplier)
+    {
+        return supply(TaskLane.SCRIPTING, supplier).join();
+    }
+
+    /**
+     * Run a supplier on a lane without blocking.
+     * @param lane lane to run on
+     * @param supplier the task
+     * @return the result, completed exceptionally if the supplier threw or the lane rejected it
+     */
+    public static <T> CompletableFuture<T> supply(TaskLane lane, Supplier<T> supplier)
     {
         CompletableFuture<T> future = new CompletableFuture<>();
-        Runnable runnable = () -> future.complete(supplier.get());
-        submit(runnable);
-        return future.join();
+        Runnable runnable = () -> {
+            try
+            {
+                future.complete(supplier.get());
+            }
+            catch (Throwable e)
+            {
+                future.completeExceptionally(e);
+            }
+        };
+        if (submit(lane, runnable).isCancelled())
+        {
+            future.completeExceptionally(new RejectedExecutionException(lane.getName() + " lane is full"));
+        }
+        return future;
+    }
+
+    /**
+     * @return the lane the calling thread works for, or null when it is not a pool worker
+     */
+    public static TaskLane currentLane()
+    {
+        return LaneExecutor.currentLane();
     }
 
     public static ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit)
@@ -39,6 +106,6 @@ public class ThreadPool
 
     public static void shutdown()
     {
-        executor.shutdown();
+        lanes.values().forEach(ExecutorService::shutdown);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,113 @@
+package com.tonic.headless;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * A made up client run through {@link RenderGate} the way the client and its hooks use it: packets and events
+ * every cycle, a game tick every 600ms, and a frame per cycle that starts on BeforeRender, asks the gate for
+ * every scene model and overlay layer and always draws its interfaces. Turning rendering off must only change
+ * what is drawn.
+ */
+public class HeadlessEventFlowTest
+{
+    private static final long CYCLE = 20_000_000L;
+    private static final int CYCLES_PER_TICK = 30;
+    private static final int SECONDS = 10;
+    private static final int CYCLES = SECONDS * 50;
+    private static final int MODELS = 40;
+    private static final int OVERLAY_LAYERS = 3;
+
+    @BeforeEach
+    public void reset()
+    {
+        RenderGate.reset(0);
+    }
+
+    @Test
+    public void visibleDrawsEverything()
+    {
+        Run run = Run.of(false);
+        assertEquals(CYCLES * MODELS, run.models);
+        assertEquals(CYCLES * OVERLAY_LAYERS, run.overlays);
+        assertEquals(CYCLES, run.interfaces);
+    }
+
+    @Test
+    public void headlessKeepsTheEventFlow()
+    {
+        Run visible = Run.of(false);
+        RenderGate.reset(0);
+        Run headless = Run.of(true);
+
+        assertEquals(visible.events, headless.events);
+        assertEquals(0, headless.models);
+        assertEquals(0, headless.overlays);
+        assertEquals(CYCLES, headless.interfaces);
+    }
+
+    @Test
+    public void headlessAtADrawRateKeepsTheEventFlow()
+    {
+        Run visible = Run.of(false);
+        RenderGate.reset(5);
+        Run headless = Run.of(true);
+
+        assertEquals(visible.events, headless.events);
+        assertEquals(SECONDS * 5 * MODELS, headless.models);
+        assertEquals(SECONDS * 5 * OVERLAY_LAYERS, headless.overlays);
+        assertEquals(CYCLES, headless.interfaces);
+    }
+
+    private static final class Run
+    {
+        private final List<String> events = new ArrayList<>();
+        private int models;
+        private int overlays;
+        private int interfaces;
+
+        private static Run of(boolean headless)
+        {
+            Run run = new Run();
+            long now = 1_000_000 * CYCLE;
+            for (int cycle = 0; cycle < CYCLES; cycle++)
+            {
+                run.events.add("packet " + cycle);
+                if (cycle % CYCLES_PER_TICK == 0)
+                {
+                    run.events.add("tick " + cycle / CYCLES_PER_TICK);
+                }
+                run.frame(headless, now);
+                now += CYCLE;
+            }
+            return run;
+        }
+
+        private void frame(boolean headless, long now)
+        {
+            events.add("before render");
+            RenderGate.beginFrame(headless, now);
+            for (int model = 0; model < MODELS; model++)
+            {
+                if (RenderGate.isDrawing())
+                {
+                    models++;
+                }
+            }
+            interfaces++;
+            for (int layer = 0; layer < OVERLAY_LAYERS; layer++)
+            {
+                if (RenderGate.drawOverlays())
+                {
+                    overlays++;
+                }
+            }
+            events.add("post frame");
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.tonic.headless;
+
+import com.tonic.services.metrics.Counter;
+import com.tonic.services.metrics.Metrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link RenderGate} over a run of frames as BeforeRender would start them, on a made up clock.
+ */
+public class RenderGateTest
+{
+    private static final long MS = 1_000_000L;
+    // 60 frames per second
+    private static final long FRAME = 16_666_667L;
+
+    private final Counter drawn = Metrics.counter("render.frames.drawn");
+    private final Counter skipped = Metrics.counter("render.frames.skipped");
+    private long now = 1_000_000 * MS;
+    private long drawnBefore;
+    private long skippedBefore;
+
+    @BeforeEach
+    public void reset()
+    {
+        RenderGate.reset(0);
+        drawnBefore = drawn.get();
+        skippedBefore = skipped.get();
+    }
+
+    @Test
+    public void overlaysHookedOnceAsked()
+    {
+        assertFalse(RenderGate.isOverlayHooked());
+        RenderGate.drawOverlays();
+        assertTrue(RenderGate.isOverlayHooked());
+    }
+
+    @Test
+    public void hooksFollowTheFrame()
+    {
+        RenderGate.reset(1);
+        assertTrue(RenderGate.beginFrame(true, now));
+        assertTrue(RenderGate.isDrawing());
+        assertTrue(RenderGate.drawOverlays());
+
+        now += FRAME;
+        assertFalse(RenderGate.beginFrame(true, now));
+        assertFalse(RenderGate.isDrawing());
+        assertFalse(RenderGate.drawOverlays());
+
+        // turning headless off draws the very next frame
+        now += FRAME;
+        assertTrue(RenderGate.beginFrame(false, now));
+        assertTrue(RenderGate.isDrawing());
+    }
+
+    @Test
+    public void visibleDrawsEveryFrame()
+    {
+        assertEquals(60, frames(false, 60));
+        // visible frames are not counted either way
+        assertEquals(0, drawn.get() - drawnBefore);
+        assertEquals(0, skipped.get() - skippedBefore);
+    }
+
+    @Test
+    public void headlessDrawsNoneByDefault()
+    {
+        assertEquals(0, frames(true, 120));
+        assertEquals(0, drawn.get() - drawnBefore);
+        assertEquals(120, skipped.get() - skippedBefore);
+    }
+
+    @Test
+    public void headlessDrawsAtTheConfiguredRate()
+    {
+        RenderGate.reset(5);
+        assertEquals(5, RenderGate.getDrawRate());
+
+        // two seconds at 60 frames per second, every 200ms is due
+        int count = frames(true, 120);
+        assertEquals(10, count);
+        assertEquals(10, drawn.get() - drawnBefore);
+        assertEquals(110, skipped.get() - skippedBefore);
+    }
+
+    @Test
+    public void togglingHeadlessMidRun()
+    {
+        RenderGate.reset(1);
+        assertEquals(30, frames(false, 30));
+
+        // the first headless frame draws, the rest of that second does not, visible frames in between included
+        assertEquals(1, frames(true, 30));
+        assertEquals(15, frames(false, 15));
+        assertEquals(0, frames(true, 15));
+        assertTrue(RenderGate.beginFrame(true, now));
+    }
+
+    @Test
+    public void rateChangeAppliesToTheNextFrame()
+    {
+        assertEquals(0, frames(true, 60));
+
+        RenderGate.reset(60);
+        assertEquals(60, RenderGate.getDrawRate());
+        assertEquals(60, frames(true, 60));
+    }
+
+    /**
+     * Begin a run of frames one frame apart.
+     * @return how many of them were drawn
+     */
+    private int frames(boolean headless, int frames)
+    {
+        int count = 0;
+        for (int i = 0; i < frames; i++)
+        {
+            if (RenderGate.beginFrame(headless, now))
+            {
+                count++;
+            }
+            now += FRAME;
+        }
+        return count;
+    }
+}
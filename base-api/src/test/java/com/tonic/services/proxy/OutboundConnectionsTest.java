@@ -0,0 +1,428 @@
+package com.tonic.services.proxy;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link OutboundConnections} and {@link ProxyManager} against a local {@link HttpServer}, reached directly, through
+ * a small SOCKS5 stub and through an HTTP CONNECT stub. A plain forwarder in front of the server counts the TCP
+ * connections that reach it.
+ */
+public class OutboundConnectionsTest
+{
+    private static final String HELLO = "hello world";
+
+    private final List<ServerSocket> listeners = new ArrayList<>();
+    private final List<Socket> sockets = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger upstream = new AtomicInteger();
+    private final AtomicInteger tunnels = new AtomicInteger();
+    private final List<String> methods = Collections.synchronizedList(new ArrayList<>());
+    private HttpServer server;
+    private String base;
+
+    @BeforeEach
+    public void start() throws IOException
+    {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/hello", exchange -> respond(exchange, 200, HELLO));
+        server.createContext("/echo", exchange -> respond(exchange, 200,
+                new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)));
+        server.createContext("/found", exchange -> redirect(exchange, 302, "/hello"));
+        server.createContext("/seeother", exchange -> redirect(exchange, 303, "/method"));
+        server.createContext("/temporary", exchange -> redirect(exchange, 307, "/method"));
+        server.createContext("/method", exchange ->
+        {
+            methods.add(exchange.getRequestMethod());
+            respond(exchange, 200, exchange.getRequestMethod() + " "
+                    + new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        });
+        server.createContext("/missing", exchange -> respond(exchange, 404, "nope"));
+        server.start();
+
+        int port = server.getAddress().getPort();
+        ServerSocket front = listen(client ->
+        {
+            upstream.incrementAndGet();
+            splice(client, new Socket(InetAddress.getLoopbackAddress(), port));
+        });
+        base = "http://127.0.0.1:" + front.getLocalPort();
+    }
+
+    @AfterEach
+    public void stop() throws IOException
+    {
+        ProxyManager.clearProxy();
+        server.stop(0);
+        for (ServerSocket listener : listeners)
+        {
+            listener.close();
+        }
+        synchronized (sockets)
+        {
+            for (Socket socket : sockets)
+            {
+                socket.close();
+            }
+        }
+    }
+
+    @Test
+    public void getAndPost() throws IOException
+    {
+        OutboundConnections.Response hello = OutboundConnections.get(base + "/hello", Collections.emptyMap());
+        assertEquals(200, hello.getStatus());
+        assertTrue(hello.isOk());
+        assertEquals(HELLO, hello.text());
+
+        OutboundConnections.Response echo = OutboundConnections.post(base + "/echo",
+                Collections.singletonMap("Content-Type", "text/plain"), "abc".getBytes(StandardCharsets.UTF_8));
+        assertEquals("abc", echo.text());
+    }
+
+    @Test
+    public void errorBodyIsReturned() throws IOException
+    {
+        OutboundConnections.Response missing = OutboundConnections.get(base + "/missing", Collections.emptyMap());
+        assertEquals(404, missing.getStatus());
+        assertFalse(missing.isOk());
+        assertEquals("nope", missing.text());
+    }
+
+    @Test
+    public void redirects() throws IOException
+    {
+        assertEquals(HELLO, OutboundConnections.get(base + "/found", Collections.emptyMap()).text());
+
+        byte[] body = "abc".getBytes(StandardCharsets.UTF_8);
+        assertEquals("GET ", OutboundConnections.post(base + "/seeother", Collections.emptyMap(), body).text());
+        assertEquals("POST abc", OutboundConnections.post(base + "/temporary", Collections.emptyMap(), body).text());
+        assertEquals(List.of("GET", "POST"), methods);
+    }
+
+    @Test
+    public void downloadAndStream() throws IOException
+    {
+        Path file = Files.createTempFile("outbound", ".bin");
+        try
+        {
+            assertEquals(200, OutboundConnections.download(base + "/hello", Collections.emptyMap(), file));
+            assertEquals(HELLO, Files.readString(file));
+
+            Files.delete(file);
+            assertEquals(404, OutboundConnections.download(base + "/missing", Collections.emptyMap(), file));
+            assertFalse(Files.exists(file));
+        }
+        finally
+        {
+            Files.deleteIfExists(file);
+        }
+
+        try (InputStream in = OutboundConnections.stream(new URL(base + "/hello")))
+        {
+            assertEquals(HELLO, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertThrows(IOException.class, () -> OutboundConnections.stream(new URL(base + "/missing")));
+    }
+
+    @Test
+    public void connectionsAreReused() throws IOException
+    {
+        for (int i = 0; i < 10; i++)
+        {
+            assertEquals(HELLO, OutboundConnections.get(base + "/hello", Collections.emptyMap()).text());
+        }
+        assertEquals(1, upstream.get());
+    }
+
+    @Test
+    public void requestsGoThroughSocks() throws Exception
+    {
+        ServerSocket socks = listen(this::socks);
+        ProxyManager.addProxy("127.0.0.1", socks.getLocalPort());
+        ProxyMetrics metrics = ProxyManager.getProxy();
+
+        for (int i = 0; i < 5; i++)
+        {
+            assertEquals(HELLO, OutboundConnections.get(base + "/hello", Collections.emptyMap()).text());
+        }
+        assertEquals(1, tunnels.get());
+        assertEquals(1, upstream.get());
+        assertEquals(5, metrics.getRequests().sum());
+        assertEquals(5L * HELLO.length(), metrics.getBytesReceived().sum());
+        assertEquals(0, metrics.getFailures().sum());
+
+        try (Socket socket = OutboundConnections.connect(address(), 5000))
+        {
+            assertEquals(HELLO, fetch(socket));
+        }
+        assertEquals(2, tunnels.get());
+        assertEquals(1, metrics.getConnections().sum());
+        assertTrue(metrics.getBytesSent().sum() > 0);
+    }
+
+    @Test
+    public void socketTunnelsThroughHttpProxyWithCredentials() throws Exception
+    {
+        List<String> requests = Collections.synchronizedList(new ArrayList<>());
+        ServerSocket proxy = listen(client -> connect(client, requests));
+        ProxyManager.addProxy("127.0.0.1", proxy.getLocalPort(), "user", "secret", Proxy.Type.HTTP);
+
+        try (Socket socket = OutboundConnections.connect(address(), 5000))
+        {
+            assertEquals(HELLO, fetch(socket));
+        }
+        String request = requests.get(0);
+        String credentials = Base64.getEncoder().encodeToString("user:secret".getBytes(StandardCharsets.UTF_8));
+        assertTrue(request.startsWith("CONNECT 127.0.0.1:" + address().getPort() + " HTTP/1.1\r\n"), request);
+        assertTrue(request.contains("\r\nProxy-Authorization: Basic " + credentials + "\r\n"), request);
+        assertEquals(1, ProxyManager.getProxy().getConnections().sum());
+    }
+
+    @Test
+    public void refusedTunnelFails() throws Exception
+    {
+        ServerSocket proxy = listen(client ->
+        {
+            readHead(client.getInputStream());
+            client.getOutputStream().write("HTTP/1.1 407 Proxy Authentication Required\r\n\r\n"
+                    .getBytes(StandardCharsets.ISO_8859_1));
+            client.getOutputStream().flush();
+        });
+        ProxyManager.addProxy("127.0.0.1", proxy.getLocalPort(), null, null, Proxy.Type.HTTP);
+
+        IOException e = assertThrows(IOException.class, () -> OutboundConnections.connect(address(), 5000));
+        assertTrue(e.getMessage().contains("407"), e.getMessage());
+        assertEquals(0, ProxyManager.getProxy().getConnections().sum());
+    }
+
+    @Test
+    public void processParsesProxies() throws Exception
+    {
+        ProxyManager.process("127.0.0.1:1080");
+        ProxyInfo info = ProxyManager.getProxy().getProxyInfo();
+        assertEquals(Proxy.Type.SOCKS, info.getType());
+        assertEquals("127.0.0.1", info.getHost());
+        assertEquals(1080, info.getPort());
+        assertNull(info.getUser());
+
+        ProxyManager.process("http://127.0.0.1:3128:user:pass");
+        info = ProxyManager.getProxy().getProxyInfo();
+        assertEquals(Proxy.Type.HTTP, info.getType());
+        assertEquals(3128, info.getPort());
+        assertEquals("user", info.getUser());
+        assertEquals("pass", info.getPass());
+        assertEquals("http://user:pass:127.0.0.1:3128", info.toString());
+        assertEquals(Proxy.Type.HTTP, OutboundConnections.proxy().type());
+
+        ProxyManager.clearProxy();
+        assertEquals(Proxy.NO_PROXY, OutboundConnections.proxy());
+    }
+
+    private InetSocketAddress address()
+    {
+        return new InetSocketAddress("127.0.0.1", Integer.parseInt(base.substring(base.lastIndexOf(':') + 1)));
+    }
+
+    /**
+     * A bare HTTP/1.0 request over a socket, returning the response body.
+     */
+    private static String fetch(Socket socket) throws IOException
+    {
+        OutputStream out = socket.getOutputStream();
+        out.write("GET /hello HTTP/1.0\r\nHost: 127.0.0.1\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1));
+        out.flush();
+        String response = new String(socket.getInputStream().readAllBytes(), StandardCharsets.ISO_8859_1);
+        assertTrue(response.startsWith("HTTP/1.1 200"), response);
+        return response.substring(response.indexOf("\r\n\r\n") + 4);
+    }
+
+    /**
+     * SOCKS5 without authentication, CONNECT only.
+     */
+    private void socks(Socket client) throws IOException
+    {
+        DataInputStream in = new DataInputStream(client.getInputStream());
+        OutputStream out = client.getOutputStream();
+        in.readUnsignedByte();
+        in.readFully(new byte[in.readUnsignedByte()]);
+        out.write(new byte[]{5, 0});
+
+        in.readUnsignedByte();
+        in.readUnsignedByte();
+        in.readUnsignedByte();
+        InetAddress host;
+        switch (in.readUnsignedByte())
+        {
+            case 1:
+                byte[] ip4 = new byte[4];
+                in.readFully(ip4);
+                host = InetAddress.getByAddress(ip4);
+                break;
+            case 3:
+                byte[] name = new byte[in.readUnsignedByte()];
+                in.readFully(name);
+                host = InetAddress.getByName(new String(name, StandardCharsets.US_ASCII));
+                break;
+            default:
+                byte[] ip6 = new byte[16];
+                in.readFully(ip6);
+                host = InetAddress.getByAddress(ip6);
+                break;
+        }
+        int port = in.readUnsignedShort();
+        Socket target = new Socket(host, port);
+        tunnels.incrementAndGet();
+        out.write(new byte[]{5, 0, 0, 1, 127, 0, 0, 1, 0, 0});
+        out.flush();
+        splice(client, target);
+    }
+
+    /**
+     * HTTP proxy that only answers CONNECT, and only with credentials.
+     */
+    private void connect(Socket client, List<String> requests) throws IOException
+    {
+        String request = readHead(client.getInputStream());
+        requests.add(request);
+        OutputStream out = client.getOutputStream();
+        if (!request.contains("\r\nProxy-Authorization: Basic "))
+        {
+            out.write("HTTP/1.1 407 Proxy Authentication Required\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1));
+            out.flush();
+            return;
+        }
+        String target = request.substring("CONNECT ".length(), request.indexOf(" HTTP/"));
+        int colon = target.lastIndexOf(':');
+        Socket upstream = new Socket(target.substring(0, colon), Integer.parseInt(target.substring(colon + 1)));
+        tunnels.incrementAndGet();
+        out.write("HTTP/1.1 200 Connection established\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1));
+        out.flush();
+        splice(client, upstream);
+    }
+
+    private static String readHead(InputStream in) throws IOException
+    {
+        ByteArrayOutputStream head = new ByteArrayOutputStream();
+        while (!head.toString(StandardCharsets.ISO_8859_1).endsWith("\r\n\r\n"))
+        {
+            int b = in.read();
+            if (b == -1)
+            {
+                throw new IOException("closed");
+            }
+            head.write(b);
+        }
+        return head.toString(StandardCharsets.ISO_8859_1);
+    }
+
+    private ServerSocket listen(Handler handler) throws IOException
+    {
+        ServerSocket listener = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        listeners.add(listener);
+        Thread accept = new Thread(() ->
+        {
+            while (!listener.isClosed())
+            {
+                try
+                {
+                    Socket client = listener.accept();
+                    sockets.add(client);
+                    Thread serve = new Thread(() ->
+                    {
+                        try
+                        {
+                            handler.handle(client);
+                        }
+                        catch (IOException ignored)
+                        {
+                        }
+                    });
+                    serve.setDaemon(true);
+                    serve.start();
+                }
+                catch (IOException ignored)
+                {
+                }
+            }
+        });
+        accept.setDaemon(true);
+        accept.start();
+        return listener;
+    }
+
+    private void splice(Socket a, Socket b)
+    {
+        sockets.add(b);
+        pipe(a, b);
+        pipe(b, a);
+    }
+
+    private static void pipe(Socket from, Socket to)
+    {
+        Thread pipe = new Thread(() ->
+        {
+            try
+            {
+                from.getInputStream().transferTo(to.getOutputStream());
+                to.shutdownOutput();
+            }
+            catch (IOException ignored)
+            {
+            }
+        });
+        pipe.setDaemon(true);
+        pipe.start();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException
+    {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody())
+        {
+            out.write(bytes);
+        }
+    }
+
+    private static void redirect(HttpExchange exchange, int status, String location) throws IOException
+    {
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().add("Location", location);
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+
+    private interface Handler
+    {
+        void handle(Socket client) throws IOException;
+    }
+}
@@ -0,0 +1,73 @@
+plugins {
+    id("java")
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+group = "com.tonic"
+version = rootProject.version
+
+repositories {
+    mavenLocal()
+    maven {
+        url = uri("https://repo.runelite.net")
+        content {
+            includeGroupByRegex("net\\.runelite.*")
+        }
+    }
+    mavenCentral()
+}
+
+val runeLiteVersion = "latest.release"
+
+dependencies {
+    jmh(project(":api"))
+    jmh(project(":base-api"))
+    jmh("net.runelite:client:$runeLiteVersion")
+    jmh("net.sf.trove4j:trove4j:3.0.3")
+    jmh("it.unimi.dsi:fastutil:8.5.11")
+    jmhCompileOnly("org.projectlombok:lombok:1.18.24")
+    jmhAnnotationProcessor("org.projectlombok:lombok:1.18.24")
+}
+
+// Everything runs headless against the bundled map.dat / objects.dat / transports, no client needed.
+// ./gradlew :benchmarks:jmh                 full suite, results in build/results/jmh
+// ./gradlew :benchmarks:jmh -Pinclude=Path  only the pathfinder benchmarks
+// ./gradlew :benchmarks:engineReport        side by side engine comparison over the route corpus
+// ./gradlew :benchmarks:headlessReport      client CPU with rendering on, throttled and off
+jmh {
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    jvmArgs.add("-Djava.awt.headless=true")
+    if (project.hasProperty("include")) {
+        includes.add(project.property("include") as String)
+    }
+}
+
+tasks.register<JavaExec>("engineReport") {
+    group = "benchmark"
+    description = "Runs every pathfinder engine over the route corpus and writes a comparison report"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("com.tonic.benchmarks.EngineComparison")
+    jvmArgs("-Djava.awt.headless=true", "-Xmx2g")
+    val report = layout.buildDirectory.file("reports/benchmarks/engines.md")
+    outputs.file(report)
+    argumentProviders.add(CommandLineArgumentProvider {
+        listOf(report.get().asFile.absolutePath)
+    })
+}
+
+tasks.register<JavaExec>("headlessReport") {
+    group = "benchmark"
+    description = "Measures a synthetic client's CPU with rendering on and headless, and writes a report"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("com.tonic.benchmarks.HeadlessCpuReport")
+    jvmArgs("-Djava.awt.headless=true")
+    val report = layout.buildDirectory.file("reports/benchmarks/headless.md")
+    outputs.file(report)
+    argumentProviders.add(CommandLineArgumentProvider {
+        listOf(report.get().asFile.absolutePath)
+    })
+}
@@ -0,0 +1,151 @@
+package com.tonic.benchmarks;
+
+import com.tonic.services.pathfinder.PathfinderAlgo;
+import com.tonic.services.pathfinder.Walker;
+import com.tonic.services.pathfinder.abstractions.IPathfinder;
+import com.tonic.services.pathfinder.implimentations.astar.AStarAlgo;
+import com.tonic.services.pathfinder.implimentations.bidirbfs.BiDirBFSAlgo;
+import com.tonic.services.pathfinder.implimentations.flowfield.FlowFieldAlgo;
+import com.tonic.services.pathfinder.implimentations.hybridbfs.HybridBFSAlgo;
+import com.tonic.services.pathfinder.implimentations.jps.JPSAlgo;
+import com.tonic.services.pathfinder.implimentations.jps.JPSPlusAlgo;
+import com.tonic.services.pathfinder.implimentations.jps.JumpTable;
+import com.tonic.services.pathfinder.implimentations.parallel.ParallelBiDirAlgo;
+import com.tonic.services.pathfinder.transports.TransportLoader;
+import lombok.Value;
+import net.runelite.api.coords.WorldPoint;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Shared headless fixtures: the bundled collision map, every static transport (unfiltered)
+ * and the fixed route corpus.
+ */
+public final class BenchmarkData
+{
+    private static List<Route> routes;
+    private static boolean loaded = false;
+
+    private BenchmarkData()
+    {
+    }
+
+    /**
+     * Load the collision map, publish all static transports and map (or build) the JPS+ jump table
+     * so its one-off build never lands in a measurement. Safe to call repeatedly.
+     */
+    public static synchronized void load()
+    {
+        if (loaded)
+        {
+            return;
+        }
+        if (Walker.getCollisionMap() == null)
+        {
+            throw new IllegalStateException("map.dat could not be loaded");
+        }
+        TransportLoader.publishStaticTransports();
+        JumpTable.get();
+        loaded = true;
+    }
+
+    /**
+     * Engines are constructed directly, {@link PathfinderAlgo#newInstance()} needs the client classloader.
+     */
+    public static IPathfinder newPathfinder(PathfinderAlgo algo)
+    {
+        switch (algo)
+        {
+            case HYBRID_BFS:
+                return new HybridBFSAlgo();
+            case BI_DIR_BFS:
+                return new BiDirBFSAlgo();
+            case FLOW_FIELD:
+                return new FlowFieldAlgo();
+            case ASTAR:
+                return new AStarAlgo();
+            case JPS:
+                return new JPSAlgo();
+            case JPS_PLUS:
+                return new JPSPlusAlgo();
+            case PARALLEL_BIDIR:
+                return new ParallelBiDirAlgo();
+            default:
+                throw new IllegalArgumentException("Unknown pathfinder: " + algo);
+        }
+    }
+
+    public static synchronized List<Route> routes()
+    {
+        if (routes == null)
+        {
+            routes = Collections.unmodifiableList(readRoutes());
+        }
+        return routes;
+    }
+
+    public static Route route(String name)
+    {
+        for (Route route : routes())
+        {
+            if (route.getName().equals(name))
+            {
+                return route;
+            }
+        }
+        throw new IllegalArgumentException("Unknown route: " + name);
+    }
+
+    private static List<Route> readRoutes()
+    {
+        List<Route> out = new ArrayList<>();
+        try (InputStream stream = BenchmarkData.class.getResourceAsStream("routes.csv"))
+        {
+            if (stream == null)
+            {
+                throw new IllegalStateException("routes.csv not found");
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null)
+            {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#"))
+                {
+                    continue;
+                }
+                String[] parts = line.split(",");
+                out.add(new Route(
+                        parts[0],
+                        new WorldPoint(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]), Integer.parseInt(parts[3])),
+                        new WorldPoint(Integer.parseInt(parts[4]), Integer.parseInt(parts[5]), Integer.parseInt(parts[6]))
+                ));
+            }
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException("Failed to read routes.csv", e);
+        }
+        return out;
+    }
+
+    @Value
+    public static class Route
+    {
+        String name;
+        WorldPoint start;
+        WorldPoint target;
+
+        public int getManhattanDistance()
+        {
+            return Math.abs(start.getX() - target.getX()) + Math.abs(start.getY() - target.getY());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.tonic.benchmarks;
+
+import com.tonic.services.pathfinder.Walker;
+import com.tonic.services.pathfinder.collision.CollisionMap;
+import com.tonic.services.pathfinder.collision.SparseBitSet;
+import com.tonic.services.pathfinder.objects.ObjectMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Raw collision and object lookups over a fixed sample of mainland tiles, one op = one tile.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class CollisionBenchmark
+{
+    private static final int SAMPLES = 1 << 14;
+
+    private CollisionMap collisionMap;
+    private ObjectMap objectMap;
+    private SparseBitSet bitSet;
+    private short[] xs;
+    private short[] ys;
+    private int[] indices;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception
+    {
+        BenchmarkData.load();
+        collisionMap = Walker.getCollisionMap();
+        objectMap = Walker.getObjectMap();
+        try (InputStream stream = Walker.class.getResourceAsStream("map.dat");
+             ObjectInputStream in = new ObjectInputStream(stream))
+        {
+            bitSet = (SparseBitSet) in.readObject();
+        }
+
+        // fixed seed so every run and every engine sees the same tiles
+        Random random = new Random(0x5EED);
+        xs = new short[SAMPLES];
+        ys = new short[SAMPLES];
+        indices = new int[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++)
+        {
+            xs[i] = (short) (2400 + random.nextInt(1000));
+            ys[i] = (short) (2900 + random.nextInt(700));
+            indices[i] = (xs[i] & 8191) | ((ys[i] & 32767) << 13);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void all(Blackhole blackhole)
+    {
+        for (int i = 0; i < SAMPLES; i++)
+        {
+            blackhole.consume(collisionMap.all(xs[i], ys[i], (byte) 0));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void walkable(Blackhole blackhole)
+    {
+        for (int i = 0; i < SAMPLES; i++)
+        {
+            blackhole.consume(collisionMap.walkable(xs[i], ys[i], (byte) 0));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void sparseBitSetGet(Blackhole blackhole)
+    {
+        for (int i = 0; i < SAMPLES; i++)
+        {
+            blackhole.consume(bitSet.get(indices[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void objectCount(Blackhole blackhole)
+    {
+        if (objectMap == null)
+        {
+            return;
+        }
+        for (int i = 0; i < SAMPLES; i++)
+        {
+            blackhole.consume(objectMap.getObjectCount(xs[i], ys[i], 0));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.tonic.benchmarks;
+
+import com.tonic.services.pathfinder.PathfinderAlgo;
+import com.tonic.services.pathfinder.abstractions.IPathfinder;
+import com.tonic.services.pathfinder.abstractions.IStep;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Side by side comparison of every engine over the route corpus. Less rigorous than the JMH suite
+ * (no forking, simple warmup) but produces a single readable table for picking an engine.
+ * <p>
+ * Usage: {@code EngineComparison [report.md]}, prints to stdout when no path is given.
+ */
+public class EngineComparison
+{
+    private static final int WARMUP = 3;
+    private static final int RUNS = 10;
+
+    public static void main(String[] args) throws IOException
+    {
+        BenchmarkData.load();
+        List<BenchmarkData.Route> routes = BenchmarkData.routes();
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        Map<PathfinderAlgo, Totals> totals = new EnumMap<>(PathfinderAlgo.class);
+        StringBuilder table = new StringBuilder();
+        table.append("| Route | Engine | Median ms | Nodes expanded | Path length | KB allocated |\n");
+        table.append("|---|---|---:|---:|---:|---:|\n");
+
+        for (BenchmarkData.Route route : routes)
+        {
+            int shortest = Integer.MAX_VALUE;
+            Result[] results = new Result[PathfinderAlgo.values().length];
+            for (PathfinderAlgo algo : PathfinderAlgo.values())
+            {
+                IPathfinder pathfinder = BenchmarkData.newPathfinder(algo);
+                for (int i = 0; i < WARMUP; i++)
+                {
+                    pathfinder.find(route.getStart(), route.getTarget());
+                }
+
+                long[] times = new long[RUNS];
+                long allocated = 0;
+                List<? extends IStep> path = null;
+                for (int i = 0; i < RUNS; i++)
+                {
+                    long bytes = threads.getThreadAllocatedBytes(thread);
+                    long start = System.nanoTime();
+                    path = pathfinder.find(route.getStart(), route.getTarget());
+                    times[i] = System.nanoTime() - start;
+                    allocated += threads.getThreadAllocatedBytes(thread) - bytes;
+                }
+                Arrays.sort(times);
+
+                Result result = new Result(times[RUNS / 2], pathfinder.getNodesExpanded(), path.size(), allocated / RUNS);
+                results[algo.ordinal()] = result;
+                if (result.pathLength > 0)
+                {
+                    shortest = Math.min(shortest, result.pathLength);
+                }
+            }
+
+            for (PathfinderAlgo algo : PathfinderAlgo.values())
+            {
+                Result result = results[algo.ordinal()];
+                totals.computeIfAbsent(algo, a -> new Totals()).add(result, shortest);
+                table.append("| ").append(route.getName())
+                        .append(" | ").append(algo)
+                        .append(" | ").append(String.format("%.2f", result.nanos / 1_000_000.0))
+                        .append(" | ").append(result.nodesExpanded)
+                        .append(" | ").append(result.pathLength == 0 ? "no path" : String.valueOf(result.pathLength))
+                        .append(" | ").append(result.allocated / 1024)
+                        .append(" |\n");
+            }
+            System.out.println("Finished " + route.getName());
+        }
+
+        StringBuilder report = new StringBuilder();
+        report.append("# Pathfinder engine comparison\n\n");
+        report.append(routes.size()).append(" routes, median of ").append(RUNS).append(" runs after ")
+                .append(WARMUP).append(" warmup runs. Headless: no teleports, all static transports.\n\n");
+        report.append("## Summary\n\n");
+        report.append("| Engine | Total ms | Mean nodes | Mean KB allocated | No path | Mean extra tiles vs shortest |\n");
+        report.append("|---|---:|---:|---:|---:|---:|\n");
+        for (Map.Entry<PathfinderAlgo, Totals> entry : totals.entrySet())
+        {
+            Totals t = entry.getValue();
+            report.append("| ").append(entry.getKey())
+                    .append(" | ").append(String.format("%.2f", t.nanos / 1_000_000.0))
+                    .append(" | ").append(t.nodes / routes.size())
+                    .append(" | ").append(t.allocated / routes.size() / 1024)
+                    .append(" | ").append(t.failures)
+                    .append(" | ").append(t.found == 0 ? "-" : String.format("%.1f", (double) t.extraTiles / t.found))
+                    .append(" |\n");
+        }
+        report.append("\n## Per route\n\n").append(table);
+
+        if (args.length > 0)
+        {
+            Path output = Path.of(args[0]);
+            Path parent = output.toAbsolutePath().getParent();
+            if (parent != null)
+            {
+                Files.createDirectories(parent);
+            }
+            Files.write(output, report.toString().getBytes(StandardCharsets.UTF_8));
+            System.out.println("Wrote " + output);
+        }
+        else
+        {
+            System.out.println(report);
+        }
+    }
+
+    private static class Result
+    {
+        private final long nanos;
+        private final int nodesExpanded;
+        private final int pathLength;
+        private final long allocated;
+
+        Result(long nanos, int nodesExpanded, int pathLength, long allocated)
+        {
+            this.nanos = nanos;
+            this.nodesExpanded = nodesExpanded;
+            this.pathLength = pathLength;
+            this.allocated = allocated;
+        }
+    }
+
+    private static class Totals
+    {
+        private long nanos;
+        private long nodes;
+        private long allocated;
+        private int failures;
+        private int found;
+        private long extraTiles;
+
+        void add(Result result, int shortest)
+        {
+            nanos += result.nanos;
+            nodes += result.nodesExpanded;
+            allocated += result.allocated;
+            if (result.pathLength == 0)
+            {
+                failures++;
+                return;
+            }
+            found++;
+            extraTiles += result.pathLength - shortest;
+        }
+    }
+}
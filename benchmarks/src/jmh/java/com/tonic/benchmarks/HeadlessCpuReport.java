@@ -0,0 +1,254 @@
+package com.tonic.benchmarks;
+
+import com.tonic.headless.RenderGate;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * CPU one client spends with rendering on, headless at a draw rate, and headless drawing nothing. A synthetic
+ * client runs in real time on its own thread: 50 cycles a second, a game tick every 600ms, and a frame per cycle
+ * that starts with {@link RenderGate#beginFrame(boolean, long)}, rasterises its scene models and overlays only
+ * when the gate allows, and always draws its interfaces, the same split the client hooks make.
+ * <p>
+ * The work per model and overlay is made up, so the numbers compare modes on one machine rather than predict
+ * a real client. Usage: {@code HeadlessCpuReport [report.md]}, prints to stdout when no path is given.
+ */
+public class HeadlessCpuReport
+{
+    private static final long CYCLE_NANOS = 20_000_000L;
+    private static final int CYCLES_PER_TICK = 30;
+    private static final int WARMUP_SECONDS = 3;
+    private static final int SECONDS = 10;
+    private static final int WIDTH = 765;
+    private static final int HEIGHT = 503;
+    private static final int MODELS = 300;
+    private static final int ENTITIES = 2000;
+    private static final int OVERLAY_LAYERS = 3;
+
+    public static void main(String[] args) throws Exception
+    {
+        Mode[] modes = {
+                new Mode("Visible", false, 0),
+                new Mode("Headless, 5 fps", true, 5),
+                new Mode("Headless, 1 fps", true, 1),
+                new Mode("Headless, 0 fps", true, 0)
+        };
+
+        StringBuilder report = new StringBuilder();
+        report.append("# Headless client CPU\n\n");
+        report.append("One synthetic client, ").append(SECONDS).append("s per mode after ").append(WARMUP_SECONDS)
+                .append("s warmup, ").append(MODELS).append(" scene models and ").append(OVERLAY_LAYERS)
+                .append(" overlay layers per frame.\n\n");
+        report.append("| Mode | CPU % of a core | Frames drawn | Game ticks | Events |\n");
+        report.append("|---|---:|---:|---:|---:|\n");
+        for (Mode mode : modes)
+        {
+            SyntheticClient client = new SyntheticClient(mode);
+            Result result = client.measure();
+            report.append("| ").append(mode.name)
+                    .append(" | ").append(String.format("%.1f", result.cpuPercent))
+                    .append(" | ").append(result.framesDrawn)
+                    .append(" | ").append(result.ticks)
+                    .append(" | ").append(result.events)
+                    .append(" |\n");
+            System.out.println("Finished " + mode.name);
+        }
+
+        write(report.toString(), args);
+    }
+
+    private static void write(String report, String[] args) throws IOException
+    {
+        if (args.length > 0)
+        {
+            Path output = Path.of(args[0]);
+            Path parent = output.toAbsolutePath().getParent();
+            if (parent != null)
+            {
+                Files.createDirectories(parent);
+            }
+            Files.write(output, report.getBytes(StandardCharsets.UTF_8));
+            System.out.println("Wrote " + output);
+        }
+        else
+        {
+            System.out.println(report);
+        }
+    }
+
+    private static class Mode
+    {
+        private final String name;
+        private final boolean headless;
+        private final int fps;
+
+        Mode(String name, boolean headless, int fps)
+        {
+            this.name = name;
+            this.headless = headless;
+            this.fps = fps;
+        }
+    }
+
+    private static class Result
+    {
+        private double cpuPercent;
+        private int framesDrawn;
+        private int ticks;
+        private int events;
+    }
+
+    /**
+     * Client cycle with made up tick logic, scene rasterisation, interfaces and overlays.
+     */
+    private static class SyntheticClient
+    {
+        private final Mode mode;
+        private final int[] pixels = new int[WIDTH * HEIGHT];
+        private final BufferedImage overlayImage = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        private final int[] entityX = new int[ENTITIES];
+        private final int[] entityY = new int[ENTITIES];
+        private final List<Object> events = new ArrayList<>();
+        private final Result result = new Result();
+
+        SyntheticClient(Mode mode)
+        {
+            this.mode = mode;
+            for (int i = 0; i < ENTITIES; i++)
+            {
+                entityX[i] = (i * 37) % WIDTH;
+                entityY[i] = (i * 91) % HEIGHT;
+            }
+        }
+
+        Result measure() throws InterruptedException
+        {
+            Thread thread = new Thread(() -> {
+                RenderGate.reset(mode.fps);
+                run(WARMUP_SECONDS, false);
+                run(SECONDS, true);
+            }, "Synthetic-client");
+            thread.start();
+            thread.join();
+            return result;
+        }
+
+        private void run(int seconds, boolean measured)
+        {
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            long cpuStart = threads.getCurrentThreadCpuTime();
+            long start = System.nanoTime();
+            int cycles = seconds * 50;
+            events.clear();
+            int drawn = 0;
+            int ticks = 0;
+            for (int cycle = 0; cycle < cycles; cycle++)
+            {
+                if (cycle % CYCLES_PER_TICK == 0)
+                {
+                    tick();
+                    ticks++;
+                }
+                if (frame())
+                {
+                    drawn++;
+                }
+                LockSupport.parkNanos(start + (cycle + 1) * CYCLE_NANOS - System.nanoTime());
+            }
+
+            if (measured)
+            {
+                long wall = System.nanoTime() - start;
+                result.cpuPercent = 100.0 * (threads.getCurrentThreadCpuTime() - cpuStart) / wall;
+                result.framesDrawn = drawn;
+                result.ticks = ticks;
+                result.events = events.size();
+            }
+        }
+
+        private void tick()
+        {
+            for (int i = 0; i < ENTITIES; i++)
+            {
+                entityX[i] = (entityX[i] + 1) % WIDTH;
+                entityY[i] = (entityY[i] + 3) % HEIGHT;
+            }
+            events.add("tick");
+        }
+
+        private boolean frame()
+        {
+            events.add("before render");
+            boolean drawn = RenderGate.beginFrame(mode.headless, System.nanoTime());
+            for (int model = 0; model < MODELS; model++)
+            {
+                if (RenderGate.isDrawing())
+                {
+                    rasterise(model);
+                }
+            }
+            drawInterfaces();
+            Graphics2D graphics = overlayImage.createGraphics();
+            for (int layer = 0; layer < OVERLAY_LAYERS; layer++)
+            {
+                if (RenderGate.drawOverlays())
+                {
+                    drawOverlay(graphics, layer);
+                }
+            }
+            graphics.dispose();
+            return drawn;
+        }
+
+        /**
+         * Flat shades a 24 by 24 patch at the model's entity, a stand-in for its triangles.
+         */
+        private void rasterise(int model)
+        {
+            int x0 = entityX[model % ENTITIES] % (WIDTH - 24);
+            int y0 = entityY[model % ENTITIES] % (HEIGHT - 24);
+            for (int y = y0; y < y0 + 24; y++)
+            {
+                int row = y * WIDTH;
+                for (int x = x0; x < x0 + 24; x++)
+                {
+                    int shade = (x * 31 + y * 17 + model) & 0xFF;
+                    pixels[row + x] = (pixels[row + x] >>> 1) + (shade << 8 | shade);
+                }
+            }
+        }
+
+        private void drawInterfaces()
+        {
+            for (int y = HEIGHT - 140; y < HEIGHT; y++)
+            {
+                int row = y * WIDTH;
+                for (int x = 0; x < 520; x++)
+                {
+                    pixels[row + x] = 0x3E3529;
+                }
+            }
+        }
+
+        private void drawOverlay(Graphics2D graphics, int layer)
+        {
+            graphics.setColor(new Color(0, 255, 0, 100));
+            for (int i = layer; i < 60; i += OVERLAY_LAYERS)
+            {
+                int entity = i * 31 % ENTITIES;
+                graphics.drawRect(entityX[entity], entityY[entity], 32, 32);
+                graphics.drawString("Entity " + entity, entityX[entity], entityY[entity] - 2);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.tonic.benchmarks;
+
+import com.tonic.packets.PacketBuffer;
+import com.tonic.packets.PacketMapReader;
+import com.tonic.packets.types.PacketDefinition;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Packet map lookups and codec round trips, one op = one packet of the fixture set.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class PacketBenchmark
+{
+    private List<PacketFixtures.Fixture> fixtures;
+    private List<PacketFixtures.Fixture> encodable;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception
+    {
+        PacketMapReader.fillMaps();
+        fixtures = PacketFixtures.load();
+        encodable = new ArrayList<>();
+        for (PacketFixtures.Fixture fixture : fixtures)
+        {
+            if (fixture.getArgs() != null)
+            {
+                encodable.add(fixture);
+            }
+        }
+    }
+
+    @Benchmark
+    public void lookupById(Blackhole blackhole)
+    {
+        for (PacketFixtures.Fixture fixture : fixtures)
+        {
+            blackhole.consume(PacketMapReader.get(fixture.getEntry().getPacket().getId()));
+        }
+    }
+
+    @Benchmark
+    public void lookupByName(Blackhole blackhole)
+    {
+        for (PacketFixtures.Fixture fixture : fixtures)
+        {
+            blackhole.consume(PacketMapReader.get(fixture.getEntry().getName()));
+        }
+    }
+
+    @Benchmark
+    public void encode(Blackhole blackhole)
+    {
+        for (PacketFixtures.Fixture fixture : encodable)
+        {
+            PacketBuffer buffer = PacketMapReader.createBuffer(fixture.getEntry(), fixture.getArgs());
+            blackhole.consume(buffer.getTrueLength());
+            buffer.dispose();
+        }
+    }
+
+    @Benchmark
+    public void decode(Blackhole blackhole)
+    {
+        for (PacketFixtures.Fixture fixture : fixtures)
+        {
+            PacketBuffer buffer = new PacketBuffer(fixture.getEntry().getPacket().getId(), fixture.getPayload());
+            PacketDefinition definition = PacketMapReader.analyze(buffer);
+            blackhole.consume(definition);
+            buffer.dispose();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.tonic.benchmarks;
+
+import com.tonic.packets.PacketBuffer;
+import com.tonic.packets.PacketMapReader;
+import com.tonic.packets.types.MapEntry;
+import lombok.Value;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Packet fixtures for the codec benchmarks.
+ * <p>
+ * A recorded capture can be supplied with {@code -Dvitalite.bench.packets=<file>}, one packet per line
+ * as {@code <id> <hex payload>}. Without one, a packet is synthesized for every definition in
+ * packets.json from a fixed seed so runs stay comparable.
+ */
+public final class PacketFixtures
+{
+    public static final String PROPERTY = "vitalite.bench.packets";
+
+    private PacketFixtures()
+    {
+    }
+
+    public static List<Fixture> load() throws IOException
+    {
+        String recorded = System.getProperty(PROPERTY);
+        if (recorded != null && !recorded.isEmpty())
+        {
+            return read(Path.of(recorded));
+        }
+        return synthesize();
+    }
+
+    private static List<Fixture> read(Path path) throws IOException
+    {
+        List<Fixture> out = new ArrayList<>();
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8))
+        {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#"))
+            {
+                continue;
+            }
+            String[] parts = line.split("\\s+");
+            MapEntry entry = PacketMapReader.get(Integer.parseInt(parts[0]));
+            if (entry == null)
+            {
+                continue;
+            }
+            out.add(new Fixture(entry, null, hex(parts.length > 1 ? parts[1] : "")));
+        }
+        return out;
+    }
+
+    private static List<Fixture> synthesize()
+    {
+        Random random = new Random(0x5EED);
+        List<Fixture> out = new ArrayList<>();
+        for (MapEntry entry : PacketMapReader.get())
+        {
+            Map<String, Object> args = new HashMap<>();
+            for (int i = 0; i < entry.getArgs().size(); i++)
+            {
+                String name = entry.getArgs().get(i);
+                String write = entry.getWrites().get(i);
+                if (write.contains("String"))
+                {
+                    args.put(name, "bench" + random.nextInt(1000));
+                }
+                else
+                {
+                    args.put(name, random.nextInt(1 << 15));
+                }
+            }
+
+            PacketBuffer buffer = PacketMapReader.createBuffer(entry, args);
+            byte[] bytes = new byte[buffer.getTrueLength()];
+            buffer.getPayload().getBytes(0, bytes);
+            buffer.dispose();
+            out.add(new Fixture(entry, args, bytes));
+        }
+        return out;
+    }
+
+    private static byte[] hex(String hex)
+    {
+        byte[] out = new byte[hex.length() / 2];
+        for (int i = 0; i < out.length; i++)
+        {
+            out[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+        }
+        return out;
+    }
+
+    @Value
+    public static class Fixture
+    {
+        MapEntry entry;
+        /**
+         * Encoder arguments, null for recorded packets.
+         */
+        Map<String, Object> args;
+        byte[] payload;
+    }
+}
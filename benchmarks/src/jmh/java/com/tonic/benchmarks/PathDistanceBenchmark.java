@@ -0,0 +1,119 @@
+package com.tonic.benchmarks;
+
+import com.tonic.services.pathfinder.distance.PathDistanceOracle;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * sortShortestPath over 200 candidates in a synthetic 104x104 scene: one search per comparison side, as the
+ * queries did with SceneAPI.pathTo, against one {@link PathDistanceOracle} flood and lookups. One op = one sort.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PathDistanceBenchmark
+{
+    private static final int SIZE = 104;
+    private static final int CANDIDATES = 200;
+    private static final int BLOCKED = 0x100;
+    private static final int[][] MOVES = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}, {-1, -1}, {1, -1}, {-1, 1}, {1, 1}};
+
+    private int[][] flags;
+    private int sourceX;
+    private int sourceY;
+    private List<int[]> candidates;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        Random random = new Random(46);
+        flags = new int[SIZE][SIZE];
+        for (int x = 0; x < SIZE; x++)
+        {
+            for (int y = 0; y < SIZE; y++)
+            {
+                boolean edge = x == 0 || y == 0 || x == SIZE - 1 || y == SIZE - 1;
+                if (edge || random.nextInt(100) < 20)
+                {
+                    flags[x][y] = BLOCKED;
+                }
+            }
+        }
+        sourceX = SIZE / 2;
+        sourceY = SIZE / 2;
+        flags[sourceX][sourceY] = 0;
+
+        candidates = new ArrayList<>(CANDIDATES);
+        while (candidates.size() < CANDIDATES)
+        {
+            int x = 1 + random.nextInt(SIZE - 2);
+            int y = 1 + random.nextInt(SIZE - 2);
+            if (flags[x][y] == 0)
+            {
+                candidates.add(new int[]{x, y});
+            }
+        }
+    }
+
+    @Benchmark
+    public List<int[]> sortLegacy()
+    {
+        List<int[]> sorted = new ArrayList<>(candidates);
+        sorted.sort(Comparator.comparingInt(c -> search(c[0], c[1])));
+        return sorted;
+    }
+
+    @Benchmark
+    public List<int[]> sortOracle()
+    {
+        int[] costs = PathDistanceOracle.flood(flags, sourceX, sourceY);
+        List<int[]> sorted = new ArrayList<>(candidates);
+        sorted.sort(Comparator.comparingInt(c -> costs[c[0] * SIZE + c[1]]));
+        return sorted;
+    }
+
+    /**
+     * Breadth first search from the source that stops at the target, the cost of one SceneAPI.pathTo.
+     */
+    private int search(int targetX, int targetY)
+    {
+        int[] costs = new int[SIZE * SIZE];
+        Arrays.fill(costs, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        costs[sourceX * SIZE + sourceY] = 0;
+        queue.add(sourceX * SIZE + sourceY);
+        while (!queue.isEmpty())
+        {
+            int tile = queue.poll();
+            int x = tile / SIZE, y = tile % SIZE;
+            if (x == targetX && y == targetY)
+            {
+                return costs[tile];
+            }
+            for (int[] move : MOVES)
+            {
+                int nx = x + move[0], ny = y + move[1];
+                int next = nx * SIZE + ny;
+                if (flags[nx][ny] != 0 || costs[next] != -1)
+                {
+                    continue;
+                }
+                // diagonals need both sides open
+                if (move[0] != 0 && move[1] != 0 && (flags[nx][y] != 0 || flags[x][ny] != 0))
+                {
+                    continue;
+                }
+                costs[next] = costs[tile] + 1;
+                queue.add(next);
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+}
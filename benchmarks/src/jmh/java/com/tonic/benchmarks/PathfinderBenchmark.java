@@ -0,0 +1,67 @@
+package com.tonic.benchmarks;
+
+import com.tonic.services.pathfinder.PathfinderAlgo;
+import com.tonic.services.pathfinder.abstractions.IPathfinder;
+import com.tonic.services.pathfinder.abstractions.IStep;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time per path for every engine over the route corpus. Run with the gc profiler (enabled in the
+ * build) for allocation rate; nodes expanded and path length are reported as aux counters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class PathfinderBenchmark
+{
+    @Param({"HYBRID_BFS", "BI_DIR_BFS", "FLOW_FIELD", "ASTAR", "JPS", "JPS_PLUS", "PARALLEL_BIDIR"})
+    public String engine;
+
+    // mirrors routes.csv
+    @Param({
+            "lumbridge_to_draynor", "lumbridge_to_al_kharid", "lumbridge_to_varrock", "varrock_to_grand_exchange",
+            "varrock_to_edgeville", "falador_to_port_sarim", "falador_to_taverley", "draynor_to_falador",
+            "edgeville_to_barbarian_village", "catherby_to_seers", "seers_to_ardougne", "ardougne_to_yanille",
+            "taverley_to_burthorpe", "rimmington_to_lumbridge", "lumbridge_to_falador", "varrock_to_canifis",
+            "lumbridge_to_ardougne", "grand_exchange_to_catherby"
+    })
+    public String route;
+
+    private IPathfinder pathfinder;
+    private BenchmarkData.Route query;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        BenchmarkData.load();
+        pathfinder = BenchmarkData.newPathfinder(PathfinderAlgo.valueOf(engine));
+        query = BenchmarkData.route(route);
+    }
+
+    @Benchmark
+    public List<? extends IStep> find(SearchCounters counters)
+    {
+        List<? extends IStep> path = pathfinder.find(query.getStart(), query.getTarget());
+        counters.nodesExpanded += pathfinder.getNodesExpanded();
+        counters.pathLength += path.size();
+        return path;
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class SearchCounters
+    {
+        public long nodesExpanded;
+        public long pathLength;
+
+        @Setup(Level.Iteration)
+        public void reset()
+        {
+            nodesExpanded = 0;
+            pathLength = 0;
+        }
+    }
+}
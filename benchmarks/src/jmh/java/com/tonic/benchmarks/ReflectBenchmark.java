@@ -0,0 +1,115 @@
+package com.tonic.benchmarks;
+
+import com.tonic.util.ReflectBuilder;
+import com.tonic.util.ReflectUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ReflectUtil} against the lookup it did before {@link com.tonic.util.ReflectCache}: find the member,
+ * make it accessible and invoke it, every call. One op = one field read or method call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ReflectBenchmark
+{
+    private static final Class<?>[] NO_TYPES = new Class<?>[0];
+    private static final Class<?>[] ADD_TYPES = {int.class, int.class};
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private Target target;
+    private Object[] addArgs;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        target = new Target();
+        addArgs = new Object[]{3, 4};
+    }
+
+    @Benchmark
+    public Object fieldUncached() throws Exception
+    {
+        Field field = target.getClass().getDeclaredField("value");
+        field.setAccessible(true);
+        return field.get(target);
+    }
+
+    @Benchmark
+    public Object fieldCached() throws Exception
+    {
+        return ReflectUtil.getField(target, "value");
+    }
+
+    @Benchmark
+    public Object methodUncached() throws Exception
+    {
+        Method method = target.getClass().getDeclaredMethod("add", ADD_TYPES);
+        method.setAccessible(true);
+        return method.invoke(target, addArgs);
+    }
+
+    @Benchmark
+    public Object methodCached() throws Exception
+    {
+        return ReflectUtil.getMethod(target, "add", ADD_TYPES, addArgs);
+    }
+
+    /**
+     * Inherited method, the old lookup threw NoSuchMethodException from getDeclaredMethod on every call.
+     */
+    @Benchmark
+    public Object inheritedUncached() throws Exception
+    {
+        Method method;
+        try
+        {
+            method = target.getClass().getDeclaredMethod("name");
+        }
+        catch (NoSuchMethodException e)
+        {
+            method = target.getClass().getMethod("name");
+        }
+        method.setAccessible(true);
+        return method.invoke(target);
+    }
+
+    @Benchmark
+    public Object inheritedCached() throws Exception
+    {
+        return ReflectUtil.getMethod(target, "name", NO_TYPES, NO_ARGS);
+    }
+
+    @Benchmark
+    public Object builderChain()
+    {
+        return ReflectBuilder.of(target)
+                .field("child")
+                .method("add", ADD_TYPES, addArgs)
+                .get();
+    }
+
+    public static class Base
+    {
+        public String name()
+        {
+            return "base";
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class Target extends Base
+    {
+        private int value = 42;
+        private Target child = this;
+
+        private int add(int a, int b)
+        {
+            return a + b + value;
+        }
+    }
+}
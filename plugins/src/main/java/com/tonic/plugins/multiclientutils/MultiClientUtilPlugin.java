@@ -11,6 +11,7 @@ import com.tonic.services.ipc.Channel;
 import com.tonic.services.ipc.ChannelBuilder;
 import com.tonic.services.ipc.Message;
 import com.tonic.services.ipc.MessageHandler;
+import com.tonic.services.pathfinder.model.WalkerPath;
 import com.tonic.util.VitaPlugin;
 import lombok.Getter;
 import lombok.Setter;
@@ -39,6 +40,11 @@ import java.util.Map;
 @Getter
 public class MultiClientUtilPlugin extends VitaPlugin
 {
+    // keeps a serialized message well inside the channel's 64k datagram
+    private static final int MAX_ROUTE_LENGTH = 32_000;
+    // third PATHFIND argument telling peers that understand ROUTE to wait a moment for it before searching
+    public static final String ROUTE_FOLLOWS = "ROUTE";
+
     @Inject
     private ClientToolbar clientToolbar;
     @Inject
@@ -146,6 +152,29 @@ public class MultiClientUtilPlugin extends VitaPlugin
         channel.broadcast("greeting", argMap);
     }
 
+    /**
+     * Send the group to a target ahead of the route. Peers that predate ROUTE search for it themselves,
+     * newer peers wait a moment for {@link #sendRoute} and only search if the route never arrives.
+     */
+    public void sendPathfind(int packedTarget, int world)
+    {
+        sendMessage("PATHFIND", packedTarget, world, ROUTE_FOLLOWS);
+    }
+
+    /**
+     * Share a solved route with the group, peers walk it instead of searching themselves.
+     * Routes too large for one datagram are sent empty, which tells peers to search at once.
+     */
+    public void sendRoute(int packedTarget, int world, WalkerPath path)
+    {
+        String route = path.encode();
+        if(route.length() > MAX_ROUTE_LENGTH)
+        {
+            route = "";
+        }
+        sendMessage("ROUTE", packedTarget, world, route);
+    }
+
     private Channel createChannel()
     {
         Client client = Static.getClient();
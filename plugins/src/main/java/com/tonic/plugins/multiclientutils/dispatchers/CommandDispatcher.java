@@ -10,12 +10,14 @@ import com.tonic.api.game.WorldsAPI;
 import com.tonic.data.wrappers.NpcEx;
 import com.tonic.data.wrappers.PlayerEx;
 import com.tonic.data.wrappers.TileObjectEx;
+import com.tonic.plugins.multiclientutils.MultiClientUtilPlugin;
 import com.tonic.plugins.multiclientutils.model.MultiMessage;
 import com.tonic.queries.NpcQuery;
 import com.tonic.queries.PlayerQuery;
 import com.tonic.queries.TileObjectQuery;
 import com.tonic.services.CatFacts;
 import com.tonic.services.pathfinder.Walker;
+import com.tonic.services.pathfinder.model.WalkerPath;
 import com.tonic.util.MessageUtil;
 import com.tonic.util.ThreadPool;
 import com.tonic.util.WorldPointUtil;
@@ -24,12 +26,21 @@ import net.runelite.api.coords.WorldPoint;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public class CommandDispatcher
 {
+    // how long a peer told that a route follows waits for it before searching itself
+    private static final long ROUTE_TIMEOUT_MS = 5_000;
+
     @Getter
     private static final Map<String,Instant> players = new HashMap<>();
+    private static final Map<Integer,CompletableFuture<String>> routes = new ConcurrentHashMap<>();
 
     public static void processSelf(MultiMessage message)
     {
@@ -39,13 +50,8 @@ public class CommandDispatcher
         switch (message.getCommand())
         {
             case "PATHFIND":
-                WorldPoint dest = WorldPointUtil.fromCompressed(message.getInt(0));
-                int world = message.getInt(1);
-                ThreadPool.submit(() -> {
-                    WorldsAPI.hop(world).execute();
-                    Delays.tick();
-                    Walker.walkTo(dest);
-                });
+            case "ROUTE":
+                pathfind(message);
                 break;
             case "WALK":
                 worldPoint = WorldPointUtil.fromCompressed(message.getInt(0));
@@ -100,13 +106,8 @@ public class CommandDispatcher
                 players.put(message.getSender(), Instant.now());
                 return;
             case "PATHFIND":
-                WorldPoint dest = WorldPointUtil.fromCompressed(message.getInt(0));
-                int world = message.getInt(1);
-                ThreadPool.submit(() -> {
-                    WorldsAPI.hop(world).execute();
-                    Delays.tick();
-                    Walker.walkTo(dest);
-                });
+            case "ROUTE":
+                pathfind(message);
                 return;
             case "CATFACTS":
                 String fact = CatFacts.get(60);
@@ -178,4 +179,77 @@ public class CommandDispatcher
                 Logger.error("[ExtendedMenu] Unrecognized command '" + message.getCommand() + "'");
         }
     }
+
+    /**
+     * Walk to the target of a PATHFIND or ROUTE. A PATHFIND marked with {@link MultiClientUtilPlugin#ROUTE_FOLLOWS}
+     * and its ROUTE share one walk: whichever arrives first starts it, and it follows the shared route, or
+     * searches itself when the route is empty or does not arrive in time.
+     */
+    private static void pathfind(MultiMessage message)
+    {
+        int packed = message.getInt(0);
+        WorldPoint dest = WorldPointUtil.fromCompressed(packed);
+        int world = message.getInt(1);
+        boolean routed = message.getCommand().equals("ROUTE");
+        if(!routed && !MultiClientUtilPlugin.ROUTE_FOLLOWS.equals(message.getString(2)))
+        {
+            ThreadPool.submit(() -> {
+                WorldsAPI.hop(world).execute();
+                Delays.tick();
+                Walker.walkTo(dest);
+            });
+            return;
+        }
+
+        CompletableFuture<String> route = new CompletableFuture<>();
+        CompletableFuture<String> pending = routes.putIfAbsent(packed, route);
+        if(pending != null)
+        {
+            if(routed)
+                pending.complete(message.getString(2));
+            return;
+        }
+        if(routed)
+            route.complete(message.getString(2));
+
+        ThreadPool.submit(() -> {
+            try
+            {
+                WorldsAPI.hop(world).execute();
+                Delays.tick();
+                String encoded = awaitRoute(route, dest);
+                if(encoded == null || encoded.isEmpty())
+                    Walker.walkTo(dest);
+                else
+                    Walker.walkTo(WalkerPath.adopt(dest, encoded));
+            }
+            finally
+            {
+                routes.remove(packed, route);
+            }
+        });
+    }
+
+    /**
+     * @return the shared route, or null if it did not arrive within {@link #ROUTE_TIMEOUT_MS}
+     */
+    private static String awaitRoute(CompletableFuture<String> route, WorldPoint dest)
+    {
+        try
+        {
+            return route.get(ROUTE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        }
+        catch (TimeoutException e)
+        {
+            Logger.warn("No route to " + dest + " arrived, searching for it instead.");
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException ignored)
+        {
+        }
+        return null;
+    }
 }
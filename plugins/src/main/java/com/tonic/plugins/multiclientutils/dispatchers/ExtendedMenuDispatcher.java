@@ -14,6 +14,7 @@ import com.tonic.queries.NpcQuery;
 import com.tonic.queries.PlayerQuery;
 import com.tonic.queries.TileObjectQuery;
 import com.tonic.services.pathfinder.Walker;
+import com.tonic.services.pathfinder.model.WalkerPath;
 import com.tonic.util.TextUtil;
 import com.tonic.util.ThreadPool;
 import com.tonic.util.WorldPointUtil;
@@ -49,8 +50,12 @@ public class ExtendedMenuDispatcher
                         "(All) Pathfind Here",
                         name,
                         e -> ThreadPool.submit(() -> {
-                            plugin.sendMessage("PATHFIND", packedWP, client.getWorld());
-                            Walker.walkTo(WorldPointUtil.fromCompressed(packedWP));
+                            // the others set off now, then join the route solved here from where they stand
+                            int world = client.getWorld();
+                            plugin.sendPathfind(packedWP, world);
+                            WalkerPath path = WalkerPath.get(WorldPointUtil.fromCompressed(packedWP));
+                            plugin.sendRoute(packedWP, world, path);
+                            Walker.walkTo(path);
                         })
                 );
                 break;
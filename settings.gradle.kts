@@ -2,3 +2,4 @@ rootProject.name = "VitaLite"
 include("base-api")
 include("api")
 include("plugins")
+include("benchmarks")
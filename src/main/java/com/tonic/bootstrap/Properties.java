@@ -1,10 +1,8 @@
 package com.tonic.bootstrap;
 
+import com.tonic.services.proxy.OutboundConnections;
+
 import java.io.IOException;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -32,22 +30,14 @@ public class Properties
                 ));
     }
 
-    private static String fetch(String rawUrl) throws IOException, InterruptedException
+    private static String fetch(String rawUrl) throws IOException
     {
-        HttpRequest req = HttpRequest.newBuilder()
-                .uri(URI.create(rawUrl))
-                .header("User-Agent", "VitaLite/1.0.0 (+https://github.com/Tonic-Box)")
-                .GET()
-                .build();
-
-        HttpResponse<String> res = HttpClient.newBuilder()
-                .followRedirects(HttpClient.Redirect.ALWAYS)
-                .build()
-                .send(req, HttpResponse.BodyHandlers.ofString());
+        OutboundConnections.Response res = OutboundConnections.get(rawUrl,
+                Map.of("User-Agent", "VitaLite/1.0.0 (+https://github.com/Tonic-Box)"));
 
-        if (res.statusCode() != 200) {
-            throw new IOException("Failed to fetch raw file, HTTP " + res.statusCode());
+        if (res.getStatus() != 200) {
+            throw new IOException("Failed to fetch raw file, HTTP " + res.getStatus());
         }
-        return res.body();
+        return res.text();
     }
 }
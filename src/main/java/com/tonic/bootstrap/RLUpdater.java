@@ -5,17 +5,12 @@ import com.tonic.Static;
 import com.tonic.bootstrap.beans.Artifact;
 import com.tonic.bootstrap.beans.Bootstrap;
 import com.tonic.bootstrap.beans.Platform;
+import com.tonic.services.proxy.OutboundConnections;
 import com.tonic.util.HashUtil;
 import com.tonic.vitalite.Main;
 
 import javax.swing.*;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.security.NoSuchAlgorithmException;
@@ -23,10 +18,13 @@ import java.util.Map;
 
 import static com.tonic.vitalite.Main.REPOSITORY_DIR;
 
+/**
+ * Keeps the local RuneLite repository in step with the published bootstrap. Runs after the proxy from the
+ * command line is set, so, like the game itself, it downloads through that proxy.
+ */
 public class RLUpdater
 {
     private static Map<String, String> properties;
-    private static HttpClient httpClient;
 
     public static void main(String[] args) throws Exception
     {
@@ -37,24 +35,13 @@ public class RLUpdater
     {
         properties = Properties.fetch();
 
-        httpClient = HttpClient.newBuilder()
-                .followRedirects(HttpClient.Redirect.ALWAYS)
-                .build();
+        OutboundConnections.Response bootstrapRes = OutboundConnections.get("https://static.runelite.net/bootstrap.json", headers());
 
-        HttpRequest bootstrapReq = HttpRequest.newBuilder()
-                .uri(URI.create("https://static.runelite.net/bootstrap.json"))
-                .header("User-Agent", "RuneLite/" + properties.get("runelite.launcher.version"))
-                .GET()
-                .build();
-
-        HttpResponse<String> bootstrapRes = httpClient.send(bootstrapReq,
-                HttpResponse.BodyHandlers.ofString());
-
-        if (bootstrapRes.statusCode() != 200) {
-            throw new IOException("Failed to fetch bootstrap JSON (status=" + bootstrapRes.statusCode() + ")");
+        if (bootstrapRes.getStatus() != 200) {
+            throw new IOException("Failed to fetch bootstrap JSON (status=" + bootstrapRes.getStatus() + ")");
         }
 
-        Bootstrap bootstrap = new Gson().fromJson(bootstrapRes.body(), Bootstrap.class);
+        Bootstrap bootstrap = new Gson().fromJson(bootstrapRes.text(), Bootstrap.class);
         Artifact[] artifacts = bootstrap.getArtifacts();
 
         if (!Files.exists(REPOSITORY_DIR)) {
@@ -164,27 +151,19 @@ public class RLUpdater
         }
     }
 
-    private static void downloadFile(String url, Path destination)
-            throws IOException, InterruptedException
+    private static void downloadFile(String url, Path destination) throws IOException
     {
-        HttpRequest req = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .header("User-Agent", "RuneLite/" + properties.get("runelite.launcher.version"))
-                .GET()
-                .build();
-
-        HttpResponse<InputStream> res = httpClient.send(req,
-                HttpResponse.BodyHandlers.ofInputStream());
+        int status = OutboundConnections.download(url, headers(), destination);
 
-        if (res.statusCode() != 200) {
+        if (status != 200) {
             throw new IOException("Failed to download " + url
-                    + " (status=" + res.statusCode() + ")");
+                    + " (status=" + status + ")");
         }
+    }
 
-        try (InputStream in = res.body();
-             OutputStream out = Files.newOutputStream(destination)) {
-            in.transferTo(out);
-        }
+    private static Map<String, String> headers()
+    {
+        return Map.of("User-Agent", "RuneLite/" + properties.get("runelite.launcher.version"));
     }
 
     private static String getCurrentOS()
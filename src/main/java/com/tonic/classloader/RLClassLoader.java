@@ -1,6 +1,7 @@
 package com.tonic.classloader;
 
 import com.tonic.VitaLite;
+import com.tonic.injector.util.PatchApplier;
 import com.tonic.injector.util.SignerMapper;
 import com.tonic.runelite.Install;
 import com.tonic.vitalite.Main;
@@ -21,6 +22,10 @@ import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
 public class RLClassLoader extends URLClassLoader {
+    static {
+        registerAsParallelCapable();
+    }
+
     private final HashMap<String, byte[]> resources = new HashMap<>();
 
     public RLClassLoader(URL[] urls) {
@@ -83,45 +88,48 @@ public class RLClassLoader extends URLClassLoader {
 
     @Override
     public Class<?> loadClass(String name) throws ClassNotFoundException {
-        try {
-            Class<?> loadedClass = this.findLoadedClass(name);
-            if (loadedClass != null) {
-                return loadedClass;
-            }
+        // classes may be patched on first load, one thread defines each class
+        synchronized (getClassLoadingLock(name)) {
+            try {
+                Class<?> loadedClass = this.findLoadedClass(name);
+                if (loadedClass != null) {
+                    return loadedClass;
+                }
 
-            if (SignerMapper.shouldIgnore(name)) {
-                Class<?> clazz = loadClassFromSignedJar(name);
-                Object[] signers = clazz.getSigners();
-                if(signers == null || signers.length == 0)
-                {
-                    throw new Exception("Signers couldnt be loaded for class '" + name + "'");
+                if (SignerMapper.shouldIgnore(name)) {
+                    Class<?> clazz = loadClassFromSignedJar(name);
+                    Object[] signers = clazz.getSigners();
+                    if(signers == null || signers.length == 0)
+                    {
+                        throw new Exception("Signers couldnt be loaded for class '" + name + "'");
+                    }
+                    System.out.println("Loaded signed class: " + name + " with " + clazz.getSigners().length + " signers.");
+                    return clazz;
                 }
-                System.out.println("Loaded signed class: " + name + " with " + clazz.getSigners().length + " signers.");
-                return clazz;
-            }
 
-            byte[] bytes;
-            if (ProxyClassProvider.PROXY_CLASSES.containsKey(name)) {
-                bytes = ProxyClassProvider.PROXY_CLASSES.get(name);
+                byte[] bytes;
+                if (ProxyClassProvider.PROXY_CLASSES.containsKey(name)) {
+                    bytes = ProxyClassProvider.PROXY_CLASSES.get(name);
+                    loadedClass = loadArtifactClass(name, bytes);
+                    if (loadedClass != null)
+                        return loadedClass;
+                }
+
+                bytes = PatchApplier.patchGamepack(name, Main.LIBS.gamepackByName(name));
+                if (!name.startsWith("net.runelite.") && bytes == null) {
+                    return super.loadClass(name);
+                }
+
+                if (bytes == null)
+                    bytes = PatchApplier.patchRunelite(name, Main.LIBS.classByName(name));
+
                 loadedClass = loadArtifactClass(name, bytes);
                 if (loadedClass != null)
                     return loadedClass;
+            } catch (Exception ignored) {
             }
-
-            bytes = Main.LIBS.gamepackByName(name);
-            if (!name.startsWith("net.runelite.") && bytes == null) {
-                return super.loadClass(name);
-            }
-
-            if (bytes == null)
-                bytes = Main.LIBS.classByName(name);
-
-            loadedClass = loadArtifactClass(name, bytes);
-            if (loadedClass != null)
-                return loadedClass;
-        } catch (Exception ignored) {
+            return super.loadClass(name);
         }
-        return super.loadClass(name);
     }
 
     private Class<?> loadClassFromSignedJar(String className) throws ClassNotFoundException {
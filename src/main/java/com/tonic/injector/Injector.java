@@ -1,11 +1,13 @@
 package com.tonic.injector;
 
+import com.tonic.Static;
 import com.tonic.injector.util.AnnotationUtil;
 import com.tonic.injector.util.*;
 import com.tonic.vitalite.Main;
 import com.tonic.util.dto.JClass;
 import com.tonic.injector.annotations.*;
 import com.tonic.injector.pipeline.*;
+import com.tonic.services.metrics.Metrics;
 import com.tonic.util.JarDumper;
 import com.tonic.util.PackageUtil;
 import org.objectweb.asm.tree.ClassNode;
@@ -26,6 +28,8 @@ public class Injector {
         int totalClasses = Main.LIBS.getGamepack().classes.size();
         System.out.println("Loading " + totalClasses + " classes with memory optimizations...");
 
+        long phase = System.nanoTime();
+
         // Phase 1: Identify mixin target classes
         HashMap<ClassNode, ClassNode> pairs = PackageUtil.getPairs(MIXINS);
         Set<String> mixinTargets = identifyMixinTargets(pairs);
@@ -43,12 +47,16 @@ public class Injector {
             gamepack.put(name, ClassNodeUtil.toNode(bytes, needsFrames));
         }
 
+        Metrics.timer("injector.load").recordSince(phase);
         System.out.println("Classes loaded. Applying mixins...");
+        phase = System.nanoTime();
 
         applyInterfaces(pairs);
         applyMixins(pairs);
 
+        Metrics.timer("injector.mixins").recordSince(phase);
         System.out.println("Mixins applied. Processing output...");
+        phase = System.nanoTime();
 
         // Optimized output phase: Process and clear classes one-by-one to reduce memory pressure
         ArrayList<String> classNames = new ArrayList<>(gamepack.keySet());
@@ -66,6 +74,10 @@ public class Injector {
 
             ClassNode classNode = gamepack.remove(name); // Remove from map immediately
             FieldHookTransformer.instrument(classNode);
+            if(Static.getCliArgs().isVerifyInjector())
+            {
+                OSGlobalMixinVerifier.verify(classNode);
+            }
             OSGlobalMixin.patch(classNode);
 
             byte[] modified = ClassNodeUtil.toBytes(classNode);
@@ -81,6 +93,11 @@ public class Injector {
             classNode = null;
         }
         gamepack.clear();
+        Metrics.timer("injector.output").recordSince(phase);
+        if(Static.getCliArgs().isVerifyInjector())
+        {
+            OSGlobalMixinVerifier.report();
+        }
 
         // Clear string/type pools to release memory
         ClassNodeUtil.clearPools();
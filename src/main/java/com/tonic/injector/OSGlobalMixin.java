@@ -4,6 +4,9 @@ import com.tonic.Static;
 import com.tonic.injector.util.BytecodeBuilder;
 import com.tonic.injector.util.LdcRewriter;
 import com.tonic.injector.util.MappingProvider;
+import com.tonic.injector.util.expreditor.ExprEditor;
+import com.tonic.injector.util.expreditor.ExprEditorPipeline;
+import com.tonic.injector.util.expreditor.FieldAccess;
 import com.tonic.injector.util.expreditor.impls.*;
 import com.tonic.util.dto.JClass;
 import com.tonic.util.dto.JField;
@@ -22,8 +25,57 @@ public class OSGlobalMixin
     private static final RuntimeMaxMemoryReplacer memoryReplacer = new RuntimeMaxMemoryReplacer(805_306_368L);
     private static final SystemPropertyReplacer propertyReplacer = new SystemPropertyReplacer();
     private static final IntegerLiteralReplacer integerReplacer = new IntegerLiteralReplacer(-1094877034);
+    private static final String WELCOME = "Welcome to RuneScape";
+    private static final String WELCOME_REPLACEMENT = "<col=FFFFFF>Welcome to </col><col=00FFFF>VitaLite</col>";
+    private static ExprEditorPipeline pipeline;
 
+    /**
+     * Apply all global patches to a gamepack class in one walk over each method.
+     */
     public static void patch(ClassNode classNode)
+    {
+        if(pipeline == null)
+        {
+            pipeline = buildPipeline();
+        }
+        pipeline.instrument(classNode);
+    }
+
+    /**
+     * Mapping targets and launch options are resolved here once, not per class or method.
+     */
+    private static ExprEditorPipeline buildPipeline()
+    {
+        JClass client = MappingProvider.getClass("Client");
+        JField randomDat = MappingProvider.getField(client, "randomDat");
+        JField mouseFlag = MappingProvider.getField(client, "mouseFlag");
+
+        ExprEditorPipeline.Builder builder = ExprEditorPipeline.builder()
+                .methodCalls("java/nio/file/Path", pathsGetReplacer)
+                .methodCalls("java/lang/Runtime", memoryReplacer)
+                .methodCalls("java/lang/System", propertyReplacer)
+                .literals(integerReplacer);
+
+        if(Static.getCliArgs().isNoMusic() || Static.getCliArgs().isMin())
+        {
+            builder.literals(replaceMethodByString)
+                    .literals(modifyResourceLoading);
+        }
+
+        builder.fieldAccesses(randomDat.getOwnerObfuscatedName(), randomDat.getObfuscatedName(), new RandomDatHook())
+                .fieldAccesses(mouseFlag.getOwnerObfuscatedName(), mouseFlag.getObfuscatedName(), new MouseFlagReplacer());
+
+        if(!Static.getCliArgs().isIncognito())
+        {
+            builder.literals(new StringLiteralReplacer(WELCOME, WELCOME_REPLACEMENT));
+        }
+        return builder.build();
+    }
+
+    /**
+     * The previous pass-per-replacer implementation, kept for {@link OSGlobalMixinVerifier}.
+     */
+    static void patchLegacy(ClassNode classNode)
     {
         pathsGetReplacer.instrument(classNode);
         memoryReplacer.instrument(classNode);
@@ -43,11 +95,7 @@ public class OSGlobalMixin
 
             if(!Static.getCliArgs().isIncognito())
             {
-                LdcRewriter.rewriteString(
-                        method,
-                        "Welcome to RuneScape",
-                        "<col=FFFFFF>Welcome to </col><col=00FFFF>VitaLite</col>"
-                );
+                LdcRewriter.rewriteString(method, WELCOME, WELCOME_REPLACEMENT);
             }
         }
     }
@@ -118,4 +166,60 @@ public class OSGlobalMixin
 
         method.instructions.insertBefore(target, code);
     }
+
+    /**
+     * Fused form of {@link #randomDat(ClassNode, MethodNode)}, hooks the first null check of the field
+     * in each method.
+     */
+    private static class RandomDatHook extends ExprEditor
+    {
+        private MethodNode lastMethod = null;
+        private boolean hooked = false;
+
+        @Override
+        public void edit(FieldAccess access)
+        {
+            if(lastMethod != access.getMethod())
+            {
+                lastMethod = access.getMethod();
+                hooked = false;
+            }
+            if(hooked)
+                return;
+
+            AbstractInsnNode insn = access.getInstruction();
+            if(insn.getNext().getOpcode() != Opcodes.IFNULL)
+            {
+                if(insn.getPrevious().getOpcode() != Opcodes.ACONST_NULL || !(insn.getNext() instanceof JumpInsnNode))
+                    return;
+                if(insn.getNext().getOpcode() == Opcodes.GOTO)
+                    return;
+            }
+            hooked = true;
+
+            MethodNode method = access.getMethod();
+            InsnList code = BytecodeBuilder.create()
+                    .pushString(access.getClassNode().name + "." + method.name + method.desc)
+                    .invokeStatic("client", "setRandomDat", "(Ljava/lang/String;)V")
+                    .build();
+            access.insertBefore(code);
+        }
+    }
+
+    /**
+     * Fused form of {@link #mouseFlag(MethodNode)}.
+     */
+    private static class MouseFlagReplacer extends ExprEditor
+    {
+        @Override
+        public void edit(FieldAccess access)
+        {
+            if(access.getInstruction().getOpcode() != Opcodes.GETSTATIC)
+                return;
+
+            InsnList replacement = new InsnList();
+            replacement.add(new InsnNode(Opcodes.ICONST_0));
+            access.replace(replacement);
+        }
+    }
 }
@@ -0,0 +1,72 @@
+package com.tonic.injector;
+
+import com.tonic.injector.util.ClassNodeUtil;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+
+/**
+ * Runs the legacy and the fused {@link OSGlobalMixin} passes over copies of each gamepack class and
+ * reports the methods whose resulting bytecode differs. Enabled with -verifyInjector.
+ */
+public class OSGlobalMixinVerifier
+{
+    private static int classes = 0;
+    private static int mismatches = 0;
+    private static long legacyNanos = 0;
+    private static long fusedNanos = 0;
+
+    public static void verify(ClassNode classNode)
+    {
+        ClassNode legacy = copy(classNode);
+        ClassNode fused = copy(classNode);
+
+        long start = System.nanoTime();
+        OSGlobalMixin.patchLegacy(legacy);
+        legacyNanos += System.nanoTime() - start;
+
+        start = System.nanoTime();
+        OSGlobalMixin.patch(fused);
+        fusedNanos += System.nanoTime() - start;
+        classes++;
+
+        for(int i = 0; i < legacy.methods.size(); i++)
+        {
+            MethodNode expected = legacy.methods.get(i);
+            String expectedText = ClassNodeUtil.prettyPrint(expected);
+            String actualText = ClassNodeUtil.prettyPrint(fused.methods.get(i));
+            if(expectedText.equals(actualText))
+                continue;
+
+            mismatches++;
+            System.err.println("[OSGlobalMixin] Fused pipeline differs in " + classNode.name + "." + expected.name + expected.desc);
+            System.err.println(firstDifference(expectedText, actualText));
+        }
+    }
+
+    public static void report()
+    {
+        System.out.println("[OSGlobalMixin] Verified " + classes + " classes, " + mismatches + " differing methods. "
+                + "Legacy: " + legacyNanos / 1_000_000 + " ms, fused: " + fusedNanos / 1_000_000 + " ms");
+    }
+
+    private static ClassNode copy(ClassNode classNode)
+    {
+        ClassNode copy = new ClassNode();
+        classNode.accept(copy);
+        return copy;
+    }
+
+    private static String firstDifference(String expected, String actual)
+    {
+        String[] expectedLines = expected.split("\n");
+        String[] actualLines = actual.split("\n");
+        int line = 0;
+        while(line < expectedLines.length && line < actualLines.length && expectedLines[line].equals(actualLines[line]))
+        {
+            line++;
+        }
+        String legacyLine = line < expectedLines.length ? expectedLines[line].trim() : "<end>";
+        String fusedLine = line < actualLines.length ? actualLines[line].trim() : "<end>";
+        return "    line " + line + ": legacy '" + legacyLine + "', fused '" + fusedLine + "'";
+    }
+}
@@ -1,19 +1,38 @@
 package com.tonic.injector.util;
 
+import com.tonic.Static;
 import com.tonic.VitaLite;
 import com.tonic.vitalite.Main;
 
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
 /**
  * Applies pre-generated binary patches to bytecode at runtime.
  * Used in production mode to avoid heavy ASM transformation overhead.
+ * With -lazyPatches the diffs are only read at startup and each class is patched when it is first loaded.
  */
 public class PatchApplier {
 
+    // lazy mode: diffs not applied yet and the classes they were applied to, keyed by class name
+    private static final Map<String, byte[]> gamepackDiffs = new ConcurrentHashMap<>();
+    private static final Map<String, byte[]> runeliteDiffs = new ConcurrentHashMap<>();
+    private static final Map<String, byte[]> gamepackPatched = new ConcurrentHashMap<>();
+    private static final Map<String, byte[]> runelitePatched = new ConcurrentHashMap<>();
+    private static final Map<String, Object> locks = new ConcurrentHashMap<>();
+    private static final AtomicInteger lazyApplied = new AtomicInteger();
+    private static final LongAdder lazyNanos = new LongAdder();
+    private static volatile boolean lazy = false;
+    private static int lazyTotal = 0;
+
     /**
      * Stream patches.zip from resources and apply diffs one-by-one to minimize memory usage.
      * This streaming approach avoids loading all patches into memory at once, reducing peak memory.
@@ -23,9 +42,153 @@ public class PatchApplier {
     public static void applyPatches() throws Exception {
         System.out.println("[PatchApplier] Streaming patches from resources...");
 
-        int gamepackApplied = 0;
-        int runeliteApplied = 0;
+        int[] applied = new int[2];
+        readPatches((name, diffBytes) -> {
+            // Parse class name from path (e.g., "gamepack/com/foo/Bar.diff" -> "com.foo.Bar")
+            String className = extractClassName(name);
+
+            // Apply patch immediately based on type
+            if (name.startsWith("gamepack/")) {
+                byte[] original = Main.LIBS.getGamepack().classes.get(className);
+                if (original == null) {
+                    System.err.println("[PatchApplier] Warning: No original bytecode for " + className);
+                } else {
+                    byte[] modified = BytecodePatcher.applyDiff(original, diffBytes);
+                    Main.LIBS.getGamepack().classes.put(className, modified);
+                    applied[0]++;
+                }
+            } else if (name.startsWith("runelite/")) {
+                byte[] original = Main.LIBS.getRunelite().classes.get(className);
+                if (original == null) {
+                    System.err.println("[PatchApplier] Warning: No original bytecode for " + className);
+                } else {
+                    byte[] modified = BytecodePatcher.applyDiff(original, diffBytes);
+                    Main.LIBS.getRunelite().classes.put(className, modified);
+                    applied[1]++;
+                }
+            }
+        });
+
+        System.out.println("[PatchApplier] ✓ Applied " + applied[0] + " gamepack patches, " +
+                          applied[1] + " runelite patches");
+    }
+
+    /**
+     * Read the diffs from patches.zip without applying them. Each class is patched when the class loader
+     * first asks for it, see {@link #patchGamepack} and {@link #patchRunelite}.
+     *
+     * @throws Exception if patches cannot be loaded
+     */
+    public static void loadPatches() throws Exception {
+        readPatches((name, diffBytes) -> {
+            String className = extractClassName(name);
+            if (name.startsWith("gamepack/")) {
+                gamepackDiffs.put(className, diffBytes);
+            } else if (name.startsWith("runelite/")) {
+                runeliteDiffs.put(className, diffBytes);
+            }
+        });
+        lazyTotal = gamepackDiffs.size() + runeliteDiffs.size();
+        lazy = true;
+        System.out.println("[PatchApplier] Loaded " + gamepackDiffs.size() + " gamepack patches, " +
+                runeliteDiffs.size() + " runelite patches, applying on class load");
+    }
 
+    /**
+     * @param name gamepack class name
+     * @param original the class as shipped, may be null
+     * @return the patched class, or the original if it has no patch or patches were applied up front
+     */
+    public static byte[] patchGamepack(String name, byte[] original) {
+        return lazy ? patch(name, original, gamepackDiffs, gamepackPatched) : original;
+    }
+
+    /**
+     * @param name runelite class name
+     * @param original the class as shipped, may be null
+     * @return the patched class, or the original if it has no patch or patches were applied up front
+     */
+    public static byte[] patchRunelite(String name, byte[] original) {
+        return lazy ? patch(name, original, runeliteDiffs, runelitePatched) : original;
+    }
+
+    private static byte[] patch(String name, byte[] original, Map<String, byte[]> diffs, Map<String, byte[]> patched) {
+        if (original == null) {
+            return null;
+        }
+        byte[] result = patched.get(name);
+        if (result != null) {
+            return result;
+        }
+        if (!diffs.containsKey(name)) {
+            return original;
+        }
+
+        // both class loaders may ask for the same class at once, only one of them patches it
+        Object lock = locks.computeIfAbsent(name, k -> new Object());
+        synchronized (lock) {
+            result = patched.get(name);
+            if (result == null) {
+                long start = System.nanoTime();
+                byte[] diff = Static.getCliArgs().isVerifyLazyPatches() ? diffs.get(name) : diffs.remove(name);
+                result = BytecodePatcher.applyDiff(original, diff);
+                patched.put(name, result);
+                lazyNanos.add(System.nanoTime() - start);
+                lazyApplied.incrementAndGet();
+            }
+        }
+        locks.remove(name);
+        return result;
+    }
+
+    /**
+     * Print how many classes were patched on load so far, what that cost, and how many were never needed.
+     */
+    public static void report() {
+        if (!lazy) {
+            return;
+        }
+        int applied = lazyApplied.get();
+        double totalMs = lazyNanos.sum() / 1_000_000.0;
+        System.out.printf("[PatchApplier] Patched %d of %d classes on load in %.1f ms (%.3f ms per class), %d never loaded%n",
+                applied, lazyTotal, totalMs, applied > 0 ? totalMs / applied : 0, lazyTotal - applied);
+    }
+
+    /**
+     * Patch every class up front from patches.zip and compare with the classes patched on load.
+     *
+     * @return number of classes whose lazy and eager results differ
+     * @throws Exception if patches cannot be loaded
+     */
+    public static int verifyLazy() throws Exception {
+        int[] counts = new int[2];
+        readPatches((name, diffBytes) -> {
+            String className = extractClassName(name);
+            boolean gamepack = name.startsWith("gamepack/");
+            byte[] original = gamepack
+                    ? Main.LIBS.getGamepack().classes.get(className)
+                    : Main.LIBS.getRunelite().classes.get(className);
+            byte[] lazyResult = (gamepack ? gamepackPatched : runelitePatched).get(className);
+            if (original == null || lazyResult == null) {
+                return;
+            }
+            counts[0]++;
+            byte[] eager = BytecodePatcher.applyDiff(original, diffBytes);
+            if (!Arrays.equals(eager, lazyResult)) {
+                counts[1]++;
+                System.err.println("[PatchApplier] Lazy patch differs from eager patch for " + className);
+            }
+        });
+        System.out.println("[PatchApplier] Verified " + counts[0] + " lazily patched classes, " + counts[1] + " differ");
+        return counts[1];
+    }
+
+    /**
+     * Stream the diffs in patches.zip one entry at a time.
+     *
+     * @param consumer receives the zip entry name and the diff
+     */
+    private static void readPatches(BiConsumer<String, byte[]> consumer) throws Exception {
         try (InputStream resourceStream = VitaLite.class.getResourceAsStream("patches.zip")) {
             if (resourceStream == null) {
                 throw new RuntimeException("patches.zip not found in resources. Run with --runInjector to generate patches.");
@@ -49,40 +212,13 @@ public class PatchApplier {
                     while ((bytesRead = zis.read(chunk)) != -1) {
                         buffer.write(chunk, 0, bytesRead);
                     }
-                    byte[] diffBytes = buffer.toByteArray();
-
-                    // Parse class name from path (e.g., "gamepack/com/foo/Bar.diff" -> "com.foo.Bar")
-                    String className = extractClassName(name);
-
-                    // Apply patch immediately based on type
-                    if (name.startsWith("gamepack/")) {
-                        byte[] original = Main.LIBS.getGamepack().classes.get(className);
-                        if (original == null) {
-                            System.err.println("[PatchApplier] Warning: No original bytecode for " + className);
-                        } else {
-                            byte[] modified = BytecodePatcher.applyDiff(original, diffBytes);
-                            Main.LIBS.getGamepack().classes.put(className, modified);
-                            gamepackApplied++;
-                        }
-                    } else if (name.startsWith("runelite/")) {
-                        byte[] original = Main.LIBS.getRunelite().classes.get(className);
-                        if (original == null) {
-                            System.err.println("[PatchApplier] Warning: No original bytecode for " + className);
-                        } else {
-                            byte[] modified = BytecodePatcher.applyDiff(original, diffBytes);
-                            Main.LIBS.getRunelite().classes.put(className, modified);
-                            runeliteApplied++;
-                        }
-                    }
+                    consumer.accept(name, buffer.toByteArray());
 
-                    // diffBytes will be GC'd before next iteration, keeping memory low
+                    // each diff can be GC'd before the next entry is read, keeping memory low
                     zis.closeEntry();
                 }
             }
         }
-
-        System.out.println("[PatchApplier] ✓ Applied " + gamepackApplied + " gamepack patches, " +
-                          runeliteApplied + " runelite patches");
     }
 
     /**
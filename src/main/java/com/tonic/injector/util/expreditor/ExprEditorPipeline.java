@@ -0,0 +1,216 @@
+package com.tonic.injector.util.expreditor;
+
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs several {@link ExprEditor}s over a class in a single walk of each method.
+ * <p>
+ * Editors are registered once for the expressions they care about: method calls by owner, field
+ * accesses by owner and name, or literals. Each instruction is handed to the interested editors in
+ * registration order. Once an editor removes the instruction, the editors after it no longer see it,
+ * and once an editor replaces the method body, the walk of that method ends.
+ * <p>
+ * Editors only see the instructions the method had when the walk started, never the ones inserted
+ * by other editors.
+ */
+public final class ExprEditorPipeline {
+    private static final ExprEditor[] NONE = new ExprEditor[0];
+
+    private final Map<String, ExprEditor[]> methodCalls;
+    // owner, then field name
+    private final Map<String, Map<String, ExprEditor[]>> fieldAccesses;
+    private final ExprEditor[] literals;
+    private final ExprEditor[] all;
+    private final Dispatcher dispatcher = new Dispatcher();
+
+    private ExprEditorPipeline(Builder builder) {
+        this.all = builder.all.toArray(NONE);
+        this.literals = merge(builder, builder.literals);
+        this.methodCalls = index(builder, builder.methodCalls);
+        this.fieldAccesses = new HashMap<>();
+        for (Map.Entry<String, Map<String, List<ExprEditor>>> entry : builder.fieldAccesses.entrySet()) {
+            fieldAccesses.put(entry.getKey(), index(builder, entry.getValue()));
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Run every registered editor over all methods of the class.
+     *
+     * @param classNode the class to process
+     */
+    public void instrument(ClassNode classNode) {
+        dispatcher.instrument(classNode);
+    }
+
+    private static Map<String, ExprEditor[]> index(Builder builder, Map<String, List<ExprEditor>> editors) {
+        Map<String, ExprEditor[]> index = new HashMap<>();
+        for (Map.Entry<String, List<ExprEditor>> entry : editors.entrySet()) {
+            index.put(entry.getKey(), merge(builder, entry.getValue()));
+        }
+        return index;
+    }
+
+    /**
+     * Editors registered for every expression keep their place among the keyed ones.
+     */
+    private static ExprEditor[] merge(Builder builder, List<ExprEditor> keyed) {
+        List<ExprEditor> merged = new ArrayList<>();
+        for (ExprEditor editor : builder.order) {
+            if (keyed.contains(editor) || builder.all.contains(editor)) {
+                merged.add(editor);
+            }
+        }
+        return merged.toArray(NONE);
+    }
+
+    /**
+     * {@link org.objectweb.asm.tree.InsnList#remove} unlinks the instruction it removes, a replaced body is
+     * flagged by the walk.
+     */
+    private static boolean isAttached(Expression expression) {
+        if (expression.isBodyReplaced()) {
+            return false;
+        }
+        AbstractInsnNode insn = expression.getInstruction();
+        return insn.getPrevious() != null
+                || insn.getNext() != null
+                || expression.getMethod().instructions.getFirst() == insn;
+    }
+
+    private static void dispatch(ExprEditor[] editors, FieldAccess access) {
+        for (ExprEditor editor : editors) {
+            if (!isAttached(access)) {
+                return;
+            }
+            editor.edit(access);
+        }
+    }
+
+    private static void dispatch(ExprEditor[] editors, MethodCall call) {
+        for (ExprEditor editor : editors) {
+            if (!isAttached(call)) {
+                return;
+            }
+            editor.edit(call);
+        }
+    }
+
+    private static void dispatch(ExprEditor[] editors, LiteralValue literal) {
+        for (ExprEditor editor : editors) {
+            if (!isAttached(literal)) {
+                return;
+            }
+            editor.edit(literal);
+        }
+    }
+
+    private final class Dispatcher extends ExprEditor {
+        @Override
+        public void edit(FieldAccess access) {
+            Map<String, ExprEditor[]> fields = fieldAccesses.get(access.getFieldOwner());
+            ExprEditor[] editors = fields != null ? fields.get(access.getFieldName()) : null;
+            dispatch(editors != null ? editors : all, access);
+        }
+
+        @Override
+        public void edit(MethodCall call) {
+            ExprEditor[] editors = methodCalls.get(call.getMethodOwner());
+            dispatch(editors != null ? editors : all, call);
+        }
+
+        @Override
+        public void edit(LiteralValue literal) {
+            dispatch(literals, literal);
+        }
+
+        @Override
+        public void edit(ArrayAccess access) {
+            for (ExprEditor editor : all) {
+                if (!isAttached(access)) {
+                    return;
+                }
+                editor.edit(access);
+            }
+        }
+
+        @Override
+        public void edit(NewInstance newInstance) {
+            for (ExprEditor editor : all) {
+                if (!isAttached(newInstance)) {
+                    return;
+                }
+                editor.edit(newInstance);
+            }
+        }
+    }
+
+    public static final class Builder {
+        private final Set<ExprEditor> order = new LinkedHashSet<>();
+        private final List<ExprEditor> all = new ArrayList<>();
+        private final List<ExprEditor> literals = new ArrayList<>();
+        private final Map<String, List<ExprEditor>> methodCalls = new HashMap<>();
+        private final Map<String, Map<String, List<ExprEditor>>> fieldAccesses = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Hand the editor every expression, like {@link ExprEditor#instrument(ClassNode)} does.
+         */
+        public Builder all(ExprEditor editor) {
+            order.add(editor);
+            all.add(editor);
+            return this;
+        }
+
+        /**
+         * Hand the editor calls to methods of one class.
+         *
+         * @param owner internal name of the method owner
+         */
+        public Builder methodCalls(String owner, ExprEditor editor) {
+            order.add(editor);
+            methodCalls.computeIfAbsent(owner, k -> new ArrayList<>()).add(editor);
+            return this;
+        }
+
+        /**
+         * Hand the editor reads and writes of one field.
+         *
+         * @param owner internal name of the field owner
+         * @param name field name
+         */
+        public Builder fieldAccesses(String owner, String name, ExprEditor editor) {
+            order.add(editor);
+            fieldAccesses.computeIfAbsent(owner, k -> new HashMap<>())
+                    .computeIfAbsent(name, k -> new ArrayList<>())
+                    .add(editor);
+            return this;
+        }
+
+        /**
+         * Hand the editor every literal value.
+         */
+        public Builder literals(ExprEditor editor) {
+            order.add(editor);
+            literals.add(editor);
+            return this;
+        }
+
+        public ExprEditorPipeline build() {
+            return new ExprEditorPipeline(this);
+        }
+    }
+}
@@ -13,6 +13,8 @@ public abstract class Expression {
     protected final MethodNode method;
     protected final AbstractInsnNode instruction;
     protected final int index;
+    // the walk this expression came from, told when the method body is replaced
+    ExpressionProcessor processor;
     
     public Expression(ClassNode classNode, MethodNode method, AbstractInsnNode instruction, int index) {
         this.classNode = classNode;
@@ -31,6 +33,30 @@ public abstract class Expression {
         method.instructions.remove(instruction);
     }
     
+    /**
+     * Replace the whole body of the method containing this expression. The walk over the method ends
+     * here: no later editor sees this or any other expression of the old body.
+     * 
+     * @param body the new instructions
+     */
+    public void replaceMethodBody(InsnList body) {
+        method.instructions.clear();
+        method.tryCatchBlocks.clear();
+        method.localVariables.clear();
+        method.instructions.add(body);
+        if (processor != null) {
+            processor.bodyReplaced();
+        }
+    }
+    
+    /**
+     * Whether an editor replaced the method body since this expression was found. The old instructions
+     * stay linked to each other after {@link InsnList#clear()}, so they cannot tell by themselves.
+     */
+    boolean isBodyReplaced() {
+        return processor != null && processor.isBodyReplaced();
+    }
+    
     /**
      * Insert instructions before this expression.
      * 
@@ -10,6 +10,7 @@ class ExpressionProcessor {
     private final ExprEditor editor;
     private final ClassNode classNode;
     private final MethodNode method;
+    private boolean bodyReplaced = false;
     
     public ExpressionProcessor(ExprEditor editor, ClassNode classNode, MethodNode method) {
         this.editor = editor;
@@ -26,7 +27,8 @@ class ExpressionProcessor {
         // when instructions are modified during processing
         AbstractInsnNode[] instructions = method.instructions.toArray();
         
-        for (int i = 0; i < instructions.length; i++) {
+        // an editor that replaced the body leaves nothing of the old one to walk
+        for (int i = 0; i < instructions.length && !bodyReplaced; i++) {
             AbstractInsnNode insn = instructions[i];
             
             if (insn instanceof FieldInsnNode) {
@@ -47,6 +49,7 @@ class ExpressionProcessor {
     private void processFieldAccess(FieldInsnNode fieldInsn, int index) {
         if (isFieldAccessOpcode(fieldInsn.getOpcode())) {
             FieldAccess access = new FieldAccess(classNode, method, fieldInsn, index);
+            access.processor = this;
             editor.edit(access);
         }
     }
@@ -54,6 +57,7 @@ class ExpressionProcessor {
     private void processMethodCall(MethodInsnNode methodInsn, int index) {
         if (isMethodCallOpcode(methodInsn.getOpcode())) {
             MethodCall call = new MethodCall(classNode, method, methodInsn, index);
+            call.processor = this;
             editor.edit(call);
         }
     }
@@ -61,6 +65,7 @@ class ExpressionProcessor {
     private void processArrayAccess(InsnNode insnNode, int index) {
         if (isArrayAccessOpcode(insnNode.getOpcode())) {
             ArrayAccess access = new ArrayAccess(classNode, method, insnNode, index);
+            access.processor = this;
             editor.edit(access);
         }
     }
@@ -68,6 +73,7 @@ class ExpressionProcessor {
     private void processLiteralValue(AbstractInsnNode insn, int index) {
         if (isLiteralOpcode(insn.getOpcode())) {
             LiteralValue literal = new LiteralValue(classNode, method, insn, index);
+            literal.processor = this;
             editor.edit(literal);
         }
     }
@@ -75,10 +81,19 @@ class ExpressionProcessor {
     private void processNewInstance(TypeInsnNode typeInsn, int index) {
         if (typeInsn.getOpcode() == Opcodes.NEW) {
             NewInstance newInstance = new NewInstance(classNode, method, typeInsn, index);
+            newInstance.processor = this;
             editor.edit(newInstance);
         }
     }
     
+    void bodyReplaced() {
+        bodyReplaced = true;
+    }
+    
+    boolean isBodyReplaced() {
+        return bodyReplaced;
+    }
+    
     private boolean isFieldAccessOpcode(int opcode) {
         return opcode == Opcodes.GETFIELD || 
                opcode == Opcodes.PUTFIELD || 
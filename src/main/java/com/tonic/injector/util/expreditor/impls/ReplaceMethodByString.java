@@ -19,9 +19,6 @@ public class ReplaceMethodByString extends ExprEditor
     public void edit(LiteralValue literal) {
         if (literal.isString() && literal.getStringValue().equals(target)) {
             MethodNode method = literal.getMethod();
-            method.instructions.clear();
-            method.tryCatchBlocks.clear();
-            method.localVariables.clear();
             method.exceptions.clear();
 
             InsnList insns = BytecodeBuilder.create()
@@ -29,7 +26,7 @@ public class ReplaceMethodByString extends ExprEditor
                     .pushInt(0)
                     .appendInsn(new InsnNode(Opcodes.IRETURN))
                     .build();
-            method.instructions.add(insns);
+            literal.replaceMethodBody(insns);
             method.maxStack = 1;
             method.maxLocals = 1;
         }
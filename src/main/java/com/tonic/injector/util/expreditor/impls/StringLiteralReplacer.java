@@ -0,0 +1,23 @@
+package com.tonic.injector.util.expreditor.impls;
+
+import com.tonic.injector.util.expreditor.ExprEditor;
+import com.tonic.injector.util.expreditor.LiteralValue;
+import org.objectweb.asm.tree.LdcInsnNode;
+
+public class StringLiteralReplacer extends ExprEditor {
+    private final String oldValue;
+    private final String newValue;
+
+    public StringLiteralReplacer(String oldValue, String newValue)
+    {
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
+    @Override
+    public void edit(LiteralValue literal) {
+        if (literal.isString() && oldValue.equals(literal.getStringValue())) {
+            ((LdcInsnNode) literal.getLiteralInstruction()).cst = newValue;
+        }
+    }
+}
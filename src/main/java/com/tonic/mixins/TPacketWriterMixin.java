@@ -7,6 +7,9 @@ import com.tonic.injector.annotations.*;
 import com.tonic.model.ui.VitaLiteOptionsPanel;
 import com.tonic.packets.PacketMapReader;
 import com.tonic.packets.types.MapEntry;
+import com.tonic.services.metrics.Counter;
+import com.tonic.services.metrics.Histogram;
+import com.tonic.services.metrics.Metrics;
 import lombok.Getter;
 import net.runelite.api.gameval.InterfaceID;
 import java.math.BigInteger;
@@ -21,6 +24,12 @@ public abstract class TPacketWriterMixin implements TPacketWriter
     private static final BigInteger key = new BigInteger("10001", 16);
     @Inject
     private static final BigInteger modulus = new BigInteger("c1c5120b1d2da47766923df0b8a585f6d9b640dd7b0154d77bd3e05e8ae3643378809c4a4e8a7f7b59e74977063cfce80bcfe1c729fdfdfff4696155e9d6ba70510e5f9832a80b1f3c39d7efa909d0ffdd46af7683f2a96dc7a479ed52d416102dd327fa03cab6623095946204f5caed41d94d1e4a0195a04b20b239f59e7335", 16);
+    @Inject
+    private static final Counter PACKETS_OUT = Metrics.counter("packets.out");
+    @Inject
+    private static final Counter PACKETS_OUT_BYTES = Metrics.counter("packets.out.bytes");
+    @Inject
+    private static final Histogram PACKETS_OUT_DISPATCH = Metrics.timer("packets.out.dispatch");
     @Shadow("isaacCipher")
     public TIsaacCipher isaacCipher;
 
@@ -72,6 +81,7 @@ public abstract class TPacketWriterMixin implements TPacketWriter
             return;
         }
 
+        long start = System.nanoTime();
         TPacketBuffer buffer = node.getPacketBuffer();
         TClientPacket packet = node.getClientPacket();
 
@@ -88,6 +98,9 @@ public abstract class TPacketWriterMixin implements TPacketWriter
         Static.post(packetSent);
         VitaLiteOptionsPanel.getInstance().onPacketSent(packetSent);
         packetSent.release();
+        PACKETS_OUT.increment();
+        PACKETS_OUT_BYTES.add(payloadSize);
+        PACKETS_OUT_DISPATCH.recordSince(start);
     }
 
     @Inject
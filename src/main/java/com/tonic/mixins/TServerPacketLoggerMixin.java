@@ -10,6 +10,9 @@ import com.tonic.injector.annotations.*;
 import com.tonic.injector.util.BytecodeBuilder;
 import com.tonic.injector.util.MappingProvider;
 import com.tonic.model.ui.VitaLiteOptionsPanel;
+import com.tonic.services.metrics.Counter;
+import com.tonic.services.metrics.Histogram;
+import com.tonic.services.metrics.Metrics;
 import com.tonic.util.dto.JClass;
 import com.tonic.util.dto.JField;
 import org.objectweb.asm.Opcodes;
@@ -20,6 +23,13 @@ import org.objectweb.asm.tree.MethodNode;
 @Mixin("Client")
 public class TServerPacketLoggerMixin
 {
+    @Inject
+    private static final Counter PACKETS_IN = Metrics.counter("packets.in");
+    @Inject
+    private static final Counter PACKETS_IN_BYTES = Metrics.counter("packets.in.bytes");
+    @Inject
+    private static final Histogram PACKETS_IN_DISPATCH = Metrics.timer("packets.in.dispatch");
+
     @Insert(
             method = "processServerPacket",
             at = @At(value = AtTarget.RETURN),
@@ -67,6 +77,7 @@ public class TServerPacketLoggerMixin
     @Inject
     public static void process()
     {
+        long start = System.nanoTime();
         TClient client = Static.getClient();
         TPacketWriter writer = client.getPacketWriter();
         TServerPacket packet = writer.getServerPacket();
@@ -78,5 +89,8 @@ public class TServerPacketLoggerMixin
         PacketReceived packetReceived = PacketReceived.of(id, length, bytes);
         Static.post(packetReceived);
         VitaLiteOptionsPanel.getInstance().onPacketReceived(packetReceived);
+        PACKETS_IN.increment();
+        PACKETS_IN_BYTES.add(length);
+        PACKETS_IN_DISPATCH.recordSince(start);
     }
 }
@@ -6,6 +6,7 @@ import com.tonic.injector.annotations.Mixin;
 import com.tonic.injector.annotations.Shadow;
 import com.tonic.services.proxy.ProxyManager;
 import com.tonic.services.proxy.ProxyMetrics;
+import com.tonic.services.proxy.OutboundConnections;
 import net.runelite.api.Client;
 
 import java.io.DataInputStream;
@@ -39,8 +40,7 @@ public class TTaskMixin
 
                 Socket socket = (Socket) object;
 
-                Socket newSocket = new Socket(metrics.getProxy());
-                newSocket.connect(new InetSocketAddress(socket.getInetAddress(), socket.getPort()), 10000);
+                Socket newSocket = OutboundConnections.connect(new InetSocketAddress(socket.getInetAddress(), socket.getPort()), 10000);
                 socket.close();
                 result = newSocket;
                 Logger.info("[+] Socket<" + socket.getInetAddress() + ":" + socket.getPort() + "> rerouted to use proxy");
@@ -61,8 +61,7 @@ public class TTaskMixin
                     return true;
 
                 URL url = (URL) objectArgument;
-                URLConnection connection = url.openConnection(metrics.getProxy());
-                result = new DataInputStream(connection.getInputStream());
+                result = new DataInputStream(OutboundConnections.stream(url));
                 Logger.info("[+] DataInputStream<" + url + "> rerouted to use proxy");
                 return false;
             }
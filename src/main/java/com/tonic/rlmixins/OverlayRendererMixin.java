@@ -0,0 +1,23 @@
+package com.tonic.rlmixins;
+
+import com.tonic.headless.RenderGate;
+import com.tonic.injector.annotations.Disable;
+import com.tonic.injector.annotations.Mixin;
+
+@Mixin("net/runelite/client/ui/overlay/OverlayRenderer")
+public class OverlayRendererMixin {
+    @Disable("renderOverlayLayer")
+    public static boolean drawOverlayLayer() {
+        return RenderGate.drawOverlays();
+    }
+
+    @Disable("renderAfterInterface")
+    public static boolean drawAfterInterface() {
+        return RenderGate.drawOverlays();
+    }
+
+    @Disable("renderAfterLayer")
+    public static boolean drawAfterLayer() {
+        return RenderGate.drawOverlays();
+    }
+}
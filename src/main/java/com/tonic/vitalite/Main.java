@@ -88,6 +88,10 @@ public class Main {
                 e.printStackTrace();
             }
         }
+        else if(optionsParser.isLazyPatches())
+        {
+            PatchApplier.loadPatches();
+        }
         else
         {
             PatchApplier.applyPatches();
@@ -99,6 +103,11 @@ public class Main {
             LauncherCom.sendReadySignal(Integer.parseInt(optionsParser.getPort()), "Done");
         }
         CLASSLOADER.launch(args);
+        PatchApplier.report();
+        if(optionsParser.isLazyPatches() && optionsParser.isVerifyLazyPatches())
+        {
+            PatchApplier.verifyLazy();
+        }
         Install.install();
         Logger.norm("VitaLite started. - Did you know... " + CatFacts.get(-1));
     }